@@ -16,6 +16,7 @@ import io.netty.util.concurrent.Promise;
 import java.io.Closeable;
 import org.opendaylight.netconf.client.conf.NetconfClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfiguration;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.SshClientPool;
 import org.opendaylight.protocol.framework.AbstractDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,10 +27,28 @@ public class NetconfClientDispatcherImpl extends AbstractDispatcher<NetconfClien
     private static final Logger LOG = LoggerFactory.getLogger(NetconfClientDispatcherImpl.class);
 
     private final Timer timer;
+    private final SshClientPool sshClientPool;
 
     public NetconfClientDispatcherImpl(final EventLoopGroup bossGroup, final EventLoopGroup workerGroup, final Timer timer) {
+        this(bossGroup, workerGroup, timer, null);
+    }
+
+    /**
+     * @param sshClientPool pool of SSH clients used for SSH sessions, closed together with this dispatcher. Null to
+     *                      use the default SSH client.
+     */
+    public NetconfClientDispatcherImpl(final EventLoopGroup bossGroup, final EventLoopGroup workerGroup, final Timer timer,
+                                       final SshClientPool sshClientPool) {
         super(bossGroup, workerGroup);
         this.timer = timer;
+        this.sshClientPool = sshClientPool;
+    }
+
+    /**
+     * @return SSH client pool of this dispatcher, null if the default SSH client is used
+     */
+    public SshClientPool getSshClientPool() {
+        return sshClientPool;
     }
 
     protected Timer getTimer() {
@@ -98,8 +117,8 @@ public class NetconfClientDispatcherImpl extends AbstractDispatcher<NetconfClien
                     public void initializeChannel(final SocketChannel ch,
                                                   final Promise<NetconfClientSession> sessionPromise) {
                         new SshClientChannelInitializer(currentConfiguration.getAuthHandler(),
-                                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener())
-                                .initialize(ch, sessionPromise);
+                                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener(),
+                                sshClientPool).initialize(ch, sessionPromise);
                     }
 
                 });
@@ -108,7 +127,7 @@ public class NetconfClientDispatcherImpl extends AbstractDispatcher<NetconfClien
     private Future<Void> createReconnectingSshClient(final NetconfReconnectingClientConfiguration currentConfiguration) {
         LOG.debug("Creating reconnecting SSH client with configuration: {}", currentConfiguration);
         final SshClientChannelInitializer init = new SshClientChannelInitializer(currentConfiguration.getAuthHandler(),
-                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener());
+                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener(), sshClientPool);
 
         return super.createReconnectingClient(currentConfiguration.getAddress(), currentConfiguration.getConnectStrategyFactory(), currentConfiguration.getReconnectStrategy(),
                 new PipelineInitializer<NetconfClientSession>() {
@@ -123,4 +142,11 @@ public class NetconfClientDispatcherImpl extends AbstractDispatcher<NetconfClien
         return new NetconfClientSessionNegotiatorFactory(timer, cfg.getAdditionalHeader(),
                 cfg.getConnectionTimeoutMillis());
     }
+
+    @Override
+    public void close() {
+        if (sshClientPool != null) {
+            sshClientPool.close();
+        }
+    }
 }
@@ -13,6 +13,7 @@ import java.io.IOException;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
 import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandler;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.SshClientPool;
 import org.opendaylight.protocol.framework.SessionListenerFactory;
 
 final class SshClientChannelInitializer extends AbstractChannelInitializer<NetconfClientSession> {
@@ -20,20 +21,34 @@ final class SshClientChannelInitializer extends AbstractChannelInitializer<Netco
     private final AuthenticationHandler authenticationHandler;
     private final NetconfClientSessionNegotiatorFactory negotiatorFactory;
     private final NetconfClientSessionListener sessionListener;
+    private final SshClientPool clientPool;
 
     public SshClientChannelInitializer(final AuthenticationHandler authHandler,
                                        final NetconfClientSessionNegotiatorFactory negotiatorFactory,
                                        final NetconfClientSessionListener sessionListener) {
+        this(authHandler, negotiatorFactory, sessionListener, null);
+    }
+
+    /**
+     * @param clientPool pool to take the SSH client from, null to use the default client
+     */
+    public SshClientChannelInitializer(final AuthenticationHandler authHandler,
+                                       final NetconfClientSessionNegotiatorFactory negotiatorFactory,
+                                       final NetconfClientSessionListener sessionListener,
+                                       final SshClientPool clientPool) {
         this.authenticationHandler = authHandler;
         this.negotiatorFactory = negotiatorFactory;
         this.sessionListener = sessionListener;
+        this.clientPool = clientPool;
     }
 
     @Override
     public void initialize(final Channel ch, final Promise<NetconfClientSession> promise) {
         try {
             // ssh handler has to be the first handler in pipeline
-            ch.pipeline().addFirst(AsyncSshHandler.createForNetconfSubsystem(authenticationHandler, promise));
+            ch.pipeline().addFirst(clientPool == null
+                    ? AsyncSshHandler.createForNetconfSubsystem(authenticationHandler, promise)
+                    : AsyncSshHandler.createForNetconfSubsystem(authenticationHandler, promise, clientPool));
             super.initialize(ch,promise);
         } catch (final IOException e) {
             throw new RuntimeException(e);
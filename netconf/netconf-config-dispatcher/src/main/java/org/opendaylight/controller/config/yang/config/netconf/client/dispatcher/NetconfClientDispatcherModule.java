@@ -7,7 +7,10 @@
  */
 package org.opendaylight.controller.config.yang.config.netconf.client.dispatcher;
 
+import org.opendaylight.controller.config.api.JmxAttributeValidationException;
 import org.opendaylight.netconf.client.NetconfClientDispatcherImpl;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.SshClientPool;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.SshClientPoolConfigurationBuilder;
 
 /**
 *
@@ -26,10 +29,23 @@ public final class NetconfClientDispatcherModule extends org.opendaylight.contro
 
     @Override
     protected void customValidation(){
+        JmxAttributeValidationException.checkCondition(getSshClients() > 0, "Invalid number of ssh clients", sshClientsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getSshNioWorkers() > 0, "Invalid number of ssh nio workers", sshNioWorkersJmxAttribute);
     }
 
     @Override
     public java.lang.AutoCloseable createInstance() {
-        return new NetconfClientDispatcherImpl(getBossThreadGroupDependency(), getWorkerThreadGroupDependency(), getTimerDependency());
+        final SshClientPoolConfigurationBuilder sshConfiguration = SshClientPoolConfigurationBuilder.create()
+                .setClients(getSshClients())
+                .setNioWorkers(getSshNioWorkers())
+                .setWindowSize(getSshWindowSize())
+                .setMaxPacketSize(getSshMaxPacketSize())
+                .setCompression(getSshCompression());
+        if (getSshPreferredCiphers() != null && !getSshPreferredCiphers().isEmpty()) {
+            sshConfiguration.setPreferredCiphers(getSshPreferredCiphers());
+        }
+
+        return new NetconfClientDispatcherImpl(getBossThreadGroupDependency(), getWorkerThreadGroupDependency(),
+                getTimerDependency(), new SshClientPool(sshConfiguration.build()));
     }
 }
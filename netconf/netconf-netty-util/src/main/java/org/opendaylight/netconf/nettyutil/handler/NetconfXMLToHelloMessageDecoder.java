@@ -13,13 +13,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.List;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
@@ -73,24 +71,20 @@ public final class NetconfXMLToHelloMessageDecoder extends ByteToMessageDecoder
                 LOG.trace("Received to decode: {}", ByteBufUtil.hexDump(in));
             }
 
-            byte[] bytes = new byte[in.readableBytes()];
-            in.readBytes(bytes);
+            logMessage(in);
 
-            logMessage(bytes);
-
-            // Extract bytes containing header with additional metadata
+            // Extract bytes containing header with additional metadata, the rest is parsed directly from the buffer
             String additionalHeader = null;
-            if (startsWithAdditionalHeader(bytes)) {
+            if (startsWithAdditionalHeader(in)) {
                 // Auth information containing username, ip address... extracted for monitoring
-                int endOfAuthHeader = getAdditionalHeaderEndIndex(bytes);
+                int endOfAuthHeader = getAdditionalHeaderEndIndex(in);
                 if (endOfAuthHeader > -1) {
-                    byte[] additionalHeaderBytes = Arrays.copyOfRange(bytes, 0, endOfAuthHeader);
-                    additionalHeader = additionalHeaderToString(additionalHeaderBytes);
-                    bytes = Arrays.copyOfRange(bytes, endOfAuthHeader, bytes.length);
+                    additionalHeader = in.toString(in.readerIndex(), endOfAuthHeader - in.readerIndex(), Charsets.UTF_8);
+                    in.readerIndex(endOfAuthHeader);
                 }
             }
 
-            Document doc = XmlUtil.readXmlToDocument(new ByteArrayInputStream(bytes));
+            Document doc = XmlUtil.readXmlToDocument(new ByteBufInputStream(in));
 
             final NetconfMessage message = getNetconfMessage(additionalHeader, doc);
             if (message instanceof NetconfHelloMessage) {
@@ -105,6 +99,8 @@ public final class NetconfXMLToHelloMessageDecoder extends ByteToMessageDecoder
                 nonHelloMessages.add(message);
             }
         } finally {
+            // Whole frame is consumed, even if it could not be parsed
+            in.skipBytes(in.readableBytes());
             in.discardReadBytes();
         }
     }
@@ -122,9 +118,9 @@ public final class NetconfXMLToHelloMessageDecoder extends ByteToMessageDecoder
         return msg;
     }
 
-    private static int getAdditionalHeaderEndIndex(final byte[] bytes) {
+    private static int getAdditionalHeaderEndIndex(final ByteBuf in) {
         for (byte[] possibleEnd : POSSIBLE_ENDS) {
-            int idx = findByteSequence(bytes, possibleEnd);
+            int idx = findByteSequence(in, possibleEnd);
 
             if (idx != -1) {
                 return idx + possibleEnd.length;
@@ -134,59 +130,51 @@ public final class NetconfXMLToHelloMessageDecoder extends ByteToMessageDecoder
         return -1;
     }
 
-    private static int findByteSequence(final byte[] bytes, final byte[] sequence) {
-        if (bytes.length < sequence.length) {
-            throw new IllegalArgumentException("Sequence to be found is longer than the given byte array.");
-        }
-        if (bytes.length == sequence.length) {
-            if (Arrays.equals(bytes, sequence)) {
-                return 0;
-            } else {
-                return -1;
-            }
-        }
-        int j = 0;
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == sequence[j]) {
-                j++;
-                if (j == sequence.length) {
-                    return i - j + 1;
+    /**
+     * @return absolute index of the first occurrence of sequence in the readable bytes, -1 if not present
+     */
+    private static int findByteSequence(final ByteBuf in, final byte[] sequence) {
+        final int last = in.writerIndex() - sequence.length;
+        outer:
+        for (int i = in.readerIndex(); i <= last; i++) {
+            for (int j = 0; j < sequence.length; j++) {
+                if (in.getByte(i + j) != sequence[j]) {
+                    continue outer;
                 }
-            } else {
-                j = 0;
             }
+            return i;
         }
         return -1;
     }
 
-    private static void logMessage(final byte[] bytes) {
+    private static void logMessage(final ByteBuf in) {
         if (LOG.isDebugEnabled()) {
-            String s = Charsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
-            LOG.debug("Parsing message \n{}", s);
+            LOG.debug("Parsing message \n{}", in.toString(Charsets.UTF_8));
         }
     }
 
-    private static boolean startsWithAdditionalHeader(final byte[] bytes) {
+    private static boolean startsWithAdditionalHeader(final ByteBuf in) {
         for (byte[] possibleStart : POSSIBLE_STARTS) {
-            int i = 0;
-            for (byte b : possibleStart) {
-                if(bytes[i++] != b) {
+            if (in.readableBytes() < possibleStart.length) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (int i = 0; i < possibleStart.length; i++) {
+                if (in.getByte(in.readerIndex() + i) != possibleStart[i]) {
+                    matches = false;
                     break;
                 }
+            }
 
-                if(i == possibleStart.length) {
-                    return true;
-                }
+            if (matches) {
+                return true;
             }
         }
 
         return false;
     }
 
-    private static String additionalHeaderToString(final byte[] bytes) {
-        return Charsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
-    }
-
     /**
      * @return Collection of NetconfMessages that were not hello, but were received during negotiation
      */
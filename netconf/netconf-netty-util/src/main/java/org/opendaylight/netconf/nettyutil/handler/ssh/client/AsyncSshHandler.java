@@ -52,7 +52,7 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         final SshClient c = SshClient.setUpDefaultClient();
 
         c.setProperties(props);
-        // TODO make configurable, or somehow reuse netty threadpool
+        // Configurable through SshClientPool
         c.setNioWorkers(SSH_DEFAULT_NIO_WORKERS);
         c.start();
         DEFAULT_CLIENT = c;
@@ -60,7 +60,10 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
 
     private final AuthenticationHandler authenticationHandler;
     private final SshClient sshClient;
+    private final SshClientPool.Shard shard;
     private Future<?> negotiationFuture;
+    private boolean assigned;
+    private boolean opened;
 
     private AsyncSshHandlerReader sshReadAsyncListener;
     private AsyncSshHandlerWriter sshWriteAsyncHandler;
@@ -85,6 +88,15 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
     public AsyncSshHandler(final AuthenticationHandler authenticationHandler, final SshClient sshClient) throws IOException {
         this.authenticationHandler = Preconditions.checkNotNull(authenticationHandler);
         this.sshClient = Preconditions.checkNotNull(sshClient);
+        this.shard = null;
+    }
+
+    private AsyncSshHandler(final AuthenticationHandler authenticationHandler, final SshClientPool.Shard shard,
+                            final Future<?> negotiationFuture) {
+        this.authenticationHandler = Preconditions.checkNotNull(authenticationHandler);
+        this.shard = Preconditions.checkNotNull(shard);
+        this.sshClient = shard.getClient();
+        this.negotiationFuture = negotiationFuture;
     }
 
     public static AsyncSshHandler createForNetconfSubsystem(final AuthenticationHandler authenticationHandler) throws IOException {
@@ -106,6 +118,15 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         return new AsyncSshHandler(authenticationHandler, DEFAULT_CLIENT, negotiationFuture);
     }
 
+    /**
+     * Create AsyncSshHandler for netconf subsystem using the least loaded client of the pool. Sessions are accounted
+     * in the pool metrics.
+     */
+    public static AsyncSshHandler createForNetconfSubsystem(final AuthenticationHandler authenticationHandler,
+            final Future<?> negotiationFuture, final SshClientPool clientPool) {
+        return new AsyncSshHandler(authenticationHandler, clientPool.selectShard(), negotiationFuture);
+    }
+
     private void startSsh(final ChannelHandlerContext ctx, final SocketAddress address) {
         LOG.debug("Starting SSH to {} on channel: {}", address, ctx.channel());
 
@@ -177,6 +198,11 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
             connectPromise.setSuccess();
         }
 
+        if (shard != null) {
+            shard.sessionOpened();
+            opened = true;
+        }
+
         // TODO we should also read from error stream and at least log from that
 
         sshReadAsyncListener = new AsyncSshHandlerReader(new AutoCloseable() {
@@ -187,6 +213,9 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         }, new AsyncSshHandlerReader.ReadMsgHandler() {
             @Override
             public void onMessageRead(final ByteBuf msg) {
+                if (shard != null) {
+                    shard.read(msg.readableBytes());
+                }
                 ctx.fireChannelRead(msg);
             }
         }, channel.toString(), channel.getAsyncOut());
@@ -200,6 +229,9 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
 
     private synchronized void handleSshSetupFailure(final ChannelHandlerContext ctx, final Throwable e) {
         LOG.warn("Unable to setup SSH connection on channel: {}", ctx.channel(), e);
+        if (shard != null) {
+            shard.sessionFailed();
+        }
 
         // If the promise is not yet done, we have failed with initial connect and set connectPromise to failure
         if(!connectPromise.isDone()) {
@@ -211,6 +243,9 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
 
     @Override
     public synchronized void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (shard != null && msg instanceof ByteBuf) {
+            shard.written(((ByteBuf) msg).readableBytes());
+        }
         sshWriteAsyncHandler.write(ctx, msg, promise);
     }
 
@@ -218,6 +253,10 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
     public synchronized void connect(final ChannelHandlerContext ctx, final SocketAddress remoteAddress, final SocketAddress localAddress, final ChannelPromise promise) throws Exception {
         LOG.debug("SSH session connecting on channel {}. promise: {} ", ctx.channel(), connectPromise);
         this.connectPromise = promise;
+        if (shard != null && !assigned) {
+            shard.sessionAssigned();
+            assigned = true;
+        }
 
         if(negotiationFuture != null) {
 
@@ -291,6 +330,15 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
             LOG.warn("Unable to cleanup all resources for channel: {}. Ignoring.", ctx.channel(), e);
         }
 
+        if (opened) {
+            shard.sessionClosed();
+            opened = false;
+        }
+        if (assigned) {
+            shard.sessionReleased();
+            assigned = false;
+        }
+
         channel = null;
         promise.setSuccess();
         LOG.debug("SSH session closed on channel: {}", ctx.channel());
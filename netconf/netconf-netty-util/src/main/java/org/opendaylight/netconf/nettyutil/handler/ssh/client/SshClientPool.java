@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.sshd.SshClient;
+import org.apache.sshd.common.Cipher;
+import org.apache.sshd.common.Compression;
+import org.apache.sshd.common.FactoryManager;
+import org.apache.sshd.common.NamedFactory;
+import org.apache.sshd.common.cipher.ARCFOUR128;
+import org.apache.sshd.common.cipher.ARCFOUR256;
+import org.apache.sshd.common.compression.CompressionDelayedZlib;
+import org.apache.sshd.common.compression.CompressionNone;
+import org.apache.sshd.common.compression.CompressionZlib;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Set of started mina SSH clients sharing the outbound SSH sessions. Each session is assigned to the client with
+ * the fewest sessions, so that the crypto work is spread across the nio workers of all clients. Session and
+ * throughput counters are kept per client and for the whole pool.
+ */
+public final class SshClientPool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SshClientPool.class);
+
+    private static final String ARCFOUR128_NAME = new ARCFOUR128.Factory().getName();
+    private static final String ARCFOUR256_NAME = new ARCFOUR256.Factory().getName();
+
+    private final SshClientPoolConfiguration configuration;
+    private final List<Shard> shards;
+
+    public SshClientPool(final SshClientPoolConfiguration configuration) {
+        this.configuration = configuration;
+        final List<Shard> created = new ArrayList<>(configuration.getClients());
+        for (int i = 0; i < configuration.getClients(); i++) {
+            created.add(new Shard(i, createClient(configuration)));
+        }
+        this.shards = ImmutableList.copyOf(created);
+        LOG.info("SSH client pool started with {}", configuration);
+    }
+
+    private static SshClient createClient(final SshClientPoolConfiguration configuration) {
+        final Map<String, String> props = new HashMap<>();
+        props.put(SshClient.AUTH_TIMEOUT, Long.toString(configuration.getAuthTimeoutMillis()));
+        props.put(SshClient.IDLE_TIMEOUT, Long.toString(configuration.getIdleTimeoutMillis()));
+        if (configuration.getWindowSize() != SshClientPoolConfiguration.LIBRARY_DEFAULT) {
+            props.put(FactoryManager.WINDOW_SIZE, Long.toString(configuration.getWindowSize()));
+        }
+        if (configuration.getMaxPacketSize() != SshClientPoolConfiguration.LIBRARY_DEFAULT) {
+            props.put(FactoryManager.MAX_PACKET_SIZE, Long.toString(configuration.getMaxPacketSize()));
+        }
+
+        final SshClient c = SshClient.setUpDefaultClient();
+        c.setProperties(props);
+        c.setCipherFactories(orderCiphers(c.getCipherFactories(), configuration.getPreferredCiphers()));
+        c.setCompressionFactories(compressionFactories(configuration.isCompression()));
+        c.setNioWorkers(configuration.getNioWorkers());
+        c.start();
+        return c;
+    }
+
+    /**
+     * Put the preferred ciphers first, keeping the rest in library order. RC4 ciphers are never offered.
+     */
+    static List<NamedFactory<Cipher>> orderCiphers(final List<NamedFactory<Cipher>> available,
+                                                   final List<String> preferred) {
+        final List<NamedFactory<Cipher>> remaining = new ArrayList<>(available);
+        for (final Iterator<NamedFactory<Cipher>> i = remaining.iterator(); i.hasNext(); ) {
+            final String name = i.next().getName();
+            if (name.contains(ARCFOUR128_NAME) || name.contains(ARCFOUR256_NAME)) {
+                i.remove();
+            }
+        }
+
+        final List<NamedFactory<Cipher>> ordered = new ArrayList<>(remaining.size());
+        for (final String name : preferred) {
+            boolean found = false;
+            for (final Iterator<NamedFactory<Cipher>> i = remaining.iterator(); i.hasNext(); ) {
+                final NamedFactory<Cipher> factory = i.next();
+                if (factory.getName().equals(name)) {
+                    i.remove();
+                    ordered.add(factory);
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                LOG.debug("Preferred cipher {} not supported, skipping", name);
+            }
+        }
+        ordered.addAll(remaining);
+        return ordered;
+    }
+
+    private static List<NamedFactory<Compression>> compressionFactories(final boolean compression) {
+        if (compression) {
+            return Lists.<NamedFactory<Compression>>newArrayList(new CompressionDelayedZlib.Factory(),
+                    new CompressionZlib.Factory(), new CompressionNone.Factory());
+        }
+        return Lists.<NamedFactory<Compression>>newArrayList(new CompressionNone.Factory());
+    }
+
+    /**
+     * @return client with the fewest sessions
+     */
+    public Shard selectShard() {
+        Shard selected = shards.get(0);
+        for (final Shard shard : shards) {
+            if (shard.getAssignedSessions() < selected.getAssignedSessions()) {
+                selected = shard;
+            }
+        }
+        return selected;
+    }
+
+    public SshClientPoolConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public long getActiveSessions() {
+        long ret = 0;
+        for (final Shard shard : shards) {
+            ret += shard.getActiveSessions();
+        }
+        return ret;
+    }
+
+    public long getOpenedSessions() {
+        long ret = 0;
+        for (final Shard shard : shards) {
+            ret += shard.getOpenedSessions();
+        }
+        return ret;
+    }
+
+    public long getFailedSessions() {
+        long ret = 0;
+        for (final Shard shard : shards) {
+            ret += shard.getFailedSessions();
+        }
+        return ret;
+    }
+
+    public long getBytesRead() {
+        long ret = 0;
+        for (final Shard shard : shards) {
+            ret += shard.getBytesRead();
+        }
+        return ret;
+    }
+
+    public long getBytesWritten() {
+        long ret = 0;
+        for (final Shard shard : shards) {
+            ret += shard.getBytesWritten();
+        }
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        for (final Shard shard : shards) {
+            shard.client.close(true);
+        }
+        LOG.info("SSH client pool closed, {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("clients", shards.size())
+                .add("activeSessions", getActiveSessions())
+                .add("openedSessions", getOpenedSessions())
+                .add("failedSessions", getFailedSessions())
+                .add("bytesRead", getBytesRead())
+                .add("bytesWritten", getBytesWritten())
+                .toString();
+    }
+
+    /**
+     * Single client of the pool together with counters of its sessions.
+     */
+    public static final class Shard {
+        private final int index;
+        private final SshClient client;
+        private final AtomicLong assignedSessions = new AtomicLong();
+        private final AtomicLong activeSessions = new AtomicLong();
+        private final AtomicLong openedSessions = new AtomicLong();
+        private final AtomicLong failedSessions = new AtomicLong();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong bytesWritten = new AtomicLong();
+
+        Shard(final int index, final SshClient client) {
+            this.index = index;
+            this.client = client;
+        }
+
+        public SshClient getClient() {
+            return client;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return sessions currently connecting or connected through this client
+         */
+        public long getAssignedSessions() {
+            return assignedSessions.get();
+        }
+
+        /**
+         * @return sessions with the netconf subsystem channel currently open
+         */
+        public long getActiveSessions() {
+            return activeSessions.get();
+        }
+
+        public long getOpenedSessions() {
+            return openedSessions.get();
+        }
+
+        public long getFailedSessions() {
+            return failedSessions.get();
+        }
+
+        public long getBytesRead() {
+            return bytesRead.get();
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten.get();
+        }
+
+        void sessionAssigned() {
+            assignedSessions.incrementAndGet();
+        }
+
+        void sessionReleased() {
+            assignedSessions.decrementAndGet();
+        }
+
+        void sessionOpened() {
+            activeSessions.incrementAndGet();
+            openedSessions.incrementAndGet();
+        }
+
+        void sessionClosed() {
+            activeSessions.decrementAndGet();
+        }
+
+        void sessionFailed() {
+            failedSessions.incrementAndGet();
+        }
+
+        void read(final int bytes) {
+            bytesRead.addAndGet(bytes);
+        }
+
+        void written(final int bytes) {
+            bytesWritten.addAndGet(bytes);
+        }
+    }
+}
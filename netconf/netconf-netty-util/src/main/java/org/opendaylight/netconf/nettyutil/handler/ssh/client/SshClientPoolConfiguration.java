@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+/**
+ * Settings of the SSH clients in a {@link SshClientPool}. Sizes set to {@link #LIBRARY_DEFAULT} are left to
+ * the SSH library.
+ */
+public final class SshClientPoolConfiguration {
+
+    public static final int LIBRARY_DEFAULT = 0;
+
+    private final int clients;
+    private final int nioWorkers;
+    private final long windowSize;
+    private final long maxPacketSize;
+    private final List<String> preferredCiphers;
+    private final boolean compression;
+    private final long authTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    SshClientPoolConfiguration(final int clients, final int nioWorkers, final long windowSize,
+                               final long maxPacketSize, final List<String> preferredCiphers,
+                               final boolean compression, final long authTimeoutMillis,
+                               final long idleTimeoutMillis) {
+        Preconditions.checkArgument(clients > 0, "Number of clients has to be > 0");
+        Preconditions.checkArgument(nioWorkers > 0, "Number of nio workers has to be > 0");
+        Preconditions.checkArgument(windowSize >= 0, "Window size cannot be negative");
+        Preconditions.checkArgument(maxPacketSize >= 0, "Max packet size cannot be negative");
+        this.clients = clients;
+        this.nioWorkers = nioWorkers;
+        this.windowSize = windowSize;
+        this.maxPacketSize = maxPacketSize;
+        this.preferredCiphers = ImmutableList.copyOf(preferredCiphers);
+        this.compression = compression;
+        this.authTimeoutMillis = authTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * @return number of SSH clients the sessions are spread across, each with its own nio workers
+     */
+    public int getClients() {
+        return clients;
+    }
+
+    /**
+     * @return number of nio workers of each client
+     */
+    public int getNioWorkers() {
+        return nioWorkers;
+    }
+
+    public long getWindowSize() {
+        return windowSize;
+    }
+
+    public long getMaxPacketSize() {
+        return maxPacketSize;
+    }
+
+    /**
+     * @return names of ciphers offered first, in order of preference. Ciphers not supported by the SSH library are
+     * skipped, the remaining supported ciphers are offered after these.
+     */
+    public List<String> getPreferredCiphers() {
+        return preferredCiphers;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    /**
+     * @return authentication timeout, negative value disables the timeout
+     */
+    public long getAuthTimeoutMillis() {
+        return authTimeoutMillis;
+    }
+
+    /**
+     * @return session idle timeout, negative value disables the timeout
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("clients", clients)
+                .add("nioWorkers", nioWorkers)
+                .add("windowSize", windowSize)
+                .add("maxPacketSize", maxPacketSize)
+                .add("preferredCiphers", preferredCiphers)
+                .add("compression", compression)
+                .add("authTimeoutMillis", authTimeoutMillis)
+                .add("idleTimeoutMillis", idleTimeoutMillis)
+                .toString();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+public final class SshClientPoolConfigurationBuilder {
+
+    /**
+     * AES-GCM is preferred where the SSH library supports it, CTR modes otherwise.
+     */
+    public static final List<String> DEFAULT_PREFERRED_CIPHERS = ImmutableList.of(
+            "aes128-gcm@openssh.com", "aes256-gcm@openssh.com", "aes128-ctr", "aes192-ctr", "aes256-ctr");
+
+    // Timeouts of mina sshd are disabled by default
+    private static final long DEFAULT_TIMEOUT = -1L;
+
+    private int clients = 1;
+    private int nioWorkers = AsyncSshHandler.SSH_DEFAULT_NIO_WORKERS;
+    private long windowSize = SshClientPoolConfiguration.LIBRARY_DEFAULT;
+    private long maxPacketSize = SshClientPoolConfiguration.LIBRARY_DEFAULT;
+    private List<String> preferredCiphers = DEFAULT_PREFERRED_CIPHERS;
+    private boolean compression = false;
+    private long authTimeoutMillis = DEFAULT_TIMEOUT;
+    private long idleTimeoutMillis = DEFAULT_TIMEOUT;
+
+    public SshClientPoolConfigurationBuilder setClients(final int clients) {
+        this.clients = clients;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setNioWorkers(final int nioWorkers) {
+        this.nioWorkers = nioWorkers;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setWindowSize(final long windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setMaxPacketSize(final long maxPacketSize) {
+        this.maxPacketSize = maxPacketSize;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setPreferredCiphers(final List<String> preferredCiphers) {
+        this.preferredCiphers = preferredCiphers;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setCompression(final boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setAuthTimeoutMillis(final long authTimeoutMillis) {
+        this.authTimeoutMillis = authTimeoutMillis;
+        return this;
+    }
+
+    public SshClientPoolConfigurationBuilder setIdleTimeoutMillis(final long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    public SshClientPoolConfiguration build() {
+        return new SshClientPoolConfiguration(clients, nioWorkers, windowSize, maxPacketSize, preferredCiphers,
+                compression, authTimeoutMillis, idleTimeoutMillis);
+    }
+
+    public static SshClientPoolConfigurationBuilder create() {
+        return new SshClientPoolConfigurationBuilder();
+    }
+}
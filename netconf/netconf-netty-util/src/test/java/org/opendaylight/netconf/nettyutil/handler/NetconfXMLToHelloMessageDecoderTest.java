@@ -52,6 +52,23 @@ public class NetconfXMLToHelloMessageDecoderTest {
         assertFalse(hello.getAdditionalHeader().isPresent());
     }
 
+    @Test
+    public void testDecodeFromBufferOffset() throws Exception {
+        final ByteBuf src = Unpooled.buffer();
+        src.writeBytes("ignored".getBytes());
+        src.writeBytes(String.format("%s\r\n%s", "[tomas;10.0.0.0:10000;tcp;client;]",
+                "<hello xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"/>").getBytes());
+        src.readerIndex("ignored".length());
+        final List<Object> out = Lists.newArrayList();
+        new NetconfXMLToHelloMessageDecoder().decode(null, src, out);
+
+        assertEquals(1, out.size());
+        final NetconfHelloMessage hello = (NetconfHelloMessage) out.get(0);
+        assertTrue(hello.getAdditionalHeader().isPresent());
+        assertEquals("tomas", hello.getAdditionalHeader().get().getUserName());
+        assertEquals(0, src.readableBytes());
+    }
+
     @Test
     public void testDecodeCaching() throws Exception {
         final ByteBuf msg1 = Unpooled.wrappedBuffer("<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"/>".getBytes());
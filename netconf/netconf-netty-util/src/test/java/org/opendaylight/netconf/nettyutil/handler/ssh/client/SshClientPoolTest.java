@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.sshd.common.Cipher;
+import org.apache.sshd.common.NamedFactory;
+import org.apache.sshd.common.cipher.AES128CBC;
+import org.apache.sshd.common.cipher.AES128CTR;
+import org.apache.sshd.common.cipher.AES256CTR;
+import org.apache.sshd.common.cipher.ARCFOUR128;
+import org.junit.Test;
+
+public class SshClientPoolTest {
+
+    @Test
+    public void testPreferredCiphersFirst() throws Exception {
+        final List<NamedFactory<Cipher>> available = Lists.<NamedFactory<Cipher>>newArrayList(new AES128CBC.Factory(),
+                new AES128CTR.Factory(), new ARCFOUR128.Factory(), new AES256CTR.Factory());
+
+        final List<NamedFactory<Cipher>> ordered = SshClientPool.orderCiphers(available,
+                Lists.newArrayList("aes128-gcm@openssh.com", "aes256-ctr", "aes128-ctr"));
+
+        final List<String> names = new ArrayList<>();
+        for (final NamedFactory<Cipher> factory : ordered) {
+            names.add(factory.getName());
+        }
+        assertEquals(Lists.newArrayList("aes256-ctr", "aes128-ctr", "aes128-cbc"), names);
+    }
+
+    @Test
+    public void testSessionsSpreadAcrossClients() throws Exception {
+        try (final SshClientPool pool = new SshClientPool(SshClientPoolConfigurationBuilder.create()
+                .setClients(2).setNioWorkers(1).build())) {
+            assertEquals(2, pool.getShards().size());
+
+            final SshClientPool.Shard first = pool.selectShard();
+            first.sessionAssigned();
+            final SshClientPool.Shard second = pool.selectShard();
+            assertNotSame(first, second);
+            second.sessionAssigned();
+
+            first.sessionOpened();
+            second.sessionOpened();
+            first.read(100);
+            second.written(50);
+            assertEquals(2, pool.getActiveSessions());
+            assertEquals(100, pool.getBytesRead());
+            assertEquals(50, pool.getBytesWritten());
+
+            first.sessionClosed();
+            first.sessionReleased();
+            assertSame(first, pool.selectShard());
+            assertEquals(1, pool.getActiveSessions());
+            assertEquals(2, pool.getOpenedSessions());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConfiguration() throws Exception {
+        SshClientPoolConfigurationBuilder.create().setClients(0).build();
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.controller.config.yang.netconf.topology;
 
+import org.opendaylight.netconf.topology.ConnectionAdmissionScheduler;
 import org.opendaylight.netconf.topology.impl.NetconfTopologyImpl;
 
 public class NetconfTopologyModule extends org.opendaylight.controller.config.yang.netconf.topology.AbstractNetconfTopologyModule {
@@ -27,9 +28,12 @@ public class NetconfTopologyModule extends org.opendaylight.controller.config.ya
 
     @Override
     public AutoCloseable createInstance() {
+        final ConnectionAdmissionScheduler admissionScheduler = new ConnectionAdmissionScheduler(
+                getEventExecutorDependency(), getMaxConcurrentConnectionSetups(), getConnectionSetupTimeoutMillis());
         return new NetconfTopologyImpl(getTopologyId(), getClientDispatcherDependency(), getBindingRegistryDependency(),
                 getDomRegistryDependency(), getEventExecutorDependency(), getKeepaliveExecutorDependency(),
-                getProcessingExecutorDependency(), getSharedSchemaRepositoryDependency());
+                getProcessingExecutorDependency(), getSharedSchemaRepositoryDependency(), admissionScheduler,
+                getYangLibraryExecutorDependency());
     }
 
 }
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.topology;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -15,7 +16,14 @@ import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.Promise;
 import java.io.File;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
@@ -25,6 +33,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.controller.config.threadpool.ThreadPool;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -52,8 +63,10 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommun
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
+import org.opendaylight.netconf.sal.connect.netconf.schema.CachingSchemaContextFactory;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.ConnectionAdmissionScheduler.AdmissionTicket;
 import org.opendaylight.netconf.topology.pipeline.TopologyMountPointFacade.ConnectionStatusListenerRegistration;
 import org.opendaylight.protocol.framework.ReconnectStrategy;
 import org.opendaylight.protocol.framework.ReconnectStrategyFactory;
@@ -61,6 +74,7 @@ import org.opendaylight.protocol.framework.TimedReconnectStrategy;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev100924.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev100924.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.Credentials;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
@@ -89,6 +103,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
     private static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
     private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 20000L;
     private static final BigDecimal DEFAULT_SLEEP_FACTOR = new BigDecimal(1.5);
+    private static final int DEFAULT_CONNECTION_PRIORITY = 0;
+    private static final int DEFAULT_YANG_LIBRARY_DOWNLOAD_THREADS = 8;
 
     // constants related to Schema Cache(s)
     /**
@@ -106,6 +122,11 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
      */
     private static final String QUALIFIED_DEFAULT_CACHE_DIRECTORY = CACHE_DIRECTORY + File.separator+ DEFAULT_CACHE_DIRECTORY;
 
+    /**
+     * Module sets of assembled schema contexts are recorded under <code>cache/schema-sets/&lt;schema cache directory&gt;</code>
+     */
+    private static final String MODULE_SET_DIRECTORY = CACHE_DIRECTORY + File.separator + "schema-sets";
+
     /**
      * The name for the default schema repository
      */
@@ -127,8 +148,9 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
     /**
      * The default factory for creating <code>SchemaContext</code> instances.
      */
-    private static final SchemaContextFactory DEFAULT_SCHEMA_CONTEXT_FACTORY =
-            DEFAULT_SCHEMA_REPOSITORY.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT);
+    private static final CachingSchemaContextFactory DEFAULT_SCHEMA_CONTEXT_FACTORY = new CachingSchemaContextFactory(
+            DEFAULT_SCHEMA_REPOSITORY.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT),
+            moduleSetDirectory(DEFAULT_CACHE_DIRECTORY));
 
     /**
      * Keeps track of initialized Schema resources.  A Map is maintained in which the key represents the name
@@ -160,6 +182,9 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
     protected final ScheduledThreadPool keepaliveExecutor;
     protected final ThreadPool processingExecutor;
     protected final SharedSchemaRepository sharedSchemaRepository;
+    protected final ConnectionAdmissionScheduler admissionScheduler;
+    private final ListeningExecutorService yangLibraryExecutor;
+    private final boolean ownsYangLibraryExecutor;
 
     protected SchemaSourceRegistry schemaRegistry = DEFAULT_SCHEMA_REPOSITORY;
     protected SchemaContextFactory schemaContextFactory = DEFAULT_SCHEMA_CONTEXT_FACTORY;
@@ -172,6 +197,30 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
                                       final BindingAwareBroker bindingAwareBroker, final Broker domBroker,
                                       final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
                                       final ThreadPool processingExecutor, final SchemaRepositoryProvider schemaRepositoryProvider) {
+        this(topologyId, clientDispatcher, bindingAwareBroker, domBroker, eventExecutor, keepaliveExecutor,
+                processingExecutor, schemaRepositoryProvider,
+                new ConnectionAdmissionScheduler(eventExecutor, ConnectionAdmissionScheduler.UNLIMITED, 0), null);
+    }
+
+    protected AbstractNetconfTopology(final String topologyId, final NetconfClientDispatcher clientDispatcher,
+                                      final BindingAwareBroker bindingAwareBroker, final Broker domBroker,
+                                      final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
+                                      final ThreadPool processingExecutor, final SchemaRepositoryProvider schemaRepositoryProvider,
+                                      final ConnectionAdmissionScheduler admissionScheduler) {
+        this(topologyId, clientDispatcher, bindingAwareBroker, domBroker, eventExecutor, keepaliveExecutor,
+                processingExecutor, schemaRepositoryProvider, admissionScheduler, null);
+    }
+
+    /**
+     * @param yangLibraryExecutor pool for yang library downloads, if null the topology creates one of its own, which
+     *                            is shut down by {@link #closeYangLibraryExecutor()}
+     */
+    protected AbstractNetconfTopology(final String topologyId, final NetconfClientDispatcher clientDispatcher,
+                                      final BindingAwareBroker bindingAwareBroker, final Broker domBroker,
+                                      final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
+                                      final ThreadPool processingExecutor, final SchemaRepositoryProvider schemaRepositoryProvider,
+                                      final ConnectionAdmissionScheduler admissionScheduler,
+                                      final ThreadPool yangLibraryExecutor) {
         this.topologyId = topologyId;
         this.clientDispatcher = clientDispatcher;
         this.bindingAwareBroker = bindingAwareBroker;
@@ -180,6 +229,25 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         this.keepaliveExecutor = keepaliveExecutor;
         this.processingExecutor = processingExecutor;
         this.sharedSchemaRepository = schemaRepositoryProvider.getSharedSchemaRepository();
+        this.admissionScheduler = Preconditions.checkNotNull(admissionScheduler);
+        this.ownsYangLibraryExecutor = yangLibraryExecutor == null;
+        this.yangLibraryExecutor = MoreExecutors.listeningDecorator(ownsYangLibraryExecutor
+                ? Executors.newFixedThreadPool(DEFAULT_YANG_LIBRARY_DOWNLOAD_THREADS, new ThreadFactoryBuilder()
+                        .setNameFormat(topologyId + "-yang-library-download-%d").setDaemon(true).build())
+                : yangLibraryExecutor.getExecutor());
+    }
+
+    /**
+     * Shut down the yang library download pool, if it was created by this topology.
+     */
+    protected void closeYangLibraryExecutor() {
+        if (ownsYangLibraryExecutor) {
+            yangLibraryExecutor.shutdownNow();
+        }
+    }
+
+    private static File moduleSetDirectory(final String schemaCacheDirectory) {
+        return new File(MODULE_SET_DIRECTORY + File.separator + schemaCacheDirectory);
     }
 
     protected void registerToSal(BindingAwareProvider baProvider, Provider provider) {
@@ -195,6 +263,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         this.schemaContextFactory = schemaContextFactory;
     }
 
+    public ConnectionAdmissionScheduler getAdmissionScheduler() {
+        return admissionScheduler;
+    }
+
     @Override
     public abstract void onSessionInitiated(ProviderContext session);
 
@@ -223,6 +295,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
 
         // retrieve connection, and disconnect it
         final NetconfConnectorDTO connectorDTO = activeConnectors.remove(nodeId);
+        connectorDTO.cancelAdmission();
         connectorDTO.getCommunicator().close();
         connectorDTO.getFacade().close();
         return Futures.immediateFuture(null);
@@ -239,11 +312,48 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         final NetconfConnectorDTO deviceCommunicatorDTO = createDeviceCommunicator(nodeId, netconfNode);
         final NetconfDeviceCommunicator deviceCommunicator = deviceCommunicatorDTO.getCommunicator();
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
-        final NetconfReconnectingClientConfiguration clientConfig = getClientConfig(netconfClientSessionListener, netconfNode);
-        final ListenableFuture<NetconfDeviceCapabilities> future = deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
+        final int priority = netconfNode.getConnectionPriority() == null ? DEFAULT_CONNECTION_PRIORITY : netconfNode.getConnectionPriority();
+        final NetconfReconnectingClientConfiguration clientConfig = getClientConfig(netconfClientSessionListener,
+                netconfNode, new ReconnectAdmission(nodeId, priority, deviceCommunicatorDTO));
 
         activeConnectors.put(nodeId, deviceCommunicatorDTO);
 
+        // Connection setup is started only once the scheduler lets the device in, which keeps a large number of
+        // devices configured at once from all doing their handshakes and schema setup at the same time
+        final SettableFuture<NetconfDeviceCapabilities> future = SettableFuture.create();
+        final ListenableFuture<AdmissionTicket> admission = requestAdmission(nodeId, priority,
+                deviceCommunicatorDTO.getYangLibraryResolution());
+        deviceCommunicatorDTO.setAdmission(admission);
+        Futures.addCallback(admission, new FutureCallback<AdmissionTicket>() {
+            @Override
+            public void onSuccess(final AdmissionTicket ticket) {
+                deviceCommunicatorDTO.getAdmissionFacade().setTicket(ticket);
+                LOG.debug("RemoteDevice{{}} admitted to connection setup, {} devices waiting", nodeId.getValue(),
+                        admissionScheduler.getWaitingCount());
+                try {
+                    Futures.addCallback(deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig),
+                            new FutureCallback<NetconfDeviceCapabilities>() {
+                                @Override
+                                public void onSuccess(final NetconfDeviceCapabilities result) {
+                                    future.set(result);
+                                }
+
+                                @Override
+                                public void onFailure(final Throwable t) {
+                                    future.setException(t);
+                                }
+                            });
+                } catch (final RuntimeException e) {
+                    future.setException(e);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                future.setException(t);
+            }
+        });
+
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
             public void onSuccess(NetconfDeviceCapabilities result) {
@@ -253,6 +363,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
             @Override
             public void onFailure(Throwable t) {
                 LOG.error("Connector for : " + nodeId.getValue() + " failed");
+                deviceCommunicatorDTO.getAdmissionFacade().releaseTicket();
                 // remove this node from active connectors?
             }
         });
@@ -260,6 +371,49 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         return future;
     }
 
+    /**
+     * Ask for connection setup admission once the prerequisite finishes, either way. Slots are not held by devices
+     * still waiting for their yang library.
+     */
+    private ListenableFuture<AdmissionTicket> requestAdmission(final NodeId nodeId, final int priority,
+                                                               final ListenableFuture<?> prerequisite) {
+        final SettableFuture<AdmissionTicket> admission = SettableFuture.create();
+        prerequisite.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (admission.isCancelled()) {
+                    return;
+                }
+
+                final ListenableFuture<AdmissionTicket> requested =
+                        admissionScheduler.requestAdmission(nodeId.getValue(), priority);
+                Futures.addCallback(requested, new FutureCallback<AdmissionTicket>() {
+                    @Override
+                    public void onSuccess(final AdmissionTicket ticket) {
+                        if (!admission.set(ticket)) {
+                            // Node was disconnected in the meantime
+                            ticket.release();
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        admission.setException(t);
+                    }
+                });
+                admission.addListener(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (admission.isCancelled()) {
+                            requested.cancel(false);
+                        }
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+        }, MoreExecutors.directExecutor());
+        return admission;
+    }
+
     protected NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId,
                                                          final NetconfNode node) {
         //setup default values since default value is not supported in mdsal
@@ -278,43 +432,40 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
 
         if (keepaliveDelay > 0) {
             LOG.warn("Adding keepalive facade, for device {}", nodeId);
-            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, keepaliveExecutor.getExecutor(), keepaliveDelay, defaultRequestTimeoutMillis);
+            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, keepaliveExecutor.getExecutor(), keepaliveDelay,
+                    defaultRequestTimeoutMillis, getKeepaliveProbe(node));
         }
 
-        // pre register yang library sources as fallback schemas to schema registry
-        List<SchemaSourceRegistration<YangTextSchemaSource>> registeredYangLibSources = Lists.newArrayList();
+        // pre register yang library sources as fallback schemas to schema registry, the library is resolved in
+        // background and the connection is initiated only after that
+        ListenableFuture<?> yangLibraryResolution = Futures.immediateFuture(null);
         if (node.getYangLibrary() != null) {
             final String yangLibURL = node.getYangLibrary().getYangLibraryUrl().getValue();
             final String yangLibUsername = node.getYangLibrary().getUsername();
             final String yangLigPassword = node.getYangLibrary().getPassword();
 
-            LibraryModulesSchemas libraryModulesSchemas;
             if(yangLibURL != null) {
-                if(yangLibUsername != null && yangLigPassword != null) {
-                    libraryModulesSchemas = LibraryModulesSchemas.create(yangLibURL, yangLibUsername, yangLigPassword);
-                } else {
-                    libraryModulesSchemas = LibraryModulesSchemas.create(yangLibURL);
-                }
-
-                for (Map.Entry<SourceIdentifier, URL> sourceIdentifierURLEntry : libraryModulesSchemas.getAvailableModels().entrySet()) {
-                    registeredYangLibSources.
-                            add(schemaRegistry.registerSchemaSource(
-                                    new YangLibrarySchemaYangSourceProvider(remoteDeviceId, libraryModulesSchemas.getAvailableModels()),
-                                    PotentialSchemaSource
-                                            .create(sourceIdentifierURLEntry.getKey(), YangTextSchemaSource.class,
-                                            PotentialSchemaSource.Costs.REMOTE_IO.getValue())));
-                }
+                final ListenableFuture<LibraryModulesSchemas> libraryModulesSchemas = LibraryModulesSchemas.createAsync(
+                        yangLibURL, yangLibUsername, yangLigPassword, yangLibraryExecutor);
+                yangLibraryResolution = Futures.transform(libraryModulesSchemas,
+                        new Function<LibraryModulesSchemas, List<SchemaSourceRegistration<YangTextSchemaSource>>>() {
+                            @Override
+                            public List<SchemaSourceRegistration<YangTextSchemaSource>> apply(final LibraryModulesSchemas input) {
+                                return registerYangLibrarySources(remoteDeviceId, input);
+                            }
+                        });
             }
         }
 
         final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = setupSchemaCacheDTO(nodeId, node);
+        final AdmissionReleasingSalFacade admissionFacade = new AdmissionReleasingSalFacade(salFacade);
 
         final NetconfDevice device = new NetconfDeviceBuilder()
                 .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                 .setSchemaResourcesDTO(schemaResourcesDTO)
                 .setGlobalProcessingExecutor(processingExecutor.getExecutor())
                 .setId(remoteDeviceId)
-                .setSalFacade(salFacade)
+                .setSalFacade(admissionFacade)
                 .build();
 
         final Optional<NetconfSessionPreferences> userCapabilities = getUserCapabilities(node);
@@ -324,7 +475,28 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
                         new NetconfDeviceCommunicator(
                                 remoteDeviceId, device, new UserPreferences(userCapabilities.get(), node.getYangModuleCapabilities().isOverride())):
                         new NetconfDeviceCommunicator(remoteDeviceId, device)
-                , salFacade);
+                , salFacade, admissionFacade, yangLibraryResolution);
+    }
+
+    protected static KeepaliveSalFacade.KeepaliveProbe getKeepaliveProbe(final NetconfNode node) {
+        return node.getKeepaliveProbe() == NetconfNodeConnectionParameters.KeepaliveProbe.Get
+                ? KeepaliveSalFacade.KeepaliveProbe.GET : KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG;
+    }
+
+    private List<SchemaSourceRegistration<YangTextSchemaSource>> registerYangLibrarySources(
+            final RemoteDeviceId remoteDeviceId, final LibraryModulesSchemas libraryModulesSchemas) {
+        final List<SchemaSourceRegistration<YangTextSchemaSource>> registeredYangLibSources = Lists.newArrayList();
+        final YangLibrarySchemaYangSourceProvider yangLibraryProvider =
+                new YangLibrarySchemaYangSourceProvider(remoteDeviceId, libraryModulesSchemas.getAvailableModels(),
+                        yangLibraryExecutor);
+        for (Map.Entry<SourceIdentifier, URL> sourceIdentifierURLEntry : libraryModulesSchemas.getAvailableModels().entrySet()) {
+            registeredYangLibSources.
+                    add(schemaRegistry.registerSchemaSource(yangLibraryProvider,
+                            PotentialSchemaSource
+                                    .create(sourceIdentifierURLEntry.getKey(), YangTextSchemaSource.class,
+                                    PotentialSchemaSource.Costs.REMOTE_IO.getValue())));
+        }
+        return registeredYangLibSources;
     }
 
     protected NetconfDevice.SchemaResourcesDTO setupSchemaCacheDTO(final NodeId nodeId, final NetconfNode node) {
@@ -358,6 +530,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         }
 
         if (schemaResourcesDTO == null) {
+            // Contexts known from previous runs are prepared once the first device needs the default cache
+            DEFAULT_SCHEMA_CONTEXT_FACTORY.warmUp(processingExecutor.getExecutor());
             schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(schemaRegistry, schemaContextFactory,
                     new NetconfStateSchemas.NetconfStateSchemasResolverImpl());
         }
@@ -373,13 +547,15 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
      */
     private NetconfDevice.SchemaResourcesDTO createSchemaResourcesDTO(final String moduleSchemaCacheDirectory) {
         final SharedSchemaRepository repository = new SharedSchemaRepository(moduleSchemaCacheDirectory);
-        final SchemaContextFactory schemaContextFactory
-                = repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT);
+        final CachingSchemaContextFactory schemaContextFactory = new CachingSchemaContextFactory(
+                repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT),
+                moduleSetDirectory(moduleSchemaCacheDirectory));
         setSchemaRegistry(repository);
         setSchemaContextFactory(schemaContextFactory);
         final FilesystemSchemaSourceCache<YangTextSchemaSource> deviceCache =
                 createDeviceFilesystemCache(moduleSchemaCacheDirectory);
         repository.registerSchemaSourceListener(deviceCache);
+        schemaContextFactory.warmUp(processingExecutor.getExecutor());
         return new NetconfDevice.SchemaResourcesDTO(repository, schemaContextFactory,
                 new NetconfStateSchemas.NetconfStateSchemasResolverImpl());
     }
@@ -396,6 +572,15 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
     }
 
     public NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener, NetconfNode node) {
+        return getClientConfig(listener, node, null);
+    }
+
+    /**
+     * @param reconnectAdmission if not null, every reconnect attempt waits for connection setup admission
+     */
+    private NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
+                                                                   final NetconfNode node,
+                                                                   final ReconnectAdmission reconnectAdmission) {
 
         //setup default values since default value is not supported in mdsal
         final long clientConnectionTimeoutMillis = node.getConnectionTimeoutMillis() == null ? DEFAULT_CONNECTION_TIMEOUT_MILLIS : node.getConnectionTimeoutMillis();
@@ -405,8 +590,12 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
-        final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
+        final ReconnectStrategyFactory timedFactory = new TimedReconnectStrategyFactory(eventExecutor,
                 maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor);
+        final ReconnectStrategyFactory sf = reconnectAdmission == null ? timedFactory
+                : new AdmittedReconnectStrategyFactory(
+                        reconnectAdmission.connector.getCommunicator().timeConnectAttempts(timedFactory),
+                        reconnectAdmission);
         final ReconnectStrategy strategy = sf.createReconnectStrategy();
 
         final AuthenticationHandler authHandler;
@@ -498,8 +687,163 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
             final Long maxSleep = null;
             final Long deadline = null;
 
-            return new TimedReconnectStrategy(executor, minSleep,
-                    minSleep, sleepFactor, maxSleep, connectionAttempts, deadline);
+            return new JitteredReconnectStrategy(executor, new TimedReconnectStrategy(executor, minSleep,
+                    minSleep, sleepFactor, maxSleep, connectionAttempts, deadline), minSleep);
+        }
+    }
+
+    /**
+     * Delays every reconnect attempt of the wrapped strategy by a random amount of up to the minimal sleep, so that
+     * devices which lost their connections at the same time do not keep retrying in lockstep.
+     */
+    private static final class JitteredReconnectStrategy implements ReconnectStrategy {
+        private static final Random JITTER = new Random();
+
+        private final EventExecutor executor;
+        private final ReconnectStrategy delegate;
+        private final int maxJitterMillis;
+
+        JitteredReconnectStrategy(final EventExecutor executor, final ReconnectStrategy delegate, final int maxJitterMillis) {
+            this.executor = executor;
+            this.delegate = delegate;
+            this.maxJitterMillis = maxJitterMillis;
+        }
+
+        @Override
+        public int getConnectTimeout() throws Exception {
+            return delegate.getConnectTimeout();
+        }
+
+        @Override
+        public Future<Void> scheduleReconnect(final Throwable cause) {
+            final Future<Void> delay = delegate.scheduleReconnect(cause);
+            if (maxJitterMillis <= 0) {
+                return delay;
+            }
+
+            final Promise<Void> jittered = executor.newPromise();
+            delay.addListener(new GenericFutureListener<Future<Void>>() {
+                @Override
+                public void operationComplete(final Future<Void> future) {
+                    if (!future.isSuccess()) {
+                        jittered.tryFailure(future.cause());
+                        return;
+                    }
+                    executor.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            jittered.trySuccess(null);
+                        }
+                    }, nextJitter(), TimeUnit.MILLISECONDS);
+                }
+            });
+            return jittered;
+        }
+
+        private int nextJitter() {
+            synchronized (JITTER) {
+                return JITTER.nextInt(maxJitterMillis);
+            }
+        }
+
+        @Override
+        public void reconnectSuccessful() {
+            delegate.reconnectSuccessful();
+        }
+    }
+
+    /**
+     * Identity of the node whose reconnect attempts go through the connection admission scheduler.
+     */
+    private static final class ReconnectAdmission {
+        private final NodeId nodeId;
+        private final int priority;
+        private final NetconfConnectorDTO connector;
+
+        ReconnectAdmission(final NodeId nodeId, final int priority, final NetconfConnectorDTO connector) {
+            this.nodeId = nodeId;
+            this.priority = priority;
+            this.connector = connector;
+        }
+    }
+
+    private final class AdmittedReconnectStrategyFactory implements ReconnectStrategyFactory {
+        private final ReconnectStrategyFactory delegate;
+        private final ReconnectAdmission admission;
+
+        AdmittedReconnectStrategyFactory(final ReconnectStrategyFactory delegate, final ReconnectAdmission admission) {
+            this.delegate = delegate;
+            this.admission = admission;
+        }
+
+        @Override
+        public ReconnectStrategy createReconnectStrategy() {
+            return new AdmittedReconnectStrategy(delegate.createReconnectStrategy(), admission);
+        }
+    }
+
+    /**
+     * Lets every reconnect attempt of the wrapped strategy wait for connection setup admission once the reconnect
+     * delay passes, so that devices retrying their connections share the setup limit with newly configured ones. The
+     * ticket of the previous attempt is released when the next one is scheduled, the ticket of the new attempt is
+     * released by the admission facade once the attempt finishes. The immediate reconnect the reconnecting client
+     * makes after an established session drops does not consult the strategy and so is not admitted.
+     */
+    private final class AdmittedReconnectStrategy implements ReconnectStrategy {
+        private final ReconnectStrategy delegate;
+        private final ReconnectAdmission admission;
+
+        AdmittedReconnectStrategy(final ReconnectStrategy delegate, final ReconnectAdmission admission) {
+            this.delegate = delegate;
+            this.admission = admission;
+        }
+
+        @Override
+        public int getConnectTimeout() throws Exception {
+            return delegate.getConnectTimeout();
+        }
+
+        @Override
+        public Future<Void> scheduleReconnect(final Throwable cause) {
+            // Previous attempt failed, its setup is over
+            admission.connector.getAdmissionFacade().releaseTicket();
+
+            final Future<Void> delay = delegate.scheduleReconnect(cause);
+            final Promise<Void> admitted = eventExecutor.newPromise();
+            delay.addListener(new GenericFutureListener<Future<Void>>() {
+                @Override
+                public void operationComplete(final Future<Void> future) {
+                    if (!future.isSuccess()) {
+                        admitted.tryFailure(future.cause());
+                        return;
+                    }
+
+                    final ListenableFuture<AdmissionTicket> request = admissionScheduler.requestAdmission(
+                            admission.nodeId.getValue(), admission.priority);
+                    admission.connector.setAdmission(request);
+                    Futures.addCallback(request, new FutureCallback<AdmissionTicket>() {
+                        @Override
+                        public void onSuccess(final AdmissionTicket ticket) {
+                            admission.connector.getAdmissionFacade().setReconnectTicket(ticket);
+                            LOG.debug("RemoteDevice{{}} admitted to reconnect", admission.nodeId.getValue());
+                            if (!admitted.trySuccess(null)) {
+                                admission.connector.getAdmissionFacade().releaseTicket();
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(final Throwable t) {
+                            admitted.tryFailure(t);
+                        }
+                    });
+                }
+            });
+            return admitted;
+        }
+
+        @Override
+        public void reconnectSuccessful() {
+            delegate.reconnectSuccessful();
         }
     }
 
@@ -507,10 +851,25 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
 
         private final NetconfDeviceCommunicator communicator;
         private final RemoteDeviceHandler<NetconfSessionPreferences> facade;
+        private final AdmissionReleasingSalFacade admissionFacade;
+        private final ListenableFuture<?> yangLibraryResolution;
+        private ListenableFuture<AdmissionTicket> admission;
 
         public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator, final RemoteDeviceHandler<NetconfSessionPreferences> facade) {
+            this(communicator, facade, new AdmissionReleasingSalFacade(facade));
+        }
+
+        public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator, final RemoteDeviceHandler<NetconfSessionPreferences> facade,
+                                   final AdmissionReleasingSalFacade admissionFacade) {
+            this(communicator, facade, admissionFacade, Futures.immediateFuture(null));
+        }
+
+        public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator, final RemoteDeviceHandler<NetconfSessionPreferences> facade,
+                                   final AdmissionReleasingSalFacade admissionFacade, final ListenableFuture<?> yangLibraryResolution) {
             this.communicator = communicator;
             this.facade = facade;
+            this.admissionFacade = admissionFacade;
+            this.yangLibraryResolution = yangLibraryResolution;
         }
 
         public NetconfDeviceCommunicator getCommunicator() {
@@ -524,6 +883,31 @@ public abstract class AbstractNetconfTopology implements NetconfTopology, Bindin
         public NetconfClientSessionListener getSessionListener() {
             return communicator;
         }
+
+        public AdmissionReleasingSalFacade getAdmissionFacade() {
+            return admissionFacade;
+        }
+
+        /**
+         * @return future completed once the yang library of the device, if any, is resolved and its sources registered
+         */
+        public ListenableFuture<?> getYangLibraryResolution() {
+            return yangLibraryResolution;
+        }
+
+        synchronized void setAdmission(final ListenableFuture<AdmissionTicket> admission) {
+            this.admission = admission;
+        }
+
+        /**
+         * Withdraw a pending admission request and give back the admission if it was already granted.
+         */
+        public synchronized void cancelAdmission() {
+            if (admission != null) {
+                admission.cancel(false);
+            }
+            admissionFacade.releaseTicket();
+        }
     }
 
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology;
+
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.topology.ConnectionAdmissionScheduler.AdmissionTicket;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Sal facade releasing the connection setup admission of a device as soon as the device setup is over, i.e. the
+ * device got connected, failed or was disconnected. All calls are passed to the delegate unchanged.
+ */
+public final class AdmissionReleasingSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
+
+    private final RemoteDeviceHandler<NetconfSessionPreferences> delegate;
+    private AdmissionTicket ticket;
+    private boolean setupFinished;
+    private boolean closed;
+
+    public AdmissionReleasingSalFacade(final RemoteDeviceHandler<NetconfSessionPreferences> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Attach the ticket obtained for this device. If the setup is already over, the ticket is released right away.
+     */
+    public void setTicket(final AdmissionTicket ticket) {
+        synchronized (this) {
+            if (!setupFinished) {
+                this.ticket = ticket;
+                return;
+            }
+        }
+        ticket.release();
+    }
+
+    /**
+     * Attach the ticket obtained for a reconnect attempt, the ticket is held until that attempt finishes. Tickets
+     * arriving after the facade was closed are released right away.
+     */
+    public void setReconnectTicket(final AdmissionTicket ticket) {
+        final AdmissionTicket previous;
+        final boolean release;
+        synchronized (this) {
+            previous = this.ticket;
+            release = closed;
+            if (closed) {
+                setupFinished = true;
+                this.ticket = null;
+            } else {
+                setupFinished = false;
+                this.ticket = ticket;
+            }
+        }
+        release(previous);
+        if (release) {
+            ticket.release();
+        }
+    }
+
+    /**
+     * Release the ticket without waiting for the device, e.g. because the connection could not be initiated.
+     */
+    public void releaseTicket() {
+        release(finishSetup());
+    }
+
+    private synchronized AdmissionTicket finishSetup() {
+        setupFinished = true;
+        final AdmissionTicket previous = ticket;
+        ticket = null;
+        return previous;
+    }
+
+    /**
+     * Tickets are released outside of the monitor, releasing one admits other devices and attaches their tickets to
+     * their facades from the same thread.
+     */
+    private static void release(final AdmissionTicket ticket) {
+        if (ticket != null) {
+            ticket.release();
+        }
+    }
+
+    @Override
+    public void onDeviceConnected(final SchemaContext remoteSchemaContext,
+                                  final NetconfSessionPreferences netconfSessionPreferences,
+                                  final DOMRpcService deviceRpc) {
+        try {
+            delegate.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc);
+        } finally {
+            releaseTicket();
+        }
+    }
+
+    @Override
+    public void onDeviceDisconnected() {
+        releaseTicket();
+        delegate.onDeviceDisconnected();
+    }
+
+    @Override
+    public void onDeviceFailed(final Throwable throwable) {
+        releaseTicket();
+        delegate.onDeviceFailed(throwable);
+    }
+
+    @Override
+    public void onNotification(final DOMNotification domNotification) {
+        delegate.onNotification(domNotification);
+    }
+
+    @Override
+    public void close() {
+        final AdmissionTicket previous;
+        synchronized (this) {
+            closed = true;
+            previous = finishSetup();
+        }
+        release(previous);
+        delegate.close();
+    }
+}
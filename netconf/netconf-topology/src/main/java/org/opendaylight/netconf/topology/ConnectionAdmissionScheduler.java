@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of devices concurrently going through connection setup (SSH handshake, hello exchange, schema
+ * resolution and mountpoint creation). Devices asking for admission while the limit is reached wait in a queue
+ * ordered by priority (higher first) and then by arrival. An admitted device has to release its
+ * {@link AdmissionTicket} once the setup finishes either way; tickets not released within the setup timeout are
+ * released automatically, so that a device retrying its connection forever cannot hold a slot.
+ * <p>
+ * Admission futures are always completed outside of the scheduler lock, their listeners usually start the connection
+ * right away.
+ */
+public class ConnectionAdmissionScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionAdmissionScheduler.class);
+
+    /**
+     * Maximum concurrent setups value disabling the limit.
+     */
+    public static final int UNLIMITED = 0;
+
+    private final ScheduledExecutorService timer;
+    private final int maxConcurrentSetups;
+    private final long setupTimeoutMillis;
+    private final PriorityQueue<PendingAdmission> queue = new PriorityQueue<>();
+
+    private long sequence;
+    private int active;
+    private long admittedTotal;
+    private long timedOutTotal;
+
+    /**
+     * @param timer executor used to expire tickets which are not released in time
+     * @param maxConcurrentSetups maximum number of admitted devices, {@link #UNLIMITED} disables the limit
+     * @param setupTimeoutMillis time after which an admitted ticket is released automatically, non-positive value
+     *                           disables the expiration
+     */
+    public ConnectionAdmissionScheduler(final ScheduledExecutorService timer, final int maxConcurrentSetups,
+                                        final long setupTimeoutMillis) {
+        Preconditions.checkArgument(maxConcurrentSetups >= 0, "Negative setup limit %s", maxConcurrentSetups);
+        this.timer = Preconditions.checkNotNull(timer);
+        this.maxConcurrentSetups = maxConcurrentSetups;
+        this.setupTimeoutMillis = setupTimeoutMillis;
+    }
+
+    /**
+     * Ask for admission to connection setup.
+     *
+     * @param id identifier of the device, used for logging
+     * @param priority devices with higher priority are admitted first
+     * @return future completed with a ticket once the device is admitted. Cancelling the future withdraws the
+     *         request if it is still waiting.
+     */
+    public ListenableFuture<AdmissionTicket> requestAdmission(final String id, final int priority) {
+        final PendingAdmission pending;
+        final List<Admission> admitted;
+        synchronized (this) {
+            pending = new PendingAdmission(id, priority, sequence++);
+            queue.add(pending);
+            LOG.debug("Device {} asked for connection setup admission with priority {}, {} waiting, {} in progress",
+                    id, priority, queue.size(), active);
+            admitted = drain();
+        }
+        pending.future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (pending.future.isCancelled()) {
+                    withdraw(pending);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        complete(admitted);
+        return pending.future;
+    }
+
+    private synchronized void withdraw(final PendingAdmission pending) {
+        if (queue.remove(pending)) {
+            LOG.debug("Device {} withdrew its connection setup admission request", pending.id);
+        }
+    }
+
+    private List<Admission> release(final AdmissionTicket ticket, final boolean timedOut) {
+        active--;
+        if (timedOut) {
+            timedOutTotal++;
+            LOG.info("Connection setup of device {} did not finish in {} ms, admitting next device",
+                    ticket.id, setupTimeoutMillis);
+        } else {
+            LOG.debug("Device {} finished connection setup, {} waiting, {} in progress", ticket.id, queue.size(),
+                    active);
+        }
+        return drain();
+    }
+
+    /**
+     * Hand out free slots to waiting devices. Has to be called with the lock held, the returned admissions have to be
+     * completed by {@link #complete(List)} once the lock is released.
+     */
+    private List<Admission> drain() {
+        List<Admission> admitted = Collections.emptyList();
+        while (!queue.isEmpty() && (maxConcurrentSetups == UNLIMITED || active < maxConcurrentSetups)) {
+            final PendingAdmission next = queue.poll();
+            if (next.future.isDone()) {
+                continue;
+            }
+            final AdmissionTicket ticket = new AdmissionTicket(next.id);
+            active++;
+            admittedTotal++;
+            ticket.scheduleExpiration();
+            if (admitted.isEmpty()) {
+                admitted = new ArrayList<>();
+            }
+            admitted.add(new Admission(next, ticket));
+        }
+        return admitted;
+    }
+
+    /**
+     * Complete admission futures, must not be called with the lock held since the listeners of the futures start
+     * connection setups. Slots of requests cancelled in the meantime are handed to the next waiting devices.
+     */
+    private void complete(final List<Admission> admitted) {
+        List<Admission> toComplete = admitted;
+        while (!toComplete.isEmpty()) {
+            final List<Admission> next = new ArrayList<>();
+            for (final Admission admission : toComplete) {
+                if (!admission.pending.future.set(admission.ticket)) {
+                    next.addAll(admission.ticket.withdrawOnce());
+                }
+            }
+            toComplete = next;
+        }
+    }
+
+    public synchronized int getWaitingCount() {
+        return queue.size();
+    }
+
+    public synchronized int getInProgressCount() {
+        return active;
+    }
+
+    public synchronized long getAdmittedCount() {
+        return admittedTotal;
+    }
+
+    public synchronized long getTimedOutCount() {
+        return timedOutTotal;
+    }
+
+    public int getMaxConcurrentSetups() {
+        return maxConcurrentSetups;
+    }
+
+    /**
+     * Slot held by an admitted device. Releasing is idempotent.
+     */
+    public final class AdmissionTicket {
+        private final String id;
+        private boolean released;
+        private ScheduledFuture<?> expiration;
+
+        private AdmissionTicket(final String id) {
+            this.id = id;
+        }
+
+        private void scheduleExpiration() {
+            if (setupTimeoutMillis > 0) {
+                expiration = timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        releaseOnce(true);
+                    }
+                }, setupTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void release() {
+            releaseOnce(false);
+        }
+
+        private void releaseOnce(final boolean timedOut) {
+            final List<Admission> admitted;
+            synchronized (ConnectionAdmissionScheduler.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                if (expiration != null && !timedOut) {
+                    expiration.cancel(false);
+                }
+                admitted = ConnectionAdmissionScheduler.this.release(this, timedOut);
+            }
+            complete(admitted);
+        }
+
+        /**
+         * Give back the slot of a request cancelled before its future could be completed, it is not counted as
+         * admitted.
+         */
+        private List<Admission> withdrawOnce() {
+            synchronized (ConnectionAdmissionScheduler.this) {
+                if (released) {
+                    return Collections.emptyList();
+                }
+                released = true;
+                if (expiration != null) {
+                    expiration.cancel(false);
+                }
+                active--;
+                admittedTotal--;
+                return drain();
+            }
+        }
+    }
+
+    private static final class Admission {
+        private final PendingAdmission pending;
+        private final AdmissionTicket ticket;
+
+        Admission(final PendingAdmission pending, final AdmissionTicket ticket) {
+            this.pending = pending;
+            this.ticket = ticket;
+        }
+    }
+
+    private static final class PendingAdmission implements Comparable<PendingAdmission> {
+        private final String id;
+        private final int priority;
+        private final long sequence;
+        private final SettableFuture<AdmissionTicket> future = SettableFuture.create();
+
+        PendingAdmission(final String id, final int priority, final long sequence) {
+            this.id = id;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final PendingAdmission other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
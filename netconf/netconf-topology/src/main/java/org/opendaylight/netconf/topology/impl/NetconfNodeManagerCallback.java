@@ -17,6 +17,7 @@ import akka.cluster.Cluster;
 import akka.dispatch.OnComplete;
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -36,6 +37,7 @@ import org.opendaylight.netconf.client.NetconfClientSession;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.util.CapabilityInterner;
 import org.opendaylight.netconf.topology.NetconfTopology;
 import org.opendaylight.netconf.topology.NodeManager;
 import org.opendaylight.netconf.topology.NodeManagerCallback;
@@ -78,15 +80,15 @@ public class NetconfNodeManagerCallback implements NodeManagerCallback, NetconfC
         @Override
         public UnavailableCapability apply(final Entry<QName, FailureReason> input) {
             return new UnavailableCapabilityBuilder()
-                    .setCapability(input.getKey().toString())
+                    .setCapability(CapabilityInterner.capabilityString(input.getKey()))
                     .setFailureReason(input.getValue()).build();
         }
     };
     public static final Function<QName, String> AVAILABLE_CAPABILITY_TRANSFORMER = new Function<QName, String>() {
         @Override
         public String apply(QName qName) {
-            // intern string representation of a capability to avoid duplicates
-            return qName.toString().intern();
+            // share string representation of a capability to avoid duplicates
+            return CapabilityInterner.capabilityString(qName);
         }
     };
 
@@ -375,7 +377,7 @@ public class NetconfNodeManagerCallback implements NodeManagerCallback, NetconfC
         capabilityList.addAll(netconfSessionPreferences.getNetconfDeviceCapabilities().getNonModuleBasedCapabilities());
         capabilityList.addAll(FluentIterable.from(netconfSessionPreferences.getNetconfDeviceCapabilities().getResolvedCapabilities()).transform(AVAILABLE_CAPABILITY_TRANSFORMER).toList());
         final AvailableCapabilitiesBuilder avCapabalitiesBuilder = new AvailableCapabilitiesBuilder();
-        avCapabalitiesBuilder.setAvailableCapability(capabilityList);
+        avCapabalitiesBuilder.setAvailableCapability(CapabilityInterner.intern(ImmutableList.copyOf(capabilityList)));
 
         final UnavailableCapabilities unavailableCapabilities =
                 new UnavailableCapabilitiesBuilder().setUnavailableCapability(FluentIterable.from(netconfSessionPreferences.getNetconfDeviceCapabilities().getUnresolvedCapabilites().entrySet())
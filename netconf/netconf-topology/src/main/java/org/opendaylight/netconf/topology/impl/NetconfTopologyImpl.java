@@ -33,6 +33,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceSalFacade;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.AbstractNetconfTopology;
+import org.opendaylight.netconf.topology.ConnectionAdmissionScheduler;
 import org.opendaylight.netconf.topology.SchemaRepositoryProvider;
 import org.opendaylight.netconf.topology.pipeline.TopologyMountPointFacade.ConnectionStatusListenerRegistration;
 import org.opendaylight.netconf.topology.util.TopologyUtil;
@@ -65,10 +66,23 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology implements Data
         registerToSal(this, this);
     }
 
+    public NetconfTopologyImpl(final String topologyId, final NetconfClientDispatcher clientDispatcher,
+                               final BindingAwareBroker bindingAwareBroker, final Broker domBroker,
+                               final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
+                               final ThreadPool processingExecutor, final SchemaRepositoryProvider schemaRepositoryProvider,
+                               final ConnectionAdmissionScheduler admissionScheduler, final ThreadPool yangLibraryExecutor) {
+        super(topologyId, clientDispatcher,
+                bindingAwareBroker, domBroker, eventExecutor,
+                keepaliveExecutor, processingExecutor, schemaRepositoryProvider, admissionScheduler,
+                yangLibraryExecutor);
+        registerToSal(this, this);
+    }
+
     @Override
     public void close() throws Exception {
         // close all existing connectors, delete whole topology in datastore?
         for (NetconfConnectorDTO connectorDTO : activeConnectors.values()) {
+            connectorDTO.cancelAdmission();
             connectorDTO.getCommunicator().close();
         }
         activeConnectors.clear();
@@ -77,6 +91,7 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology implements Data
             datastoreListenerRegistration.close();
             datastoreListenerRegistration = null;
         }
+        closeYangLibraryExecutor();
     }
 
     @Override
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.topology.ConnectionAdmissionScheduler.AdmissionTicket;
+
+public class ConnectionAdmissionSchedulerTest {
+
+    @Mock
+    private ScheduledExecutorService timer;
+
+    @Mock
+    private ScheduledFuture<?> expiration;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(expiration).when(timer).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testUnlimitedAdmitsImmediately() throws Exception {
+        final ConnectionAdmissionScheduler scheduler =
+                new ConnectionAdmissionScheduler(timer, ConnectionAdmissionScheduler.UNLIMITED, 0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(scheduler.requestAdmission("device-" + i, 0).isDone());
+        }
+        assertEquals(10, scheduler.getInProgressCount());
+        assertEquals(0, scheduler.getWaitingCount());
+    }
+
+    @Test
+    public void testPriorityOrderingAndRelease() throws Exception {
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(timer, 1, 0);
+        final ListenableFuture<AdmissionTicket> first = scheduler.requestAdmission("first", 0);
+        final ListenableFuture<AdmissionTicket> low = scheduler.requestAdmission("low", 0);
+        final ListenableFuture<AdmissionTicket> high = scheduler.requestAdmission("high", 5);
+        assertTrue(first.isDone());
+        assertFalse(low.isDone());
+        assertFalse(high.isDone());
+        assertEquals(2, scheduler.getWaitingCount());
+
+        first.get().release();
+        assertTrue(high.isDone());
+        assertFalse(low.isDone());
+
+        // Releasing twice must not free another slot
+        first.get().release();
+        assertFalse(low.isDone());
+        assertEquals(1, scheduler.getInProgressCount());
+
+        high.get().release();
+        assertTrue(low.isDone());
+        assertEquals(3, scheduler.getAdmittedCount());
+    }
+
+    @Test
+    public void testCancelledRequestIsWithdrawn() throws Exception {
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(timer, 1, 0);
+        final ListenableFuture<AdmissionTicket> first = scheduler.requestAdmission("first", 0);
+        final ListenableFuture<AdmissionTicket> cancelled = scheduler.requestAdmission("cancelled", 0);
+        final ListenableFuture<AdmissionTicket> next = scheduler.requestAdmission("next", 0);
+
+        cancelled.cancel(false);
+        assertEquals(1, scheduler.getWaitingCount());
+
+        first.get().release();
+        assertTrue(next.isDone());
+        assertEquals(2, scheduler.getAdmittedCount());
+    }
+
+    @Test
+    public void testExpiredTicketFreesSlot() throws Exception {
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(timer, 1, 1000);
+        scheduler.requestAdmission("stuck", 0);
+        final ListenableFuture<AdmissionTicket> next = scheduler.requestAdmission("next", 0);
+
+        final ArgumentCaptor<Runnable> expirationCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer).schedule(expirationCaptor.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        expirationCaptor.getValue().run();
+
+        assertTrue(next.isDone());
+        assertEquals(1, scheduler.getTimedOutCount());
+        next.get().release();
+        verify(expiration).cancel(false);
+        assertEquals(0, scheduler.getInProgressCount());
+    }
+
+    @Test
+    public void testAdmissionListenersRunOutsideOfLock() throws Exception {
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(timer, 1, 1000);
+        final AtomicInteger completedUnlocked = new AtomicInteger();
+        final ListenableFuture<AdmissionTicket> first = scheduler.requestAdmission("first", 0);
+        final ListenableFuture<AdmissionTicket> second = scheduler.requestAdmission("second", 0);
+        final ListenableFuture<AdmissionTicket> third = scheduler.requestAdmission("third", 0);
+        for (final ListenableFuture<AdmissionTicket> future : Arrays.asList(first, second, third)) {
+            future.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    if (!Thread.holdsLock(scheduler)) {
+                        completedUnlocked.incrementAndGet();
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        // Released by the device
+        first.get().release();
+        assertTrue(second.isDone());
+
+        // Released by expiration
+        final ArgumentCaptor<Runnable> expirationCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer, times(2)).schedule(expirationCaptor.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        expirationCaptor.getValue().run();
+        assertTrue(third.isDone());
+
+        assertEquals(3, completedUnlocked.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFacadeReleasesTicketOutsideOfItsMonitor() throws Exception {
+        final ConnectionAdmissionScheduler scheduler = new ConnectionAdmissionScheduler(timer, 1, 0);
+        final AdmissionReleasingSalFacade first = new AdmissionReleasingSalFacade(mock(RemoteDeviceHandler.class));
+        final AdmissionReleasingSalFacade second = new AdmissionReleasingSalFacade(mock(RemoteDeviceHandler.class));
+        first.setTicket(scheduler.requestAdmission("first", 0).get());
+
+        final ListenableFuture<AdmissionTicket> secondAdmission = scheduler.requestAdmission("second", 0);
+        final AtomicInteger attachedUnlocked = new AtomicInteger();
+        secondAdmission.addListener(new Runnable() {
+            @Override
+            public void run() {
+                // Another device releasing its ticket concurrently would lock the monitors in opposite order
+                if (!Thread.holdsLock(first)) {
+                    attachedUnlocked.incrementAndGet();
+                }
+                second.setTicket(Futures.getUnchecked(secondAdmission));
+            }
+        }, MoreExecutors.directExecutor());
+
+        first.onDeviceFailed(new IllegalStateException("failed"));
+
+        assertEquals(1, attachedUnlocked.get());
+        assertEquals(1, scheduler.getInProgressCount());
+        second.close();
+        assertEquals(0, scheduler.getInProgressCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        new ConnectionAdmissionScheduler(mock(ScheduledExecutorService.class), -1, 0);
+    }
+}
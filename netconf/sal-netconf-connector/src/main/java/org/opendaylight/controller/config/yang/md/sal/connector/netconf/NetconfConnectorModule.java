@@ -394,8 +394,8 @@ public final class NetconfConnectorModule extends org.opendaylight.controller.co
         final InetSocketAddress socketAddress = getSocketAddress();
         final long clientConnectionTimeoutMillis = getConnectionTimeoutMillis();
 
-        final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
-                getMaxConnectionAttempts(), getBetweenAttemptsTimeoutMillis(), getSleepFactor());
+        final ReconnectStrategyFactory sf = listener.timeConnectAttempts(new TimedReconnectStrategyFactory(eventExecutor,
+                getMaxConnectionAttempts(), getBetweenAttemptsTimeoutMillis(), getSleepFactor()));
         final ReconnectStrategy strategy = sf.createReconnectStrategy();
 
         return NetconfReconnectingClientConfigurationBuilder.create()
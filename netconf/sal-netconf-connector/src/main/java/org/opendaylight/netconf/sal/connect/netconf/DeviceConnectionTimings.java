@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durations of the phases a device goes through from connecting to being mounted. Reported on a dedicated debug
+ * logger once the device is mounted, so that scale tests can collect them without affecting regular logs.
+ */
+final class DeviceConnectionTimings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceConnectionTimings.class);
+
+    enum Phase {
+        /**
+         * Transport (TCP, SSH) setup and hello exchange.
+         */
+        SESSION("session"),
+        /**
+         * Resolution of the schema sources required by the device.
+         */
+        SOURCES("sources"),
+        /**
+         * Schema context assembly, including download of missing sources.
+         */
+        SCHEMA_CONTEXT("schema-context"),
+        /**
+         * Registration of the mount point and other sal services.
+         */
+        MOUNT("mount");
+
+        private final String name;
+
+        Phase(final String name) {
+            this.name = name;
+        }
+    }
+
+    private final RemoteDeviceId id;
+    private final long[] durations = new long[Phase.values().length];
+    private long phaseStart = System.nanoTime();
+
+    DeviceConnectionTimings(final RemoteDeviceId id, final long sessionSetupNanos) {
+        this.id = id;
+        durations[Phase.SESSION.ordinal()] = sessionSetupNanos;
+    }
+
+    /**
+     * Phase ended, the next phase starts now.
+     */
+    synchronized void phaseDone(final Phase phase) {
+        final long now = System.nanoTime();
+        durations[phase.ordinal()] = now - phaseStart;
+        phaseStart = now;
+    }
+
+    synchronized void report(final boolean reusedSchema) {
+        if (!LOG.isDebugEnabled()) {
+            return;
+        }
+
+        long total = 0;
+        final StringBuilder phases = new StringBuilder();
+        for (final Phase phase : Phase.values()) {
+            final long micros = TimeUnit.NANOSECONDS.toMicros(durations[phase.ordinal()]);
+            total += micros;
+            phases.append(' ').append(phase.name).append('=').append(micros);
+        }
+        LOG.debug("{}: Connection phases [us]{} total={} reused-schema={}", id, phases, total, reusedSchema);
+    }
+}
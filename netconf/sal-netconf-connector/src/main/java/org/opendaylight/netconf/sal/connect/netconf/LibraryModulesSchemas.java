@@ -12,8 +12,14 @@ import static javax.xml.bind.DatatypeConverter.printBase64Binary;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -24,6 +30,7 @@ import java.net.URLConnection;
 import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev160409.ModulesState;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev160409.module.list.Module;
@@ -58,6 +65,15 @@ public class LibraryModulesSchemas {
 
     private static final Logger LOG = LoggerFactory.getLogger(LibraryModulesSchemas.class);
 
+    static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    static final int READ_TIMEOUT_MILLIS = 30000;
+
+    /**
+     * Last modules-state document per yang library URL and user, revalidated with If-None-Match
+     */
+    private static final Cache<String, CachedModulesState> MODULES_STATE_CACHE =
+            CacheBuilder.newBuilder().maximumSize(1000).build();
+
     private static SchemaContext libraryContext;
 
     private final Map<SourceIdentifier, URL> availableModels;
@@ -86,19 +102,64 @@ public class LibraryModulesSchemas {
      */
     public static LibraryModulesSchemas create(final String url, final String username, final String password) {
         Preconditions.checkNotNull(url);
+        String userpass = username + ":" + password;
+        return fetch(url, username, Optional.of("Basic " + printBase64Binary(userpass.getBytes())));
+    }
+
+    /**
+     * Resolves URLs with YANG schema resources from modules-state in the background, so that a slow yang library
+     * server does not hold up the caller.
+     *
+     * @param url URL pointing to yang library
+     * @param username user for basic http authentication, null if the library is not protected
+     * @param password password for basic http authentication, null if the library is not protected
+     * @param executor executor performing the download
+     * @return future with resolved URLs with YANG schema resources for all yang modules from yang library
+     */
+    public static ListenableFuture<LibraryModulesSchemas> createAsync(final String url, final String username,
+                                                                      final String password,
+                                                                      final ListeningExecutorService executor) {
+        Preconditions.checkNotNull(url);
+        return executor.submit(new Callable<LibraryModulesSchemas>() {
+            @Override
+            public LibraryModulesSchemas call() {
+                return username != null && password != null ? create(url, username, password) : create(url);
+            }
+        });
+    }
+
+    private static LibraryModulesSchemas fetch(final String url, final String username,
+                                               final Optional<String> authorization) {
+        final String cacheKey = url + '\n' + Strings.nullToEmpty(username);
         try {
             final URL urlConnection = new URL(url);
             final URLConnection connection = urlConnection.openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
 
+            final CachedModulesState cached = MODULES_STATE_CACHE.getIfPresent(cacheKey);
             if(connection instanceof HttpURLConnection) {
                 connection.setRequestProperty("Accept", "application/xml");
-                String userpass = username + ":" + password;
-                String basicAuth = "Basic " + printBase64Binary(userpass.getBytes());
+                if (authorization.isPresent()) {
+                    connection.setRequestProperty("Authorization", authorization.get());
+                }
+                if (cached != null) {
+                    connection.setRequestProperty("If-None-Match", cached.etag);
+                }
 
-                connection.setRequestProperty("Authorization", basicAuth);
+                if (cached != null
+                        && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    LOG.debug("Yang library at {} not modified since last download", url);
+                    return cached.schemas;
+                }
             }
 
-            return createFromURLConnection(connection);
+            final LibraryModulesSchemas schemas = createFromURLConnection(connection);
+            final String etag = connection.getHeaderField("ETag");
+            if (etag != null && !schemas.getAvailableModels().isEmpty()) {
+                MODULES_STATE_CACHE.put(cacheKey, new CachedModulesState(etag, schemas));
+            }
+            return schemas;
 
         } catch (IOException e) {
             LOG.warn("Unable to download yang library from {}", url, e);
@@ -106,7 +167,6 @@ public class LibraryModulesSchemas {
         }
     }
 
-
     private static LibraryModulesSchemas createFromURLConnection(URLConnection connection) {
 
         String contentType = connection.getContentType();
@@ -119,7 +179,10 @@ public class LibraryModulesSchemas {
         Preconditions.checkNotNull(contentType, "Content type unknown");
         Preconditions.checkState(contentType.equals("application/json") || contentType.equals("application/xml"),
                 "Only XML and JSON types are supported.");
-        try (final InputStream in = connection.getInputStream()) {
+        // Read the whole body before parsing, an exhausted and closed stream lets the connection be kept alive
+        // and reused for the module downloads from the same server
+        try (final InputStream body = connection.getInputStream()) {
+            final InputStream in = new ByteArrayInputStream(ByteStreams.toByteArray(body));
             final Optional<NormalizedNode<?, ?>> optionalModulesStateNode =
                     contentType.equals("application/json") ? readJson(in) : readXml(in);
 
@@ -165,20 +228,7 @@ public class LibraryModulesSchemas {
      */
     public static LibraryModulesSchemas create(final String url) {
         Preconditions.checkNotNull(url);
-        try {
-            final URL urlConnection = new URL(url);
-            final URLConnection connection = urlConnection.openConnection();
-
-            if(connection instanceof HttpURLConnection) {
-                connection.setRequestProperty("Accept", "application/xml");
-            }
-
-            return createFromURLConnection(connection);
-
-        } catch (IOException e) {
-            LOG.warn("Unable to download yang library from {}", url, e);
-            return new LibraryModulesSchemas(Collections.<SourceIdentifier, URL>emptyMap());
-        }
+        return fetch(url, null, Optional.<String>absent());
     }
 
     private static boolean guessJsonFromFileName(final String fileName) {
@@ -266,6 +316,16 @@ public class LibraryModulesSchemas {
         return getValueOfSimpleNode(node.get());
     }
 
+    private static final class CachedModulesState {
+        private final String etag;
+        private final LibraryModulesSchemas schemas;
+
+        CachedModulesState(final String etag, final LibraryModulesSchemas schemas) {
+            this.etag = etag;
+            this.schemas = schemas;
+        }
+    }
+
     private static Optional<String> getValueOfSimpleNode(
             final NormalizedNode<? extends YangInstanceIdentifier.PathArgument, ?> node) {
         final Object value = node.getValue();
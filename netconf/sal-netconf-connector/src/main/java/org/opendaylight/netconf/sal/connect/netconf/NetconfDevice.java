@@ -21,9 +21,12 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
@@ -89,6 +92,9 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
     // Message transformer is constructed once the schemas are available
     private MessageTransformer<NetconfMessage> messageTransformer;
 
+    // Outcome of the last successful schema setup, reused when the device reconnects with the same capabilities
+    private volatile PreviousSetup previousSetup;
+
     /**
      * Create rpc implementation capable of handling RPC for monitoring and notifications even before the schemas of remote device are downloaded
      */
@@ -123,8 +129,25 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         LOG.debug("{}: Session to remote device established with {}", id, remoteSessionCapabilities);
 
         final NetconfDeviceRpc initRpc = getRpcForInitialization(listener, remoteSessionCapabilities.isNotificationsSupported());
+        final String capabilityFingerprint = capabilityFingerprint(remoteSessionCapabilities);
+        final DeviceConnectionTimings timings = new DeviceConnectionTimings(id, listener.getSessionSetupNanos());
+        final PreviousSetup previous = previousSetup;
+        if (previous != null && previous.capabilityFingerprint.equals(capabilityFingerprint)) {
+            LOG.debug("{}: Capabilities unchanged since the previous session, skipping schema discovery", id);
+            if (shouldListenOnSchemaChange(remoteSessionCapabilities)) {
+                registerToBaseNetconfStream(initRpc, listener);
+            }
+            processingExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    reusePreviousSetup(previous, remoteSessionCapabilities, listener, timings);
+                }
+            });
+            return;
+        }
+
         final DeviceSourcesResolver task = new DeviceSourcesResolver(remoteSessionCapabilities, id, stateSchemasResolver, initRpc);
-        final ListenableFuture<DeviceSources> sourceResolverFuture = processingExecutor.submit(task);
+        final ListenableFuture<DeviceSources> sourceResolverFuture = task.resolve(processingExecutor);
 
         if (shouldListenOnSchemaChange(remoteSessionCapabilities)) {
             registerToBaseNetconfStream(initRpc, listener);
@@ -133,12 +156,14 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         final FutureCallback<DeviceSources> resolvedSourceCallback = new FutureCallback<DeviceSources>() {
             @Override
             public void onSuccess(final DeviceSources result) {
+                timings.phaseDone(DeviceConnectionTimings.Phase.SOURCES);
                 addProvidedSourcesToSchemaRegistry(initRpc, result);
                 setUpSchema(result);
             }
 
             private void setUpSchema(final DeviceSources result) {
-                processingExecutor.submit(new SchemaSetup(result, remoteSessionCapabilities, listener));
+                // Already running in the processing executor, the setup only starts the schema context assembly
+                new SchemaSetup(result, remoteSessionCapabilities, listener, capabilityFingerprint, timings).run();
             }
 
             @Override
@@ -148,7 +173,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             }
         };
 
-        Futures.addCallback(sourceResolverFuture, resolvedSourceCallback);
+        Futures.addCallback(sourceResolverFuture, resolvedSourceCallback, processingExecutor);
     }
 
     private void registerToBaseNetconfStream(final NetconfDeviceRpc deviceRpc, final NetconfDeviceCommunicator listener) {
@@ -162,6 +187,7 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             public Optional<DOMNotification> filterNotification(final DOMNotification notification) {
                 if (isCapabilityChanged(notification)) {
                     LOG.info("{}: Schemas change detected, reconnecting", id);
+                    previousSetup = null;
                     // Only disconnect is enough, the reconnecting nature of the connector will take care of reconnecting
                     listener.disconnect();
                     return Optional.absent();
@@ -196,7 +222,12 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
                 remoteSessionCapabilities.isNotificationsSupported() ?
                 NetconfMessageTransformer.BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS :
                 NetconfMessageTransformer.BaseSchema.BASE_NETCONF_CTX;
-        messageTransformer = new NetconfMessageTransformer(result, true, baseSchema);
+        final PreviousSetup previous = previousSetup;
+        if (previous != null && previous.schemaContext == result && previous.baseSchema == baseSchema) {
+            messageTransformer = previous.messageTransformer;
+        } else {
+            messageTransformer = new NetconfMessageTransformer(result, true, baseSchema);
+        }
 
         updateTransformer(messageTransformer);
         // salFacade.onDeviceConnected has to be called before the notification handler is initialized
@@ -208,6 +239,8 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
 
     protected void handleSalInitializationFailure(final Throwable t, final RemoteDeviceCommunicator<NetconfMessage> listener) {
         LOG.error("{}: Initialization in sal failed, disconnecting from device", id, t);
+        // Run full schema discovery next time
+        previousSetup = null;
         listener.close();
         onRemoteSessionDown();
         resetMessageTransformer();
@@ -224,6 +257,38 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         messageTransformer = transformer;
     }
 
+    /**
+     * Bring the device up with the schema context of the previous session, the schema sources do not have to be
+     * resolved again since the device reported the very same capabilities.
+     */
+    private void reusePreviousSetup(final PreviousSetup previous, final NetconfSessionPreferences remoteSessionCapabilities,
+                                    final NetconfDeviceCommunicator listener, final DeviceConnectionTimings timings) {
+        // Nothing to resolve nor assemble, both phases take just the wait for the processing executor
+        timings.phaseDone(DeviceConnectionTimings.Phase.SOURCES);
+        timings.phaseDone(DeviceConnectionTimings.Phase.SCHEMA_CONTEXT);
+        final NetconfDeviceCapabilities capabilities = remoteSessionCapabilities.getNetconfDeviceCapabilities();
+        capabilities.addCapabilities(previous.resolvedCapabilities);
+        capabilities.addUnresolvedCapabilities(previous.unresolvedCapabilities);
+        capabilities.addNonModuleBasedCapabilities(remoteSessionCapabilities.getNonModuleCaps());
+
+        try {
+            handleSalInitializationSuccess(previous.schemaContext, remoteSessionCapabilities,
+                    new NetconfDeviceRpc(previous.schemaContext, listener, previous.rpcTransformer));
+            timings.phaseDone(DeviceConnectionTimings.Phase.MOUNT);
+            timings.report(true);
+        } catch (final Throwable t) {
+            handleSalInitializationFailure(t, listener);
+        }
+    }
+
+    private static String capabilityFingerprint(final NetconfSessionPreferences sessionPreferences) {
+        final Set<String> capabilities = new TreeSet<>(sessionPreferences.getNonModuleCaps());
+        for (final QName moduleCapability : sessionPreferences.getModuleBasedCaps()) {
+            capabilities.add(moduleCapability.toString());
+        }
+        return capabilities.toString();
+    }
+
     private void addProvidedSourcesToSchemaRegistry(final NetconfDeviceRpc deviceRpc, final DeviceSources deviceSources) {
         final NetconfRemoteSchemaYangSourceProvider yangProvider = new NetconfRemoteSchemaYangSourceProvider(id, deviceRpc);
         for (final SourceIdentifier sourceId : deviceSources.getProvidedSources()) {
@@ -281,9 +346,36 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
     }
 
     /**
-     * Schema building callable.
+     * Schema related state of a successfully set up session.
      */
-    private static class DeviceSourcesResolver implements Callable<DeviceSources> {
+    private static final class PreviousSetup {
+        private final String capabilityFingerprint;
+        private final SchemaContext schemaContext;
+        private final Set<QName> resolvedCapabilities;
+        private final Map<QName, UnavailableCapability.FailureReason> unresolvedCapabilities;
+        private final NetconfMessageTransformer rpcTransformer;
+        private final MessageTransformer<NetconfMessage> messageTransformer;
+        private final NetconfMessageTransformer.BaseSchema baseSchema;
+
+        PreviousSetup(final String capabilityFingerprint, final SchemaContext schemaContext,
+                      final NetconfDeviceCapabilities capabilities, final NetconfMessageTransformer rpcTransformer,
+                      final MessageTransformer<NetconfMessage> messageTransformer,
+                      final NetconfMessageTransformer.BaseSchema baseSchema) {
+            this.capabilityFingerprint = capabilityFingerprint;
+            this.schemaContext = schemaContext;
+            // Both are immutable and shared with other devices of the same kind
+            this.resolvedCapabilities = capabilities.getResolvedCapabilities();
+            this.unresolvedCapabilities = capabilities.getUnresolvedCapabilites();
+            this.rpcTransformer = rpcTransformer;
+            this.messageTransformer = messageTransformer;
+            this.baseSchema = baseSchema;
+        }
+    }
+
+    /**
+     * Resolves sources of the device from its hello message and the schemas reported in netconf-state.
+     */
+    private static class DeviceSourcesResolver implements Callable<DeviceSources>, Function<NetconfStateSchemas, DeviceSources> {
 
         private final NetconfDeviceRpc deviceRpc;
         private final NetconfSessionPreferences remoteSessionCapabilities;
@@ -302,9 +394,27 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             this(rpcForMonitoring, remoteSessionCapabilities, id, stateSchemasResolver);
         }
 
+        /**
+         * Resolve the sources without blocking a thread of the executor while waiting for the device, if the state
+         * schemas resolver supports it. Otherwise the resolution occupies a thread of the executor until finished.
+         */
+        ListenableFuture<DeviceSources> resolve(final ListeningExecutorService executor) {
+            if (stateSchemasResolver instanceof NetconfStateSchemas.AsyncNetconfStateSchemasResolver) {
+                final ListenableFuture<NetconfStateSchemas> availableSchemas =
+                        ((NetconfStateSchemas.AsyncNetconfStateSchemasResolver) stateSchemasResolver)
+                                .resolveAsync(deviceRpc, remoteSessionCapabilities, id);
+                return Futures.transform(availableSchemas, this, executor);
+            }
+            return executor.submit(this);
+        }
+
         @Override
         public DeviceSources call() throws Exception {
-            final NetconfStateSchemas availableSchemas = stateSchemasResolver.resolve(deviceRpc, remoteSessionCapabilities, id);
+            return apply(stateSchemasResolver.resolve(deviceRpc, remoteSessionCapabilities, id));
+        }
+
+        @Override
+        public DeviceSources apply(final NetconfStateSchemas availableSchemas) {
             LOG.debug("{}: Schemas exposed by ietf-netconf-monitoring: {}", id, availableSchemas.getAvailableYangSchemasQNames());
 
             final Set<QName> requiredSources = Sets.newHashSet(remoteSessionCapabilities.getModuleBasedCaps());
@@ -365,19 +475,26 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
     }
 
     /**
-     * Schema builder that tries to build schema context from provided sources or biggest subset of it.
+     * Schema builder that tries to build schema context from provided sources or biggest subset of it. Each attempt
+     * continues in a callback of the schema context future, so no thread waits for the assembly.
      */
     private final class SchemaSetup implements Runnable {
         private final DeviceSources deviceSources;
         private final NetconfSessionPreferences remoteSessionCapabilities;
         private final RemoteDeviceCommunicator<NetconfMessage> listener;
         private final NetconfDeviceCapabilities capabilities;
+        private final String capabilityFingerprint;
+        private final DeviceConnectionTimings timings;
 
-        public SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceCommunicator<NetconfMessage> listener) {
+        public SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities,
+                           final RemoteDeviceCommunicator<NetconfMessage> listener, final String capabilityFingerprint,
+                           final DeviceConnectionTimings timings) {
             this.deviceSources = deviceSources;
             this.remoteSessionCapabilities = remoteSessionCapabilities;
             this.listener = listener;
             this.capabilities = remoteSessionCapabilities.getNetconfDeviceCapabilities();
+            this.capabilityFingerprint = capabilityFingerprint;
+            this.timings = timings;
         }
 
         @Override
@@ -388,41 +505,69 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
         /**
          * Build schema context, in case of success or final failure notify device
          */
-        private void setUpSchema(Collection<SourceIdentifier> requiredSources) {
-            while (!requiredSources.isEmpty()) {
-                LOG.trace("{}: Trying to build schema context from {}", id, requiredSources);
-                try {
-                    final CheckedFuture<SchemaContext, SchemaResolutionException> schemaBuilderFuture = schemaContextFactory.createSchemaContext(requiredSources);
-                    final SchemaContext result = schemaBuilderFuture.checkedGet();
+        private void setUpSchema(final Collection<SourceIdentifier> requiredSources) {
+            if (requiredSources.isEmpty()) {
+                // No more sources, fail
+                final IllegalStateException cause = new IllegalStateException(id + ": No more sources for schema context");
+                handleSalInitializationFailure(cause, listener);
+                salFacade.onDeviceFailed(cause);
+                return;
+            }
+
+            LOG.trace("{}: Trying to build schema context from {}", id, requiredSources);
+            final CheckedFuture<SchemaContext, SchemaResolutionException> schemaBuilderFuture;
+            try {
+                schemaBuilderFuture = schemaContextFactory.createSchemaContext(requiredSources);
+            } catch (final Throwable t) {
+                handleSalInitializationFailure(t, listener);
+                return;
+            }
+
+            Futures.addCallback(schemaBuilderFuture, new FutureCallback<SchemaContext>() {
+                @Override
+                public void onSuccess(final SchemaContext result) {
                     LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
-                    final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(), capabilities.getUnresolvedCapabilites().keySet());
-                    capabilities.addCapabilities(filteredQNames);
-                    capabilities.addNonModuleBasedCapabilities(remoteSessionCapabilities.getNonModuleCaps());
-                    handleSalInitializationSuccess(result, remoteSessionCapabilities, getDeviceSpecificRpc(result));
-                    return;
-                } catch (Throwable t) {
-                    if (t instanceof MissingSchemaSourceException){
-                        requiredSources = handleMissingSchemaSourceException(requiredSources, (MissingSchemaSourceException) t);
+                    timings.phaseDone(DeviceConnectionTimings.Phase.SCHEMA_CONTEXT);
+                    try {
+                        onSchemaContextBuilt(result);
+                    } catch (final Throwable t) {
+                        handleSalInitializationFailure(t, listener);
+                    }
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    if (t instanceof MissingSchemaSourceException) {
+                        setUpSchema(handleMissingSchemaSourceException(requiredSources, (MissingSchemaSourceException) t));
                     } else if (t instanceof SchemaResolutionException) {
-                        // schemaBuilderFuture.checkedGet() throws only SchemaResolutionException
-                        // that might be wrapping a MissingSchemaSourceException so we need to look
-                        // at the cause of the exception to make sure we don't misinterpret it.
+                        // The failure might be a SchemaResolutionException wrapping a MissingSchemaSourceException
+                        // so we need to look at the cause of the exception to make sure we don't misinterpret it.
                         if (t.getCause() instanceof MissingSchemaSourceException) {
-                            requiredSources = handleMissingSchemaSourceException(requiredSources, (MissingSchemaSourceException) t.getCause());
-                            continue;
+                            setUpSchema(handleMissingSchemaSourceException(requiredSources, (MissingSchemaSourceException) t.getCause()));
+                        } else {
+                            setUpSchema(handleSchemaResolutionException(requiredSources, (SchemaResolutionException) t));
                         }
-                        requiredSources = handleSchemaResolutionException(requiredSources, (SchemaResolutionException) t);
                     } else {
                         // unknown error, fail
                         handleSalInitializationFailure(t, listener);
-                        return;
                     }
                 }
-            }
-            // No more sources, fail
-            final IllegalStateException cause = new IllegalStateException(id + ": No more sources for schema context");
-            handleSalInitializationFailure(cause, listener);
-            salFacade.onDeviceFailed(cause);
+            }, processingExecutor);
+        }
+
+        private void onSchemaContextBuilt(final SchemaContext result) {
+            final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(), capabilities.getUnresolvedCapabilites().keySet());
+            capabilities.addCapabilities(filteredQNames);
+            capabilities.addNonModuleBasedCapabilities(remoteSessionCapabilities.getNonModuleCaps());
+            final NetconfMessageTransformer rpcTransformer = new NetconfMessageTransformer(result, true);
+            handleSalInitializationSuccess(result, remoteSessionCapabilities,
+                    new NetconfDeviceRpc(result, listener, rpcTransformer));
+            timings.phaseDone(DeviceConnectionTimings.Phase.MOUNT);
+            timings.report(false);
+            previousSetup = new PreviousSetup(capabilityFingerprint, result, capabilities, rpcTransformer,
+                    messageTransformer, remoteSessionCapabilities.isNotificationsSupported() ?
+                            NetconfMessageTransformer.BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS :
+                            NetconfMessageTransformer.BaseSchema.BASE_NETCONF_CTX);
         }
 
         private Collection<SourceIdentifier> handleMissingSchemaSourceException(Collection<SourceIdentifier> requiredSources, final MissingSchemaSourceException t) {
@@ -446,10 +591,6 @@ public class NetconfDevice implements RemoteDevice<NetconfSessionPreferences, Ne
             return resolutionException.getResolvedSources();
         }
 
-        protected NetconfDeviceRpc getDeviceSpecificRpc(final SchemaContext result) {
-            return new NetconfDeviceRpc(result, listener, new NetconfMessageTransformer(result, true));
-        }
-
         private Collection<SourceIdentifier> stripMissingSource(final Collection<SourceIdentifier> requiredSources, final SourceIdentifier sIdToRemove) {
             final LinkedList<SourceIdentifier> sourceIdentifiers = Lists.newLinkedList(requiredSources);
             final boolean removed = sourceIdentifiers.remove(sIdToRemove);
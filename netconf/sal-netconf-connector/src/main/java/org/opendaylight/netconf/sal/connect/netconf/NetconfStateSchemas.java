@@ -18,8 +18,13 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Set;
@@ -62,14 +67,33 @@ public final class NetconfStateSchemas {
         NetconfStateSchemas resolve(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id);
     }
 
+    /**
+     * Factory for NetconfStateSchemas not blocking the calling thread while waiting for the device
+     */
+    public interface AsyncNetconfStateSchemasResolver extends NetconfStateSchemasResolver {
+        ListenableFuture<NetconfStateSchemas> resolveAsync(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id);
+    }
+
     /**
      * Default implementation resolving schemas QNames from netconf-state
      */
-    public static final class NetconfStateSchemasResolverImpl implements NetconfStateSchemasResolver {
+    public static final class NetconfStateSchemasResolverImpl implements AsyncNetconfStateSchemasResolver {
 
         @Override
         public NetconfStateSchemas resolve(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
-            return NetconfStateSchemas.create(deviceRpc, remoteSessionCapabilities, id);
+            try {
+                return resolveAsync(deviceRpc, remoteSessionCapabilities, id).get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(id + ": Interrupted while waiting for response to " + STATE_SCHEMAS_IDENTIFIER, e);
+            } catch (final ExecutionException e) {
+                throw Throwables.propagate(e.getCause());
+            }
+        }
+
+        @Override
+        public ListenableFuture<NetconfStateSchemas> resolveAsync(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
+            return NetconfStateSchemas.createAsync(deviceRpc, remoteSessionCapabilities, id);
         }
     }
 
@@ -106,27 +130,38 @@ public final class NetconfStateSchemas {
     }
 
     /**
-     * Issue get request to remote device and parse response to find all schemas under netconf-state/schemas
+     * Issue get request to remote device and parse response to find all schemas under netconf-state/schemas. The
+     * returned future completes once the device replies, no thread is blocked in the meantime.
      */
-    private static NetconfStateSchemas create(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
+    private static ListenableFuture<NetconfStateSchemas> createAsync(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
         if(remoteSessionCapabilities.isMonitoringSupported() == false) {
             // TODO - need to search for get-schema support, not just ietf-netconf-monitoring support
             // issue might be a deviation to ietf-netconf-monitoring where get-schema is unsupported...
             LOG.warn("{}: Netconf monitoring not supported on device, cannot detect provided schemas", id);
-            return EMPTY;
+            return Futures.immediateFuture(EMPTY);
         }
 
-        final DOMRpcResult schemasNodeResult;
-        try {
-            schemasNodeResult = deviceRpc.invokeRpc(toPath(NETCONF_GET_QNAME), GET_SCHEMAS_RPC).get();
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(id + ": Interrupted while waiting for response to " + STATE_SCHEMAS_IDENTIFIER, e);
-        } catch (final ExecutionException e) {
-            LOG.warn("{}: Unable to detect available schemas, get to {} failed", id, STATE_SCHEMAS_IDENTIFIER, e);
-            return EMPTY;
-        }
+        final SettableFuture<NetconfStateSchemas> result = SettableFuture.create();
+        Futures.addCallback(deviceRpc.invokeRpc(toPath(NETCONF_GET_QNAME), GET_SCHEMAS_RPC), new FutureCallback<DOMRpcResult>() {
+            @Override
+            public void onSuccess(final DOMRpcResult schemasNodeResult) {
+                try {
+                    result.set(fromRpcResult(id, schemasNodeResult));
+                } catch (final RuntimeException e) {
+                    result.setException(e);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                LOG.warn("{}: Unable to detect available schemas, get to {} failed", id, STATE_SCHEMAS_IDENTIFIER, t);
+                result.set(EMPTY);
+            }
+        });
+        return result;
+    }
 
+    private static NetconfStateSchemas fromRpcResult(final RemoteDeviceId id, final DOMRpcResult schemasNodeResult) {
         if(schemasNodeResult.getErrors().isEmpty() == false) {
             LOG.warn("{}: Unable to detect available schemas, get to {} failed, {}", id, STATE_SCHEMAS_IDENTIFIER, schemasNodeResult.getErrors());
             return EMPTY;
@@ -8,54 +8,76 @@
 
 package org.opendaylight.netconf.sal.connect.netconf.listener;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import org.opendaylight.netconf.sal.connect.util.CapabilityInterner;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
 import org.opendaylight.yangtools.yang.common.QName;
 
+/**
+ * Capabilities of a device as resolved during its setup. Capabilities are held in immutable collections, which are
+ * interned by content when read, so that devices with the same capabilities share them. Reads are synchronized with
+ * additions, so that storing the interned instance never overwrites a concurrent addition. Collections read in the
+ * middle of the setup are interned too, the interner holds them weakly so they disappear once replaced.
+ */
 public final class NetconfDeviceCapabilities {
-    private final Map<QName, FailureReason> unresolvedCapabilites;
-    private final Set<QName> resolvedCapabilities;
+    private volatile ImmutableMap<QName, FailureReason> unresolvedCapabilites = ImmutableMap.of();
+    private volatile ImmutableSet<QName> resolvedCapabilities = ImmutableSet.of();
 
-    private final Set<String> nonModuleBasedCapabilities;
+    private volatile ImmutableSet<String> nonModuleBasedCapabilities = ImmutableSet.of();
 
     public NetconfDeviceCapabilities() {
-        this.unresolvedCapabilites = new HashMap<>();
-        this.resolvedCapabilities = new HashSet<>();
-        this.nonModuleBasedCapabilities = new HashSet<>();
     }
 
-    public void addUnresolvedCapability(QName source, FailureReason reason) {
-        unresolvedCapabilites.put(source, reason);
+    public synchronized void addUnresolvedCapability(QName source, FailureReason reason) {
+        addUnresolvedCapabilities(ImmutableMap.of(source, reason));
     }
 
-    public void addUnresolvedCapabilities(Collection<QName> capabilities, FailureReason reason) {
+    public synchronized void addUnresolvedCapabilities(Collection<QName> capabilities, FailureReason reason) {
+        // Capabilities may repeat, which a map builder would reject
+        final Map<QName, FailureReason> added = new LinkedHashMap<>();
         for (QName s : capabilities) {
-            unresolvedCapabilites.put(s, reason);
+            added.put(s, reason);
         }
+        addUnresolvedCapabilities(added);
+    }
+
+    public synchronized void addUnresolvedCapabilities(Map<QName, FailureReason> capabilities) {
+        // Later reasons override earlier ones
+        final Map<QName, FailureReason> merged = new LinkedHashMap<>(unresolvedCapabilites);
+        merged.putAll(capabilities);
+        unresolvedCapabilites = ImmutableMap.copyOf(merged);
     }
 
-    public void addCapabilities(Collection<QName> availableSchemas) {
-        resolvedCapabilities.addAll(availableSchemas);
+    public synchronized void addCapabilities(Collection<QName> availableSchemas) {
+        resolvedCapabilities = ImmutableSet.<QName>builder().addAll(resolvedCapabilities).addAll(availableSchemas).build();
     }
 
-    public void addNonModuleBasedCapabilities(Collection<String> nonModuleCapabilities) {
-        this.nonModuleBasedCapabilities.addAll(nonModuleCapabilities);
+    public synchronized void addNonModuleBasedCapabilities(Collection<String> nonModuleCapabilities) {
+        this.nonModuleBasedCapabilities = ImmutableSet.<String>builder().addAll(nonModuleBasedCapabilities)
+                .addAll(nonModuleCapabilities).build();
     }
 
-    public Set<String> getNonModuleBasedCapabilities() {
-        return nonModuleBasedCapabilities;
+    public synchronized Set<String> getNonModuleBasedCapabilities() {
+        final ImmutableSet<String> interned = CapabilityInterner.intern(nonModuleBasedCapabilities);
+        nonModuleBasedCapabilities = interned;
+        return interned;
     }
 
-    public Map<QName, FailureReason> getUnresolvedCapabilites() {
-        return unresolvedCapabilites;
+    public synchronized Map<QName, FailureReason> getUnresolvedCapabilites() {
+        final ImmutableMap<QName, FailureReason> interned = CapabilityInterner.intern(unresolvedCapabilites);
+        unresolvedCapabilites = interned;
+        return interned;
     }
 
-    public Set<QName> getResolvedCapabilities() {
-        return resolvedCapabilities;
+    public synchronized Set<QName> getResolvedCapabilities() {
+        final ImmutableSet<QName> interned = CapabilityInterner.intern(resolvedCapabilities);
+        resolvedCapabilities = interned;
+        return interned;
     }
 
 }
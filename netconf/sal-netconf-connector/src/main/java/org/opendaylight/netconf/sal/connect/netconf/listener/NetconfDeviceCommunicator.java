@@ -37,6 +37,8 @@ import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.protocol.framework.ReconnectStrategy;
+import org.opendaylight.protocol.framework.ReconnectStrategyFactory;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
@@ -60,6 +62,11 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
     private Future<?> initFuture;
     private SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
 
+    // Start of the current connection attempt, the initial one or reconnect after session went down. Restarted by every
+    // attempt of a strategy from timeConnectAttempts(), so that failed attempts and delays between them are left out
+    private volatile long connectStartNanos;
+    private volatile long sessionSetupNanos;
+
     public NetconfDeviceCommunicator(final RemoteDeviceId id, final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final UserPreferences NetconfSessionPreferences) {
         this(id, remoteDevice, Optional.of(NetconfSessionPreferences));
@@ -84,6 +91,7 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
         try {
             LOG.debug("{}: Session established", id);
             this.session = session;
+            sessionSetupNanos = connectStartNanos == 0 ? 0 : System.nanoTime() - connectStartNanos;
 
             NetconfSessionPreferences netconfSessionPreferences =
                                              NetconfSessionPreferences.fromNetconfSession(session);
@@ -118,6 +126,7 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
      * reconnecting strategy runs out of reconnection attempts
      */
     public ListenableFuture<NetconfDeviceCapabilities> initializeRemoteConnection(final NetconfClientDispatcher dispatcher, final NetconfClientConfiguration config) {
+        connectStartNanos = System.nanoTime();
         if(config instanceof NetconfReconnectingClientConfiguration) {
             initFuture = dispatcher.createReconnectingClient((NetconfReconnectingClientConfiguration) config);
         } else {
@@ -141,6 +150,28 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
         return firstConnectionFuture;
     }
 
+    /**
+     * @return time from the start of the connection attempt to the established session, covering transport setup and
+     * hello exchange, 0 if not known
+     */
+    public long getSessionSetupNanos() {
+        return sessionSetupNanos;
+    }
+
+    /**
+     * Wrap strategy factory of the client configuration, so that every connection attempt made by its strategies
+     * restarts the session setup clock and {@link #getSessionSetupNanos()} does not include failed attempts and
+     * reconnect delays.
+     */
+    public ReconnectStrategyFactory timeConnectAttempts(final ReconnectStrategyFactory delegate) {
+        return new ReconnectStrategyFactory() {
+            @Override
+            public ReconnectStrategy createReconnectStrategy() {
+                return new AttemptTimingReconnectStrategy(delegate.createReconnectStrategy());
+            }
+        };
+    }
+
     public void disconnect() {
         if(session != null) {
             session.close();
@@ -154,6 +185,8 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
         try {
             if( session != null ) {
                 session = null;
+                // Reconnecting client starts a new attempt right away, timed strategies restart the clock themselves
+                connectStartNanos = System.nanoTime();
 
                 /*
                  * Walk all requests, check if they have been executing
@@ -374,4 +407,32 @@ public class NetconfDeviceCommunicator implements NetconfClientSessionListener,
             this.request = request;
         }
     }
+
+    /**
+     * Marks the start of a connection attempt, the client asks its strategy for the connect timeout right before it
+     * connects.
+     */
+    private final class AttemptTimingReconnectStrategy implements ReconnectStrategy {
+        private final ReconnectStrategy delegate;
+
+        AttemptTimingReconnectStrategy(final ReconnectStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int getConnectTimeout() throws Exception {
+            connectStartNanos = System.nanoTime();
+            return delegate.getConnectTimeout();
+        }
+
+        @Override
+        public Future<Void> scheduleReconnect(final Throwable cause) {
+            return delegate.scheduleReconnect(cause);
+        }
+
+        @Override
+        public void reconnectSuccessful() {
+            delegate.reconnectSuccessful();
+        }
+    }
 }
@@ -14,6 +14,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -22,8 +25,10 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import javax.annotation.Nonnull;
 import org.opendaylight.netconf.client.NetconfClientSession;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.util.CapabilityInterner;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,12 +72,27 @@ public final class NetconfSessionPreferences {
         }
     };
 
+    /**
+     * Parsed module capabilities shared across sessions. Devices of the same kind advertise the same capability
+     * strings, so most of them are parsed only once. Absent value marks a non-module capability.
+     */
+    private static final int MAX_CACHED_CAPABILITIES = 100000;
+    private static final LoadingCache<String, Optional<QName>> MODULE_CAPABILITIES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_CAPABILITIES)
+            .build(new CacheLoader<String, Optional<QName>>() {
+                @Override
+                public Optional<QName> load(@Nonnull final String capability) {
+                    return parseModuleCapability(capability);
+                }
+            });
+
     private final Set<QName> moduleBasedCaps;
     private final Set<String> nonModuleCaps;
 
     NetconfSessionPreferences(final Set<String> nonModuleCaps, final Set<QName> moduleBasedCaps) {
-        this.nonModuleCaps = Preconditions.checkNotNull(nonModuleCaps);
-        this.moduleBasedCaps = Preconditions.checkNotNull(moduleBasedCaps);
+        // Devices of the same kind share the capability sets
+        this.nonModuleCaps = CapabilityInterner.intern(ImmutableSet.copyOf(Preconditions.checkNotNull(nonModuleCaps)));
+        this.moduleBasedCaps = CapabilityInterner.intern(ImmutableSet.copyOf(Preconditions.checkNotNull(moduleBasedCaps)));
     }
 
     public Set<QName> getModuleBasedCaps() {
@@ -179,48 +199,56 @@ public final class NetconfSessionPreferences {
         final Set<String> nonModuleCaps = Sets.newHashSet(capabilities);
 
         for (final String capability : capabilities) {
-            final int qmark = capability.indexOf('?');
-            if (qmark == -1) {
+            if (capability.indexOf('?') == -1) {
                 continue;
             }
 
-            final String namespace = capability.substring(0, qmark);
-            final Iterable<String> queryParams = AMP_SPLITTER.split(capability.substring(qmark + 1));
-            final String moduleName = MODULE_PARAM.from(queryParams);
-            if (Strings.isNullOrEmpty(moduleName)) {
-                continue;
+            final Optional<QName> qName = MODULE_CAPABILITIES.getUnchecked(capability);
+            if (qName.isPresent()) {
+                addModuleQName(moduleBasedCaps, nonModuleCaps, capability, qName.get());
             }
+        }
 
-            String revision = REVISION_PARAM.from(queryParams);
-            if (!Strings.isNullOrEmpty(revision)) {
-                addModuleQName(moduleBasedCaps, nonModuleCaps, capability, cachedQName(namespace, revision, moduleName));
-                continue;
-            }
+        return new NetconfSessionPreferences(ImmutableSet.copyOf(nonModuleCaps), ImmutableSet.copyOf(moduleBasedCaps));
+    }
 
-            /*
-             * We have seen devices which mis-escape revision, but the revision may not
-             * even be there. First check if there is a substring that matches revision.
-             */
-            if (Iterables.any(queryParams, CONTAINS_REVISION)) {
-
-                LOG.debug("Netconf device was not reporting revision correctly, trying to get amp;revision=");
-                revision = BROKEN_REVISON_PARAM.from(queryParams);
-                if (Strings.isNullOrEmpty(revision)) {
-                    LOG.warn("Netconf device returned revision incorrectly escaped for {}, ignoring it", capability);
-                    addModuleQName(moduleBasedCaps, nonModuleCaps, capability, cachedQName(namespace, moduleName));
-                } else {
-                    addModuleQName(moduleBasedCaps, nonModuleCaps, capability, cachedQName(namespace, revision, moduleName));
-                }
-                continue;
-            }
+    private static Optional<QName> parseModuleCapability(final String capability) {
+        final int qmark = capability.indexOf('?');
+        if (qmark == -1) {
+            return Optional.absent();
+        }
 
-            // Fallback, no revision provided for module
-            addModuleQName(moduleBasedCaps, nonModuleCaps, capability, cachedQName(namespace, moduleName));
+        final String namespace = capability.substring(0, qmark);
+        final Iterable<String> queryParams = AMP_SPLITTER.split(capability.substring(qmark + 1));
+        final String moduleName = MODULE_PARAM.from(queryParams);
+        if (Strings.isNullOrEmpty(moduleName)) {
+            return Optional.absent();
         }
 
-        return new NetconfSessionPreferences(ImmutableSet.copyOf(nonModuleCaps), ImmutableSet.copyOf(moduleBasedCaps));
-    }
+        String revision = REVISION_PARAM.from(queryParams);
+        if (!Strings.isNullOrEmpty(revision)) {
+            return Optional.of(cachedQName(namespace, revision, moduleName));
+        }
 
+        /*
+         * We have seen devices which mis-escape revision, but the revision may not
+         * even be there. First check if there is a substring that matches revision.
+         */
+        if (Iterables.any(queryParams, CONTAINS_REVISION)) {
+
+            LOG.debug("Netconf device was not reporting revision correctly, trying to get amp;revision=");
+            revision = BROKEN_REVISON_PARAM.from(queryParams);
+            if (Strings.isNullOrEmpty(revision)) {
+                LOG.warn("Netconf device returned revision incorrectly escaped for {}, ignoring it", capability);
+                return Optional.of(cachedQName(namespace, moduleName));
+            } else {
+                return Optional.of(cachedQName(namespace, revision, moduleName));
+            }
+        }
+
+        // Fallback, no revision provided for module
+        return Optional.of(cachedQName(namespace, moduleName));
+    }
 
     private static void addModuleQName(final Set<QName> moduleBasedCaps, final Set<String> nonModuleCaps, final String capability, final QName qName) {
         moduleBasedCaps.add(qName);
@@ -9,16 +9,25 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps.getSourceNode;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
@@ -42,7 +51,12 @@ import org.slf4j.LoggerFactory;
 /**
  * SalFacade proxy that invokes keepalive RPCs to prevent session shutdown from remote device
  * and to detect incorrect session drops (netconf session is inactive, but TCP/SSH connection is still present).
- * The keepalive RPC is a get-config with empty filter.
+ * The keepalive RPC is a get-config or a get with empty filter, see {@link KeepaliveProbe}.
+ *
+ * <p>
+ * RPC replies and notifications only record the time of the last activity, the keepalive task checks it when it fires
+ * and sends the keepalive RPC only if the session was idle for the whole delay, otherwise it just waits for the rest of
+ * it. Request timeouts are tracked on a hashed wheel timer shared by all devices, see {@link SharedRequestTimer}.
  */
 public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
 
@@ -54,24 +68,87 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     // 1 minute transaction timeout by default
     private static final long DEFAULT_TRANSACTION_TIMEOUT_MILLI = TimeUnit.MILLISECONDS.toMillis(60000);
 
+    /**
+     * RPC sent to check the session is alive.
+     */
+    public enum KeepaliveProbe {
+        /**
+         * get-config of running datastore with empty filter
+         */
+        GET_CONFIG(toPath(NETCONF_GET_CONFIG_QNAME), NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME,
+                getSourceNode(NETCONF_RUNNING_QNAME), NetconfMessageTransformUtil.EMPTY_FILTER)),
+        /**
+         * get with empty filter, cheaper for devices that lock or copy the datastore for get-config
+         */
+        GET(toPath(NETCONF_GET_QNAME), NetconfMessageTransformUtil.wrap(NETCONF_GET_QNAME,
+                NetconfMessageTransformUtil.EMPTY_FILTER));
+
+        private final SchemaPath path;
+        private final ContainerNode payload;
+
+        KeepaliveProbe(final SchemaPath path, final ContainerNode payload) {
+            this.path = path;
+            this.payload = payload;
+        }
+    }
+
     private final RemoteDeviceId id;
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
     private final ScheduledExecutorService executor;
     private final long keepaliveDelaySeconds;
     private final ResetKeepalive resetKeepaliveTask;
     private final long defaultRequestTimeoutMillis;
+    private final KeepaliveProbe probe;
+    private final Timer requestTimer;
+    private final boolean sharedRequestTimer;
+    private final Ticker ticker;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     private volatile NetconfDeviceCommunicator listener;
     private volatile ScheduledFuture<?> currentKeepalive;
     private volatile DOMRpcService currentDeviceRpc;
+    private volatile long lastActivityNanos;
+
+    private volatile long lastKeepaliveLatencyNanos = -1;
+    private volatile long maxKeepaliveLatencyNanos = -1;
+    private volatile long keepaliveCount;
 
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
                               final ScheduledExecutorService executor, final long keepaliveDelaySeconds, final long defaultRequestTimeoutMillis) {
+        this(id, salFacade, executor, keepaliveDelaySeconds, defaultRequestTimeoutMillis, KeepaliveProbe.GET_CONFIG);
+    }
+
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
+                              final long defaultRequestTimeoutMillis, final KeepaliveProbe probe) {
+        this(id, salFacade, executor, keepaliveDelaySeconds, defaultRequestTimeoutMillis, probe,
+                SharedRequestTimer.acquire(), true, Ticker.systemTicker());
+    }
+
+    /**
+     * @param requestTimer timer for request timeouts, owned by the caller
+     */
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
+                              final long defaultRequestTimeoutMillis, final KeepaliveProbe probe, final Timer requestTimer) {
+        this(id, salFacade, executor, keepaliveDelaySeconds, defaultRequestTimeoutMillis, probe, requestTimer, false,
+                Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                       final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
+                       final long defaultRequestTimeoutMillis, final KeepaliveProbe probe, final Timer requestTimer,
+                       final boolean sharedRequestTimer, final Ticker ticker) {
         this.id = id;
         this.salFacade = salFacade;
         this.executor = executor;
         this.keepaliveDelaySeconds = keepaliveDelaySeconds;
         this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
+        this.probe = Preconditions.checkNotNull(probe);
+        this.requestTimer = Preconditions.checkNotNull(requestTimer);
+        this.sharedRequestTimer = sharedRequestTimer;
+        this.ticker = Preconditions.checkNotNull(ticker);
         this.resetKeepaliveTask = new ResetKeepalive();
     }
 
@@ -90,17 +167,31 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     }
 
     /**
-     * Just cancel current keepalive task.
-     * If its already started, let it finish ... not such a big deal.
-     *
-     * Then schedule next keepalive.
+     * @return round trip time of the last successful keepalive in nanoseconds, -1 if there was none yet
+     */
+    public long getLastKeepaliveLatencyNanos() {
+        return lastKeepaliveLatencyNanos;
+    }
+
+    /**
+     * @return highest round trip time of a successful keepalive in nanoseconds, -1 if there was none yet
+     */
+    public long getMaxKeepaliveLatencyNanos() {
+        return maxKeepaliveLatencyNanos;
+    }
+
+    /**
+     * @return number of successful keepalives
+     */
+    public long getKeepaliveCount() {
+        return keepaliveCount;
+    }
+
+    /**
+     * Just record the activity, the scheduled keepalive postpones itself when it finds the session was not idle.
      */
     private void resetKeepalive() {
-        LOG.trace("{}: Resetting netconf keepalive timer", id);
-        if(currentKeepalive != null) {
-            currentKeepalive.cancel(false);
-        }
-        scheduleKeepalive();
+        lastActivityNanos = ticker.read();
     }
 
     /**
@@ -123,17 +214,23 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     @Override
     public void onDeviceConnected(final SchemaContext remoteSchemaContext, final NetconfSessionPreferences netconfSessionPreferences, final DOMRpcService deviceRpc) {
         this.currentDeviceRpc = deviceRpc;
-        final DOMRpcService deviceRpc1 = new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, executor);
+        final DOMRpcService deviceRpc1 = new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, requestTimer);
         salFacade.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc1);
 
         LOG.debug("{}: Netconf session initiated, starting keepalives", id);
-        scheduleKeepalive();
+        resetKeepalive();
+        scheduleKeepalive(null);
+    }
+
+    private void scheduleKeepalive(@Nullable final ListenableFuture<DOMRpcResult> previousKeepaliveRpc) {
+        scheduleKeepalive(TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds), previousKeepaliveRpc);
     }
 
-    private void scheduleKeepalive() {
+    private void scheduleKeepalive(final long delayNanos,
+                                   @Nullable final ListenableFuture<DOMRpcResult> previousKeepaliveRpc) {
         Preconditions.checkState(currentDeviceRpc != null);
-        LOG.trace("{}: Scheduling next keepalive in {} {}", id, keepaliveDelaySeconds, TimeUnit.SECONDS);
-        currentKeepalive = executor.schedule(new Keepalive(currentKeepalive), keepaliveDelaySeconds, TimeUnit.SECONDS);
+        LOG.trace("{}: Scheduling next keepalive in {} {}", id, delayNanos, TimeUnit.NANOSECONDS);
+        currentKeepalive = executor.schedule(new Keepalive(previousKeepaliveRpc), delayNanos, TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -157,14 +254,12 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     @Override
     public void close() {
         stopKeepalives();
+        if (sharedRequestTimer && closed.compareAndSet(false, true)) {
+            SharedRequestTimer.release();
+        }
         salFacade.close();
     }
 
-    // Keepalive RPC static resources
-    private static final SchemaPath PATH = toPath(NETCONF_GET_CONFIG_QNAME);
-    private static final ContainerNode KEEPALIVE_PAYLOAD =
-            NetconfMessageTransformUtil.wrap(NETCONF_GET_CONFIG_QNAME, getSourceNode(NETCONF_RUNNING_QNAME), NetconfMessageTransformUtil.EMPTY_FILTER);
-
     /**
      * Invoke keepalive RPC and check the response. In case of any received response the keepalive
      * is considered successful and schedules next keepalive with a fixed delay. If the response is unsuccessful (no
@@ -173,10 +268,15 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      */
     private class Keepalive implements Runnable, FutureCallback<DOMRpcResult> {
 
-        private final ScheduledFuture<?> previousKeepalive;
+        private final ListenableFuture<DOMRpcResult> previousKeepaliveRpc;
+        private ListenableFuture<DOMRpcResult> keepaliveRpc;
+        private long sentNanos;
 
-        public Keepalive(final ScheduledFuture<?> previousKeepalive) {
-            this.previousKeepalive = previousKeepalive;
+        /**
+         * @param previousKeepaliveRpc RPC sent by the previous keepalive, null if this is the first one
+         */
+        public Keepalive(@Nullable final ListenableFuture<DOMRpcResult> previousKeepaliveRpc) {
+            this.previousKeepaliveRpc = previousKeepaliveRpc;
         }
 
         @Override
@@ -184,11 +284,23 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             LOG.trace("{}: Invoking keepalive RPC", id);
 
             try {
-                if(previousKeepalive != null && !previousKeepalive.isDone()) {
+                if(previousKeepaliveRpc != null && !previousKeepaliveRpc.isDone()) {
                     onFailure(new IllegalStateException("Previous keepalive timed out"));
-                } else {
-                    Futures.addCallback(currentDeviceRpc.invokeRpc(PATH, KEEPALIVE_PAYLOAD), this);
+                    return;
                 }
+
+                final long delayNanos = TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds);
+                final long idleNanos = ticker.read() - lastActivityNanos;
+                if (idleNanos < delayNanos) {
+                    // There was some activity in the meantime, no need to bother the device yet
+                    LOG.trace("{}: Session active {} ns ago, postponing keepalive", id, idleNanos);
+                    scheduleKeepalive(delayNanos - idleNanos, previousKeepaliveRpc);
+                    return;
+                }
+
+                sentNanos = ticker.read();
+                keepaliveRpc = currentDeviceRpc.invokeRpc(probe.path, probe.payload);
+                Futures.addCallback(keepaliveRpc, this);
             } catch (NullPointerException e) {
                 LOG.debug("{}: Skipping keepalive while reconnecting", id);
                 // Empty catch block intentional
@@ -201,8 +313,17 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         @Override
         public void onSuccess(final DOMRpcResult result) {
             if (result != null && result.getResult() != null) {
-                LOG.debug("{}: Keepalive RPC successful with response: {}", id, result.getResult());
-                scheduleKeepalive();
+                // Only one keepalive is outstanding at a time, so the updates below do not race
+                final long latencyNanos = ticker.read() - sentNanos;
+                lastKeepaliveLatencyNanos = latencyNanos;
+                if (latencyNanos > maxKeepaliveLatencyNanos) {
+                    maxKeepaliveLatencyNanos = latencyNanos;
+                }
+                keepaliveCount++;
+                LOG.debug("{}: Keepalive RPC successful in {} ms with response: {}", id,
+                        TimeUnit.NANOSECONDS.toMillis(latencyNanos), result.getResult());
+                resetKeepalive();
+                scheduleKeepalive(keepaliveRpc);
             } else {
                 LOG.warn("{} Keepalive RPC returned null with response: {}. Reconnecting netconf session", id, result);
                 reconnect();
@@ -240,7 +361,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      * reached. At this moment, if the request is not yet finished, we cancel
      * it.
      */
-    private static final class RequestTimeoutTask implements Runnable {
+    private static final class RequestTimeoutTask implements TimerTask {
 
         private final CheckedFuture<DOMRpcResult, DOMRpcException> rpcResultFuture;
 
@@ -249,7 +370,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         }
 
         @Override
-        public void run() {
+        public void run(final Timeout timeout) {
             if (!rpcResultFuture.isDone()) {
                 rpcResultFuture.cancel(true);
             }
@@ -265,14 +386,14 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         private final DOMRpcService deviceRpc;
         private ResetKeepalive resetKeepaliveTask;
         private final long defaultRequestTimeoutMillis;
-        private final ScheduledExecutorService executor;
+        private final Timer requestTimer;
 
         public KeepaliveDOMRpcService(final DOMRpcService deviceRpc, final ResetKeepalive resetKeepaliveTask,
-                final long defaultRequestTimeoutMillis, final ScheduledExecutorService executor) {
+                final long defaultRequestTimeoutMillis, final Timer requestTimer) {
             this.deviceRpc = deviceRpc;
             this.resetKeepaliveTask = resetKeepaliveTask;
             this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
-            this.executor = executor;
+            this.requestTimer = requestTimer;
         }
 
         @Nonnull
@@ -282,7 +403,14 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             Futures.addCallback(domRpcResultDOMRpcExceptionCheckedFuture, resetKeepaliveTask);
 
             final RequestTimeoutTask timeoutTask = new RequestTimeoutTask(domRpcResultDOMRpcExceptionCheckedFuture);
-            executor.schedule(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            final Timeout timeout = requestTimer.newTimeout(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            // Drop the timeout from the wheel as soon as the reply arrives
+            domRpcResultDOMRpcExceptionCheckedFuture.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    timeout.cancel();
+                }
+            }, MoreExecutors.directExecutor());
 
             return domRpcResultDOMRpcExceptionCheckedFuture;
         }
@@ -11,6 +11,7 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -25,6 +26,7 @@ import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
+import org.opendaylight.netconf.sal.connect.util.CapabilityInterner;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev100924.PortNumber;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
@@ -60,15 +62,15 @@ final class NetconfDeviceTopologyAdapter implements AutoCloseable {
         @Override
         public UnavailableCapability apply(final Entry<QName, FailureReason> input) {
             return new UnavailableCapabilityBuilder()
-                    .setCapability(input.getKey().toString())
+                    .setCapability(CapabilityInterner.capabilityString(input.getKey()))
                     .setFailureReason(input.getValue()).build();
         }
     };
     public static final Function<QName, String> AVAILABLE_CAPABILITY_TRANSFORMER = new Function<QName, String>() {
         @Override
         public String apply(QName qName) {
-            // intern string representation of a capability to avoid duplicates
-            return qName.toString().intern();
+            // share string representation of a capability to avoid duplicates
+            return CapabilityInterner.capabilityString(qName);
         }
     };
 
@@ -159,7 +161,7 @@ final class NetconfDeviceTopologyAdapter implements AutoCloseable {
         capabilityList.addAll(capabilities.getNonModuleBasedCapabilities());
         capabilityList.addAll(FluentIterable.from(capabilities.getResolvedCapabilities()).transform(AVAILABLE_CAPABILITY_TRANSFORMER).toList());
         final AvailableCapabilitiesBuilder avCapabalitiesBuilder = new AvailableCapabilitiesBuilder();
-        avCapabalitiesBuilder.setAvailableCapability(capabilityList);
+        avCapabalitiesBuilder.setAvailableCapability(CapabilityInterner.intern(ImmutableList.copyOf(capabilityList)));
 
         final UnavailableCapabilities unavailableCapabilities =
                 new UnavailableCapabilitiesBuilder().setUnavailableCapability(FluentIterable.from(capabilities.getUnresolvedCapabilites().entrySet())
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed wheel timer tracking request timeouts of all keepalive facades not given a timer of their own. The timer
+ * thread is started with the first facade and stopped once the last one is closed.
+ */
+final class SharedRequestTimer {
+
+    // Request timeouts do not have to be precise, 100ms ticks are enough
+    private static final long TICK_MILLIS = 100;
+
+    private static Timer timer;
+    private static int users;
+
+    private SharedRequestTimer() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static synchronized Timer acquire() {
+        if (users++ == 0) {
+            timer = new HashedWheelTimer(new ThreadFactoryBuilder()
+                    .setNameFormat("netconf-request-timeout-%d").setDaemon(true).build(), TICK_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+        return timer;
+    }
+
+    static synchronized void release() {
+        Preconditions.checkState(users > 0, "Request timer released more times than acquired");
+        if (--users == 0) {
+            // Pending timeouts belong to closed devices, nothing to run them for
+            timer.stop();
+            timer = null;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Charsets;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schema context factory keeping assembled schema contexts keyed by a hash of the module set they were built from,
+ * so that devices sharing a module set, or reconnecting with the same one, do not parse and assemble it again.
+ * Concurrent requests for the same module set share a single build.
+ *
+ * <p>
+ * At most {@link #DEFAULT_MAX_MODULE_SETS} contexts are kept, least recently used ones are dropped first, as are
+ * contexts not used for {@link #CONTEXT_EXPIRATION_MINUTES}. When a manifest directory is set, the module set of every
+ * successfully built context is stored there, bounded the same way, and {@link #warmUp(Executor)} rebuilds the
+ * recorded contexts in background after restart, one at a time and most recently used first, so devices known before
+ * the restart find their context ready (or being built) instead of each parsing it anew.
+ */
+public final class CachingSchemaContextFactory implements SchemaContextFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingSchemaContextFactory.class);
+
+    /**
+     * Bumped whenever the manifest format changes, manifests of other versions are ignored and removed.
+     */
+    private static final String MANIFEST_HEADER = "netconf-module-set-v1";
+    private static final String MANIFEST_SUFFIX = ".set";
+    private static final char REVISION_SEPARATOR = '@';
+
+    /**
+     * Maximum number of kept contexts and stored module set manifests.
+     */
+    public static final int DEFAULT_MAX_MODULE_SETS = 64;
+
+    /**
+     * Contexts not used for this long are dropped.
+     */
+    public static final long CONTEXT_EXPIRATION_MINUTES = 60;
+
+    private static final Comparator<File> MOST_RECENT_FIRST = new Comparator<File>() {
+        @Override
+        public int compare(final File o1, final File o2) {
+            return Long.compare(o2.lastModified(), o1.lastModified());
+        }
+    };
+
+    private static final Comparator<SourceIdentifier> SOURCE_ORDER = new Comparator<SourceIdentifier>() {
+        @Override
+        public int compare(final SourceIdentifier o1, final SourceIdentifier o2) {
+            final int names = o1.getName().compareTo(o2.getName());
+            return names != 0 ? names : o1.getRevision().compareTo(o2.getRevision());
+        }
+    };
+
+    private static final Function<Exception, SchemaResolutionException> MAPPER =
+            new Function<Exception, SchemaResolutionException>() {
+                @Override
+                public SchemaResolutionException apply(final Exception input) {
+                    final Throwable cause = input instanceof ExecutionException ? input.getCause() : input;
+                    if (cause instanceof SchemaResolutionException) {
+                        return (SchemaResolutionException) cause;
+                    }
+                    return new SchemaResolutionException("Failed to assemble schema context", cause);
+                }
+            };
+
+    private final SchemaContextFactory delegate;
+    private final Optional<File> manifestDirectory;
+    private final int maxModuleSets;
+    // Strong references, a context prepared by warm up has to survive until its device connects
+    private final Cache<String, SchemaContext> contexts;
+    private final ConcurrentMap<String, SettableFuture<SchemaContext>> inProgress = new ConcurrentHashMap<>();
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+
+    public CachingSchemaContextFactory(final SchemaContextFactory delegate) {
+        this(delegate, Optional.<File>absent(), DEFAULT_MAX_MODULE_SETS);
+    }
+
+    public CachingSchemaContextFactory(final SchemaContextFactory delegate, final File manifestDirectory) {
+        this(delegate, Optional.of(manifestDirectory), DEFAULT_MAX_MODULE_SETS);
+    }
+
+    @VisibleForTesting
+    CachingSchemaContextFactory(final SchemaContextFactory delegate, final Optional<File> manifestDirectory,
+                                final int maxModuleSets) {
+        Preconditions.checkArgument(maxModuleSets > 0, "Invalid module set limit %s", maxModuleSets);
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.manifestDirectory = manifestDirectory;
+        this.maxModuleSets = maxModuleSets;
+        this.contexts = CacheBuilder.newBuilder().maximumSize(maxModuleSets)
+                .expireAfterAccess(CONTEXT_EXPIRATION_MINUTES, TimeUnit.MINUTES).build();
+    }
+
+    @Override
+    public CheckedFuture<SchemaContext, SchemaResolutionException> createSchemaContext(
+            final Collection<SourceIdentifier> requiredSources) {
+        final List<SourceIdentifier> moduleSet = sortedModuleSet(requiredSources);
+        final String key = moduleSetHash(moduleSet);
+
+        final SchemaContext cached = contexts.getIfPresent(key);
+        if (cached != null) {
+            LOG.debug("Reusing schema context {} for {}", key, requiredSources);
+            writeManifest(key, moduleSet);
+            return Futures.immediateCheckedFuture(cached);
+        }
+
+        final SettableFuture<SchemaContext> result = SettableFuture.create();
+        final SettableFuture<SchemaContext> existing = inProgress.putIfAbsent(key, result);
+        if (existing != null) {
+            LOG.debug("Waiting for schema context {} being built for {}", key, requiredSources);
+            return waiterView(existing);
+        }
+
+        final CheckedFuture<SchemaContext, SchemaResolutionException> built;
+        try {
+            built = delegate.createSchemaContext(requiredSources);
+        } catch (final RuntimeException e) {
+            inProgress.remove(key, result);
+            result.setException(e);
+            return waiterView(result);
+        }
+
+        Futures.addCallback(built, new FutureCallback<SchemaContext>() {
+            @Override
+            public void onSuccess(final SchemaContext schemaContext) {
+                contexts.put(key, schemaContext);
+                inProgress.remove(key, result);
+                result.set(schemaContext);
+                writeManifest(key, moduleSet);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                // Failures are not cached, the sources might become available later
+                inProgress.remove(key, result);
+                result.setException(t);
+            }
+        });
+        return waiterView(result);
+    }
+
+    /**
+     * Every waiter gets its own view of a shared build, cancelling it does not affect the build nor other waiters.
+     */
+    private static CheckedFuture<SchemaContext, SchemaResolutionException> waiterView(
+            final SettableFuture<SchemaContext> shared) {
+        return Futures.makeChecked(Futures.nonCancellationPropagating(shared), MAPPER);
+    }
+
+    /**
+     * Rebuild, in background, the schema contexts recorded in the manifest directory. Contexts are built one at a
+     * time, the next build is submitted once the previous one finishes, so the executor is neither blocked nor
+     * flooded. Only the first invocation has any effect.
+     *
+     * @param executor executor to build the contexts in
+     */
+    public void warmUp(final Executor executor) {
+        if (!manifestDirectory.isPresent() || !warmedUp.compareAndSet(false, true)) {
+            return;
+        }
+
+        final List<File> manifests = listManifests();
+        warmUpNext(manifests.subList(0, Math.min(manifests.size(), maxModuleSets)).iterator(), executor);
+    }
+
+    private void warmUpNext(final Iterator<File> manifests, final Executor executor) {
+        if (!manifests.hasNext()) {
+            return;
+        }
+
+        final File manifest = manifests.next();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Optional<List<SourceIdentifier>> moduleSet = readManifest(manifest);
+                if (!moduleSet.isPresent()) {
+                    LOG.debug("Removing unreadable or outdated module set manifest {}", manifest);
+                    manifest.delete();
+                    warmUpNext(manifests, executor);
+                    return;
+                }
+
+                Futures.addCallback(createSchemaContext(moduleSet.get()), new FutureCallback<SchemaContext>() {
+                    @Override
+                    public void onSuccess(final SchemaContext result) {
+                        LOG.debug("Schema context for module set {} prepared", manifest.getName());
+                        warmUpNext(manifests, executor);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        LOG.debug("Unable to prepare schema context for module set {}, removing it", manifest, t);
+                        manifest.delete();
+                        warmUpNext(manifests, executor);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return stored manifests, most recently used first
+     */
+    private List<File> listManifests() {
+        final File[] files = manifestDirectory.get().listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+
+        final List<File> manifests = new ArrayList<>(files.length);
+        for (final File file : files) {
+            if (file.getName().endsWith(MANIFEST_SUFFIX)) {
+                manifests.add(file);
+            }
+        }
+        Collections.sort(manifests, MOST_RECENT_FIRST);
+        return manifests;
+    }
+
+    private static List<SourceIdentifier> sortedModuleSet(final Collection<SourceIdentifier> sources) {
+        final List<SourceIdentifier> sorted = new ArrayList<>(sources);
+        Collections.sort(sorted, SOURCE_ORDER);
+        return sorted;
+    }
+
+    private static String moduleSetHash(final List<SourceIdentifier> moduleSet) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final SourceIdentifier source : moduleSet) {
+            hasher.putString(source.getName(), Charsets.UTF_8)
+                    .putChar(REVISION_SEPARATOR)
+                    .putString(source.getRevision(), Charsets.UTF_8)
+                    .putChar('\n');
+        }
+        return hasher.hash().toString();
+    }
+
+    private void writeManifest(final String key, final List<SourceIdentifier> moduleSet) {
+        if (!manifestDirectory.isPresent()) {
+            return;
+        }
+
+        final File manifest = new File(manifestDirectory.get(), key + MANIFEST_SUFFIX);
+        if (manifest.exists()) {
+            // Keep it among the most recently used ones
+            manifest.setLastModified(System.currentTimeMillis());
+            return;
+        }
+
+        final StringBuilder content = new StringBuilder(MANIFEST_HEADER).append('\n');
+        for (final SourceIdentifier source : moduleSet) {
+            content.append(source.getName()).append(REVISION_SEPARATOR).append(source.getRevision()).append('\n');
+        }
+
+        try {
+            Files.createParentDirs(manifest);
+            // Write to a temporary file first, a partially written manifest must never be picked up
+            final File tmp = new File(manifestDirectory.get(), key + ".tmp");
+            Files.write(content, tmp, Charsets.UTF_8);
+            Files.move(tmp, manifest);
+        } catch (final IOException e) {
+            LOG.warn("Unable to store module set manifest {}", manifest, e);
+            return;
+        }
+        evictManifests();
+    }
+
+    /**
+     * Remove least recently used manifests above the limit, e.g. the ones left by schema setups retried with reduced
+     * module sets.
+     */
+    private void evictManifests() {
+        final List<File> manifests = listManifests();
+        for (final File evicted : manifests.subList(Math.min(manifests.size(), maxModuleSets), manifests.size())) {
+            LOG.debug("Removing least recently used module set manifest {}", evicted);
+            evicted.delete();
+        }
+    }
+
+    private static Optional<List<SourceIdentifier>> readManifest(final File manifest) {
+        final List<String> lines;
+        try {
+            lines = Files.readLines(manifest, Charsets.UTF_8);
+        } catch (final IOException e) {
+            LOG.debug("Unable to read module set manifest {}", manifest, e);
+            return Optional.absent();
+        }
+
+        if (lines.isEmpty() || !MANIFEST_HEADER.equals(lines.get(0))) {
+            return Optional.absent();
+        }
+
+        final List<SourceIdentifier> moduleSet = new ArrayList<>(lines.size() - 1);
+        for (final String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final int separator = line.lastIndexOf(REVISION_SEPARATOR);
+            if (separator <= 0) {
+                return Optional.absent();
+            }
+            final String revision = line.substring(separator + 1);
+            moduleSet.add(RevisionSourceIdentifier.create(line.substring(0, separator),
+                    SourceIdentifier.NOT_PRESENT_FORMATTED_REVISION.equals(revision)
+                            ? Optional.<String>absent() : Optional.of(revision)));
+        }
+        return Optional.of(moduleSet);
+    }
+}
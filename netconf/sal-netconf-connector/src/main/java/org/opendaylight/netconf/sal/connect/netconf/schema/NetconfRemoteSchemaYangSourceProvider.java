@@ -17,11 +17,15 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
@@ -51,6 +55,11 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfRemoteSchemaYangSourceProvider.class);
 
+    /**
+     * Maximum number of get-schema requests outstanding on one device, further requests are queued.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 8;
+
     private static final ExceptionMapper<SchemaSourceException> MAPPER = new ExceptionMapper<SchemaSourceException>(
             "schemaDownload", SchemaSourceException.class) {
         @Override
@@ -61,10 +70,29 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
 
     private final DOMRpcService rpc;
     private final RemoteDeviceId id;
+    private final SchemaDownloadCoalescer coalescer;
+    private final int maxConcurrentDownloads;
+
+    // Guarded by this
+    private final Queue<Runnable> queuedDownloads = new ArrayDeque<>();
+    private int runningDownloads;
 
     public NetconfRemoteSchemaYangSourceProvider(final RemoteDeviceId id, final DOMRpcService rpc) {
+        this(id, rpc, DEFAULT_MAX_CONCURRENT_DOWNLOADS);
+    }
+
+    public NetconfRemoteSchemaYangSourceProvider(final RemoteDeviceId id, final DOMRpcService rpc,
+                                                 final int maxConcurrentDownloads) {
+        this(id, rpc, maxConcurrentDownloads, SchemaDownloadCoalescer.SHARED);
+    }
+
+    NetconfRemoteSchemaYangSourceProvider(final RemoteDeviceId id, final DOMRpcService rpc,
+                                          final int maxConcurrentDownloads, final SchemaDownloadCoalescer coalescer) {
+        Preconditions.checkArgument(maxConcurrentDownloads > 0, "Invalid download limit %s", maxConcurrentDownloads);
         this.id = id;
         this.rpc = Preconditions.checkNotNull(rpc);
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+        this.coalescer = Preconditions.checkNotNull(coalescer);
     }
 
     public static ContainerNode createGetSchemaRequest(final String moduleName, final Optional<String> revision) {
@@ -118,14 +146,26 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
         // If formatted revision is SourceIdentifier.NOT_PRESENT_FORMATTED_REVISION, we have to omit it from request
         final String formattedRevision = sourceIdentifier.getRevision().equals(SourceIdentifier.NOT_PRESENT_FORMATTED_REVISION) ? null : sourceIdentifier.getRevision();
         final Optional<String> revision = Optional.fromNullable(formattedRevision);
-        final NormalizedNode<?, ?> getSchemaRequest = createGetSchemaRequest(moduleName, revision);
 
         LOG.trace("{}: Loading YANG schema source for {}:{}", id, moduleName,
                 revision);
 
-        final ListenableFuture<YangTextSchemaSource> transformed = Futures.transform(
-                rpc.invokeRpc(SchemaPath.create(true, NetconfMessageTransformUtil.GET_SCHEMA_QNAME), getSchemaRequest),
-                new ResultToYangSourceTransformer(id, sourceIdentifier, moduleName, revision));
+        // Schema setup may ask for the same source several times, e.g. when retrying with a reduced set of sources
+        final ListenableFuture<String> schemaString = coalescer.download(id, sourceIdentifier,
+                new SchemaDownloadCoalescer.Download() {
+                    @Override
+                    public ListenableFuture<String> start() {
+                        return downloadLimited(sourceIdentifier, moduleName, revision);
+                    }
+                });
+
+        final ListenableFuture<YangTextSchemaSource> transformed = Futures.transform(schemaString,
+                new Function<String, YangTextSchemaSource>() {
+                    @Override
+                    public YangTextSchemaSource apply(final String input) {
+                        return new NetconfYangTextSchemaSource(id, sourceIdentifier, Optional.of(input));
+                    }
+                });
 
         final CheckedFuture<YangTextSchemaSource, SchemaSourceException> checked = Futures.makeChecked(transformed, MAPPER);
 
@@ -133,10 +173,69 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
     }
 
     /**
-     * Transform composite node to string schema representation and then to ASTSchemaSource
+     * Issue get-schema once fewer than maxConcurrentDownloads requests are outstanding on this device.
+     */
+    private ListenableFuture<String> downloadLimited(final SourceIdentifier sourceIdentifier, final String moduleName,
+                                                     final Optional<String> revision) {
+        final SettableFuture<String> result = SettableFuture.create();
+        final Runnable download = new Runnable() {
+            @Override
+            public void run() {
+                ListenableFuture<String> schema;
+                try {
+                    schema = Futures.transform(
+                            rpc.invokeRpc(SchemaPath.create(true, NetconfMessageTransformUtil.GET_SCHEMA_QNAME),
+                                    createGetSchemaRequest(moduleName, revision)),
+                            new ResultToYangSourceTransformer(id, sourceIdentifier, moduleName, revision));
+                } catch (final RuntimeException e) {
+                    schema = Futures.immediateFailedFuture(e);
+                }
+
+                Futures.addCallback(schema, new FutureCallback<String>() {
+                    @Override
+                    public void onSuccess(final String schemaString) {
+                        downloadFinished();
+                        result.set(schemaString);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        downloadFinished();
+                        result.setException(t);
+                    }
+                });
+            }
+        };
+
+        synchronized (this) {
+            if (runningDownloads >= maxConcurrentDownloads) {
+                LOG.trace("{}: Download of {} queued, {} downloads in progress", id, sourceIdentifier, runningDownloads);
+                queuedDownloads.add(download);
+                return result;
+            }
+            runningDownloads++;
+        }
+        download.run();
+        return result;
+    }
+
+    private void downloadFinished() {
+        final Runnable next;
+        synchronized (this) {
+            next = queuedDownloads.poll();
+            if (next == null) {
+                runningDownloads--;
+                return;
+            }
+        }
+        next.run();
+    }
+
+    /**
+     * Transform composite node to string schema representation
      */
     private static final class ResultToYangSourceTransformer implements
-            Function<DOMRpcResult, YangTextSchemaSource> {
+            Function<DOMRpcResult, String> {
 
         private final RemoteDeviceId id;
         private final SourceIdentifier sourceIdentifier;
@@ -152,7 +251,7 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
         }
 
         @Override
-        public YangTextSchemaSource apply(final DOMRpcResult input) {
+        public String apply(final DOMRpcResult input) {
 
             if (input.getErrors().isEmpty()) {
 
@@ -163,7 +262,7 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
 
                 LOG.debug("{}: YANG Schema successfully retrieved for {}:{}",
                         id, moduleName, revision);
-                return new NetconfYangTextSchemaSource(id, sourceIdentifier, schemaString);
+                return schemaString.get();
             }
 
             LOG.warn(
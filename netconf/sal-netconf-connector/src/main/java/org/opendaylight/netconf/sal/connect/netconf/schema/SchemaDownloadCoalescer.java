@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces downloads of the same schema source from different devices. While a source is being downloaded from one
+ * device, other devices asking for a source with the same name and revision wait for that download instead of issuing
+ * their own get-schema. If the shared download fails, the waiting devices download the source themselves.
+ *
+ * <p>
+ * Sources without a revision are never shared, since their name alone does not identify the content. Content of
+ * every finished download is hashed. A device whose content differs from the content downloaded earlier under the
+ * same name and revision is reported, and from then on downloads that source on its own instead of waiting for other
+ * devices. Content of devices that only waited for a shared download is not compared, and neither is content of
+ * sources served from the schema cache.
+ */
+final class SchemaDownloadCoalescer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaDownloadCoalescer.class);
+
+    static final SchemaDownloadCoalescer SHARED = new SchemaDownloadCoalescer();
+
+    private static final int MAX_REMEMBERED_HASHES = 10000;
+
+    /**
+     * Starts the actual download from a device.
+     */
+    interface Download {
+        ListenableFuture<String> start();
+    }
+
+    private final ConcurrentMap<SourceIdentifier, SettableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<SourceIdentifier, RecordedContent> contentHashes =
+            CacheBuilder.newBuilder().maximumSize(MAX_REMEMBERED_HASHES).build();
+    private final Cache<DivergentSource, Boolean> divergentSources =
+            CacheBuilder.newBuilder().maximumSize(MAX_REMEMBERED_HASHES).build();
+
+    ListenableFuture<String> download(final RemoteDeviceId id, final SourceIdentifier sourceId,
+                                      final Download download) {
+        if (sourceId.getRevision().equals(SourceIdentifier.NOT_PRESENT_FORMATTED_REVISION)) {
+            return startAndRecord(id, sourceId, download);
+        }
+        if (divergentSources.getIfPresent(new DivergentSource(id, sourceId)) != null) {
+            LOG.debug("{}: Downloading {} on its own, its content differed from other devices", id, sourceId);
+            return startAndRecord(id, sourceId, download);
+        }
+
+        final SettableFuture<String> shared = SettableFuture.create();
+        final SettableFuture<String> existing = inFlight.putIfAbsent(sourceId, shared);
+        if (existing != null) {
+            LOG.debug("{}: Waiting for download of {} already in progress", id, sourceId);
+            return joinOrFallback(id, sourceId, existing, download);
+        }
+
+        Futures.addCallback(startAndRecord(id, sourceId, download), new FutureCallback<String>() {
+            @Override
+            public void onSuccess(final String result) {
+                inFlight.remove(sourceId, shared);
+                shared.set(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                inFlight.remove(sourceId, shared);
+                shared.setException(t);
+            }
+        });
+        return shared;
+    }
+
+    private ListenableFuture<String> joinOrFallback(final RemoteDeviceId id, final SourceIdentifier sourceId,
+                                                    final ListenableFuture<String> existing, final Download download) {
+        final SettableFuture<String> joined = SettableFuture.create();
+        Futures.addCallback(existing, new FutureCallback<String>() {
+            @Override
+            public void onSuccess(final String result) {
+                joined.set(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                LOG.debug("{}: Shared download of {} failed, downloading from this device", id, sourceId, t);
+                Futures.addCallback(startAndRecord(id, sourceId, download), new FutureCallback<String>() {
+                    @Override
+                    public void onSuccess(final String result) {
+                        joined.set(result);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable t) {
+                        joined.setException(t);
+                    }
+                });
+            }
+        });
+        return joined;
+    }
+
+    private ListenableFuture<String> startAndRecord(final RemoteDeviceId id, final SourceIdentifier sourceId,
+                                                    final Download download) {
+        final ListenableFuture<String> started;
+        try {
+            started = download.start();
+        } catch (final RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+
+        Futures.addCallback(started, new FutureCallback<String>() {
+            @Override
+            public void onSuccess(final String result) {
+                recordContent(id, sourceId, result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                // Reported by the caller
+            }
+        });
+        return started;
+    }
+
+    /**
+     * @return true if the content matches the content downloaded earlier under the same name and revision, or if
+     *         there is no such content
+     */
+    @VisibleForTesting
+    boolean recordContent(final RemoteDeviceId id, final SourceIdentifier sourceId, final String content) {
+        if (sourceId.getRevision().equals(SourceIdentifier.NOT_PRESENT_FORMATTED_REVISION)) {
+            return true;
+        }
+
+        final RecordedContent recorded = new RecordedContent(id, Hashing.sha256().hashString(content, Charsets.UTF_8));
+        final RecordedContent previous = contentHashes.asMap().putIfAbsent(sourceId, recorded);
+        if (previous != null && !previous.hash.equals(recorded.hash)) {
+            LOG.warn("{}: Content of {} differs from the same source downloaded earlier from {}, the schema cache may "
+                    + "not match this device", id, sourceId, previous.device);
+            divergentSources.put(new DivergentSource(id, sourceId), Boolean.TRUE);
+            return false;
+        }
+        return true;
+    }
+
+    private static final class RecordedContent {
+        private final RemoteDeviceId device;
+        private final HashCode hash;
+
+        RecordedContent(final RemoteDeviceId device, final HashCode hash) {
+            this.device = device;
+            this.hash = hash;
+        }
+    }
+
+    private static final class DivergentSource {
+        private final RemoteDeviceId device;
+        private final SourceIdentifier sourceId;
+
+        DivergentSource(final RemoteDeviceId device, final SourceIdentifier sourceId) {
+            this.device = device;
+            this.sourceId = sourceId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * device.hashCode() + sourceId.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DivergentSource)) {
+                return false;
+            }
+            final DivergentSource other = (DivergentSource) obj;
+            return device.equals(other.device) && sourceId.equals(other.sourceId);
+        }
+    }
+}
@@ -7,15 +7,21 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.schema;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteStreams;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
@@ -31,13 +37,29 @@ public final class YangLibrarySchemaYangSourceProvider implements SchemaSourcePr
 
     private static final Logger LOG = LoggerFactory.getLogger(YangLibrarySchemaYangSourceProvider.class);
 
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int READ_TIMEOUT_MILLIS = 30000;
+
     private final Map<SourceIdentifier, URL> availableSources;
     private final RemoteDeviceId id;
+    private final ListeningExecutorService downloadExecutor;
 
+    /**
+     * Sources are downloaded in the thread asking for them.
+     */
     public YangLibrarySchemaYangSourceProvider(
             final RemoteDeviceId id, final Map<SourceIdentifier, URL> availableSources) {
+        this(id, availableSources, MoreExecutors.newDirectExecutorService());
+    }
+
+    /**
+     * @param downloadExecutor executor performing the downloads, owned by the caller
+     */
+    public YangLibrarySchemaYangSourceProvider(final RemoteDeviceId id, final Map<SourceIdentifier, URL> availableSources,
+                                               final ListeningExecutorService downloadExecutor) {
         this.id = id;
         this.availableSources = Preconditions.checkNotNull(availableSources);
+        this.downloadExecutor = Preconditions.checkNotNull(downloadExecutor);
     }
 
     @Override
@@ -50,17 +72,29 @@ public final class YangLibrarySchemaYangSourceProvider implements SchemaSourcePr
 
     private CheckedFuture<? extends YangTextSchemaSource, SchemaSourceException> download(final SourceIdentifier sId) {
         final URL url = availableSources.get(sId);
-        try(final InputStream in = url.openStream()) {
-            final String schemaContent = new String(ByteStreams.toByteArray(in));
-            final NetconfRemoteSchemaYangSourceProvider.NetconfYangTextSchemaSource yangSource =
-                    new NetconfRemoteSchemaYangSourceProvider.
+        return Futures.makeChecked(downloadExecutor.submit(new Callable<YangTextSchemaSource>() {
+            @Override
+            public YangTextSchemaSource call() throws IOException {
+                final URLConnection connection = url.openConnection();
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+                connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+                // Stream is read to the end and closed, so that an http connection goes back to the keep-alive cache
+                try (final InputStream in = connection.getInputStream()) {
+                    final String schemaContent = new String(ByteStreams.toByteArray(in));
+                    LOG.debug("Source {} downloaded from a yang library's url {}", sId, url);
+                    return new NetconfRemoteSchemaYangSourceProvider.
                             NetconfYangTextSchemaSource(id, sId, Optional.of(schemaContent));
-            LOG.debug("Source {} downloaded from a yang library's url {}", sId, url);
-            return Futures.immediateCheckedFuture(yangSource);
-        } catch (IOException e) {
-            LOG.warn("Unable to download source {} from a yang library's url {}", sId, url, e);
-            return Futures.immediateFailedCheckedFuture(
-                    new SchemaSourceException("Unable to download remote schema for " + sId + " from " + url, e));
-        }
+                } catch (IOException e) {
+                    LOG.warn("Unable to download source {} from a yang library's url {}", sId, url, e);
+                    throw e;
+                }
+            }
+        }), new Function<Exception, SchemaSourceException>() {
+            @Override
+            public SchemaSourceException apply(final Exception input) {
+                final Throwable cause = input instanceof ExecutionException ? input.getCause() : input;
+                return new SchemaSourceException("Unable to download remote schema for " + sId + " from " + url, cause);
+            }
+        });
     }
 }
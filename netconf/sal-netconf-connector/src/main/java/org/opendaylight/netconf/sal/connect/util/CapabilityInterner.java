@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.util;
+
+import com.google.common.base.Function;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Canonicalizes immutable capability collections by content, so that devices reporting the same capabilities share a
+ * single instance instead of holding their own copies. Instances are held weakly and disappear once no device uses
+ * them.
+ */
+public final class CapabilityInterner {
+
+    private static final Interner<Object> COLLECTIONS = Interners.newWeakInterner();
+
+    // Module QNames are interned, so identity based weak keys suffice
+    private static final LoadingCache<QName, String> CAPABILITY_STRINGS = CacheBuilder.newBuilder().weakKeys()
+            .build(new CacheLoader<QName, String>() {
+                @Override
+                public String load(@Nonnull final QName key) {
+                    return key.toString().intern();
+                }
+            });
+
+    /**
+     * Transforms module QName into its string representation, the string is shared for the same QName.
+     */
+    public static final Function<QName, String> CAPABILITY_STRING = new Function<QName, String>() {
+        @Override
+        public String apply(final QName input) {
+            return capabilityString(input);
+        }
+    };
+
+    private CapabilityInterner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ImmutableSet<T> intern(final ImmutableSet<T> capabilities) {
+        return (ImmutableSet<T>) COLLECTIONS.intern(capabilities);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ImmutableList<T> intern(final ImmutableList<T> capabilities) {
+        return (ImmutableList<T>) COLLECTIONS.intern(capabilities);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> ImmutableMap<K, V> intern(final ImmutableMap<K, V> capabilities) {
+        return (ImmutableMap<K, V>) COLLECTIONS.intern(capabilities);
+    }
+
+    public static String capabilityString(final QName capability) {
+        return CAPABILITY_STRINGS.getUnchecked(capability);
+    }
+}
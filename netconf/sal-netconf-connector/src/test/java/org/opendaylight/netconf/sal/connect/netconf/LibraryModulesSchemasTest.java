@@ -9,9 +9,21 @@ package org.opendaylight.netconf.sal.connect.netconf;
 
 import static org.hamcrest.CoreMatchers.is;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
@@ -35,6 +47,57 @@ public class LibraryModulesSchemasTest {
         verifySchemas(libraryModulesSchemas);
     }
 
+    @Test
+    public void testCreateAsync() throws Exception {
+        final LibraryModulesSchemas libraryModulesSchemas = LibraryModulesSchemas.createAsync(
+                getClass().getResource("/yang-library.xml").toString(), null, null,
+                MoreExecutors.newDirectExecutorService()).get();
+
+        verifySchemas(libraryModulesSchemas);
+    }
+
+    @Test
+    public void testNotModifiedLibraryIsReused() throws Exception {
+        final byte[] library;
+        try (final InputStream in = getClass().getResourceAsStream("/yang-library.xml")) {
+            library = ByteStreams.toByteArray(in);
+        }
+
+        final List<String> receivedEtags = Collections.synchronizedList(new ArrayList<String>());
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/yanglib", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+                receivedEtags.add(etag);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                if ("\"v1\"".equals(etag)) {
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Type", "application/xml");
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, library.length);
+                    try (final OutputStream out = exchange.getResponseBody()) {
+                        out.write(library);
+                    }
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            final String url = "http://localhost:" + server.getAddress().getPort() + "/yanglib/etag-test";
+            final LibraryModulesSchemas first = LibraryModulesSchemas.create(url);
+            verifySchemas(first);
+
+            final LibraryModulesSchemas second = LibraryModulesSchemas.create(url);
+            Assert.assertSame(first, second);
+            Assert.assertEquals(2, receivedEtags.size());
+            Assert.assertNull(receivedEtags.get(0));
+            Assert.assertEquals("\"v1\"", receivedEtags.get(1));
+        } finally {
+            server.stop(0);
+        }
+    }
 
     private void verifySchemas(final LibraryModulesSchemas libraryModulesSchemas) throws MalformedURLException {
         final Map<SourceIdentifier, URL> resolvedModulesSchema = libraryModulesSchemas.getAvailableModels();
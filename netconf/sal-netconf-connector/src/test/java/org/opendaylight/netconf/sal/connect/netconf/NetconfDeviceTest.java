@@ -24,6 +24,8 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -195,6 +197,52 @@ public class NetconfDeviceTest {
         Mockito.verify(schemaFactory, times(2)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
     }
 
+    @Test
+    public void testPendingSchemaResolutionDoesNotBlockOtherDevices() throws Exception {
+        final SettableFuture<NetconfStateSchemas> pendingSchemas = SettableFuture.create();
+        final NetconfStateSchemas.AsyncNetconfStateSchemasResolver slowResolver = new NetconfStateSchemas.AsyncNetconfStateSchemasResolver() {
+            @Override
+            public ListenableFuture<NetconfStateSchemas> resolveAsync(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
+                return pendingSchemas;
+            }
+
+            @Override
+            public NetconfStateSchemas resolve(final NetconfDeviceRpc deviceRpc, final NetconfSessionPreferences remoteSessionCapabilities, final RemoteDeviceId id) {
+                throw new UnsupportedOperationException("Blocking resolution not expected");
+            }
+        };
+
+        // Both devices share a single processing thread
+        final ExecutorService executor = getExecutor();
+        final RemoteDeviceHandler<NetconfSessionPreferences> slowFacade = getFacade();
+        final NetconfDevice slowDevice = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(false)
+                .setSchemaResourcesDTO(new NetconfDevice.SchemaResourcesDTO(getSchemaRegistry(), getSchemaFactory(), slowResolver))
+                .setGlobalProcessingExecutor(executor)
+                .setId(getId())
+                .setSalFacade(slowFacade)
+                .build();
+        final RemoteDeviceHandler<NetconfSessionPreferences> fastFacade = getFacade();
+        final NetconfDevice fastDevice = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(false)
+                .setSchemaResourcesDTO(new NetconfDevice.SchemaResourcesDTO(getSchemaRegistry(), getSchemaFactory(), stateSchemasResolver))
+                .setGlobalProcessingExecutor(executor)
+                .setId(getId())
+                .setSalFacade(fastFacade)
+                .build();
+
+        final NetconfSessionPreferences sessionCaps = getSessionCaps(true, Lists.newArrayList(TEST_CAPABILITY));
+        slowDevice.onRemoteSessionUp(sessionCaps, getListener());
+        fastDevice.onRemoteSessionUp(sessionCaps, getListener());
+
+        verify(fastFacade, timeout(5000)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+        verify(slowFacade, times(0)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+
+        pendingSchemas.set(NetconfStateSchemas.EMPTY);
+        verify(slowFacade, timeout(5000)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+        executor.shutdown();
+    }
+
     private SchemaSourceRegistry getSchemaRegistry() {
         final SchemaSourceRegistry mock = mock(SchemaSourceRegistry.class);
         final SchemaSourceRegistration<?> mockReg = mock(SchemaSourceRegistration.class);
@@ -264,8 +312,20 @@ public class NetconfDeviceTest {
 
         device.onRemoteSessionUp(sessionCaps, listener);
 
-        verify(schemaContextProviderFactory, timeout(5000).times(2)).createSchemaContext(any(Collection.class));
+        // Same capabilities as in the previous session, schema context is reused
         verify(facade, timeout(5000).times(2)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+        verify(schemaContextProviderFactory, times(1)).createSchemaContext(any(Collection.class));
+
+        device.onRemoteSessionDown();
+        verify(facade, timeout(5000).times(2)).onDeviceDisconnected();
+
+        final NetconfSessionPreferences changedCaps = getSessionCaps(true,
+                Lists.newArrayList(TEST_NAMESPACE + "?module=" + TEST_MODULE + "&amp;revision=" + TEST_REVISION,
+                        TEST_NAMESPACE + "?module=other-module&amp;revision=" + TEST_REVISION));
+        device.onRemoteSessionUp(changedCaps, listener);
+
+        verify(schemaContextProviderFactory, timeout(5000).times(2)).createSchemaContext(any(Collection.class));
+        verify(facade, timeout(5000).times(3)).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
     }
 
     private SchemaContextFactory getSchemaFactory() {
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class NetconfDeviceCapabilitiesTest {
+
+    private static final QName MODULE1 = QName.create("namespace:1", "2012-12-12", "module1");
+    private static final QName MODULE2 = QName.create("namespace:2", "2012-12-12", "module2");
+    private static final QName MODULE3 = QName.create("namespace:3", "2012-12-12", "module3");
+
+    @Test
+    public void testAddedCapabilitiesAreMerged() throws Exception {
+        final NetconfDeviceCapabilities capabilities = new NetconfDeviceCapabilities();
+        capabilities.addCapabilities(Lists.newArrayList(MODULE1));
+        capabilities.addCapabilities(Lists.newArrayList(MODULE2, MODULE1));
+        capabilities.addNonModuleBasedCapabilities(Lists.newArrayList("urn:ietf:params:netconf:base:1.0"));
+
+        assertEquals(ImmutableSet.of(MODULE1, MODULE2), capabilities.getResolvedCapabilities());
+        assertEquals(ImmutableSet.of("urn:ietf:params:netconf:base:1.0"),
+                capabilities.getNonModuleBasedCapabilities());
+    }
+
+    @Test
+    public void testDuplicateUnresolvedCapabilities() throws Exception {
+        final NetconfDeviceCapabilities capabilities = new NetconfDeviceCapabilities();
+        capabilities.addUnresolvedCapabilities(Lists.newArrayList(MODULE1, MODULE2, MODULE1),
+                FailureReason.MissingSource);
+        // Later reason overrides the earlier one
+        capabilities.addUnresolvedCapability(MODULE2, FailureReason.UnableToResolve);
+
+        final Map<QName, FailureReason> unresolved = capabilities.getUnresolvedCapabilites();
+        assertEquals(2, unresolved.size());
+        assertEquals(FailureReason.MissingSource, unresolved.get(MODULE1));
+        assertEquals(FailureReason.UnableToResolve, unresolved.get(MODULE2));
+    }
+
+    @Test
+    public void testSameCapabilitiesAreShared() throws Exception {
+        final NetconfDeviceCapabilities first = new NetconfDeviceCapabilities();
+        first.addCapabilities(Lists.newArrayList(MODULE1, MODULE2));
+        first.addUnresolvedCapabilities(ImmutableMap.of(MODULE3, FailureReason.MissingSource));
+        final NetconfDeviceCapabilities second = new NetconfDeviceCapabilities();
+        second.addCapabilities(Lists.newArrayList(MODULE1, MODULE2));
+        second.addUnresolvedCapabilities(ImmutableMap.of(MODULE3, FailureReason.MissingSource));
+
+        assertSame(first.getResolvedCapabilities(), second.getResolvedCapabilities());
+        assertSame(first.getUnresolvedCapabilites(), second.getUnresolvedCapabilites());
+    }
+
+    @Test
+    public void testReadsDoNotLoseConcurrentAdditions() throws Exception {
+        final NetconfDeviceCapabilities capabilities = new NetconfDeviceCapabilities();
+        final int additions = 1000;
+        final CountDownLatch started = new CountDownLatch(1);
+        final Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                for (int i = 0; i < additions; i++) {
+                    capabilities.getResolvedCapabilities();
+                    capabilities.getUnresolvedCapabilites();
+                }
+            }
+        });
+        reader.start();
+        started.await();
+        for (int i = 0; i < additions; i++) {
+            final QName module = QName.create("namespace:" + i, "2012-12-12", "module" + i);
+            capabilities.addCapabilities(Collections.singleton(module));
+            capabilities.addUnresolvedCapability(module, FailureReason.MissingSource);
+        }
+        reader.join();
+
+        assertEquals(additions, capabilities.getResolvedCapabilities().size());
+        assertEquals(additions, capabilities.getUnresolvedCapabilites().size());
+        assertTrue(capabilities.getNonModuleBasedCapabilities().isEmpty());
+    }
+}
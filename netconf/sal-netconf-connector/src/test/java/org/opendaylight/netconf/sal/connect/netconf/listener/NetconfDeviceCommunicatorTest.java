@@ -11,6 +11,7 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
@@ -118,6 +119,27 @@ public class NetconfDeviceCommunicatorTest {
         return resultFuture;
     }
 
+    @Test
+    public void testSessionSetupTimedFromLastConnectAttempt() throws Exception {
+        final ReconnectStrategy strategy = mock(ReconnectStrategy.class);
+        doReturn(1000).when(strategy).getConnectTimeout();
+        final ReconnectStrategyFactory factory = mock(ReconnectStrategyFactory.class);
+        doReturn(strategy).when(factory).createReconnectStrategy();
+        final ReconnectStrategy timed = communicator.timeConnectAttempts(factory).createReconnectStrategy();
+
+        setupSession();
+        communicator.onSessionDown(mockSession, new Exception("down"));
+        // Reconnect delay, it must not be part of the session setup
+        Thread.sleep(100);
+
+        final long attemptStartNanos = System.nanoTime();
+        assertEquals(1000, timed.getConnectTimeout());
+        communicator.onSessionUp(mockSession);
+
+        assertTrue(communicator.getSessionSetupNanos() <= System.nanoTime() - attemptStartNanos);
+        verify(strategy).getConnectTimeout();
+    }
+
     @Test
     public void testOnSessionUp() {
         String testCapability = "urn:opendaylight:params:xml:ns:test?module=test-module&revision=2014-06-02";
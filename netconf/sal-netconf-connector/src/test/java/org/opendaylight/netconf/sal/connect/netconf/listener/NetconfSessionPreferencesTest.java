@@ -10,6 +10,7 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 import com.google.common.collect.Lists;
@@ -91,6 +92,23 @@ public class NetconfSessionPreferencesTest {
         assertCaps(sessionCaps1, 0, 4);
     }
 
+    @Test
+    public void testRepeatedParsingSharesModuleQNames() throws Exception {
+        final List<String> caps = Lists.newArrayList(
+                "namespace:3?module=module3&revision=2012-12-12",
+                "namespace:3?foo=bar",
+                "urn:ietf:params:netconf:base:1.0");
+
+        final NetconfSessionPreferences first = NetconfSessionPreferences.fromStrings(caps);
+        final NetconfSessionPreferences second = NetconfSessionPreferences.fromStrings(Lists.newArrayList(caps));
+        assertCaps(first, 2, 1);
+        assertCaps(second, 2, 1);
+        assertSame(first.getModuleBasedCaps().iterator().next(), second.getModuleBasedCaps().iterator().next());
+        // Same capabilities, same set instances
+        assertSame(first.getModuleBasedCaps(), second.getModuleBasedCaps());
+        assertSame(first.getNonModuleCaps(), second.getNonModuleCaps());
+    }
+
     private void assertCaps(final NetconfSessionPreferences sessionCaps1, final int nonModuleCaps, final int moduleCaps) {
         assertEquals(nonModuleCaps, sessionCaps1.getNonModuleCaps().size());
         assertEquals(moduleCaps, sessionCaps1.getModuleBasedCaps().size());
@@ -7,27 +7,35 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.Futures;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import java.net.InetSocketAddress;
-import java.util.concurrent.Executors;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.Matchers;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -46,17 +54,18 @@ import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
-import com.google.common.util.concurrent.Futures;
-
 public class KeepaliveSalFacadeTest {
 
     private static final RemoteDeviceId REMOTE_DEVICE_ID = new RemoteDeviceId("test", new InetSocketAddress("localhost", 22));
+    private static final SchemaPath GET_CONFIG_PATH =
+            NetconfMessageTransformUtil.toPath(NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME);
 
     @Mock
     private RemoteDeviceHandler<NetconfSessionPreferences> underlyingSalFacade;
-
-    private ScheduledExecutorService executorServiceSpy;
-
+    @Mock
+    private ScheduledExecutorService executor;
+    @Mock
+    private Timer requestTimer;
     @Mock
     private NetconfDeviceCommunicator listener;
     @Mock
@@ -64,38 +73,54 @@ public class KeepaliveSalFacadeTest {
 
     private DOMRpcService proxyRpc;
 
-    @Mock
-    private ScheduledFuture currentKeepalive;
+    private final FakeTicker ticker = new FakeTicker();
+    // Keepalives scheduled on the executor, run by the test one by one
+    private final Queue<ScheduledKeepalive> scheduled = new ArrayDeque<>();
 
     @Before
     public void setUp() throws Exception {
-        executorServiceSpy = Executors.newScheduledThreadPool(1);
-
         MockitoAnnotations.initMocks(this);
 
         doNothing().when(listener).disconnect();
         doReturn("mockedRpc").when(deviceRpc).toString();
-        doNothing().when(underlyingSalFacade).onDeviceConnected(
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                proxyRpc = (DOMRpcService) invocationOnMock.getArguments()[2];
+                return null;
+            }
+        }).when(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
-        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
-        executorServiceSpy = Mockito.spy(executorService);
-        doAnswer(new Answer<ScheduledFuture>() {
+        doAnswer(new Answer<ScheduledFuture<?>>() {
             @Override
-            public ScheduledFuture answer(InvocationOnMock invocationOnMock)
-                    throws Throwable {
-                invocationOnMock.callRealMethod();
-                return currentKeepalive;
+            public ScheduledFuture<?> answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                final Object[] args = invocationOnMock.getArguments();
+                scheduled.add(new ScheduledKeepalive((Runnable) args[0],
+                        ((TimeUnit) args[2]).toNanos((Long) args[1])));
+                return mock(ScheduledFuture.class);
             }
-        }).when(executorServiceSpy).schedule(Mockito.<Runnable> any(),
-                Mockito.anyLong(), Matchers.<TimeUnit> any());
+        }).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        doReturn(mock(Timeout.class)).when(requestTimer).newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class));
+    }
 
-        Mockito.when(currentKeepalive.isDone()).thenReturn(true);
+    private KeepaliveSalFacade createFacade(final long keepaliveDelaySeconds,
+                                            final KeepaliveSalFacade.KeepaliveProbe probe) {
+        final KeepaliveSalFacade keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade,
+                executor, keepaliveDelaySeconds, 1L, probe, requestTimer, false, ticker);
+        keepaliveSalFacade.setListener(listener);
+        return keepaliveSalFacade;
     }
 
-    @After
-    public void tearDown() throws Exception {
-        executorServiceSpy.shutdownNow();
+    /**
+     * Let the delay of the next scheduled keepalive pass and run it.
+     */
+    private void runNextKeepalive() {
+        final ScheduledKeepalive next = scheduled.poll();
+        assertNotNull("No keepalive scheduled", next);
+        ticker.advance(next.delayNanos);
+        next.task.run();
     }
 
     @Test
@@ -105,16 +130,20 @@ public class KeepaliveSalFacadeTest {
 
         doReturn(Futures.immediateCheckedFuture(result)).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
-        final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
-        keepaliveSalFacade.setListener(listener);
-
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(1L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
 
         verify(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
-        verify(deviceRpc, timeout(15000).times(5)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        for (int i = 0; i < 5; i++) {
+            runNextKeepalive();
+        }
+
+        verify(deviceRpc, times(5)).invokeRpc(eq(GET_CONFIG_PATH), any(NormalizedNode.class));
+        verify(listener, never()).disconnect();
+        assertEquals(1, scheduled.size());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), scheduled.peek().delayNanos);
     }
 
     @Test
@@ -132,19 +161,21 @@ public class KeepaliveSalFacadeTest {
                 .doReturn(Futures.immediateFailedCheckedFuture(new IllegalStateException("illegal-state")))
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
-        final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 1L, 1L);
-        keepaliveSalFacade.setListener(listener);
-
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(1L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
 
         verify(underlyingSalFacade).onDeviceConnected(
                 any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
 
+        for (int i = 0; i < 3; i++) {
+            runNextKeepalive();
+        }
+
         // 1 failed that results in disconnect
-        verify(listener, timeout(15000).times(1)).disconnect();
-        // 3 attempts total
+        verify(listener, times(1)).disconnect();
+        // 3 attempts total, nothing scheduled after the failure
         verify(deviceRpc, times(3)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        assertTrue(scheduled.isEmpty());
 
         // Reconnect with same keepalive responses
         doReturn(Futures.immediateCheckedFuture(result))
@@ -153,9 +184,12 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        for (int i = 0; i < 3; i++) {
+            runNextKeepalive();
+        }
 
         // 1 failed that results in disconnect, 2 total with previous fail
-        verify(listener, timeout(15000).times(2)).disconnect();
+        verify(listener, times(2)).disconnect();
         // 6 attempts now total
         verify(deviceRpc, times(3 * 2)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
@@ -165,38 +199,150 @@ public class KeepaliveSalFacadeTest {
                 .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        runNextKeepalive();
 
         // 1 failed that results in disconnect, 3 total with previous fail
-        verify(listener, timeout(15000).times(3)).disconnect();
+        verify(listener, times(3)).disconnect();
+        assertTrue(scheduled.isEmpty());
+    }
 
+    @Test
+    public void testNonKeepaliveRpcFailure() throws Exception {
+        doReturn(Futures.immediateFailedCheckedFuture(new IllegalStateException("illegal-state")))
+                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
-        Mockito.when(currentKeepalive.isDone()).thenReturn(false);
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(100L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
-        // 1 failed that results in disconnect, 4 total with previous fail
-        verify(listener, timeout(15000).times(4)).disconnect();
+
+        proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
+
+        verify(listener, times(1)).disconnect();
     }
 
     @Test
-    public void testNonKeepaliveRpcFailure() throws Exception {
-        doAnswer(new Answer() {
+    public void testGetProbe() throws Exception {
+        final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).build());
+        doReturn(Futures.immediateCheckedFuture(result)).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(1L, KeepaliveSalFacade.KeepaliveProbe.GET);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+
+        runNextKeepalive();
+        runNextKeepalive();
+
+        verify(deviceRpc, times(2)).invokeRpc(
+                eq(NetconfMessageTransformUtil.toPath(NetconfMessageTransformUtil.NETCONF_GET_QNAME)), any(NormalizedNode.class));
+        verify(deviceRpc, never()).invokeRpc(eq(GET_CONFIG_PATH), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testKeepaliveLatencyIsRecorded() throws Exception {
+        final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).build());
+        final Queue<Long> latenciesMillis = new ArrayDeque<>(Arrays.asList(3L, 7L, 5L));
+        doAnswer(new Answer<Object>() {
             @Override
             public Object answer(final InvocationOnMock invocationOnMock) throws Throwable {
-                proxyRpc = (DOMRpcService) invocationOnMock.getArguments()[2];
-                return null;
+                // The device takes its time to reply
+                ticker.advance(TimeUnit.MILLISECONDS.toNanos(latenciesMillis.poll()));
+                return Futures.immediateCheckedFuture(result);
             }
-        }).when(underlyingSalFacade).onDeviceConnected(any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class));
+        }).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
 
-        doReturn(Futures.immediateFailedCheckedFuture(new IllegalStateException("illegal-state")))
-                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(1L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
+        assertEquals(-1, keepaliveSalFacade.getLastKeepaliveLatencyNanos());
+        assertEquals(-1, keepaliveSalFacade.getMaxKeepaliveLatencyNanos());
+        assertEquals(0, keepaliveSalFacade.getKeepaliveCount());
 
-        final KeepaliveSalFacade keepaliveSalFacade =
-                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, 100L, 1L);
-        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        for (int i = 0; i < 3; i++) {
+            runNextKeepalive();
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), keepaliveSalFacade.getLastKeepaliveLatencyNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(7), keepaliveSalFacade.getMaxKeepaliveLatencyNanos());
+        assertEquals(3, keepaliveSalFacade.getKeepaliveCount());
+    }
 
+    @Test
+    public void testActivityPostponesKeepalive() throws Exception {
+        final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).build());
+        doReturn(Futures.immediateCheckedFuture(result)).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(2L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
         keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
 
+        // Reply to a user RPC half way through the delay
+        ticker.advance(TimeUnit.SECONDS.toNanos(1));
         proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
+        ticker.advance(TimeUnit.SECONDS.toNanos(1));
+        scheduled.poll().task.run();
 
-        verify(listener, times(1)).disconnect();
+        // Session was not idle long enough, keepalive waits for the rest of the delay
+        verify(deviceRpc, never()).invokeRpc(eq(GET_CONFIG_PATH), any(NormalizedNode.class));
+        assertEquals(1, scheduled.size());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), scheduled.peek().delayNanos);
+
+        runNextKeepalive();
+        verify(deviceRpc, times(1)).invokeRpc(eq(GET_CONFIG_PATH), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testPostponedKeepaliveAfterSuccessDoesNotReconnect() throws Exception {
+        final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).build());
+        doReturn(Futures.immediateCheckedFuture(result)).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final KeepaliveSalFacade keepaliveSalFacade = createFacade(2L, KeepaliveSalFacade.KeepaliveProbe.GET_CONFIG);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+        runNextKeepalive();
+
+        // Activity makes the next keepalive postpone itself twice, its task is still running each time
+        for (int i = 0; i < 2; i++) {
+            ticker.advance(TimeUnit.SECONDS.toNanos(1));
+            proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
+            final ScheduledKeepalive next = scheduled.poll();
+            ticker.advance(next.delayNanos - TimeUnit.SECONDS.toNanos(1));
+            next.task.run();
+        }
+        runNextKeepalive();
+
+        verify(listener, never()).disconnect();
+        verify(deviceRpc, times(2)).invokeRpc(eq(GET_CONFIG_PATH), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testSharedRequestTimerReleasedOnce() throws Exception {
+        final KeepaliveSalFacade keepaliveSalFacade =
+                new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, 1L, 1L);
+        keepaliveSalFacade.close();
+        // Second close must not release the shared timer again
+        keepaliveSalFacade.close();
+        verify(underlyingSalFacade, times(2)).close();
+    }
+
+    private static final class ScheduledKeepalive {
+        private final Runnable task;
+        private final long delayNanos;
+
+        ScheduledKeepalive(final Runnable task, final long delayNanos) {
+            this.task = task;
+            this.delayNanos = delayNanos;
+        }
+    }
+
+    private static final class FakeTicker extends Ticker {
+        private long nanos;
+
+        void advance(final long delta) {
+            nanos += delta;
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class CachingSchemaContextFactoryTest {
+
+    private static final SourceIdentifier FIRST = RevisionSourceIdentifier.create("first", Optional.of("2016-01-01"));
+    private static final SourceIdentifier SECOND = RevisionSourceIdentifier.create("second", Optional.<String>absent());
+    private static final SourceIdentifier THIRD = RevisionSourceIdentifier.create("third", Optional.of("2016-01-01"));
+
+    private SchemaContextFactory delegate;
+    private SchemaContext schemaContext;
+    private File manifestDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(SchemaContextFactory.class);
+        schemaContext = mock(SchemaContext.class);
+        doReturn(Futures.immediateCheckedFuture(schemaContext))
+                .when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+        manifestDirectory = Files.createTempDir();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        final File[] files = manifestDirectory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        manifestDirectory.delete();
+    }
+
+    @Test
+    public void testSameModuleSetIsBuiltOnce() throws Exception {
+        final CachingSchemaContextFactory factory = new CachingSchemaContextFactory(delegate);
+        assertSame(schemaContext, factory.createSchemaContext(Lists.newArrayList(FIRST, SECOND)).checkedGet());
+        assertSame(schemaContext, factory.createSchemaContext(Lists.newArrayList(SECOND, FIRST)).checkedGet());
+        verify(delegate, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        final SchemaResolutionException failure = new SchemaResolutionException("missing",
+                new MissingSchemaSourceException("missing", FIRST));
+        final CheckedFuture<SchemaContext, SchemaResolutionException> failed =
+                Futures.immediateFailedCheckedFuture(failure);
+        doReturn(failed).doReturn(Futures.immediateCheckedFuture(schemaContext))
+                .when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        final CachingSchemaContextFactory factory = new CachingSchemaContextFactory(delegate);
+        try {
+            factory.createSchemaContext(Lists.newArrayList(FIRST)).checkedGet();
+            fail("Exception expected");
+        } catch (final SchemaResolutionException e) {
+            assertSame(failure, e);
+        }
+        assertSame(schemaContext, factory.createSchemaContext(Lists.newArrayList(FIRST)).checkedGet());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWarmUpRebuildsRecordedModuleSets() throws Exception {
+        new CachingSchemaContextFactory(delegate, manifestDirectory)
+                .createSchemaContext(Lists.newArrayList(FIRST, SECOND)).checkedGet();
+        assertEquals(1, manifestDirectory.listFiles().length);
+
+        final SchemaContextFactory restarted = mock(SchemaContextFactory.class);
+        doReturn(Futures.immediateCheckedFuture(schemaContext))
+                .when(restarted).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+        final CachingSchemaContextFactory factory = new CachingSchemaContextFactory(restarted, manifestDirectory);
+        factory.warmUp(MoreExecutors.directExecutor());
+
+        final ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(restarted).createSchemaContext(captor.capture());
+        final List<SourceIdentifier> rebuilt = Lists.newArrayList((Collection<SourceIdentifier>) captor.getValue());
+        assertEquals(Lists.newArrayList(FIRST, SECOND), rebuilt);
+
+        // Device reconnecting after restart gets the prepared context
+        assertSame(schemaContext, factory.createSchemaContext(Lists.newArrayList(SECOND, FIRST)).checkedGet());
+        verify(restarted, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+        assertTrue(manifestDirectory.listFiles()[0].getName().endsWith(".set"));
+    }
+
+    @Test
+    public void testCancelledWaiterDoesNotCancelSharedBuild() throws Exception {
+        final SettableFuture<SchemaContext> build = SettableFuture.create();
+        doReturn(Futures.makeChecked(build, new Function<Exception, SchemaResolutionException>() {
+            @Override
+            public SchemaResolutionException apply(final Exception input) {
+                return new SchemaResolutionException("failed", input);
+            }
+        })).when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        final CachingSchemaContextFactory factory = new CachingSchemaContextFactory(delegate);
+        final CheckedFuture<SchemaContext, SchemaResolutionException> first =
+                factory.createSchemaContext(Lists.newArrayList(FIRST));
+        final CheckedFuture<SchemaContext, SchemaResolutionException> second =
+                factory.createSchemaContext(Lists.newArrayList(FIRST));
+        first.cancel(true);
+
+        build.set(schemaContext);
+        assertFalse(second.isCancelled());
+        assertSame(schemaContext, second.checkedGet());
+        verify(delegate, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
+    @Test
+    public void testManifestsAreBounded() throws Exception {
+        final CachingSchemaContextFactory factory =
+                new CachingSchemaContextFactory(delegate, Optional.of(manifestDirectory), 2);
+        factory.createSchemaContext(Lists.newArrayList(FIRST)).checkedGet();
+        ageManifests();
+        factory.createSchemaContext(Lists.newArrayList(FIRST, SECOND)).checkedGet();
+        ageManifests();
+        final File[] kept = manifestDirectory.listFiles();
+        final File oldest = kept[0].lastModified() < kept[1].lastModified() ? kept[0] : kept[1];
+        factory.createSchemaContext(Lists.newArrayList(FIRST, SECOND, THIRD)).checkedGet();
+
+        // The least recently used manifest is gone
+        assertEquals(2, manifestDirectory.listFiles().length);
+        assertFalse(oldest.exists());
+    }
+
+    /**
+     * Make the stored manifests older, so that manifests written next are more recent.
+     */
+    private void ageManifests() {
+        for (final File manifest : manifestDirectory.listFiles()) {
+            manifest.setLastModified(manifest.lastModified() - 10000);
+        }
+    }
+}
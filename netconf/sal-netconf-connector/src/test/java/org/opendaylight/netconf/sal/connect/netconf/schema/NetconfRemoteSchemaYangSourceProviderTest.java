@@ -9,10 +9,16 @@ package org.opendaylight.netconf.sal.connect.netconf.schema;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -73,6 +79,110 @@ public class NetconfRemoteSchemaYangSourceProviderTest {
         );
     }
 
+    @Test
+    public void testConcurrentDownloadsAreCoalesced() throws Exception {
+        final SettableFuture<DOMRpcResult> response = SettableFuture.create();
+        final DOMRpcService slowService = mock(DOMRpcService.class);
+        doReturn(Futures.makeChecked(response, RPC_EXCEPTION_MAPPER)).when(slowService)
+                .invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        final DOMRpcService otherService = mock(DOMRpcService.class);
+        doReturn(Futures.immediateCheckedFuture(new DefaultDOMRpcResult(getNode(), Collections.<RpcError>emptySet())))
+                .when(otherService).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final SchemaDownloadCoalescer coalescer = new SchemaDownloadCoalescer();
+        final NetconfRemoteSchemaYangSourceProvider first = new NetconfRemoteSchemaYangSourceProvider(
+                new RemoteDeviceId("device1", InetSocketAddress.createUnresolved("localhost", 17830)), slowService, 2,
+                coalescer);
+        final NetconfRemoteSchemaYangSourceProvider second = new NetconfRemoteSchemaYangSourceProvider(
+                new RemoteDeviceId("device2", InetSocketAddress.createUnresolved("localhost", 17831)), otherService, 2,
+                coalescer);
+
+        final SourceIdentifier identifier = SourceIdentifier.create("test", Optional.of("2016-02-08"));
+        final CheckedFuture<YangTextSchemaSource, SchemaSourceException> firstSource = first.getSource(identifier);
+        final CheckedFuture<YangTextSchemaSource, SchemaSourceException> repeatedSource = first.getSource(identifier);
+        final CheckedFuture<YangTextSchemaSource, SchemaSourceException> secondSource = second.getSource(identifier);
+        Assert.assertFalse(repeatedSource.isDone());
+        Assert.assertFalse(secondSource.isDone());
+
+        response.set(new DefaultDOMRpcResult(getNode(), Collections.<RpcError>emptySet()));
+        Assert.assertEquals(identifier, firstSource.checkedGet().getIdentifier());
+        Assert.assertEquals(identifier, repeatedSource.checkedGet().getIdentifier());
+        Assert.assertEquals(identifier, secondSource.checkedGet().getIdentifier());
+        verify(slowService, times(1)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        verify(otherService, never()).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+    }
+
+    @Test
+    public void testDivergentDeviceDownloadsOnItsOwn() throws Exception {
+        final SchemaDownloadCoalescer coalescer = new SchemaDownloadCoalescer();
+        final SourceIdentifier identifier = SourceIdentifier.create("test", Optional.of("2016-02-08"));
+        final RemoteDeviceId device1 = new RemoteDeviceId("device1", InetSocketAddress.createUnresolved("localhost", 17830));
+        final RemoteDeviceId device2 = new RemoteDeviceId("device2", InetSocketAddress.createUnresolved("localhost", 17831));
+        coalescer.recordContent(device1, identifier, "module test {}");
+        coalescer.recordContent(device2, identifier, "module test { leaf a { type string; } }");
+
+        final SettableFuture<String> slowDownload = SettableFuture.create();
+        final ListenableFuture<String> first = coalescer.download(device1, identifier,
+                new SchemaDownloadCoalescer.Download() {
+                    @Override
+                    public ListenableFuture<String> start() {
+                        return slowDownload;
+                    }
+                });
+        final ListenableFuture<String> second = coalescer.download(device2, identifier,
+                new SchemaDownloadCoalescer.Download() {
+                    @Override
+                    public ListenableFuture<String> start() {
+                        return Futures.immediateFuture("module test { leaf a { type string; } }");
+                    }
+                });
+
+        // Device known to serve different content does not wait for the shared download
+        Assert.assertFalse(first.isDone());
+        Assert.assertEquals("module test { leaf a { type string; } }", second.get());
+    }
+
+    @Test
+    public void testDivergentContentIsDetected() throws Exception {
+        final SchemaDownloadCoalescer coalescer = new SchemaDownloadCoalescer();
+        final SourceIdentifier identifier = SourceIdentifier.create("test", Optional.of("2016-02-08"));
+        final RemoteDeviceId device1 = new RemoteDeviceId("device1", InetSocketAddress.createUnresolved("localhost", 17830));
+        final RemoteDeviceId device2 = new RemoteDeviceId("device2", InetSocketAddress.createUnresolved("localhost", 17831));
+
+        Assert.assertTrue(coalescer.recordContent(device1, identifier, "module test {}"));
+        Assert.assertTrue(coalescer.recordContent(device2, identifier, "module test {}"));
+        Assert.assertFalse(coalescer.recordContent(device2, identifier, "module test { leaf a { type string; } }"));
+    }
+
+    @Test
+    public void testDownloadsAreLimitedPerDevice() throws Exception {
+        final SettableFuture<DOMRpcResult> response = SettableFuture.create();
+        final DOMRpcService slowService = mock(DOMRpcService.class);
+        doReturn(Futures.makeChecked(response, RPC_EXCEPTION_MAPPER)).when(slowService)
+                .invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        final NetconfRemoteSchemaYangSourceProvider limited = new NetconfRemoteSchemaYangSourceProvider(
+                new RemoteDeviceId("device1", InetSocketAddress.createUnresolved("localhost", 17830)), slowService, 1,
+                new SchemaDownloadCoalescer());
+
+        limited.getSource(SourceIdentifier.create("test", Optional.of("2016-02-08")));
+        final CheckedFuture<YangTextSchemaSource, SchemaSourceException> queued =
+                limited.getSource(SourceIdentifier.create("test2", Optional.of("2016-02-08")));
+        verify(slowService, times(1)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        response.set(new DefaultDOMRpcResult(getNode(), Collections.<RpcError>emptySet()));
+        verify(slowService, times(2)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+        Assert.assertTrue(queued.isDone());
+    }
+
+    private static final Function<Exception, DOMRpcException> RPC_EXCEPTION_MAPPER =
+            new Function<Exception, DOMRpcException>() {
+                @Override
+                public DOMRpcException apply(final Exception input) {
+                    return new DOMRpcException("Rpc failed", input) {
+                    };
+                }
+            };
+
     private static NormalizedNode<?, ?> getNode() throws ParserConfigurationException {
         final YangInstanceIdentifier.NodeIdentifier id = YangInstanceIdentifier.NodeIdentifier.create(
                 QName.create("urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring", "2010-10-04", "output")
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Helpers for pushing benchmark data through embedded channels.
+ */
+final class Channels {
+
+    private Channels() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Read and release everything the handlers produced inbound.
+     *
+     * @return number of messages read, to be consumed by the benchmark
+     */
+    static int drainInbound(final EmbeddedChannel channel) {
+        int messages = 0;
+        for (Object msg = channel.readInbound(); msg != null; msg = channel.readInbound()) {
+            ReferenceCountUtil.release(msg);
+            messages++;
+        }
+        return messages;
+    }
+
+    /**
+     * Read and release everything the handlers produced outbound.
+     *
+     * @return number of bytes written, to be consumed by the benchmark
+     */
+    static int drainOutbound(final EmbeddedChannel channel) {
+        int bytes = 0;
+        for (Object msg = channel.readOutbound(); msg != null; msg = channel.readOutbound()) {
+            if (msg instanceof ByteBuf) {
+                bytes += ((ByteBuf) msg).readableBytes();
+            }
+            ReferenceCountUtil.release(msg);
+        }
+        return bytes;
+    }
+
+    /**
+     * Encode a message with the handler, used to prepare input of the decoding benchmarks.
+     */
+    static byte[] encode(final ChannelHandler encoder, final Object msg) {
+        final EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        channel.writeOutbound(msg);
+        final ByteBuf encoded = (ByteBuf) channel.readOutbound();
+        try {
+            final byte[] bytes = new byte[encoded.readableBytes()];
+            encoded.readBytes(bytes);
+            return bytes;
+        } finally {
+            encoded.release();
+            channel.finish();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
+import org.openexi.proc.common.AlignmentType;
+import org.openexi.proc.common.EXIOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EXI encoding and decoding of netconf messages, for each EXI alignment a session can negotiate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExiCodecBenchmark {
+
+    @Param({"SMALL_RPC", "NOTIFICATION", "GET_REPLY_1MB", "GET_REPLY_50MB"})
+    public Payload payload;
+
+    @Param({"bitPacked", "byteAligned", "compress"})
+    public String alignment;
+
+    private NetconfMessage message;
+    private byte[] exi;
+
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        final EXIOptions options = new EXIOptions();
+        options.setAlignmentType(AlignmentType.valueOf(alignment));
+        final NetconfEXICodec codec = new NetconfEXICodec(options);
+
+        message = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteArrayInputStream(payload.getBytes())));
+        exi = Channels.encode(NetconfMessageToEXIEncoder.create(codec), message);
+
+        encoder = new EmbeddedChannel(NetconfMessageToEXIEncoder.create(codec));
+        decoder = new EmbeddedChannel(NetconfEXIToMessageDecoder.create(codec));
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.finish();
+        decoder.finish();
+    }
+
+    @Benchmark
+    public int encode() {
+        encoder.writeOutbound(message);
+        return Channels.drainOutbound(encoder);
+    }
+
+    @Benchmark
+    public int decode() {
+        decoder.writeInbound(Unpooled.wrappedBuffer(exi));
+        return Channels.drainInbound(decoder);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import com.google.common.primitives.Bytes;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.nettyutil.handler.ChunkedFramingMechanismEncoder;
+import org.opendaylight.netconf.nettyutil.handler.EOMFramingMechanismEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
+import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Framing and deframing of a single message with both netconf framing mechanisms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FramingBenchmark {
+
+    @Param({"SMALL_RPC", "NOTIFICATION", "GET_REPLY_1MB", "GET_REPLY_50MB"})
+    public Payload payload;
+
+    private byte[] message;
+    private byte[] chunked;
+    private byte[] eom;
+
+    private EmbeddedChannel chunkEncoder;
+    private EmbeddedChannel chunkAggregator;
+    private EmbeddedChannel eomEncoder;
+    private EmbeddedChannel eomAggregator;
+
+    @Setup
+    public void setUp() {
+        message = payload.getBytes();
+        chunked = Channels.encode(new ChunkedFramingMechanismEncoder(), Unpooled.wrappedBuffer(message));
+        eom = Bytes.concat(message, NetconfMessageConstants.END_OF_MESSAGE);
+
+        chunkEncoder = new EmbeddedChannel(new ChunkedFramingMechanismEncoder());
+        chunkAggregator = new EmbeddedChannel(new NetconfChunkAggregator());
+        eomEncoder = new EmbeddedChannel(new EOMFramingMechanismEncoder());
+        eomAggregator = new EmbeddedChannel(new NetconfEOMAggregator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        chunkEncoder.finish();
+        chunkAggregator.finish();
+        eomEncoder.finish();
+        eomAggregator.finish();
+    }
+
+    @Benchmark
+    public int encodeChunked() {
+        chunkEncoder.writeOutbound(Unpooled.wrappedBuffer(message));
+        return Channels.drainOutbound(chunkEncoder);
+    }
+
+    @Benchmark
+    public int decodeChunked() {
+        chunkAggregator.writeInbound(Unpooled.wrappedBuffer(chunked));
+        return Channels.drainInbound(chunkAggregator);
+    }
+
+    @Benchmark
+    public int encodeEom() {
+        eomEncoder.writeOutbound(Unpooled.wrappedBuffer(message));
+        return Channels.drainOutbound(eomEncoder);
+    }
+
+    @Benchmark
+    public int decodeEom() {
+        eomAggregator.writeInbound(Unpooled.wrappedBuffer(eom));
+        return Channels.drainInbound(eomAggregator);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import com.google.common.primitives.Bytes;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.nettyutil.handler.ChunkedFramingMechanismEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
+import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Burst of notifications arriving in a single read, decoded by the inbound part of a netconf pipeline: deframing
+ * followed by XML parsing. Results are per notification.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class NotificationBurstBenchmark {
+
+    private static final int BURST = 1000;
+
+    @Param({"chunked", "eom"})
+    public String framing;
+
+    private byte[] burst;
+    private EmbeddedChannel pipeline;
+
+    @Setup
+    public void setUp() {
+        final byte[] notification = Payload.NOTIFICATION.getBytes();
+        final byte[] framed;
+        final ChannelHandler aggregator;
+        if ("chunked".equals(framing)) {
+            framed = Channels.encode(new ChunkedFramingMechanismEncoder(), Unpooled.wrappedBuffer(notification));
+            aggregator = new NetconfChunkAggregator();
+        } else {
+            framed = Bytes.concat(notification, NetconfMessageConstants.END_OF_MESSAGE);
+            aggregator = new NetconfEOMAggregator();
+        }
+
+        final byte[][] copies = new byte[BURST][];
+        Arrays.fill(copies, framed);
+        burst = Bytes.concat(copies);
+        pipeline = new EmbeddedChannel(aggregator, new NetconfXMLToMessageDecoder());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.finish();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int decodeBurst() {
+        pipeline.writeInbound(Unpooled.wrappedBuffer(burst));
+        return Channels.drainInbound(pipeline);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Synthetic netconf messages of typical shapes and sizes.
+ */
+public enum Payload {
+    SMALL_RPC {
+        @Override
+        String generate() {
+            return "<rpc message-id=\"101\" xmlns=\"" + BASE_NAMESPACE + "\">"
+                    + "<edit-config><target><running/></target>"
+                    + "<config><interfaces xmlns=\"" + INTERFACES_NAMESPACE + "\">"
+                    + "<interface><name>eth0</name><enabled>false</enabled></interface>"
+                    + "</interfaces></config></edit-config></rpc>";
+        }
+    },
+    NOTIFICATION {
+        @Override
+        String generate() {
+            return "<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+                    + "<eventTime>2016-06-01T12:00:00Z</eventTime>"
+                    + "<netconf-config-change xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-notifications\">"
+                    + "<changed-by><username>admin</username><session-id>1</session-id></changed-by>"
+                    + "<datastore>running</datastore>"
+                    + "<edit><target>/if:interfaces/if:interface[if:name='eth0']</target><operation>merge</operation></edit>"
+                    + "</netconf-config-change></notification>";
+        }
+    },
+    GET_REPLY_1MB {
+        @Override
+        String generate() {
+            return getReply(1024 * 1024);
+        }
+    },
+    GET_REPLY_50MB {
+        @Override
+        String generate() {
+            return getReply(50 * 1024 * 1024);
+        }
+    };
+
+    static final String BASE_NAMESPACE = "urn:ietf:params:xml:ns:netconf:base:1.0";
+    private static final String INTERFACES_NAMESPACE = "urn:ietf:params:xml:ns:yang:ietf-interfaces";
+
+    abstract String generate();
+
+    public byte[] getBytes() {
+        return generate().getBytes(Charsets.UTF_8);
+    }
+
+    /**
+     * Reply to get of an interface list, grown until it reaches the requested size.
+     */
+    private static String getReply(final int size) {
+        final String header = "<rpc-reply message-id=\"101\" xmlns=\"" + BASE_NAMESPACE + "\"><data>"
+                + "<interfaces xmlns=\"" + INTERFACES_NAMESPACE + "\">";
+        final String footer = "</interfaces></data></rpc-reply>";
+
+        final StringBuilder reply = new StringBuilder(size + 512).append(header);
+        for (int i = 0; reply.length() + footer.length() < size; i++) {
+            reply.append("<interface><name>ge-0/0/").append(i).append("</name>")
+                    .append("<description>Uplink port ").append(i).append(" to aggregation switch</description>")
+                    .append("<type xmlns:ianaift=\"urn:ietf:params:xml:ns:yang:iana-if-type\">ianaift:ethernetCsmacd</type>")
+                    .append("<enabled>true</enabled><link-up-down-trap-enable>enabled</link-up-down-trap-enable>")
+                    .append("</interface>");
+        }
+        return reply.append(footer).toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.codec;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of netconf messages to XML and parsing of deframed XML back to messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class XmlCodecBenchmark {
+
+    @Param({"SMALL_RPC", "NOTIFICATION", "GET_REPLY_1MB", "GET_REPLY_50MB"})
+    public Payload payload;
+
+    private NetconfMessage message;
+    private byte[] xml;
+
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        xml = payload.getBytes();
+        message = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteArrayInputStream(xml)));
+
+        encoder = new EmbeddedChannel(new NetconfMessageToXMLEncoder());
+        decoder = new EmbeddedChannel(new NetconfXMLToMessageDecoder());
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.finish();
+        decoder.finish();
+    }
+
+    @Benchmark
+    public int encode() {
+        encoder.writeOutbound(message);
+        return Channels.drainOutbound(encoder);
+    }
+
+    @Benchmark
+    public int decode() {
+        decoder.writeInbound(Unpooled.wrappedBuffer(xml));
+        return Channels.drainInbound(decoder);
+    }
+}
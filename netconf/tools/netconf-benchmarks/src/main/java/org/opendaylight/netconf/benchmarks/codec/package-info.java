@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+/**
+ * JMH benchmarks of the netconf framing and message codecs, driven through {@link io.netty.channel.embedded.EmbeddedChannel}.
+ *
+ * <p>
+ * The module builds a self-contained jar which needs neither a controller nor network access:
+ * <pre>
+ *   java -jar target/netconf-benchmarks-*-benchmarks.jar -prof gc
+ * </pre>
+ * Every benchmark reports throughput and sampled per-message latency, the gc profiler adds the allocation rate.
+ * Payload sizes can be narrowed with e.g. {@code -p payload=SMALL_RPC,GET_REPLY_1MB}.
+ */
+package org.opendaylight.netconf.benchmarks.codec;
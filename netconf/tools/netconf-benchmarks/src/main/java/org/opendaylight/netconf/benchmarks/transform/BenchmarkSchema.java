@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import com.google.common.collect.Lists;
+import java.io.InputStream;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+
+/**
+ * Schema context of the bundled benchmark models and the QNames of their nodes.
+ */
+final class BenchmarkSchema {
+
+    private static final String REVISION = "2016-06-01";
+    static final QNameModule MODULE = QName.create("urn:opendaylight:netconf:benchmark", REVISION, "wide").getModule();
+    static final QNameModule AUGMENT_MODULE =
+            QName.create("urn:opendaylight:netconf:benchmark:augment", REVISION, "mtu").getModule();
+
+    static final QName WIDE = QName.create(MODULE, "wide");
+    static final QName ITEM = QName.create(MODULE, "item");
+    static final QName ID = QName.create(MODULE, "id");
+    static final QName NAME = QName.create(MODULE, "name");
+    static final QName COUNTER = QName.create(MODULE, "counter");
+    static final QName ENABLED = QName.create(MODULE, "enabled");
+    static final QName TAG = QName.create(MODULE, "tag");
+
+    static final QName DEEP = QName.create(MODULE, "deep");
+    static final QName NODE = QName.create(MODULE, "node");
+    static final QName VALUE = QName.create(MODULE, "value");
+    static final QName CHILDREN = QName.create(MODULE, "children");
+    static final int DEEP_LEVELS = 6;
+
+    static final QName ITEMS_CHANGED = QName.create(MODULE, "items-changed");
+
+    static final QName MTU = QName.create(AUGMENT_MODULE, "mtu");
+    static final QName SPEED = QName.create(AUGMENT_MODULE, "speed");
+    static final QName DESCRIPTION = QName.create(AUGMENT_MODULE, "description");
+    static final QName STATISTICS = QName.create(AUGMENT_MODULE, "statistics");
+    static final QName IN_OCTETS = QName.create(AUGMENT_MODULE, "in-octets");
+    static final QName OUT_OCTETS = QName.create(AUGMENT_MODULE, "out-octets");
+
+    private static final SchemaContext SCHEMA_CONTEXT = parse("/yang/netconf-benchmark.yang",
+            "/yang/netconf-benchmark-augment.yang");
+
+    private BenchmarkSchema() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static SchemaContext getSchemaContext() {
+        return SCHEMA_CONTEXT;
+    }
+
+    private static SchemaContext parse(final String... resources) {
+        final List<InputStream> streams = Lists.newArrayList();
+        for (final String resource : resources) {
+            streams.add(BenchmarkSchema.class.getResourceAsStream(resource));
+        }
+
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        try {
+            return reactor.buildEffective(streams);
+        } catch (final ReactorException e) {
+            throw new IllegalStateException("Unable to build schema context of benchmark models", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.CHILDREN;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.COUNTER;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.DEEP_LEVELS;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.DESCRIPTION;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.ENABLED;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.ID;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.IN_OCTETS;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.ITEM;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.MTU;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.NAME;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.NODE;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.OUT_OCTETS;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.SPEED;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.STATISTICS;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.TAG;
+import static org.opendaylight.netconf.benchmarks.transform.BenchmarkSchema.VALUE;
+
+import com.google.common.collect.ImmutableSet;
+import java.math.BigInteger;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+
+/**
+ * Synthetic data sets of the benchmark models. Each data set is a single top level container, its size is the
+ * approximate number of list entries it holds.
+ */
+public enum DataSet {
+    /**
+     * Single list with many entries of a few leaves each.
+     */
+    WIDE {
+        @Override
+        ContainerNode create(final int size) {
+            return wide(size, false);
+        }
+    },
+    /**
+     * Tree of nested lists, as deep as the model allows, fanned out to reach the requested size.
+     */
+    DEEP {
+        @Override
+        ContainerNode create(final int size) {
+            final int fanout = Math.max(2, (int) Math.round(Math.pow(size, 1.0 / DEEP_LEVELS)));
+            return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(BenchmarkSchema.DEEP))
+                    .withChild(nodes(1, fanout, "n")).build();
+        }
+
+        @Override
+        QName getQName() {
+            return BenchmarkSchema.DEEP;
+        }
+    },
+    /**
+     * Same list as {@link #WIDE}, every entry carrying the content of several augmentations.
+     */
+    AUGMENTED {
+        @Override
+        ContainerNode create(final int size) {
+            return wide(size, true);
+        }
+    };
+
+    abstract ContainerNode create(int size);
+
+    QName getQName() {
+        return BenchmarkSchema.WIDE;
+    }
+
+    YangInstanceIdentifier getPath() {
+        return YangInstanceIdentifier.of(getQName());
+    }
+
+    static MapNode items(final int size, final boolean augmented) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> items =
+                Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(ITEM));
+        for (long i = 0; i < size; i++) {
+            items.withChild(item(i, augmented));
+        }
+        return items.build();
+    }
+
+    private static ContainerNode wide(final int size, final boolean augmented) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(BenchmarkSchema.WIDE))
+                .withChild(items(size, augmented)).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MapEntryNode item(final long id, final boolean augmented) {
+        final DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> item = Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(ITEM, ID, id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(NAME, "item-" + id))
+                .withChild(ImmutableNodes.leafNode(COUNTER, BigInteger.valueOf(id * 1000)))
+                .withChild(ImmutableNodes.leafNode(ENABLED, id % 2 == 0))
+                .withChild((DataContainerChild<?, ?>) Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(TAG))
+                        .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(TAG, "access"))
+                                .withValue("access").build())
+                        .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue(TAG, "group-" + id % 10))
+                                .withValue("group-" + id % 10).build())
+                        .build());
+
+        if (augmented) {
+            item.withChild(augmentation(ImmutableNodes.leafNode(MTU, 1500)))
+                    .withChild(augmentation(ImmutableNodes.leafNode(SPEED, BigInteger.valueOf(10000000000L))))
+                    .withChild(augmentation(ImmutableNodes.leafNode(DESCRIPTION, "Augmented item " + id)))
+                    .withChild(augmentation(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(STATISTICS))
+                            .withChild(ImmutableNodes.leafNode(IN_OCTETS, BigInteger.valueOf(id * 31)))
+                            .withChild(ImmutableNodes.leafNode(OUT_OCTETS, BigInteger.valueOf(id * 17)))
+                            .build()));
+        }
+        return item.build();
+    }
+
+    private static AugmentationNode augmentation(final DataContainerChild<?, ?> child) {
+        return Builders.augmentationBuilder()
+                .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(child.getNodeType())))
+                .withChild(child).build();
+    }
+
+    private static MapNode nodes(final int level, final int fanout, final String prefix) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> nodes =
+                Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(NODE));
+        for (int i = 0; i < fanout; i++) {
+            final String name = prefix + "-" + i;
+            final DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> node = Builders.mapEntryBuilder()
+                    .withNodeIdentifier(new NodeIdentifierWithPredicates(NODE, NAME, name))
+                    .withChild(ImmutableNodes.leafNode(NAME, name))
+                    .withChild(ImmutableNodes.leafNode(VALUE, level * fanout + i));
+            if (level < DEEP_LEVELS) {
+                node.withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CHILDREN))
+                        .withChild(nodes(level + 1, fanout, name)).build());
+            }
+            nodes.withChild(node.build());
+        }
+        return nodes.build();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMResult;
+import org.opendaylight.controller.config.util.xml.XmlMappingConstants;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.util.NetconfUtil;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Builds the netconf documents a device would send for the benchmark data sets.
+ */
+final class Documents {
+
+    private static final String NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netconf:notification:1.0";
+
+    private Documents() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Reply to a get, with the data set as the content of the data element.
+     */
+    static Document getReply(final SchemaContext schemaContext, final NormalizedNode<?, ?> data) {
+        final Document document = XmlUtil.newDocument();
+        final Element reply = document.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlMappingConstants.RPC_REPLY_KEY);
+        reply.setAttribute(XmlNetconfConstants.MESSAGE_ID, "m-1");
+        document.appendChild(reply);
+        final Element dataElement = document.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlNetconfConstants.DATA_KEY);
+        reply.appendChild(dataElement);
+        write(data, dataElement, SchemaPath.ROOT, schemaContext);
+        return document;
+    }
+
+    /**
+     * Notification of the items-changed benchmark notification carrying the given content.
+     */
+    static Document notification(final SchemaContext schemaContext, final NormalizedNode<?, ?> content) {
+        final Document document = XmlUtil.newDocument();
+        final Element notification = document.createElementNS(NOTIFICATION_NAMESPACE, "notification");
+        document.appendChild(notification);
+        final Element eventTime = document.createElementNS(NOTIFICATION_NAMESPACE, "eventTime");
+        eventTime.setTextContent("2016-06-01T12:00:00.000000+00:00");
+        notification.appendChild(eventTime);
+        final Element body = document.createElementNS(BenchmarkSchema.ITEMS_CHANGED.getNamespace().toString(),
+                BenchmarkSchema.ITEMS_CHANGED.getLocalName());
+        notification.appendChild(body);
+        write(content, body, SchemaPath.create(true, BenchmarkSchema.ITEMS_CHANGED), schemaContext);
+        return document;
+    }
+
+    private static void write(final NormalizedNode<?, ?> node, final Element parent, final SchemaPath parentPath,
+                              final SchemaContext schemaContext) {
+        try {
+            NetconfUtil.writeNormalizedNode(node, new DOMResult(parent), parentPath, schemaContext);
+        } catch (IOException | XMLStreamException e) {
+            throw new IllegalStateException("Unable to serialize " + node, e);
+        }
+    }
+}
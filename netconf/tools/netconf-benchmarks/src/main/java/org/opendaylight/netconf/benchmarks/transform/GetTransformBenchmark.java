@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
+import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
+import org.opendaylight.netconf.mdsal.connector.ops.get.AbstractGet;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Serialization of datastore content into the reply of a northbound get, as done by the mdsal netconf connector.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GetTransformBenchmark {
+
+    @Param({"WIDE", "DEEP", "AUGMENTED"})
+    public DataSet dataSet;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private BenchmarkGet get;
+    private ContainerNode data;
+    private ContainerNode root;
+
+    @Setup
+    public void setUp() {
+        get = new BenchmarkGet(new FixedSchemaContext(BenchmarkSchema.getSchemaContext()));
+        data = dataSet.create(size);
+        root = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withChild(data).build();
+    }
+
+    /**
+     * Get without a filter, the whole datastore is read and serialized.
+     */
+    @Benchmark
+    public Node transformRoot() {
+        return get.transform(XmlUtil.newDocument(), root);
+    }
+
+    /**
+     * Get filtered to the data set, its parent structure is built before serialization.
+     */
+    @Benchmark
+    public Node transformWithParentStructure() {
+        return get.transformWithParentStructure(XmlUtil.newDocument(), dataSet.getPath(), data);
+    }
+
+    /**
+     * Exposes the serialization of {@link AbstractGet} without going through a datastore read.
+     */
+    private static final class BenchmarkGet extends AbstractGet {
+
+        BenchmarkGet(final CurrentSchemaContext schemaContext) {
+            super("benchmark", schemaContext);
+        }
+
+        Node transform(final Document document, final ContainerNode data) {
+            return transformNormalizedNode(document, data, YangInstanceIdentifier.EMPTY);
+        }
+
+        Node transformWithParentStructure(final Document document, final YangInstanceIdentifier path,
+                                          final ContainerNode data) {
+            return serializeNodeWithParentStructure(document, path, data);
+        }
+
+        @Override
+        protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement)
+                throws DocumentedException {
+            throw new UnsupportedOperationException("Not used by the benchmark");
+        }
+
+        @Override
+        protected String getOperationName() {
+            return "benchmark-get";
+        }
+    }
+
+    /**
+     * Schema context holder not attached to any schema service.
+     */
+    private static final class FixedSchemaContext extends CurrentSchemaContext {
+
+        private final SchemaContext schemaContext;
+
+        FixedSchemaContext(final SchemaContext schemaContext) {
+            super(new DetachedSchemaService(), null);
+            this.schemaContext = schemaContext;
+        }
+
+        @Override
+        public SchemaContext getCurrentContext() {
+            return schemaContext;
+        }
+    }
+
+    private static final class DetachedSchemaService implements SchemaService {
+
+        @Override
+        public void addModule(final Module module) {
+        }
+
+        @Override
+        public void removeModule(final Module module) {
+        }
+
+        @Override
+        public SchemaContext getSessionContext() {
+            return null;
+        }
+
+        @Override
+        public SchemaContext getGlobalContext() {
+            return null;
+        }
+
+        @Override
+        public ListenerRegistration<SchemaContextListener> registerSchemaContextListener(
+                final SchemaContextListener listener) {
+            return new ListenerRegistration<SchemaContextListener>() {
+                @Override
+                public void close() {
+                }
+
+                @Override
+                public SchemaContextListener getInstance() {
+                    return listener;
+                }
+            };
+        }
+    }
+}
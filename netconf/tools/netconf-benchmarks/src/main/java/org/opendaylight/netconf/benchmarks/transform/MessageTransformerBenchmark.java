@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toId;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
+
+import com.google.common.base.Optional;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions done by {@link NetconfMessageTransformer} for data written to and read from a mounted device: an
+ * edit-config request carrying the data set and parsing of a get reply carrying it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MessageTransformerBenchmark {
+
+    private static final SchemaPath EDIT_CONFIG_PATH = toPath(NETCONF_EDIT_CONFIG_QNAME);
+    private static final SchemaPath GET_PATH = toPath(NETCONF_GET_QNAME);
+
+    @Param({"WIDE", "DEEP", "AUGMENTED"})
+    public DataSet dataSet;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private SchemaContext schemaContext;
+    private NetconfMessageTransformer transformer;
+    private ContainerNode data;
+    private NetconfMessage getReply;
+
+    @Setup
+    public void setUp() {
+        schemaContext = BenchmarkSchema.getSchemaContext();
+        transformer = new NetconfMessageTransformer(schemaContext, true);
+        data = dataSet.create(size);
+        getReply = new NetconfMessage(Documents.getReply(schemaContext, data));
+    }
+
+    /**
+     * Same steps as an edit-config issued by the mount point, including serialization of the data into the config
+     * element.
+     */
+    @Benchmark
+    public NetconfMessage toEditConfigRequest() {
+        final ContainerNode editConfig = Builders.containerBuilder().withNodeIdentifier(toId(NETCONF_EDIT_CONFIG_QNAME))
+                .withChild(NetconfBaseOps.getTargetNode(NETCONF_RUNNING_QNAME))
+                .withChild(NetconfMessageTransformUtil.createEditConfigStructure(schemaContext, dataSet.getPath(),
+                        Optional.of(ModifyAction.REPLACE), Optional.<NormalizedNode<?, ?>>of(data)))
+                .build();
+        return transformer.toRpcRequest(EDIT_CONFIG_PATH, editConfig);
+    }
+
+    @Benchmark
+    public DOMRpcResult toGetResult() {
+        return transformer.toRpcResult(getReply, GET_PATH);
+    }
+}
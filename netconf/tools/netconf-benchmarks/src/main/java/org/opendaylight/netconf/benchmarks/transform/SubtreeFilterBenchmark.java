@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.benchmarks.transform;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.util.messages.SubtreeFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Subtree filtering of get replies done by the netconf server for operations not filtering the data themselves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SubtreeFilterBenchmark {
+
+    public enum Filter {
+        /**
+         * Selects a single list entry by its key.
+         */
+        SINGLE_ENTRY("<item><id>7</id></item>"),
+        /**
+         * Selects two leaves of every list entry.
+         */
+        SELECTED_LEAVES("<item><id/><name/></item>"),
+        /**
+         * Selects the whole list.
+         */
+        WHOLE_LIST("<item/>");
+
+        private final String content;
+
+        Filter(final String content) {
+            this.content = content;
+        }
+
+        String toRequest() {
+            return "<rpc message-id=\"m-1\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get>"
+                    + "<filter type=\"subtree\"><wide xmlns=\"" + BenchmarkSchema.MODULE.getNamespace() + "\">"
+                    + content + "</wide></filter></get></rpc>";
+        }
+    }
+
+    @Param({"WIDE", "AUGMENTED"})
+    public DataSet dataSet;
+
+    @Param({"SINGLE_ENTRY", "SELECTED_LEAVES", "WHOLE_LIST"})
+    public Filter filter;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private Document request;
+    private Document reply;
+
+    @Setup
+    public void setUp() throws Exception {
+        request = XmlUtil.readXmlToDocument(filter.toRequest());
+        reply = Documents.getReply(BenchmarkSchema.getSchemaContext(), dataSet.create(size));
+    }
+
+    @Benchmark
+    public Document applyRpcSubtreeFilter() throws DocumentedException {
+        return SubtreeFilter.applyRpcSubtreeFilter(request, reply);
+    }
+}
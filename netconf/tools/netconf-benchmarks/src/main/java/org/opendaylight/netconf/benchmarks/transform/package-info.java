@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+/**
+ * JMH benchmarks of the conversions between netconf XML and normalized nodes: message transformation on the
+ * southbound side, the northbound get serialization and subtree filtering of rpc replies.
+ *
+ * <p>
+ * Data sets are generated from the bundled yang models in {@code /yang}, see {@link DataSet}. Bytes allocated per
+ * conversion are reported by the gc profiler:
+ * <pre>
+ *   java -jar target/netconf-benchmarks-*-benchmarks.jar -prof gc 'transform.*'
+ * </pre>
+ */
+package org.opendaylight.netconf.benchmarks.transform;
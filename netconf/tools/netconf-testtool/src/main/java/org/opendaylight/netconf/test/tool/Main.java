@@ -92,7 +92,7 @@ public final class Main {
                 final List<File> generated = configGenerator.generate(
                         params.ssh, params.generateConfigBatchSize,
                         params.generateConfigsTimeout, params.generateConfigsAddress,
-                        params.devicesPerPort);
+                        params.deviceCount, params.devicesPerPort);
                 configGenerator.updateFeatureFile(generated);
                 configGenerator.changeLoadOrder();
             }
@@ -139,7 +139,7 @@ public final class Main {
 
         public List<File> generate(final boolean useSsh, final int batchSize,
                                    final int generateConfigsTimeout, final String address,
-                                   final int devicesPerPort) {
+                                   final int deviceCount, final int devicesPerPort) {
             if (configDir.exists() == false) {
                 Preconditions.checkState(configDir.mkdirs(), "Unable to create directory " + configDir);
             }
@@ -162,6 +162,7 @@ public final class Main {
                 final String after = configBlueprint.substring(configBlueprint.indexOf("</module>") + "</module>".length());
 
                 int connectorCount = 0;
+                int generatedCount = 0;
                 Integer batchStart = null;
                 StringBuilder b = new StringBuilder();
                 b.append(before);
@@ -173,9 +174,10 @@ public final class Main {
                         batchStart = openDevice;
                     }
 
-                    for (int i = 0; i < devicesPerPort; i++) {
+                    // Devices sharing a port log in with their own name, which labels their sessions in monitoring
+                    for (int i = 0; i < devicesPerPort && generatedCount < deviceCount; i++, generatedCount++) {
                         final String name = String.valueOf(openDevice) + SIM_DEVICE_SUFFIX + (i == 0 ? "" : "-" + String.valueOf(i));
-                        String configContent = String.format(middleBlueprint, name, address, String.valueOf(openDevice), String.valueOf(!useSsh));
+                        String configContent = String.format(middleBlueprint, name, address, String.valueOf(openDevice), name, String.valueOf(!useSsh));
                         configContent = String.format("%s%s%d%s\n%s\n", configContent, "<connection-timeout-millis>", generateConfigsTimeout, "</connection-timeout-millis>", "</module>");
 
                         b.append(configContent);
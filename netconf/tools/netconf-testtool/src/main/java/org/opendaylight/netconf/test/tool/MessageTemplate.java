@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * Xml content with placeholders substituted for every message, so that messages do not have to be prepared up front.
+ * Used for the rpcs of stress client scenarios as well as for notifications generated by the simulator. Supported
+ * placeholders:
+ * <ul>
+ *     <li>{MSG_ID} - number of the message, unique across all sessions</li>
+ *     <li>{SEQ} - number of the message within its session or thread</li>
+ *     <li>{SESSION} - number or id of the session</li>
+ *     <li>{TIMESTAMP} - current time, usable as eventTime</li>
+ *     <li>{RANDOM:n} - random number from 0 to n - 1</li>
+ *     <li>{PHYS_ADDR} - unique mac address</li>
+ * </ul>
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER =
+            Pattern.compile("\\{(MSG_ID|SEQ|SESSION|TIMESTAMP|PHYS_ADDR|RANDOM:(\\d+))\\}");
+    private static final AtomicLong MAC_COUNTER = new AtomicLong(0xAABBCCDD0000L);
+
+    private enum Kind {
+        LITERAL, MSG_ID, SEQ, SESSION, TIMESTAMP, PHYS_ADDR, RANDOM
+    }
+
+    private static final class Segment {
+        final Kind kind;
+        final String literal;
+        final int bound;
+
+        Segment(final Kind kind, final String literal, final int bound) {
+            this.kind = kind;
+            this.literal = literal;
+            this.bound = bound;
+        }
+    }
+
+    private final List<Segment> segments;
+
+    private MessageTemplate(final List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    public static MessageTemplate create(final String content) {
+        final ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+        final String trimmed = content.trim();
+        final Matcher matcher = PLACEHOLDER.matcher(trimmed);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                segments.add(new Segment(Kind.LITERAL, trimmed.substring(last, matcher.start()), 0));
+            }
+            if (matcher.group(2) != null) {
+                segments.add(new Segment(Kind.RANDOM, null, Integer.parseInt(matcher.group(2))));
+            } else {
+                segments.add(new Segment(Kind.valueOf(matcher.group(1)), null, 0));
+            }
+            last = matcher.end();
+        }
+        if (last < trimmed.length()) {
+            segments.add(new Segment(Kind.LITERAL, trimmed.substring(last), 0));
+        }
+        return new MessageTemplate(segments.build());
+    }
+
+    /**
+     * @return content with all placeholders substituted
+     */
+    public String render(final long msgId, final long sequence, final long session) {
+        final StringBuilder sb = new StringBuilder();
+        for (final Segment segment : segments) {
+            switch (segment.kind) {
+                case LITERAL:
+                    sb.append(segment.literal);
+                    break;
+                case MSG_ID:
+                    sb.append(msgId);
+                    break;
+                case SEQ:
+                    sb.append(sequence);
+                    break;
+                case SESSION:
+                    sb.append(session);
+                    break;
+                case TIMESTAMP:
+                    sb.append(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(OffsetDateTime.now()));
+                    break;
+                case PHYS_ADDR:
+                    sb.append(TestToolUtils.getMac(MAC_COUNTER.getAndIncrement()));
+                    break;
+                case RANDOM:
+                    sb.append(ThreadLocalRandom.current().nextInt(segment.bound));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown segment " + segment.kind);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return message made of the rendered content, e.g. a notification
+     */
+    public NetconfMessage renderMessage(final long msgId, final long sequence, final long session) {
+        final String content = render(msgId, sequence, session);
+        try {
+            return new NetconfMessage(XmlUtil.readXmlToDocument(content));
+        } catch (final IOException | SAXException e) {
+            throw new IllegalArgumentException("Template rendered to invalid xml: " + content, e);
+        }
+    }
+
+    /**
+     * @return rpc with the rendered content as its operation
+     */
+    public NetconfMessage renderRpc(final String messageId, final long msgId, final long sequence,
+                                    final long session) {
+        final String content = render(msgId, sequence, session);
+        final Document document = XmlUtil.newDocument();
+        final Element rpc = document.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlNetconfConstants.RPC_KEY);
+        rpc.setAttribute(XmlNetconfConstants.MESSAGE_ID, messageId);
+        try {
+            rpc.appendChild(document.importNode(XmlUtil.readXmlToElement(content), true));
+        } catch (final IOException | SAXException e) {
+            throw new IllegalArgumentException("Template rendered to invalid xml: " + content, e);
+        }
+        document.appendChild(rpc);
+        return new NetconfMessage(document);
+    }
+}
@@ -22,6 +22,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.Promise;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
@@ -38,6 +39,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.sshd.common.util.ThreadUtils;
 import org.apache.sshd.server.keyprovider.PEMGeneratorHostKeyProvider;
 import org.opendaylight.controller.config.util.capability.BasicCapability;
@@ -47,6 +49,7 @@ import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.auth.AuthProvider;
 import org.opendaylight.netconf.impl.NetconfServerDispatcherImpl;
+import org.opendaylight.netconf.impl.NetconfServerSession;
 import org.opendaylight.netconf.impl.NetconfServerSessionNegotiatorFactory;
 import org.opendaylight.netconf.impl.SessionIdProvider;
 import org.opendaylight.netconf.impl.osgi.AggregatedNetconfOperationServiceFactory;
@@ -56,6 +59,11 @@ import org.opendaylight.netconf.monitoring.osgi.NetconfMonitoringOperationServic
 import org.opendaylight.netconf.ssh.SshProxyServer;
 import org.opendaylight.netconf.ssh.SshProxyServerConfiguration;
 import org.opendaylight.netconf.ssh.SshProxyServerConfigurationBuilder;
+import org.opendaylight.netconf.test.tool.data.SchemaDataGenerator;
+import org.opendaylight.netconf.test.tool.fault.FaultInjector;
+import org.opendaylight.netconf.test.tool.rpc.DataList;
+import org.opendaylight.netconf.test.tool.rpc.NotificationGenerator;
+import org.opendaylight.netconf.test.tool.rpc.SerializedDataList;
 import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -78,6 +86,9 @@ import org.slf4j.LoggerFactory;
 public class NetconfDeviceSimulator implements Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceSimulator.class);
+    private static final String SIMULATOR_LOCAL_ADDRESS = "netconf-simulator-";
+    // Local addresses are global to the JVM, every simulator needs its own
+    private static final AtomicInteger SIMULATOR_INSTANCES = new AtomicInteger();
 
     private final NioEventLoopGroup nettyThreadgroup;
     private final HashedWheelTimer hashedWheelTimer;
@@ -86,6 +97,9 @@ public class NetconfDeviceSimulator implements Closeable {
     private final ScheduledExecutorService minaTimerExecutor;
     private final ExecutorService nioExecutor;
     private SchemaContext schemaContext;
+    private Optional<NotificationGenerator> notificationGenerator = Optional.absent();
+    private Optional<FaultInjector> faultInjector = Optional.absent();
+    private Optional<DataList> generatedConfig = Optional.absent();
 
     private boolean sendFakeSchema = false;
 
@@ -122,7 +136,8 @@ public class NetconfDeviceSimulator implements Closeable {
 
         final AggregatedNetconfOperationServiceFactory aggregatedNetconfOperationServiceFactory = new AggregatedNetconfOperationServiceFactory();
         final NetconfOperationServiceFactory operationProvider = mdSal ? new MdsalOperationProvider(idProvider, transformedCapabilities, schemaContext, sourceProvider) :
-                new SimulatedOperationProvider(idProvider, transformedCapabilities, notificationsFile, initialConfigXMLFile);
+                new SimulatedOperationProvider(idProvider, transformedCapabilities, notificationsFile, notificationGenerator, initialConfigXMLFile,
+                        generatedConfig);
 
         transformedCapabilities.add(new BasicCapability("urn:ietf:params:netconf:capability:candidate:1.0"));
 
@@ -142,16 +157,48 @@ public class NetconfDeviceSimulator implements Closeable {
                 hashedWheelTimer, aggregatedNetconfOperationServiceFactory, idProvider, generateConfigsTimeout, monitoringService1, serverCapabilities);
 
         final NetconfServerDispatcherImpl.ServerChannelInitializer serverChannelInitializer = new NetconfServerDispatcherImpl.ServerChannelInitializer(
-                serverNegotiatorFactory);
+                serverNegotiatorFactory) {
+            @Override
+            public void initialize(final Channel ch, final Promise<NetconfServerSession> promise) {
+                super.initialize(ch, promise);
+                if (faultInjector.isPresent()) {
+                    faultInjector.get().install(ch);
+                }
+            }
+        };
         return new NetconfServerDispatcherImpl(serverChannelInitializer, nettyThreadgroup, nettyThreadgroup);
     }
 
+    /**
+     * Start listeners for the simulated devices. Each listener serves {@link TesttoolParameters#devicesPerPort} devices,
+     * so only deviceCount / devicesPerPort ports are consumed. Devices behind the same listener are not told apart by
+     * the simulator, every session gets the same schema, operations and data. For SSH, all proxies forward to a single
+     * local netconf server, the SSH username only labels the sessions in netconf-state/sessions.
+     *
+     * @return ports of the started listeners
+     */
     public List<Integer> start(final TesttoolParameters params) {
-        LOG.info("Starting {}, {} simulated devices starting on port {}", params.deviceCount, params.ssh ? "SSH" : "TCP", params.startingPort);
+        final int listenerCount = (params.deviceCount + params.devicesPerPort - 1) / params.devicesPerPort;
+        LOG.info("Starting {}, {} simulated devices on {} ports starting on port {}",
+                params.deviceCount, params.ssh ? "SSH" : "TCP", listenerCount, params.startingPort);
 
         final SharedSchemaRepository schemaRepo = new SharedSchemaRepository("netconf-simulator");
         final Set<Capability> capabilities = parseSchemasToModuleCapabilities(params, schemaRepo);
 
+        if (params.generateData) {
+            generateData(params);
+        }
+
+        if (params.isFaultInjectionEnabled()) {
+            faultInjector = Optional.of(new FaultInjector(params.getFaultDelays(), params.faultDropProbability,
+                    params.faultDuplicateProbability, params.faultMaxMessagesPerSecond, params.faultSessionLifetime));
+        }
+
+        if (params.notificationTemplate != null) {
+            notificationGenerator = Optional.of(new NotificationGenerator(params.notificationTemplate,
+                    params.notificationRate, params.notificationBurst, params.notificationCount, params.threadPoolSize));
+        }
+
         final NetconfServerDispatcherImpl dispatcher = createDispatcher(capabilities, params.exi, params.generateConfigsTimeout,
                 Optional.fromNullable(params.notificationFile), params.mdSal, Optional.fromNullable(params.initialConfigXMLFile),
                 new SchemaSourceProvider<YangTextSchemaSource>() {
@@ -168,30 +215,38 @@ public class NetconfDeviceSimulator implements Closeable {
         // Generate key to temp folder
         final PEMGeneratorHostKeyProvider keyPairProvider = getPemGeneratorHostKeyProvider();
 
-        for (int i = 0; i < params.deviceCount; i++) {
+        // All SSH proxies forward to the same local server, sessions are kept apart by the proxy
+        final LocalAddress tcpLocalAddress = new LocalAddress(SIMULATOR_LOCAL_ADDRESS
+                + SIMULATOR_INSTANCES.incrementAndGet());
+        if (params.ssh) {
+            final ChannelFuture localServer = dispatcher.createLocalServer(tcpLocalAddress);
+            try {
+                localServer.get();
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (final ExecutionException e) {
+                LOG.warn("Cannot start local server for ssh simulated devices", e);
+                return openDevices;
+            }
+            devicesChannels.add(localServer.channel());
+        }
+
+        for (int i = 0; i < listenerCount; i++) {
             if (currentPort > 65535) {
                 LOG.warn("Port cannot be greater than 65535, stopping further attempts.");
                 break;
             }
             final InetSocketAddress address = getAddress(params.ip, currentPort);
 
-            final ChannelFuture server;
             if(params.ssh) {
                 final InetSocketAddress bindingAddress = InetSocketAddress.createUnresolved("0.0.0.0", currentPort);
-                final LocalAddress tcpLocalAddress = new LocalAddress(address.toString());
 
-                server = dispatcher.createLocalServer(tcpLocalAddress);
                 try {
                     final SshProxyServer sshServer = new SshProxyServer(minaTimerExecutor, nettyThreadgroup, nioExecutor);
                     sshServer.bind(getSshConfiguration(bindingAddress, tcpLocalAddress, keyPairProvider));
                     sshWrappers.add(sshServer);
                 } catch (final BindException e) {
                     LOG.warn("Cannot start simulated device on {}, port already in use. Skipping.", address);
-                    // Close local server and continue
-                    server.cancel(true);
-                    if(server.isDone()) {
-                        server.channel().close();
-                    }
                     continue;
                 } catch (final IOException e) {
                     LOG.warn("Cannot start simulated device on {} due to IOException.", address, e);
@@ -200,19 +255,10 @@ public class NetconfDeviceSimulator implements Closeable {
                     currentPort++;
                 }
 
-                try {
-                    server.get();
-                } catch (final InterruptedException e) {
-                    throw new RuntimeException(e);
-                } catch (final ExecutionException e) {
-                    LOG.warn("Cannot start ssh simulated device on {}, skipping", address, e);
-                    continue;
-                }
-
                 LOG.debug("Simulated SSH device started on {}", address);
 
             } else {
-                server = dispatcher.createServer(address);
+                final ChannelFuture server = dispatcher.createServer(address);
                 currentPort++;
 
                 try {
@@ -224,14 +270,14 @@ public class NetconfDeviceSimulator implements Closeable {
                     continue;
                 }
 
+                devicesChannels.add(server.channel());
                 LOG.debug("Simulated TCP device started on {}", address);
             }
 
-            devicesChannels.add(server.channel());
             openDevices.add(currentPort - 1);
         }
 
-        if(openDevices.size() == params.deviceCount) {
+        if(openDevices.size() == listenerCount) {
             LOG.info("All simulated devices started successfully from port {} to {}", params.startingPort, currentPort - 1);
         } else if (openDevices.size() == 0) {
             LOG.warn("No simulated devices started.");
@@ -242,6 +288,24 @@ public class NetconfDeviceSimulator implements Closeable {
         return openDevices;
     }
 
+    private void generateData(final TesttoolParameters params) {
+        final SchemaDataGenerator generator = new SchemaDataGenerator(schemaContext, params.dataListSize,
+                SchemaDataGenerator.parseListSizes(params.getDataListSizes()), params.dataStringLength, params.dataSeed);
+        if (params.dataFile != null) {
+            try {
+                generator.writeTo(params.dataFile);
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to write generated data", e);
+            }
+        }
+
+        if (params.mdSal) {
+            LOG.warn("Generated data are not served with md-sal datastore");
+            return;
+        }
+        generatedConfig = Optional.<DataList>of(new SerializedDataList(generator.generateXml()));
+    }
+
     private SshProxyServerConfiguration getSshConfiguration(final InetSocketAddress bindingAddress, final LocalAddress tcpLocalAddress, final PEMGeneratorHostKeyProvider keyPairProvider) throws IOException {
         return new SshProxyServerConfigurationBuilder()
                 .setBindingAddress(bindingAddress)
@@ -371,6 +435,12 @@ public class NetconfDeviceSimulator implements Closeable {
 
     @Override
     public void close() {
+        if (notificationGenerator.isPresent()) {
+            notificationGenerator.get().close();
+        }
+        if (faultInjector.isPresent()) {
+            faultInjector.get().close();
+        }
         for (final SshProxyServer sshWrapper : sshWrappers) {
             sshWrapper.close();
         }
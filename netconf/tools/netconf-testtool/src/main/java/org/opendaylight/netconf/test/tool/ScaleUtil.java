@@ -13,8 +13,11 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.ContextInitializer;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.util.StatusPrinter;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
 import com.google.common.base.Stopwatch;
 import com.google.common.io.CharStreams;
+import com.google.common.io.Files;
 import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.AsyncHttpClientConfig.Builder;
 import com.ning.http.client.Request;
@@ -24,7 +27,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.ConnectException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -36,6 +42,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyHistogram;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +61,10 @@ public class ScaleUtil {
     private static ch.qos.logback.classic.Logger root;
     private static final Semaphore semaphore = new Semaphore(0);
 
+    private static final String TIMINGS_LOGGER = "org.opendaylight.netconf.sal.connect.netconf.DeviceConnectionTimings";
+    private static final String TIMINGS_APPENDER = "connectionTimings";
+    private static final String TIMINGS_LOG = "connection-timings.log";
+
     public static void main(final String[] args) {
         final TesttoolParameters params = TesttoolParameters.parseArgs(args, TesttoolParameters.getParser());
 
@@ -77,7 +89,7 @@ public class ScaleUtil {
                     final List<File> generated = configGenerator.generate(
                             params.ssh, params.generateConfigBatchSize,
                             params.generateConfigsTimeout, params.generateConfigsAddress,
-                            params.devicesPerPort);
+                            params.deviceCount, params.devicesPerPort);
                     configGenerator.updateFeatureFile(generated);
                     configGenerator.changeLoadOrder();
                 }
@@ -88,7 +100,9 @@ public class ScaleUtil {
             }
 
             root.warn(params.distroFolder.getAbsolutePath());
+            final ScaleReport report = new ScaleReport(params);
             try {
+                enableConnectionTimings(params);
                 runtime.exec(params.distroFolder.getAbsolutePath() + "/bin/start");
                 String status;
                 do {
@@ -105,6 +119,7 @@ public class ScaleUtil {
                 final Process featureInstall = runtime.exec(params.distroFolder.getAbsolutePath() + "/bin/client -u karaf feature:install odl-restconf-noauth odl-netconf-connector-all");
                 root.warn(CharStreams.toString(new BufferedReader(new InputStreamReader(featureInstall.getInputStream()))));
                 root.warn(CharStreams.toString(new BufferedReader(new InputStreamReader(featureInstall.getErrorStream()))));
+                report.baseline();
 
             } catch (IOException e) {
                 root.warn("Failed to start karaf", e);
@@ -115,7 +130,7 @@ public class ScaleUtil {
             stopwatch.start();
 
             try {
-                executor.schedule(new ScaleVerifyCallable(netconfDeviceSimulator, params.deviceCount), retryDelay, TimeUnit.SECONDS);
+                executor.schedule(new ScaleVerifyCallable(netconfDeviceSimulator, params.deviceCount, report), retryDelay, TimeUnit.SECONDS);
                 root.warn("First callable scheduled");
                 semaphore.acquire();
                 root.warn("semaphore released");
@@ -132,6 +147,25 @@ public class ScaleUtil {
         }
     }
 
+    /**
+     * Route connection phase timings reported by the connector to a dedicated log file, so that they survive log
+     * rotation of karaf.log and are cheap to parse.
+     */
+    private static void enableConnectionTimings(final TesttoolParameters params) throws IOException {
+        final File loggingCfg = new File(params.distroFolder, "etc/org.ops4j.pax.logging.cfg");
+        final String current = Files.toString(loggingCfg, Charsets.UTF_8);
+        if (current.contains(TIMINGS_LOGGER)) {
+            return;
+        }
+        Files.append("\n# Connection phase timings collected by scale util\n"
+                + "log4j.logger." + TIMINGS_LOGGER + " = DEBUG, " + TIMINGS_APPENDER + "\n"
+                + "log4j.additivity." + TIMINGS_LOGGER + " = false\n"
+                + "log4j.appender." + TIMINGS_APPENDER + " = org.apache.log4j.FileAppender\n"
+                + "log4j.appender." + TIMINGS_APPENDER + ".file = ${karaf.data}/log/" + TIMINGS_LOG + "\n"
+                + "log4j.appender." + TIMINGS_APPENDER + ".layout = org.apache.log4j.PatternLayout\n"
+                + "log4j.appender." + TIMINGS_APPENDER + ".layout.ConversionPattern = %m%n\n", loggingCfg, Charsets.UTF_8);
+    }
+
     private static void setUpLoggers(final TesttoolParameters params) {
         System.setProperty("log_file_name", "scale-util.log");
 
@@ -208,12 +242,15 @@ public class ScaleUtil {
                 .build());
         private final NetconfDeviceSimulator simulator;
         private final int deviceCount;
+        private final ScaleReport report;
         private final Request request;
 
-        public ScaleVerifyCallable(final NetconfDeviceSimulator simulator, final int deviceCount) {
+        public ScaleVerifyCallable(final NetconfDeviceSimulator simulator, final int deviceCount,
+                                   final ScaleReport report) {
             LOG.info("New callable created");
             this.simulator = simulator;
             this.deviceCount = deviceCount;
+            this.report = report;
             AsyncHttpClient.BoundRequestBuilder requestBuilder = asyncHttpClient.prepareGet(RESTCONF_URL)
                     .addHeader("content-type", "application/xml")
                     .addHeader("Accept", "application/xml")
@@ -228,7 +265,7 @@ public class ScaleUtil {
 
                 if (response.getStatusCode() != 200 && response.getStatusCode() != 204) {
                     LOG.warn("Request failed, status code: {}", response.getStatusCode() + response.getStatusText());
-                    executor.schedule(new ScaleVerifyCallable(simulator, deviceCount), retryDelay, TimeUnit.SECONDS);
+                    executor.schedule(new ScaleVerifyCallable(simulator, deviceCount, report), retryDelay, TimeUnit.SECONDS);
                 } else {
                     final String body = response.getResponseBody();
                     final Matcher matcher = PATTERN.matcher(body);
@@ -237,22 +274,163 @@ public class ScaleUtil {
                         count++;
                     }
                     RESULTS_LOG.info("Currently connected devices : {} out of {}, time elapsed: {}", count, deviceCount + 1, stopwatch);
+                    // The controller config module is always connected, it is not a simulated device
+                    report.onConnected(count - 1, count == deviceCount + 1);
                     if (count != deviceCount + 1) {
-                        executor.schedule(new ScaleVerifyCallable(simulator, deviceCount), retryDelay, TimeUnit.SECONDS);
+                        executor.schedule(new ScaleVerifyCallable(simulator, deviceCount, report), retryDelay, TimeUnit.SECONDS);
                     } else {
                         stopwatch.stop();
                         RESULTS_LOG.info("All devices connected in {}", stopwatch);
+                        report.finish(deviceCount);
                         semaphore.release();
                     }
                 }
             } catch (ConnectException | ExecutionException e) {
                 LOG.warn("Failed to connect to Restconf, is the controller running?", e);
-                executor.schedule(new ScaleVerifyCallable(simulator, deviceCount), retryDelay, TimeUnit.SECONDS);
+                executor.schedule(new ScaleVerifyCallable(simulator, deviceCount, report), retryDelay, TimeUnit.SECONDS);
             }
             return null;
         }
     }
 
+    /**
+     * Startup time and memory profile of a single scale test round. Live heap of the controller is measured right after
+     * the features are installed, when the connected device count passes each checkpoint and once all devices are
+     * connected. Heap per device is reported above the first measurement, connection phase timings of all devices are
+     * collected from the connector log at the end of the round.
+     */
+    private static class ScaleReport {
+
+        private static final Pattern HEAP_TOTAL = Pattern.compile("^Total\\s+\\d+\\s+(\\d+)\\s*$", Pattern.MULTILINE);
+        private static final Pattern PHASES = Pattern.compile(
+                "Connection phases \\[us\\] session=(\\d+) sources=(\\d+) schema-context=(\\d+) mount=(\\d+) total=(\\d+)");
+        private static final String[] PHASE_NAMES = {"session", "sources", "schema-context", "mount", "total"};
+
+        private final TesttoolParameters params;
+        private final Iterator<Integer> checkpoints;
+        private final Map<String, Long> counters = new LinkedHashMap<>();
+        private Integer nextCheckpoint;
+        private int lastConnected;
+        private long lastHeap;
+        private Optional<Long> baselineHeap = Optional.absent();
+
+        ScaleReport(final TesttoolParameters params) {
+            this.params = params;
+            this.checkpoints = params.getScaleCheckpoints().iterator();
+            this.nextCheckpoint = checkpoints.hasNext() ? checkpoints.next() : null;
+        }
+
+        /**
+         * Measure live heap of the controller with features installed, but no device counted as connected yet.
+         */
+        void baseline() {
+            baselineHeap = measureLiveHeap();
+            if (baselineHeap.isPresent()) {
+                counters.put("baseline-live-heap-bytes", baselineHeap.get());
+                RESULTS_LOG.info("Live heap before devices connected: {} bytes", baselineHeap.get());
+            }
+        }
+
+        void onConnected(final int connected, final boolean allConnected) {
+            boolean passed = false;
+            while (nextCheckpoint != null && connected >= nextCheckpoint) {
+                passed = true;
+                nextCheckpoint = checkpoints.hasNext() ? checkpoints.next() : null;
+            }
+            if (passed || allConnected) {
+                checkpoint(allConnected ? "all" : String.valueOf(connected), connected);
+            }
+        }
+
+        private void checkpoint(final String name, final int connected) {
+            final Optional<Long> heap = measureLiveHeap();
+            final String prefix = "checkpoint-" + name + "-";
+            counters.put(prefix + "connected", (long) connected);
+            counters.put(prefix + "elapsed-ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+            if (!heap.isPresent()) {
+                return;
+            }
+
+            counters.put(prefix + "live-heap-bytes", heap.get());
+            if (connected > 0 && baselineHeap.isPresent()) {
+                counters.put(prefix + "heap-per-device-bytes", (heap.get() - baselineHeap.get()) / connected);
+            }
+            if (lastConnected > 0 && connected > lastConnected) {
+                counters.put(prefix + "marginal-heap-per-device-bytes",
+                        (heap.get() - lastHeap) / (connected - lastConnected));
+            }
+            RESULTS_LOG.info("Live heap with {} connected devices: {} bytes", connected, heap.get());
+            lastConnected = connected;
+            lastHeap = heap.get();
+        }
+
+        /**
+         * Live heap of the controller from a class histogram, which forces a full GC before counting.
+         */
+        private Optional<Long> measureLiveHeap() {
+            try {
+                final Runtime runtime = Runtime.getRuntime();
+                final Process pgrep = runtime.exec("pgrep -f org.apache.karaf.main.Main");
+                final String controllerPid = CharStreams.toString(new BufferedReader(new InputStreamReader(pgrep.getInputStream()))).trim();
+                if (controllerPid.isEmpty() || controllerPid.contains("\n")) {
+                    root.warn("Unable to find single controller process, got: {}", controllerPid);
+                    return Optional.absent();
+                }
+                final Process jcmd = runtime.exec("jcmd " + controllerPid + " GC.class_histogram");
+                final String histogram = CharStreams.toString(new BufferedReader(new InputStreamReader(jcmd.getInputStream())));
+                final Matcher matcher = HEAP_TOTAL.matcher(histogram);
+                if (!matcher.find()) {
+                    root.warn("Unable to parse class histogram of the controller: {}", histogram);
+                    return Optional.absent();
+                }
+                return Optional.of(Long.parseLong(matcher.group(1)));
+            } catch (final IOException e) {
+                root.warn("Failed to measure heap of the controller", e);
+                return Optional.absent();
+            }
+        }
+
+        void finish(final int deviceCount) {
+            final LatencyHistogram[] phases = new LatencyHistogram[PHASE_NAMES.length];
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+
+            final File timingsLog = new File(params.distroFolder, "data/log/" + TIMINGS_LOG);
+            try {
+                for (final String line : Files.readLines(timingsLog, Charsets.UTF_8)) {
+                    final Matcher matcher = PHASES.matcher(line);
+                    if (matcher.find()) {
+                        for (int i = 0; i < phases.length; i++) {
+                            phases[i].recordValue(TimeUnit.MICROSECONDS.toNanos(Long.parseLong(matcher.group(i + 1))));
+                        }
+                    }
+                }
+            } catch (final IOException e) {
+                root.warn("Unable to read connection phase timings from {}", timingsLog, e);
+            }
+
+            final LatencyReport report = new LatencyReport(stopwatch.elapsed(TimeUnit.NANOSECONDS));
+            for (int i = 0; i < phases.length; i++) {
+                report.addOperation("phase-" + PHASE_NAMES[i], phases[i], 0);
+            }
+            for (final Map.Entry<String, Long> counter : counters.entrySet()) {
+                report.addCounter(counter.getKey(), counter.getValue());
+            }
+            report.log(RESULTS_LOG);
+
+            if (params.scaleReport != null) {
+                final File file = new File(params.scaleReport.getAbsoluteFile().getParentFile(),
+                        deviceCount + "-" + params.scaleReport.getName());
+                try {
+                    report.write(file, LatencyReport.Format.forName(params.scaleReportFormat));
+                } catch (final IOException e) {
+                    root.warn("Unable to write scale report to {}", file, e);
+                }
+            }
+        }
+    }
+
     private static class TimeoutGuard implements Callable {
 
         @Override
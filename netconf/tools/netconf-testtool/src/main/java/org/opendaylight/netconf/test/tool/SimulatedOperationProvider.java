@@ -20,6 +20,7 @@ import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.netconf.test.tool.rpc.DataList;
+import org.opendaylight.netconf.test.tool.rpc.NotificationGenerator;
 import org.opendaylight.netconf.test.tool.rpc.SimulatedCommit;
 import org.opendaylight.netconf.test.tool.rpc.SimulatedCreateSubscription;
 import org.opendaylight.netconf.test.tool.rpc.SimulatedEditConfig;
@@ -35,9 +36,12 @@ class SimulatedOperationProvider implements NetconfOperationServiceFactory {
     public SimulatedOperationProvider(final SessionIdProvider idProvider,
                                       final Set<Capability> caps,
                                       final Optional<File> notificationsFile,
-                                      final Optional<File> initialConfigXMLFile) {
+                                      final Optional<NotificationGenerator> notificationGenerator,
+                                      final Optional<File> initialConfigXMLFile,
+                                      final Optional<DataList> generatedConfig) {
         this.caps = caps;
-        simulatedOperationService = new SimulatedOperationService(idProvider.getCurrentSessionId(), notificationsFile, initialConfigXMLFile);
+        simulatedOperationService = new SimulatedOperationService(idProvider.getCurrentSessionId(), notificationsFile,
+                notificationGenerator, initialConfigXMLFile, generatedConfig);
     }
 
     @Override
@@ -65,25 +69,34 @@ class SimulatedOperationProvider implements NetconfOperationServiceFactory {
     static class SimulatedOperationService implements NetconfOperationService {
         private final long currentSessionId;
         private final Optional<File> notificationsFile;
+        private final Optional<NotificationGenerator> notificationGenerator;
         private final Optional<File> initialConfigXMLFile;
+        private final Optional<DataList> generatedConfig;
 
-        public SimulatedOperationService(final long currentSessionId, final Optional<File> notificationsFile, final Optional<File> initialConfigXMLFile) {
+        public SimulatedOperationService(final long currentSessionId, final Optional<File> notificationsFile,
+                                         final Optional<NotificationGenerator> notificationGenerator,
+                                         final Optional<File> initialConfigXMLFile,
+                                         final Optional<DataList> generatedConfig) {
             this.currentSessionId = currentSessionId;
             this.notificationsFile = notificationsFile;
+            this.notificationGenerator = notificationGenerator;
             this.initialConfigXMLFile = initialConfigXMLFile;
+            this.generatedConfig = generatedConfig;
         }
 
         @Override
         public Set<NetconfOperation> getNetconfOperations() {
-            final DataList storage = new DataList();
+            // Generated config is large, all sessions serve the same serialized instance, edit-config rejects changes
+            final DataList storage = generatedConfig.isPresent() ? generatedConfig.get() : new DataList();
             final SimulatedGet sGet = new SimulatedGet(String.valueOf(currentSessionId), storage);
             final SimulatedEditConfig sEditConfig = new SimulatedEditConfig(String.valueOf(currentSessionId), storage);
-            final SimulatedGetConfig sGetConfig = new SimulatedGetConfig(String.valueOf(currentSessionId), storage, initialConfigXMLFile );
+            final SimulatedGetConfig sGetConfig = new SimulatedGetConfig(String.valueOf(currentSessionId), storage,
+                    generatedConfig.isPresent() ? Optional.<File>absent() : initialConfigXMLFile);
             final SimulatedCommit sCommit = new SimulatedCommit(String.valueOf(currentSessionId));
             final SimulatedLock sLock = new SimulatedLock(String.valueOf(currentSessionId));
             final SimulatedUnLock sUnlock = new SimulatedUnLock(String.valueOf(currentSessionId));
             final SimulatedCreateSubscription sCreateSubs = new SimulatedCreateSubscription(
-                    String.valueOf(currentSessionId), notificationsFile);
+                    String.valueOf(currentSessionId), notificationsFile, notificationGenerator);
             return Sets.<NetconfOperation>newHashSet(sGet, sGetConfig, sEditConfig, sCommit, sLock, sUnlock, sCreateSubs);
         }
 
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +29,8 @@ import net.sourceforge.argparse4j.ArgumentParsers;
 import net.sourceforge.argparse4j.annotation.Arg;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import org.opendaylight.netconf.test.tool.data.SchemaDataGenerator;
+import org.opendaylight.netconf.test.tool.fault.DelayDistribution;
 
 public class TesttoolParameters {
 
@@ -63,6 +67,12 @@ public class TesttoolParameters {
     public String generateConfigsAddress;
     @Arg(dest = "distro-folder")
     public File distroFolder;
+    @Arg(dest = "scale-checkpoints")
+    public ArrayList<Integer> scaleCheckpoints;
+    @Arg(dest = "scale-report")
+    public File scaleReport;
+    @Arg(dest = "scale-report-format")
+    public String scaleReportFormat;
     @Arg(dest = "generate-configs-batch-size")
     public int generateConfigBatchSize;
     @Arg(dest = "ssh")
@@ -73,6 +83,36 @@ public class TesttoolParameters {
     public boolean debug;
     @Arg(dest = "notification-file")
     public File notificationFile;
+    @Arg(dest = "notification-template")
+    public File notificationTemplate;
+    @Arg(dest = "notification-rate")
+    public double notificationRate;
+    @Arg(dest = "notification-burst")
+    public int notificationBurst;
+    @Arg(dest = "notification-count")
+    public long notificationCount;
+    @Arg(dest = "generate-data")
+    public boolean generateData;
+    @Arg(dest = "data-list-size")
+    public int dataListSize;
+    @Arg(dest = "data-list-sizes")
+    public ArrayList<String> dataListSizes;
+    @Arg(dest = "data-string-length")
+    public int dataStringLength;
+    @Arg(dest = "data-seed")
+    public long dataSeed;
+    @Arg(dest = "data-file")
+    public File dataFile;
+    @Arg(dest = "fault-delay")
+    public ArrayList<String> faultDelays;
+    @Arg(dest = "fault-drop-probability")
+    public double faultDropProbability;
+    @Arg(dest = "fault-duplicate-probability")
+    public double faultDuplicateProbability;
+    @Arg(dest = "fault-max-messages-per-second")
+    public double faultMaxMessagesPerSecond;
+    @Arg(dest = "fault-session-lifetime")
+    public double faultSessionLifetime;
     @Arg(dest = "md-sal")
     public boolean mdSal;
     @Arg(dest = "initial-config-xml-file")
@@ -136,7 +176,9 @@ public class TesttoolParameters {
         parser.addArgument("--devices-per-port")
                 .type(Integer.class)
                 .setDefault(1)
-                .help("Amount of config files generated per port to spoof more devices then are actually running")
+                .help("Amount of simulated devices sharing a single listening port. Devices behind the same port " +
+                        "are served identically, generated configs use the device name as SSH username, which only " +
+                        "labels their sessions in netconf-state/sessions")
                 .dest("devices-per-port");
 
         parser.addArgument("--schemas-dir")
@@ -149,6 +191,106 @@ public class TesttoolParameters {
                 .help("Xml file containing notifications that should be sent to clients after create subscription is called")
                 .dest("notification-file");
 
+        parser.addArgument("--notification-template")
+                .type(File.class)
+                .help("Xml file containing a single notification generated for clients after create subscription is called. " +
+                        "Placeholders {SEQ}, {SESSION}, {TIMESTAMP}, {PHYS_ADDR} and {RANDOM:n} are substituted for every notification. " +
+                        "Cannot be combined with notification-file, not supported with md-sal")
+                .dest("notification-template");
+
+        parser.addArgument("--notification-rate")
+                .type(Double.class)
+                .setDefault(1000d)
+                .help("Notifications per second generated for every subscribed session. The same rate applies to " +
+                        "all sessions of all simulated devices, it cannot be set per device. Notifications are paced " +
+                        "by a 1ms tick, above 1000 bursts/s every tick sends all notifications due since the " +
+                        "previous one, the rate is kept but they are not evenly spaced")
+                .dest("notification-rate");
+
+        parser.addArgument("--notification-burst")
+                .type(Integer.class)
+                .setDefault(1)
+                .help("Notifications generated back to back, bursts are spaced to keep notification-rate")
+                .dest("notification-burst");
+
+        parser.addArgument("--notification-count")
+                .type(Long.class)
+                .setDefault(0L)
+                .help("Notifications generated for every subscribed session, 0 to generate until the session goes down")
+                .dest("notification-count");
+
+        parser.addArgument("--generate-data")
+                .type(Boolean.class)
+                .setDefault(false)
+                .help("Whether to generate config data for all config nodes of the loaded schemas and serve them via get-config " +
+                        "instead of an initial config file. The data are kept serialized once, every get and get-config " +
+                        "parses them into a DOM of the whole data, at most 2 at a time. edit-config is rejected. " +
+                        "Not served with md-sal")
+                .dest("generate-data");
+
+        parser.addArgument("--data-list-size")
+                .type(Integer.class)
+                .setDefault(10)
+                .help("Entries generated for every list and leaf-list, nested lists multiply")
+                .dest("data-list-size");
+
+        parser.addArgument("--data-list-sizes")
+                .type(String.class)
+                .nargs("+")
+                .help("Entries generated for lists with given name in form list-name=size, overriding data-list-size " +
+                        "e.g. interface=1000000 address=1")
+                .dest("data-list-sizes");
+
+        parser.addArgument("--data-string-length")
+                .type(Integer.class)
+                .setDefault(16)
+                .help("Length of generated string values, adjusted to the length restrictions of their type")
+                .dest("data-string-length");
+
+        parser.addArgument("--data-seed")
+                .type(Long.class)
+                .setDefault(0L)
+                .help("Seed of generated values, the same seed generates the same data")
+                .dest("data-seed");
+
+        parser.addArgument("--data-file")
+                .type(File.class)
+                .help("File the generated data are streamed to, usable as initial-config-xml-file later")
+                .dest("data-file");
+
+        parser.addArgument("--fault-delay")
+                .type(String.class)
+                .nargs("+")
+                .help("Delays of rpc replies per operation in form operation:type:arguments, with arguments in milliseconds " +
+                        "and type one of fixed:delay, uniform:min:max, exponential:mean or normal:mean:deviation. " +
+                        "Operation * applies to all operations without their own delay e.g. get-config:uniform:10:200 *:fixed:5")
+                .dest("fault-delay");
+
+        parser.addArgument("--fault-drop-probability")
+                .type(Double.class)
+                .setDefault(0d)
+                .help("Probability of a simulated device not sending an rpc reply")
+                .dest("fault-drop-probability");
+
+        parser.addArgument("--fault-duplicate-probability")
+                .type(Double.class)
+                .setDefault(0d)
+                .help("Probability of a simulated device sending an rpc reply twice")
+                .dest("fault-duplicate-probability");
+
+        parser.addArgument("--fault-max-messages-per-second")
+                .type(Double.class)
+                .setDefault(0d)
+                .help("Maximum of replies and notifications sent per second by a single session, 0 for no limit")
+                .dest("fault-max-messages-per-second");
+
+        parser.addArgument("--fault-session-lifetime")
+                .type(Double.class)
+                .setDefault(0d)
+                .help("Mean lifetime in seconds of simulated sessions, sessions are closed after an exponentially " +
+                        "distributed time. 0 to keep sessions open")
+                .dest("fault-session-lifetime");
+
         parser.addArgument("--initial-config-xml-file")
                 .type(File.class)
                 .help("Xml file containing initial simulatted configuration to be returned via get-config rpc")
@@ -183,6 +325,26 @@ public class TesttoolParameters {
                 .help("Directory where the karaf distribution for controller is located")
                 .dest("distro-folder");
 
+        parser.addArgument("--scale-checkpoints")
+                .type(Integer.class)
+                .nargs("+")
+                .help("Connected device counts at which scale util measures live heap of the controller, " +
+                        "1000 5000 10000 by default")
+                .dest("scale-checkpoints");
+
+        parser.addArgument("--scale-report")
+                .type(File.class)
+                .help("File the scale util writes connection phase timings and heap checkpoints to, " +
+                        "prefixed with device count for every round")
+                .dest("scale-report");
+
+        parser.addArgument("--scale-report-format")
+                .type(String.class)
+                .choices("csv", "json")
+                .setDefault("csv")
+                .help("Format of the scale report")
+                .dest("scale-report-format");
+
         parser.addArgument("--ssh")
                 .type(Boolean.class)
                 .setDefault(true)
@@ -280,6 +442,29 @@ public class TesttoolParameters {
         checkArgument(startingPort > 1023, "Starting port has to be > 1023");
         checkArgument(devicesPerPort > 0, "Atleast one device per port needed");
 
+        if (notificationTemplate != null) {
+            checkArgument(notificationTemplate.canRead(), "Notification template has to be readable");
+            checkArgument(notificationFile == null, "Notification template cannot be combined with notification file");
+            checkArgument(!mdSal, "Notification template is not supported with md-sal");
+            checkArgument(notificationRate > 0, "Notification rate has to be > 0");
+            checkArgument(notificationBurst > 0, "Notification burst has to be > 0");
+            checkArgument(notificationCount >= 0, "Notification count has to be >= 0");
+        }
+
+        if (generateData) {
+            checkArgument(initialConfigXMLFile == null, "Generated data cannot be combined with initial config xml file");
+            checkArgument(dataListSize >= 0, "Data list size has to be >= 0");
+            checkArgument(dataStringLength > 0, "Data string length has to be > 0");
+            SchemaDataGenerator.parseListSizes(getDataListSizes());
+        }
+
+        checkArgument(faultDropProbability >= 0 && faultDropProbability <= 1, "Fault drop probability has to be in <0, 1>");
+        checkArgument(faultDuplicateProbability >= 0 && faultDuplicateProbability <= 1,
+                "Fault duplicate probability has to be in <0, 1>");
+        checkArgument(faultMaxMessagesPerSecond >= 0, "Fault max messages per second has to be >= 0");
+        checkArgument(faultSessionLifetime >= 0, "Fault session lifetime has to be >= 0");
+        getFaultDelays();
+
         if (schemasDir != null) {
             checkArgument(schemasDir.exists(), "Schemas dir has to exist");
             checkArgument(schemasDir.isDirectory(), "Schemas dir has to be a directory");
@@ -287,6 +472,32 @@ public class TesttoolParameters {
         }
     }
 
+    public List<String> getDataListSizes() {
+        return dataListSizes != null ? dataListSizes : Collections.<String>emptyList();
+    }
+
+    public List<Integer> getScaleCheckpoints() {
+        final List<Integer> checkpoints = new ArrayList<>(scaleCheckpoints != null
+                ? scaleCheckpoints : Arrays.asList(1000, 5000, 10000));
+        Collections.sort(checkpoints);
+        return checkpoints;
+    }
+
+    public List<DelayDistribution> getFaultDelays() {
+        final List<DelayDistribution> delays = new ArrayList<>();
+        if (faultDelays != null) {
+            for (final String delay : faultDelays) {
+                delays.add(DelayDistribution.parse(delay));
+            }
+        }
+        return delays;
+    }
+
+    public boolean isFaultInjectionEnabled() {
+        return faultDelays != null || faultDropProbability > 0 || faultDuplicateProbability > 0
+                || faultMaxMessagesPerSecond > 0 || faultSessionLifetime > 0;
+    }
+
     public ArrayList<ArrayList<Execution.DestToPayload>> getThreadsPayloads(final List<Integer> openDevices) {
         final String editContentString;
         try {
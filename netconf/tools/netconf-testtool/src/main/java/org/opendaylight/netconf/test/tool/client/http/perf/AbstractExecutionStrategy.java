@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.http.perf;
+
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.ListenableFuture;
+import com.ning.http.client.Request;
+import com.ning.http.client.Response;
+import java.util.List;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+import org.opendaylight.netconf.test.tool.client.stress.ExecutionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+abstract class AbstractExecutionStrategy implements ExecutionStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractExecutionStrategy.class);
+
+    private static final String STATUS_COUNTER_PREFIX = "status-";
+    private static final String TRANSPORT_ERROR_COUNTER = "transport-error";
+
+    private final Parameters params;
+    private final AsyncHttpClient asyncHttpClient;
+    private final List<Request> payloads;
+    private final List<String> operations;
+    private final LatencyRecorder recorder;
+
+    /**
+     * @param operations name of the operation of every request, used to group latencies
+     * @param maxInFlight maximum number of requests waiting for response, 0 for unlimited
+     */
+    AbstractExecutionStrategy(final Parameters params, final AsyncHttpClient asyncHttpClient,
+                              final List<Request> payloads, final List<String> operations, final int maxInFlight) {
+        this.params = params;
+        this.asyncHttpClient = asyncHttpClient;
+        this.payloads = payloads;
+        this.operations = operations;
+        // Every thread gets an equal share of the target rate
+        this.recorder = new LatencyRecorder(params.rate / params.threadAmount, maxInFlight, params.warmup);
+    }
+
+    /**
+     * Send request once it is allowed by the target rate and in-flight window. Its latency is recorded under its
+     * operation when the response arrives, responses are also counted by status code.
+     *
+     * @param sequence index of the request in payloads
+     */
+    protected ListenableFuture<Response> execute(final int sequence) {
+        final Request request = payloads.get(sequence);
+        final String operation = operations.get(sequence);
+        final long start = recorder.begin(sequence);
+        return asyncHttpClient.executeRequest(request, new AsyncCompletionHandler<Response>() {
+            @Override
+            public Response onCompleted(final Response response) throws Exception {
+                final int status = response.getStatusCode();
+                final boolean successful = status >= 200 && status < 300;
+                recorder.end(operation, sequence, start, successful);
+                recorder.increment(STATUS_COUNTER_PREFIX + status);
+                if (!successful) {
+                    LOG.warn("Request failed, status code: {} {}", status, response.getStatusText());
+                    LOG.warn("request: {}", request);
+                }
+                return response;
+            }
+
+            @Override
+            public void onThrowable(final Throwable t) {
+                recorder.end(operation, sequence, start, false);
+                recorder.increment(TRANSPORT_ERROR_COUNTER);
+                LOG.warn("Request {} failed", request.getUrl(), t);
+            }
+        });
+    }
+
+    @Override
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    protected Parameters getParams() {
+        return params;
+    }
+
+    protected int getRequestCount() {
+        return payloads.size();
+    }
+}
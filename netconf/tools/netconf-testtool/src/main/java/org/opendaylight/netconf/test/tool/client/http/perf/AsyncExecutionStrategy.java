@@ -8,32 +8,23 @@
 
 package org.opendaylight.netconf.test.tool.client.http.perf;
 
-import com.ning.http.client.AsyncCompletionHandler;
 import com.ning.http.client.AsyncHttpClient;
-import com.ning.http.client.HttpResponseStatus;
 import com.ning.http.client.ListenableFuture;
 import com.ning.http.client.Request;
 import com.ning.http.client.Response;
 import java.util.ArrayList;
-import java.util.concurrent.Semaphore;
-import org.opendaylight.netconf.test.tool.client.stress.ExecutionStrategy;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class AsyncExecutionStrategy implements ExecutionStrategy {
+public class AsyncExecutionStrategy extends AbstractExecutionStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncExecutionStrategy.class);
 
-    private final Parameters params;
-    private final ArrayList<Request> payloads;
-    private final AsyncHttpClient asyncHttpClient;
-    private final Semaphore semaphore;
-
-    AsyncExecutionStrategy(final Parameters params, final AsyncHttpClient asyncHttpClient, final ArrayList<Request> payloads) {
-        this.params = params;
-        this.asyncHttpClient = asyncHttpClient;
-        this.payloads = payloads;
-        this.semaphore = new Semaphore(RestPerfClient.throttle);
+    AsyncExecutionStrategy(final Parameters params, final AsyncHttpClient asyncHttpClient, final ArrayList<Request> payloads,
+                           final List<String> operations) {
+        super(params, asyncHttpClient, payloads, operations, RestPerfClient.throttle);
     }
 
     @Override
@@ -41,36 +32,21 @@ public class AsyncExecutionStrategy implements ExecutionStrategy {
         final ArrayList<ListenableFuture<Response>> futures = new ArrayList<>();
         LOG.info("Begin sending async requests");
 
-        for (final Request request : payloads) {
-            try {
-                semaphore.acquire();
-            } catch (InterruptedException e) {
-                LOG.warn("Semaphore acquire interrupted");
-            }
-            futures.add(asyncHttpClient.executeRequest(request, new AsyncCompletionHandler<Response>() {
-                @Override
-                public STATE onStatusReceived(HttpResponseStatus status) throws Exception {
-                    super.onStatusReceived(status);
-                    if (status.getStatusCode() != 200 && status.getStatusCode() != 204) {
-                        LOG.warn("Request failed, status code: {}", status.getStatusCode() + status.getStatusText());
-                        LOG.warn("request: {}", request.toString());
-                    }
-                    return STATE.CONTINUE;
-                }
-
-                @Override
-                public Response onCompleted(Response response) throws Exception {
-                    semaphore.release();
-                    return response;
-                }
-            }));
+        for (int i = 0; i < getRequestCount(); i++) {
+            futures.add(execute(i));
         }
         LOG.info("Requests sent, waiting for responses");
 
-        try {
-            semaphore.acquire(RestPerfClient.throttle);
-        } catch (InterruptedException e) {
-            LOG.warn("Semaphore acquire interrupted");
+        for (final ListenableFuture<Response> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                LOG.warn("Waiting for response interrupted");
+                return;
+            } catch (ExecutionException e) {
+                // Already recorded as failed request
+                LOG.debug("Request failed", e);
+            }
         }
 
         LOG.info("Responses received, ending...");
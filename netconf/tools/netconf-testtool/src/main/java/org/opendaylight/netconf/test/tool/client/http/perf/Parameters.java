@@ -14,6 +14,8 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import net.sourceforge.argparse4j.ArgumentParsers;
 import net.sourceforge.argparse4j.annotation.Arg;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
@@ -56,6 +58,24 @@ public class Parameters {
     @Arg(dest = "timeout")
     public long timeout;
 
+    @Arg(dest = "requests")
+    public ArrayList<String> requests;
+
+    @Arg(dest = "content-type")
+    public String contentType;
+
+    @Arg(dest = "rate")
+    public double rate;
+
+    @Arg(dest = "warmup")
+    public int warmup;
+
+    @Arg(dest = "results-file")
+    public File resultsFile;
+
+    @Arg(dest = "results-format")
+    public String resultsFormat;
+
     static ArgumentParser getParser() {
         final ArgumentParser parser = ArgumentParsers.newArgumentParser("netconf stress client");
 
@@ -131,6 +151,47 @@ public class Parameters {
                 .help("Maximum time in minutes to wait for finishing all requests.")
                 .dest("timeout");
 
+        parser.addArgument("--requests")
+                .nargs("+")
+                .help("Mix of requests to send instead of POST to destination, every request in format "
+                        + "METHOD,WEIGHT,DESTINATION, e.g. GET,8,/restconf/operational/... Supported methods are "
+                        + "GET, POST, PUT, PATCH and DELETE, edit content is sent as body of POST, PUT and PATCH. "
+                        + "Use {DEVICE_PORT} tag in destination the same way as in destination argument.")
+                .dest("requests");
+
+        parser.addArgument("--content-type")
+                .type(String.class)
+                .setDefault("application/json")
+                .help("Content type of edit content")
+                .dest("content-type");
+
+        parser.addArgument("--rate")
+                .type(Double.class)
+                .setDefault(0.0)
+                .help("Target rate of requests per second summed over all threads. Requests are sent on schedule "
+                        + "regardless of responses (open loop) and latency is measured from the scheduled send time. "
+                        + "Defaults to 0, sending requests as fast as possible.")
+                .dest("rate");
+
+        parser.addArgument("--warmup")
+                .type(Integer.class)
+                .setDefault(0)
+                .help("Number of requests sent by every thread before latency recording starts")
+                .dest("warmup");
+
+        parser.addArgument("--results-file")
+                .type(File.class)
+                .required(false)
+                .help("File to write throughput, latency percentiles and response status counts to")
+                .dest("results-file");
+
+        parser.addArgument("--results-format")
+                .type(String.class)
+                .choices("csv", "json")
+                .setDefault("csv")
+                .help("Format of the results file")
+                .dest("results-format");
+
         return parser;
     }
 
@@ -139,12 +200,35 @@ public class Parameters {
         Preconditions.checkArgument(editCount > 0, "Edit count =< 0");
         Preconditions.checkArgument(timeout > 0, "Timeout =< 0");
 
-        Preconditions.checkArgument(editContent.exists(), "Edit content file missing");
-        Preconditions.checkArgument(editContent.isDirectory() == false, "Edit content file is a dir");
-        Preconditions.checkArgument(editContent.canRead(), "Edit content file is unreadable");
+        boolean needsContent = false;
+        for (final RequestType type : getRequestTypes()) {
+            needsContent |= type.hasBody();
+        }
+        if (needsContent) {
+            Preconditions.checkArgument(editContent.exists(), "Edit content file missing");
+            Preconditions.checkArgument(editContent.isDirectory() == false, "Edit content file is a dir");
+            Preconditions.checkArgument(editContent.canRead(), "Edit content file is unreadable");
+        }
 
         Preconditions.checkArgument(destination.startsWith("/"), "Destination should start with a '/'");
         Preconditions.checkArgument(threadAmount > 0, "Parameter thread-amount must be greater than 0");
+        Preconditions.checkArgument(rate >= 0, "Parameter rate must not be negative");
+        Preconditions.checkArgument(warmup >= 0, "Parameter warmup must not be negative");
+    }
+
+    /**
+     * @return request types to send, POST to destination if no requests were specified
+     */
+    List<RequestType> getRequestTypes() {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.singletonList(new RequestType("POST", 1, destination));
+        }
+
+        final List<RequestType> types = new ArrayList<>(requests.size());
+        for (final String request : requests) {
+            types.add(RequestType.parse(request));
+        }
+        return types;
     }
 
     public InetSocketAddress getInetAddress() {
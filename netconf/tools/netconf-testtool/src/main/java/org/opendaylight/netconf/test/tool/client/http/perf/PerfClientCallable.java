@@ -12,9 +12,11 @@ import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.AsyncHttpClientConfig;
 import com.ning.http.client.Realm;
 import com.ning.http.client.Request;
+import com.ning.http.client.RequestBuilder;
 import java.util.ArrayList;
 import java.util.concurrent.Callable;
 import org.opendaylight.netconf.test.tool.client.http.perf.RestPerfClient.DestToPayload;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
 import org.opendaylight.netconf.test.tool.client.stress.ExecutionStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +27,7 @@ public class PerfClientCallable implements Callable<Void>{
 
     private final Parameters params;
     private final ArrayList<Request> payloads;
+    private final ArrayList<String> operations;
     private final AsyncHttpClient asyncHttpClient;
     private ExecutionStrategy executionStrategy;
 
@@ -36,13 +39,18 @@ public class PerfClientCallable implements Callable<Void>{
                 .setAllowPoolingConnections(true)
                 .build());
         this.payloads = new ArrayList<>();
+        this.operations = new ArrayList<>();
         for (DestToPayload payload : payloads) {
-            AsyncHttpClient.BoundRequestBuilder requestBuilder = asyncHttpClient.preparePost(payload.getDestination())
-                    .addHeader("content-type", "application/json")
+            RequestBuilder requestBuilder = new RequestBuilder(payload.getType().getMethod())
+                    .setUrl(payload.getDestination())
                     .addHeader("Accept", "application/xml")
-                    .setBody(payload.getPayload())
                     .setRequestTimeout(Integer.MAX_VALUE);
 
+            if (payload.getPayload() != null) {
+                requestBuilder.addHeader("content-type", params.contentType)
+                        .setBody(payload.getPayload());
+            }
+
             if(params.auth != null) {
                 requestBuilder.setRealm(new Realm.RealmBuilder()
                         .setScheme(Realm.AuthScheme.BASIC)
@@ -53,14 +61,19 @@ public class PerfClientCallable implements Callable<Void>{
             }
 
             this.payloads.add(requestBuilder.build());
+            this.operations.add(payload.getType().getName());
         }
         executionStrategy = getExecutionStrategy();
     }
 
     private ExecutionStrategy getExecutionStrategy() {
         return params.async
-                ? new AsyncExecutionStrategy(params, asyncHttpClient, payloads)
-                : new SyncExecutionStrategy(params, asyncHttpClient, payloads);
+                ? new AsyncExecutionStrategy(params, asyncHttpClient, payloads, operations)
+                : new SyncExecutionStrategy(params, asyncHttpClient, payloads, operations);
+    }
+
+    LatencyRecorder getRecorder() {
+        return executionStrategy.getRecorder();
     }
 
     @Override
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.http.perf;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Http method and destination of requests sent by the perf client, picked among other request types by weight.
+ * Specified as {@code METHOD,WEIGHT,DESTINATION}, e.g. {@code GET,8,/restconf/operational/...}.
+ */
+final class RequestType {
+
+    private static final Set<String> METHODS = ImmutableSet.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    private static final Set<String> METHODS_WITH_BODY = ImmutableSet.of("POST", "PUT", "PATCH");
+
+    private final String method;
+    private final int weight;
+    private final String destination;
+
+    RequestType(final String method, final int weight, final String destination) {
+        Preconditions.checkArgument(METHODS.contains(method), "Unsupported method %s", method);
+        Preconditions.checkArgument(weight > 0, "Weight of %s must be greater than 0", destination);
+        Preconditions.checkArgument(destination.startsWith("/"), "Destination should start with a '/'");
+        this.method = method;
+        this.weight = weight;
+        this.destination = destination;
+    }
+
+    static RequestType parse(final String spec) {
+        final String[] parts = spec.split(",", 3);
+        Preconditions.checkArgument(parts.length == 3, "Request %s is not in format METHOD,WEIGHT,DESTINATION", spec);
+        return new RequestType(parts[0].trim().toUpperCase(Locale.ENGLISH), Integer.parseInt(parts[1].trim()),
+                parts[2].trim());
+    }
+
+    /**
+     * Pick a request type with probability proportional to its weight.
+     */
+    static RequestType pick(final List<RequestType> types, final Random random) {
+        int value = random.nextInt(totalWeight(types));
+        for (final RequestType type : types) {
+            value -= type.weight;
+            if (value < 0) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("No request type picked from " + types);
+    }
+
+    private static int totalWeight(final List<RequestType> types) {
+        int total = 0;
+        for (final RequestType type : types) {
+            total += type.weight;
+        }
+        return total;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getDestination() {
+        return destination;
+    }
+
+    boolean hasBody() {
+        return METHODS_WITH_BODY.contains(method);
+    }
+
+    /**
+     * @return name of this request type in results
+     */
+    String getName() {
+        return method + " " + destination;
+    }
+
+    @Override
+    public String toString() {
+        return method + "," + weight + "," + destination;
+    }
+}
@@ -14,6 +14,7 @@ import com.google.common.io.Files;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -22,6 +23,8 @@ import java.util.concurrent.TimeUnit;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import org.opendaylight.netconf.test.tool.TestToolUtils;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,14 +49,20 @@ public class RestPerfClient {
 
     static final class DestToPayload {
 
+        private final RequestType type;
         private final String destination;
         private final String payload;
 
-        public DestToPayload(String destination, String payload) {
+        public DestToPayload(RequestType type, String destination, String payload) {
+            this.type = type;
             this.destination = destination;
             this.payload = payload;
         }
 
+        public RequestType getType() {
+            return type;
+        }
+
         public String getDestination() {
             return destination;
         }
@@ -73,11 +82,16 @@ public class RestPerfClient {
             LOG.info("Throttling per thread: {}", throttle);
         }
 
-        final String editContentString;
-        try {
-            editContentString = Files.toString(parameters.editContent, Charsets.UTF_8);
-        } catch (final IOException e) {
-            throw new IllegalArgumentException("Cannot read content of " + parameters.editContent);
+        final List<RequestType> requestTypes = parameters.getRequestTypes();
+        LOG.info("Request types: {}", requestTypes);
+
+        String editContentString = "";
+        if (parameters.editContent.canRead()) {
+            try {
+                editContentString = Files.toString(parameters.editContent, Charsets.UTF_8);
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Cannot read content of " + parameters.editContent);
+            }
         }
 
         final int threadAmount = parameters.threadAmount;
@@ -87,40 +101,20 @@ public class RestPerfClient {
         final int leftoverRequests = parameters.editCount % parameters.threadAmount;
         LOG.info("leftoverRequests: {}", leftoverRequests);
 
+        final Random random = new Random();
         final ArrayList<ArrayList<DestToPayload>> allThreadsPayloads = new ArrayList<>();
         for (int i = 0; i < threadAmount; i++) {
             final ArrayList<DestToPayload> payloads = new ArrayList<>();
-            for (int j = 0; j < requestsPerThread; j++) {
-                final int devicePort = parameters.sameDevice ? parameters.devicePortRangeStart : parameters.devicePortRangeStart + i;
-                final StringBuilder destBuilder = new StringBuilder(dest);
-                destBuilder.replace(destBuilder.indexOf(HOST_KEY), destBuilder.indexOf(HOST_KEY) + HOST_KEY.length(), parameters.ip)
-                        .replace(destBuilder.indexOf(PORT_KEY), destBuilder.indexOf(PORT_KEY) + PORT_KEY.length(), parameters.port + "");
-                final StringBuilder suffixBuilder = new StringBuilder(parameters.destination);
-                if (suffixBuilder.indexOf(DEVICE_PORT_KEY) != -1) {
-                    suffixBuilder.replace(suffixBuilder.indexOf(DEVICE_PORT_KEY), suffixBuilder.indexOf(DEVICE_PORT_KEY) + DEVICE_PORT_KEY.length(), devicePort + "");
-                }
-                destBuilder.append(suffixBuilder);
-
-                payloads.add(new DestToPayload(destBuilder.toString(), prepareMessage(i, j, editContentString, devicePort)));
+            final int devicePort = parameters.sameDevice ? parameters.devicePortRangeStart : parameters.devicePortRangeStart + i;
+            final int requestCount = requestsPerThread + (i == threadAmount - 1 ? leftoverRequests : 0);
+            for (int j = 0; j < requestCount; j++) {
+                final RequestType type = RequestType.pick(requestTypes, random);
+                final String payload = type.hasBody() ? prepareMessage(i, j, editContentString, devicePort) : null;
+                payloads.add(new DestToPayload(type, prepareDestination(parameters, type, devicePort), payload));
             }
             allThreadsPayloads.add(payloads);
         }
 
-        for (int i = 0; i < leftoverRequests; i++) {
-            ArrayList<DestToPayload> payloads = allThreadsPayloads.get(allThreadsPayloads.size() - 1);
-
-            final int devicePort = parameters.sameDevice ? parameters.devicePortRangeStart : parameters.devicePortRangeStart + threadAmount - 1;
-            final StringBuilder destBuilder = new StringBuilder(dest);
-            destBuilder.replace(destBuilder.indexOf(HOST_KEY), destBuilder.indexOf(HOST_KEY) + HOST_KEY.length(), parameters.ip)
-                    .replace(destBuilder.indexOf(PORT_KEY), destBuilder.indexOf(PORT_KEY) + PORT_KEY.length(), parameters.port + "");
-            final StringBuilder suffixBuilder = new StringBuilder(parameters.destination);
-            if (suffixBuilder.indexOf(DEVICE_PORT_KEY) != -1) {
-                suffixBuilder.replace(suffixBuilder.indexOf(DEVICE_PORT_KEY), suffixBuilder.indexOf(DEVICE_PORT_KEY) + DEVICE_PORT_KEY.length(), devicePort + "");
-            }
-            destBuilder.append(suffixBuilder);
-            payloads.add(new DestToPayload(destBuilder.toString(), prepareMessage(threadAmount - 1, requestsPerThread + i, editContentString, devicePort)));
-        }
-
         final ArrayList<PerfClientCallable> callables = new ArrayList<>();
         for (ArrayList<DestToPayload> payloads : allThreadsPayloads) {
             callables.add(new PerfClientCallable(parameters, payloads));
@@ -160,6 +154,7 @@ public class RestPerfClient {
         if(allThreadsCompleted) {
             LOG.info("Requests per second: {}", (parameters.editCount * 1000.0 / started.elapsed(TimeUnit.MILLISECONDS)));
         }
+        reportLatency(parameters, callables);
         System.exit(0);
     }
 
@@ -176,6 +171,35 @@ public class RestPerfClient {
         return null;
     }
 
+    private static void reportLatency(final Parameters parameters, final List<PerfClientCallable> callables) {
+        final List<LatencyRecorder> recorders = new ArrayList<>(callables.size());
+        for (final PerfClientCallable callable : callables) {
+            recorders.add(callable.getRecorder());
+        }
+
+        final LatencyReport report = LatencyRecorder.report(recorders);
+        report.log(LOG);
+        if (parameters.resultsFile != null) {
+            try {
+                report.write(parameters.resultsFile, LatencyReport.Format.forName(parameters.resultsFormat));
+                LOG.info("Results written to {}", parameters.resultsFile);
+            } catch (final IOException e) {
+                LOG.warn("Unable to write results to {}", parameters.resultsFile, e);
+            }
+        }
+    }
+
+    private static String prepareDestination(final Parameters parameters, final RequestType type, final int devicePort) {
+        final StringBuilder destBuilder = new StringBuilder(dest);
+        destBuilder.replace(destBuilder.indexOf(HOST_KEY), destBuilder.indexOf(HOST_KEY) + HOST_KEY.length(), parameters.ip)
+                .replace(destBuilder.indexOf(PORT_KEY), destBuilder.indexOf(PORT_KEY) + PORT_KEY.length(), parameters.port + "");
+        final StringBuilder suffixBuilder = new StringBuilder(type.getDestination());
+        if (suffixBuilder.indexOf(DEVICE_PORT_KEY) != -1) {
+            suffixBuilder.replace(suffixBuilder.indexOf(DEVICE_PORT_KEY), suffixBuilder.indexOf(DEVICE_PORT_KEY) + DEVICE_PORT_KEY.length(), devicePort + "");
+        }
+        return destBuilder.append(suffixBuilder).toString();
+    }
+
     private static String prepareMessage(final int idi, final int idj, final String editContentString, final int devicePort) {
         StringBuilder messageBuilder = new StringBuilder(editContentString);
         if (editContentString.contains(PEER_KEY)) {
@@ -10,41 +10,29 @@ package org.opendaylight.netconf.test.tool.client.http.perf;
 
 import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.Request;
-import com.ning.http.client.Response;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
-import org.opendaylight.netconf.test.tool.client.stress.ExecutionStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class SyncExecutionStrategy implements ExecutionStrategy {
+public class SyncExecutionStrategy extends AbstractExecutionStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(SyncExecutionStrategy.class);
 
-    private final Parameters params;
-    private final ArrayList<Request> payloads;
-    private final AsyncHttpClient asyncHttpClient;
-
-    SyncExecutionStrategy(final Parameters params, final AsyncHttpClient asyncHttpClient, final ArrayList<Request> payloads) {
-        this.params = params;
-        this.asyncHttpClient = asyncHttpClient;
-        this.payloads = payloads;
+    SyncExecutionStrategy(final Parameters params, final AsyncHttpClient asyncHttpClient, final ArrayList<Request> payloads,
+                          final List<String> operations) {
+        super(params, asyncHttpClient, payloads, operations, 0);
     }
 
     @Override
     public void invoke() {
 
         LOG.info("Begin sending sync requests");
-        for (Request request : payloads) {
+        for (int i = 0; i < getRequestCount(); i++) {
             try {
-                Response response = asyncHttpClient.executeRequest(request).get();
-                if (response.getStatusCode() != 200 && response.getStatusCode() != 204) {
-                    LOG.warn("Status code: {}", response.getStatusCode());
-                    LOG.warn("url: {}", request.getUrl());
-                    LOG.warn(response.getResponseBody());
-                }
-            } catch (InterruptedException | ExecutionException | IOException e) {
+                execute(i).get();
+            } catch (InterruptedException | ExecutionException e) {
                 LOG.warn(e.toString());
             }
         }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds, with buckets growing exponentially in the same way as in HdrHistogram. Every
+ * power of two range is split into 64 linear buckets, so that any recorded value is reported with relative error
+ * below 2% while the histogram has a fixed size regardless of the number and range of recorded values.
+ *
+ * <p>
+ * Values can be recorded concurrently, e.g. from the threads completing the requests. Statistics are meant to be read
+ * after recording is finished.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void recordValue(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Add all values recorded by another histogram to this one.
+     *
+     * @param other histogram to add
+     */
+    public void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalValue.addAndGet(other.totalValue.get());
+
+        final long otherMax = other.maxValue.get();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        final long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * Value at given percentile, i.e. the highest value recorded in the bucket, where the given percentage of all
+     * recorded values is reached.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at given percentile or 0 if no values were recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    private static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + subBucket - SUB_BUCKET_HALF;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int offset = index - SUB_BUCKET_COUNT;
+        final int shift = offset / SUB_BUCKET_HALF + 1;
+        final long lowest = (long) (offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.stats;
+
+import com.google.common.base.Optional;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces requests sent by a single sender and records their latency per operation.
+ *
+ * <p>
+ * Every request is announced by {@link #begin(int)} before it is sent and finished by exactly one
+ * {@link #end(String, int, long, boolean)} once its response arrives, possibly from another thread. Requests with
+ * sequence number lower than the warm-up count are not recorded.
+ *
+ * <p>
+ * With a target rate set, requests are sent at their scheduled time regardless of responses (open loop) and latency is
+ * measured from that scheduled time, even if the request was actually sent later because of a full in-flight window or
+ * a slow previous response. Measuring from the actual send time would hide exactly the delays caused by an overloaded
+ * server.
+ */
+public final class LatencyRecorder {
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong measurementEnd = new AtomicLong(Long.MIN_VALUE);
+    private final Optional<Semaphore> inFlight;
+    private final long sendInterval;
+    private final int warmup;
+
+    // Accessed only by the sending thread
+    private long scheduleStart = -1;
+    private volatile long measurementStart = Long.MAX_VALUE;
+
+    /**
+     * @param rate target rate of requests per second, 0 to send requests as fast as possible
+     * @param maxInFlight maximum number of requests waiting for response, 0 for unlimited
+     * @param warmup number of requests not recorded
+     */
+    public LatencyRecorder(final double rate, final int maxInFlight, final int warmup) {
+        this.sendInterval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        this.inFlight = maxInFlight > 0 ? Optional.of(new Semaphore(maxInFlight)) : Optional.<Semaphore>absent();
+        this.warmup = warmup;
+    }
+
+    /**
+     * Wait until request can be sent, i.e. until its scheduled time and until there is space in the in-flight window.
+     *
+     * @param sequence sequence number of the request
+     * @return start time of the request to be passed to {@link #end(String, int, long, boolean)}
+     */
+    public long begin(final int sequence) {
+        final long intendedStart = sendInterval > 0 ? waitForSchedule(sequence) : 0;
+        if (inFlight.isPresent()) {
+            inFlight.get().acquireUninterruptibly();
+        }
+
+        final long start = sendInterval > 0 ? intendedStart : System.nanoTime();
+        if (sequence >= warmup && measurementStart == Long.MAX_VALUE) {
+            measurementStart = start;
+        }
+        return start;
+    }
+
+    public void end(final String operation, final int sequence, final long start, final boolean successful) {
+        final long end = System.nanoTime();
+        if (inFlight.isPresent()) {
+            inFlight.get().release();
+        }
+        if (sequence < warmup) {
+            return;
+        }
+
+        if (successful) {
+            getLatency(operation).recordValue(end - start);
+        } else {
+            getCounter(errors, operation).incrementAndGet();
+        }
+
+        long last = measurementEnd.get();
+        while (end > last && !measurementEnd.compareAndSet(last, end)) {
+            last = measurementEnd.get();
+        }
+    }
+
+    /**
+     * Increment a counter of events not tied to the latency of a single operation, e.g. response status codes.
+     * Counters are reported regardless of warm-up.
+     *
+     * @param counter name of the counter
+     */
+    public void increment(final String counter) {
+        getCounter(counters, counter).incrementAndGet();
+    }
+
+    private long waitForSchedule(final int sequence) {
+        if (scheduleStart < 0) {
+            scheduleStart = System.nanoTime();
+        }
+
+        final long scheduled = scheduleStart + sequence * sendInterval;
+        long remaining = scheduled - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = scheduled - System.nanoTime();
+        }
+        return scheduled;
+    }
+
+    private LatencyHistogram getLatency(final String operation) {
+        final LatencyHistogram existing = latencies.get(operation);
+        if (existing != null) {
+            return existing;
+        }
+        final LatencyHistogram created = new LatencyHistogram();
+        final LatencyHistogram raced = latencies.putIfAbsent(operation, created);
+        return raced != null ? raced : created;
+    }
+
+    private static AtomicLong getCounter(final ConcurrentMap<String, AtomicLong> counters, final String name) {
+        final AtomicLong existing = counters.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong raced = counters.putIfAbsent(name, created);
+        return raced != null ? raced : created;
+    }
+
+    /**
+     * Merge results of all recorders into a single report. Time measured is from the first recorded request sent by
+     * any recorder to the last response received by any recorder.
+     *
+     * @param recorders recorders of all senders
+     * @return report with operations in alphabetical order
+     */
+    public static LatencyReport report(final Collection<LatencyRecorder> recorders) {
+        final Map<String, LatencyHistogram> mergedLatencies = new TreeMap<>();
+        final Map<String, Long> mergedErrors = new TreeMap<>();
+        final Map<String, Long> mergedCounters = new TreeMap<>();
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+
+        for (final LatencyRecorder recorder : recorders) {
+            for (final Map.Entry<String, LatencyHistogram> entry : recorder.latencies.entrySet()) {
+                LatencyHistogram merged = mergedLatencies.get(entry.getKey());
+                if (merged == null) {
+                    merged = new LatencyHistogram();
+                    mergedLatencies.put(entry.getKey(), merged);
+                }
+                merged.add(entry.getValue());
+            }
+            addAll(mergedErrors, recorder.errors);
+            addAll(mergedCounters, recorder.counters);
+            start = Math.min(start, recorder.measurementStart);
+            end = Math.max(end, recorder.measurementEnd.get());
+        }
+
+        final LatencyReport report = new LatencyReport(end > start ? end - start : 0);
+        for (final String operation : mergedErrors.keySet()) {
+            if (!mergedLatencies.containsKey(operation)) {
+                mergedLatencies.put(operation, new LatencyHistogram());
+            }
+        }
+        for (final Map.Entry<String, LatencyHistogram> entry : mergedLatencies.entrySet()) {
+            final Long operationErrors = mergedErrors.get(entry.getKey());
+            report.addOperation(entry.getKey(), entry.getValue(), operationErrors == null ? 0 : operationErrors);
+        }
+        for (final Map.Entry<String, Long> entry : mergedCounters.entrySet()) {
+            report.addCounter(entry.getKey(), entry.getValue());
+        }
+        return report;
+    }
+
+    private static void addAll(final Map<String, Long> merged, final Map<String, AtomicLong> counters) {
+        for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            final Long previous = merged.get(entry.getKey());
+            merged.put(entry.getKey(), (previous == null ? 0 : previous) + entry.getValue().get());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.stats;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+
+/**
+ * Results of a test run: latency histograms and error counts of executed operations and any additional counters,
+ * together with the measured time. Can be logged or written to a file in CSV or JSON format.
+ */
+public final class LatencyReport {
+
+    public enum Format {
+        CSV, JSON;
+
+        public static Format forName(final String name) {
+            return valueOf(name.toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final class Operation {
+        final LatencyHistogram latency;
+        final long errors;
+
+        Operation(final LatencyHistogram latency, final long errors) {
+            this.latency = latency;
+            this.errors = errors;
+        }
+    }
+
+    private final long elapsedNanos;
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    /**
+     * @param elapsedNanos duration of the measured part of the run, used to compute throughput
+     */
+    public LatencyReport(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LatencyReport addOperation(final String name, final LatencyHistogram latency, final long errors) {
+        operations.put(name, new Operation(latency, errors));
+        return this;
+    }
+
+    public LatencyReport addCounter(final String name, final long value) {
+        counters.put(name, value);
+        return this;
+    }
+
+    public void log(final Logger log) {
+        log.info("Measured time: {} ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        for (final Map.Entry<String, Operation> entry : operations.entrySet()) {
+            final LatencyHistogram latency = entry.getValue().latency;
+            log.info("{}: {} ok, {} failed, {} per second, latency [us] mean {}, p50 {}, p90 {}, p99 {}, p99.9 {}, "
+                    + "max {}", entry.getKey(), latency.getCount(), entry.getValue().errors,
+                    format(throughput(latency)), format(latency.getMean() / 1000), micros(latency, 50),
+                    micros(latency, 90), micros(latency, 99), micros(latency, 99.9), latency.getMax() / 1000);
+        }
+        for (final Map.Entry<String, Long> entry : counters.entrySet()) {
+            log.info("{}: {}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void write(final File file, final Format format) throws IOException {
+        Files.write(format == Format.CSV ? toCsv() : toJson(), file, Charsets.UTF_8);
+    }
+
+    private String toCsv() {
+        final StringBuilder sb = new StringBuilder("operation,count,errors,elapsed_ms,throughput,mean_us");
+        for (final double percentile : PERCENTILES) {
+            sb.append(",p").append(percentileName(percentile)).append("_us");
+        }
+        sb.append(",max_us\n");
+
+        for (final Map.Entry<String, Operation> entry : operations.entrySet()) {
+            final LatencyHistogram latency = entry.getValue().latency;
+            sb.append(entry.getKey())
+                    .append(',').append(latency.getCount())
+                    .append(',').append(entry.getValue().errors)
+                    .append(',').append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .append(',').append(format(throughput(latency)))
+                    .append(',').append(format(latency.getMean() / 1000));
+            for (final double percentile : PERCENTILES) {
+                sb.append(',').append(micros(latency, percentile));
+            }
+            sb.append(',').append(latency.getMax() / 1000).append('\n');
+        }
+
+        if (!counters.isEmpty()) {
+            sb.append("\ncounter,value\n");
+            for (final Map.Entry<String, Long> entry : counters.entrySet()) {
+                sb.append(entry.getKey()).append(',').append(entry.getValue()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private String toJson() {
+        final StringBuilder sb = new StringBuilder("{\n  \"elapsed-ms\": ")
+                .append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(",\n  \"operations\": {");
+
+        String separator = "\n";
+        for (final Map.Entry<String, Operation> entry : operations.entrySet()) {
+            final LatencyHistogram latency = entry.getValue().latency;
+            sb.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"count\": ").append(latency.getCount())
+                    .append(", \"errors\": ").append(entry.getValue().errors)
+                    .append(", \"throughput\": ").append(format(throughput(latency)))
+                    .append(", \"latency-us\": {\"mean\": ").append(format(latency.getMean() / 1000));
+            for (final double percentile : PERCENTILES) {
+                sb.append(", \"p").append(percentileName(percentile)).append("\": ")
+                        .append(micros(latency, percentile));
+            }
+            sb.append(", \"max\": ").append(latency.getMax() / 1000).append("}}");
+            separator = ",\n";
+        }
+
+        sb.append("\n  },\n  \"counters\": {");
+        separator = "\n";
+        for (final Map.Entry<String, Long> entry : counters.entrySet()) {
+            sb.append(separator).append("    \"").append(entry.getKey()).append("\": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        return sb.append("\n  }\n}\n").toString();
+    }
+
+    private double throughput(final LatencyHistogram latency) {
+        return elapsedNanos == 0 ? 0 : latency.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private static long micros(final LatencyHistogram latency, final double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000;
+    }
+
+    private static String percentileName(final double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static String format(final double value) {
+        return String.format(Locale.ENGLISH, "%.2f", value);
+    }
+}
@@ -9,23 +9,35 @@
 package org.opendaylight.netconf.test.tool.client.stress;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.RpcResult;
 
 abstract class AbstractExecutionStrategy implements ExecutionStrategy {
+    private static final String EDIT_OPERATION = "edit-config";
+
     private final Parameters params;
     private final List<NetconfMessage> preparedMessages;
     private final NetconfDeviceCommunicator sessionListener;
     private final List<Integer> editBatches;
     private final int editAmount;
 
+    private final LatencyRecorder recorder;
+
     public AbstractExecutionStrategy(final Parameters params, final List<NetconfMessage> editConfigMsgs, final NetconfDeviceCommunicator sessionListener) {
         editAmount = editConfigMsgs.size();
         this.params = params;
         this.preparedMessages = editConfigMsgs;
         this.sessionListener = sessionListener;
         this.editBatches = countEditBatchSizes(params, editConfigMsgs.size());
+        // Every thread gets an equal share of the target rate
+        this.recorder = new LatencyRecorder(params.rate / params.threadAmount, params.maxInFlight, params.warmupEdits);
     }
 
     private static List<Integer> countEditBatchSizes(final Parameters params, final int amount) {
@@ -45,6 +57,32 @@ abstract class AbstractExecutionStrategy implements ExecutionStrategy {
         return editBatches;
     }
 
+    /**
+     * Send edit request and record its latency once the response arrives.
+     *
+     * @param msgId sequence number of the edit within this thread
+     */
+    protected ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final int msgId, final NetconfMessage msg, final QName rpc) {
+        final long start = recorder.begin(msgId);
+        final ListenableFuture<RpcResult<NetconfMessage>> future = sessionListener.sendRequest(msg, rpc);
+        Futures.addCallback(future, new FutureCallback<RpcResult<NetconfMessage>>() {
+            @Override
+            public void onSuccess(final RpcResult<NetconfMessage> result) {
+                recorder.end(EDIT_OPERATION, msgId, start, result.isSuccessful());
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                recorder.end(EDIT_OPERATION, msgId, start, false);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
 
     protected Parameters getParams() {
         return params;
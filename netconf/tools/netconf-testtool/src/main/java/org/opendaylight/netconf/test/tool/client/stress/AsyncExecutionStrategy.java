@@ -45,7 +45,7 @@ class AsyncExecutionStrategy extends AbstractExecutionStrategy {
                     LOG.debug("Sending message {}", XmlUtil.toString(msg.getDocument()));
                 }
                 final ListenableFuture<RpcResult<NetconfMessage>> netconfMessageFuture =
-                        getSessionListener().sendRequest(msg, StressClient.EDIT_QNAME);
+                        sendRequest(msgId, msg, StressClient.EDIT_QNAME);
                 futures.add(netconfMessageFuture);
             }
             batchI++;
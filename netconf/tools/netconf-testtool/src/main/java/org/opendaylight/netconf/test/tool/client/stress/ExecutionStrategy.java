@@ -8,9 +8,16 @@
 
 package org.opendaylight.netconf.test.tool.client.stress;
 
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+
 /**
  * Created by mmarsale on 18.4.2015.
  */
 public interface ExecutionStrategy {
     void invoke();
+
+    /**
+     * @return latencies of requests sent by this strategy
+     */
+    LatencyRecorder getRecorder();
 }
@@ -67,6 +67,27 @@ public class Parameters {
     @Arg(dest = "thread-amount")
     public int threadAmount;
 
+    @Arg(dest = "rate")
+    public double rate;
+
+    @Arg(dest = "max-in-flight")
+    public int maxInFlight;
+
+    @Arg(dest = "warmup-edits")
+    public int warmupEdits;
+
+    @Arg(dest = "results-file")
+    public File resultsFile;
+
+    @Arg(dest = "results-format")
+    public String resultsFormat;
+
+    @Arg(dest = "scenario")
+    public File scenario;
+
+    @Arg(dest = "sessions-per-thread")
+    public int sessionsPerThread;
+
     static ArgumentParser getParser() {
         final ArgumentParser parser = ArgumentParsers.newArgumentParser("netconf stress client");
 
@@ -163,6 +184,53 @@ public class Parameters {
                 .setDefault(1)
                 .dest("thread-amount");
 
+        parser.addArgument("--rate")
+                .type(Double.class)
+                .setDefault(0.0)
+                .help("Target rate of requests per second summed over all threads. Requests are sent on schedule "
+                        + "regardless of responses (open loop) and latency is measured from the scheduled send time. "
+                        + "Defaults to 0, sending requests as fast as possible (closed loop).")
+                .dest("rate");
+
+        parser.addArgument("--max-in-flight")
+                .type(Integer.class)
+                .setDefault(0)
+                .help("Maximum number of requests waiting for response per thread in async mode. "
+                        + "Defaults to 0, unlimited.")
+                .dest("max-in-flight");
+
+        parser.addArgument("--warmup-edits")
+                .type(Integer.class)
+                .setDefault(0)
+                .help("Number of edits sent by every thread before latency recording starts")
+                .dest("warmup-edits");
+
+        parser.addArgument("--results-file")
+                .type(File.class)
+                .required(false)
+                .help("File to write throughput and latency percentiles to")
+                .dest("results-file");
+
+        parser.addArgument("--results-format")
+                .type(String.class)
+                .choices("csv", "json")
+                .setDefault("csv")
+                .help("Format of the results file")
+                .dest("results-format");
+
+        parser.addArgument("--scenario")
+                .type(File.class)
+                .required(false)
+                .help("Xml file with weighted mix of operations to execute instead of edit-config. "
+                        + "The edits parameter is then the number of operations.")
+                .dest("scenario");
+
+        parser.addArgument("--sessions-per-thread")
+                .type(Integer.class)
+                .setDefault(1)
+                .help("Number of sessions every thread spreads its scenario operations over")
+                .dest("sessions-per-thread");
+
         return parser;
     }
 
@@ -175,11 +243,20 @@ public class Parameters {
             Preconditions.checkArgument(editBatchSize <= editCount, "Edit count =< 0");
         }
 
-        Preconditions.checkArgument(editContent.exists(), "Edit content file missing");
-        Preconditions.checkArgument(editContent.isDirectory() == false, "Edit content file is a dir");
-        Preconditions.checkArgument(editContent.canRead(), "Edit content file is unreadable");
+        if (scenario != null) {
+            Preconditions.checkArgument(scenario.isFile() && scenario.canRead(), "Scenario file is unreadable");
+            Preconditions.checkArgument(sessionsPerThread > 0, "Parameter sessions-per-thread must be greater than 0");
+        } else {
+            Preconditions.checkArgument(editContent.exists(), "Edit content file missing");
+            Preconditions.checkArgument(editContent.isDirectory() == false, "Edit content file is a dir");
+            Preconditions.checkArgument(editContent.canRead(), "Edit content file is unreadable");
+        }
         Preconditions.checkArgument(threadAmount > 0, "Parameter thread-amount must be greater than 0");
         Preconditions.checkArgument(msgTimeout >= 0, "Parameter msg-timeout must be greater than 0");
+        Preconditions.checkArgument(rate >= 0, "Parameter rate must not be negative");
+        Preconditions.checkArgument(maxInFlight >= 0, "Parameter max-in-flight must not be negative");
+        Preconditions.checkArgument(warmupEdits == 0 || warmupEdits > 0 && warmupEdits < editCount / threadAmount,
+                "Parameter warmup-edits must be lower than the number of edits per thread");
     }
 
     public InetSocketAddress getInetAddress() {
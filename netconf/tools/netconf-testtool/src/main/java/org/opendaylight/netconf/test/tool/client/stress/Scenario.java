@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.stress;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.test.tool.MessageTemplate;
+import org.xml.sax.SAXException;
+
+/**
+ * Weighted mix of operations executed by the stress client instead of the edit-config flow. Example:
+ *
+ * <pre>
+ * &lt;scenario&gt;
+ *     &lt;subscription&gt;
+ *         &lt;create-subscription xmlns="urn:ietf:params:xml:ns:netconf:notification:1.0"/&gt;
+ *     &lt;/subscription&gt;
+ *     &lt;operation name="get-interface" weight="8"&gt;
+ *         &lt;rpc&gt;
+ *             &lt;get xmlns="urn:ietf:params:xml:ns:netconf:base:1.0"&gt;
+ *                 &lt;filter type="subtree"&gt;
+ *                     &lt;interfaces xmlns="urn:ietf:params:xml:ns:yang:ietf-interfaces"&gt;
+ *                         &lt;interface&gt;&lt;name&gt;eth{RANDOM:1000}&lt;/name&gt;&lt;/interface&gt;
+ *                     &lt;/interfaces&gt;
+ *                 &lt;/filter&gt;
+ *             &lt;/get&gt;
+ *         &lt;/rpc&gt;
+ *     &lt;/operation&gt;
+ *     &lt;operation name="locked-edit" weight="2"&gt;
+ *         &lt;rpc&gt;&lt;lock&gt;...&lt;/lock&gt;&lt;/rpc&gt;
+ *         &lt;rpc&gt;&lt;edit-config&gt;...{MSG_ID}...&lt;/edit-config&gt;&lt;/rpc&gt;
+ *         &lt;rpc&gt;&lt;unlock&gt;...&lt;/unlock&gt;&lt;/rpc&gt;
+ *     &lt;/operation&gt;
+ * &lt;/scenario&gt;
+ * </pre>
+ *
+ * Every operation is picked with probability proportional to its weight. Rpcs of an operation are sent one after
+ * another in the same session, each once the previous one succeeded, and the latency of the whole sequence is recorded
+ * under the operation name. Rpc contents are {@link MessageTemplate}s. The optional subscription is sent once on every
+ * session before the operations start, notifications received afterwards are counted.
+ */
+final class Scenario {
+
+    static final class Operation {
+        private final String name;
+        private final List<MessageTemplate> rpcs;
+
+        Operation(final String name, final List<MessageTemplate> rpcs) {
+            this.name = name;
+            this.rpcs = rpcs;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        List<MessageTemplate> getRpcs() {
+            return rpcs;
+        }
+    }
+
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+    private final Optional<MessageTemplate> subscription;
+
+    private Scenario(final List<Operation> operations, final int[] cumulativeWeights,
+                     final Optional<MessageTemplate> subscription) {
+        this.operations = operations;
+        this.cumulativeWeights = cumulativeWeights;
+        this.subscription = subscription;
+    }
+
+    static Scenario load(final File file) {
+        final XmlElement root;
+        try (InputStream is = new FileInputStream(file)) {
+            root = XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(is));
+        } catch (final IOException | SAXException e) {
+            throw new IllegalArgumentException("Unable to read scenario " + file, e);
+        }
+
+        final ImmutableList.Builder<Operation> operations = ImmutableList.builder();
+        final List<XmlElement> operationElements = root.getChildElements("operation");
+        Preconditions.checkArgument(!operationElements.isEmpty(), "Scenario %s contains no operation", file);
+        final int[] cumulativeWeights = new int[operationElements.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operationElements.size(); i++) {
+            final XmlElement operationElement = operationElements.get(i);
+            final String name = operationElement.getAttribute("name");
+            Preconditions.checkArgument(!name.isEmpty(), "Operation without name in scenario %s", file);
+
+            final String weightAttribute = operationElement.getAttribute("weight");
+            final int weight = weightAttribute.isEmpty() ? 1 : Integer.parseInt(weightAttribute);
+            Preconditions.checkArgument(weight > 0, "Weight of operation %s must be greater than 0", name);
+            totalWeight += weight;
+            cumulativeWeights[i] = totalWeight;
+
+            final ImmutableList.Builder<MessageTemplate> rpcs = ImmutableList.builder();
+            for (final XmlElement rpcElement : operationElement.getChildElements("rpc")) {
+                rpcs.add(toTemplate(rpcElement, name));
+            }
+            final List<MessageTemplate> templates = rpcs.build();
+            Preconditions.checkArgument(!templates.isEmpty(), "Operation %s contains no rpc", name);
+            operations.add(new Operation(name, templates));
+        }
+
+        final Optional<XmlElement> subscription = root.getOnlyChildElementOptionally("subscription");
+        return new Scenario(operations.build(), cumulativeWeights, subscription.isPresent()
+                ? Optional.of(toTemplate(subscription.get(), "subscription")) : Optional.<MessageTemplate>absent());
+    }
+
+    private static MessageTemplate toTemplate(final XmlElement element, final String operation) {
+        final List<XmlElement> content = element.getChildElements();
+        Preconditions.checkArgument(content.size() == 1, "Rpc of %s must contain exactly one element", operation);
+        return MessageTemplate.create(XmlUtil.toString(content.get(0).getDomElement()));
+    }
+
+    Operation pick(final Random random) {
+        final int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        final int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+        return operations.get(index >= 0 ? index : -index - 1);
+    }
+
+    Optional<MessageTemplate> getSubscription() {
+        return subscription;
+    }
+}
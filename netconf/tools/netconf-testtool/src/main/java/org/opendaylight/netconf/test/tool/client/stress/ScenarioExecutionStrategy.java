@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.client.stress;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.test.tool.MessageTemplate;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes operations picked from a {@link Scenario}, spread round-robin over all sessions of a thread. In async mode
+ * operations are not waiting for previous ones to finish.
+ */
+class ScenarioExecutionStrategy implements ExecutionStrategy {
+    private static final Logger LOG = LoggerFactory.getLogger(ScenarioExecutionStrategy.class);
+
+    // Not used by the communicator, replies are matched by message-id
+    private static final QName SCENARIO_RPC_QNAME = QName.create("urn:opendaylight:netconf:stress", "scenario");
+
+    private final Parameters params;
+    private final Scenario scenario;
+    private final List<NetconfDeviceCommunicator> sessions;
+    private final int firstMsgId;
+    private final int operationCount;
+    private final LatencyRecorder recorder;
+    private final Random random = new Random();
+
+    ScenarioExecutionStrategy(final Parameters params, final Scenario scenario,
+                              final List<NetconfDeviceCommunicator> sessions, final int firstMsgId,
+                              final int operationCount) {
+        this.params = params;
+        this.scenario = scenario;
+        this.sessions = sessions;
+        this.firstMsgId = firstMsgId;
+        this.operationCount = operationCount;
+        // Every thread gets an equal share of the target rate
+        this.recorder = new LatencyRecorder(params.rate / params.threadAmount, params.maxInFlight, params.warmupEdits);
+    }
+
+    @Override
+    public void invoke() {
+        subscribe();
+
+        final List<ListenableFuture<Boolean>> pending = Lists.newArrayList();
+        for (int seq = 0; seq < operationCount; seq++) {
+            final int msgId = firstMsgId + seq;
+            final int session = seq % sessions.size();
+            final Scenario.Operation operation = scenario.pick(random);
+
+            // Render before the request is started, template processing is not part of the latency
+            final List<NetconfMessage> messages = Lists.newArrayListWithCapacity(operation.getRpcs().size());
+            for (final MessageTemplate rpc : operation.getRpcs()) {
+                messages.add(rpc.renderRpc(msgId + "-" + messages.size(), msgId, seq, session));
+            }
+
+            final int sequence = seq;
+            final long start = recorder.begin(sequence);
+            final ListenableFuture<Boolean> result = execute(sessions.get(session), messages, 0);
+            Futures.addCallback(result, new FutureCallback<Boolean>() {
+                @Override
+                public void onSuccess(final Boolean successful) {
+                    recorder.end(operation.getName(), sequence, start, successful);
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    recorder.end(operation.getName(), sequence, start, false);
+                }
+            });
+
+            if (params.async) {
+                pending.add(result);
+            } else {
+                waitForResult(result);
+            }
+        }
+
+        LOG.info("All operations sent. Waiting for responses");
+        for (final ListenableFuture<Boolean> result : pending) {
+            waitForResult(result);
+        }
+    }
+
+    private void subscribe() {
+        final Optional<MessageTemplate> subscription = scenario.getSubscription();
+        if (!subscription.isPresent()) {
+            return;
+        }
+
+        for (int i = 0; i < sessions.size(); i++) {
+            final NetconfMessage msg = subscription.get().renderRpc("subscription-" + firstMsgId + "-" + i, firstMsgId, 0, i);
+            final ListenableFuture<RpcResult<NetconfMessage>> reply = sessions.get(i).sendRequest(msg, SCENARIO_RPC_QNAME);
+            try {
+                final RpcResult<NetconfMessage> result = reply.get(params.msgTimeout, TimeUnit.SECONDS);
+                if (!result.isSuccessful()) {
+                    LOG.warn("Subscription failed {}", result.getErrors());
+                }
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (final ExecutionException | TimeoutException e) {
+                throw new RuntimeException("Subscription not finished", e);
+            }
+        }
+    }
+
+    /**
+     * Send rpcs of an operation one after another, stopping at the first failed one.
+     */
+    private static ListenableFuture<Boolean> execute(final NetconfDeviceCommunicator session,
+                                                     final List<NetconfMessage> messages, final int index) {
+        final ListenableFuture<RpcResult<NetconfMessage>> reply =
+                session.sendRequest(messages.get(index), SCENARIO_RPC_QNAME);
+        return Futures.transform(reply, new AsyncFunction<RpcResult<NetconfMessage>, Boolean>() {
+            @Override
+            public ListenableFuture<Boolean> apply(final RpcResult<NetconfMessage> result) {
+                if (!result.isSuccessful()) {
+                    LOG.debug("Request failed {}", result.getErrors());
+                    return Futures.immediateFuture(false);
+                }
+                if (index + 1 == messages.size()) {
+                    return Futures.immediateFuture(true);
+                }
+                return execute(session, messages, index + 1);
+            }
+        });
+    }
+
+    private void waitForResult(final ListenableFuture<Boolean> result) {
+        try {
+            result.get(params.msgTimeout, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (final ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Operation not finished", e);
+        }
+    }
+
+    @Override
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+}
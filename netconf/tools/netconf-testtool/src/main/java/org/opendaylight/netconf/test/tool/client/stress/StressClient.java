@@ -24,6 +24,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
@@ -34,6 +35,8 @@ import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.test.tool.TestToolUtils;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyRecorder;
+import org.opendaylight.netconf.test.tool.client.stats.LatencyReport;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.base._1._0.rev110601.CommitInput;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.base._1._0.rev110601.EditConfigInput;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -116,45 +119,24 @@ public final class StressClient {
         LOG.info("leftoverRequests: " + leftoverRequests);
 
 
-        LOG.info("Preparing messages");
-        // Prepare all msgs up front
-        final List<List<NetconfMessage>> allPreparedMessages = new ArrayList<>(threadAmount);
-        for (int i = 0; i < threadAmount; i++) {
-            if (i != threadAmount - 1) {
-                allPreparedMessages.add(new ArrayList<NetconfMessage>(requestsPerThread));
-            } else {
-                allPreparedMessages.add(new ArrayList<NetconfMessage>(requestsPerThread + leftoverRequests));
-            }
-        }
-
-
-        final String editContentString;
-        try {
-            editContentString = Files.toString(params.editContent, Charsets.UTF_8);
-        } catch (final IOException e) {
-            throw new IllegalArgumentException("Cannot read content of " + params.editContent);
-        }
-
-        for (int i = 0; i < threadAmount; i++) {
-            final List<NetconfMessage> preparedMessages = allPreparedMessages.get(i);
-            int padding = 0;
-            if (i == threadAmount - 1) {
-                padding = leftoverRequests;
-            }
-            for (int j = 0; j < requestsPerThread + padding; j++) {
-                LOG.debug("id: " + (i * requestsPerThread + j));
-                preparedMessages.add(prepareMessage(i * requestsPerThread + j, editContentString));
-            }
-        }
-
         final NioEventLoopGroup nioGroup = new NioEventLoopGroup();
         final Timer timer = new HashedWheelTimer();
 
         final NetconfClientDispatcherImpl netconfClientDispatcher = configureClientDispatcher(params, nioGroup, timer);
 
         final List<StressClientCallable> callables = new ArrayList<>(threadAmount);
-        for (final List<NetconfMessage> messages : allPreparedMessages) {
-            callables.add(new StressClientCallable(params, netconfClientDispatcher, messages));
+        if (params.scenario != null) {
+            // Scenario messages are rendered on the fly
+            final Scenario scenario = Scenario.load(params.scenario);
+            for (int i = 0; i < threadAmount; i++) {
+                final int operationCount = requestsPerThread + (i == threadAmount - 1 ? leftoverRequests : 0);
+                callables.add(new StressClientCallable(params, netconfClientDispatcher, scenario,
+                        i * requestsPerThread, operationCount));
+            }
+        } else {
+            for (final List<NetconfMessage> messages : prepareMessages(threadAmount, requestsPerThread, leftoverRequests)) {
+                callables.add(new StressClientCallable(params, netconfClientDispatcher, messages));
+            }
         }
 
         final ExecutorService executorService = Executors.newFixedThreadPool(threadAmount);
@@ -178,6 +160,7 @@ public final class StressClient {
 
         LOG.info("FINISHED. Execution time: {}", started);
         LOG.info("Requests per second: {}", (params.editCount * 1000.0 / started.elapsed(TimeUnit.MILLISECONDS)));
+        reportLatency(callables);
 
         // Cleanup
         timer.stop();
@@ -192,6 +175,65 @@ public final class StressClient {
         }
     }
 
+    private static List<List<NetconfMessage>> prepareMessages(final int threadAmount, final int requestsPerThread,
+                                                              final int leftoverRequests) {
+        LOG.info("Preparing messages");
+        // Prepare all msgs up front
+        final List<List<NetconfMessage>> allPreparedMessages = new ArrayList<>(threadAmount);
+        for (int i = 0; i < threadAmount; i++) {
+            if (i != threadAmount - 1) {
+                allPreparedMessages.add(new ArrayList<NetconfMessage>(requestsPerThread));
+            } else {
+                allPreparedMessages.add(new ArrayList<NetconfMessage>(requestsPerThread + leftoverRequests));
+            }
+        }
+
+
+        final String editContentString;
+        try {
+            editContentString = Files.toString(params.editContent, Charsets.UTF_8);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot read content of " + params.editContent);
+        }
+
+        for (int i = 0; i < threadAmount; i++) {
+            final List<NetconfMessage> preparedMessages = allPreparedMessages.get(i);
+            int padding = 0;
+            if (i == threadAmount - 1) {
+                padding = leftoverRequests;
+            }
+            for (int j = 0; j < requestsPerThread + padding; j++) {
+                LOG.debug("id: " + (i * requestsPerThread + j));
+                preparedMessages.add(prepareMessage(i * requestsPerThread + j, editContentString));
+            }
+        }
+        return allPreparedMessages;
+    }
+
+    private static void reportLatency(final List<StressClientCallable> callables) {
+        final List<LatencyRecorder> recorders = new ArrayList<>(callables.size());
+        long notifications = 0;
+        for (final StressClientCallable callable : callables) {
+            recorders.add(callable.getStrategy().getRecorder());
+            notifications += callable.getNotificationCount();
+        }
+
+        // Throughput is computed only from the part of the run after warm-up
+        final LatencyReport report = LatencyRecorder.report(recorders);
+        if (params.scenario != null) {
+            report.addCounter("notifications", notifications);
+        }
+        report.log(LOG);
+        if (params.resultsFile != null) {
+            try {
+                report.write(params.resultsFile, LatencyReport.Format.forName(params.resultsFormat));
+                LOG.info("Results written to {}", params.resultsFile);
+            } catch (final IOException e) {
+                LOG.warn("Unable to write results to {}", params.resultsFile, e);
+            }
+        }
+    }
+
     static NetconfMessage prepareMessage(final int id, final String editContentString) {
         final Document msg = XmlUtil.createDocumentCopy(params.candidateDatastore ? editCandidateBlueprint : editRunningBlueprint);
         msg.getDocumentElement().setAttribute("message-id", Integer.toString(id));
@@ -254,6 +296,8 @@ public final class StressClient {
 
 
     static class LoggingRemoteDevice implements RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> {
+        private final AtomicLong notificationCount = new AtomicLong();
+
         @Override
         public void onRemoteSessionUp(final NetconfSessionPreferences remoteSessionCapabilities, final NetconfDeviceCommunicator netconfDeviceCommunicator) {
             LOG.info("Session established");
@@ -271,7 +315,13 @@ public final class StressClient {
 
         @Override
         public void onNotification(final NetconfMessage notification) {
-            LOG.info("Notification received: {}", notification.toString());
+            // Subscribed scenarios may receive lots of notifications, these are only counted
+            notificationCount.incrementAndGet();
+            LOG.debug("Notification received: {}", notification);
+        }
+
+        long getNotificationCount() {
+            return notificationCount.get();
         }
     }
 
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.test.tool.client.stress;
 
 import io.netty.util.concurrent.GlobalEventExecutor;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -33,38 +34,79 @@ public class StressClientCallable implements Callable<Boolean>{
     private static final Logger LOG = LoggerFactory.getLogger(StressClientCallable.class);
 
     private Parameters params;
-    private final NetconfDeviceCommunicator sessionListener;
+    private final List<NetconfDeviceCommunicator> sessionListeners;
+    private final List<StressClient.LoggingRemoteDevice> remoteDevices;
     private final NetconfClientDispatcherImpl netconfClientDispatcher;
-    private final NetconfClientConfiguration cfg;
-    private final NetconfClientSession netconfClientSession;
+    private final List<NetconfClientSession> netconfClientSessions;
     private final ExecutionStrategy executionStrategy;
 
     public StressClientCallable(final Parameters params,
                                 final NetconfClientDispatcherImpl netconfClientDispatcher,
                                 final List<NetconfMessage> preparedMessages) {
+        this(params, netconfClientDispatcher, 1);
+        executionStrategy = getExecutionStrategy(params, preparedMessages, sessionListeners.get(0));
+    }
+
+    /**
+     * Executes a scenario over {@link Parameters#sessionsPerThread} sessions.
+     *
+     * @param firstMsgId number of the first operation executed by this callable
+     * @param operationCount number of operations executed by this callable
+     */
+    StressClientCallable(final Parameters params, final NetconfClientDispatcherImpl netconfClientDispatcher,
+                         final Scenario scenario, final int firstMsgId, final int operationCount) {
+        this(params, netconfClientDispatcher, params.sessionsPerThread);
+        executionStrategy = new ScenarioExecutionStrategy(params, scenario, sessionListeners, firstMsgId,
+                operationCount);
+    }
+
+    private StressClientCallable(final Parameters params, final NetconfClientDispatcherImpl netconfClientDispatcher,
+                                 final int sessionCount) {
         this.params = params;
-        this.sessionListener = getSessionListener(params.getInetAddress());
         this.netconfClientDispatcher = netconfClientDispatcher;
-        cfg = getNetconfClientConfiguration(this.params, this.sessionListener);
-
-        LOG.info("Connecting to netconf server {}:{}", params.ip, params.port);
-        try {
-            netconfClientSession = netconfClientDispatcher.createClient(cfg).get();
-        } catch (final InterruptedException e) {
-            throw new RuntimeException(e);
-        } catch (final ExecutionException e) {
-            throw new RuntimeException("Unable to connect", e);
+        this.sessionListeners = new ArrayList<>(sessionCount);
+        this.remoteDevices = new ArrayList<>(sessionCount);
+        this.netconfClientSessions = new ArrayList<>(sessionCount);
+
+        for (int i = 0; i < sessionCount; i++) {
+            final StressClient.LoggingRemoteDevice remoteDevice = new StressClient.LoggingRemoteDevice();
+            final NetconfDeviceCommunicator sessionListener = getSessionListener(params.getInetAddress(), remoteDevice);
+            final NetconfClientConfiguration cfg = getNetconfClientConfiguration(this.params, sessionListener);
+
+            LOG.info("Connecting to netconf server {}:{}", params.ip, params.port);
+            try {
+                netconfClientSessions.add(netconfClientDispatcher.createClient(cfg).get());
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (final ExecutionException e) {
+                throw new RuntimeException("Unable to connect", e);
+            }
+            sessionListeners.add(sessionListener);
+            remoteDevices.add(remoteDevice);
         }
-        executionStrategy = getExecutionStrategy(params, preparedMessages, sessionListener);
     }
 
     @Override
     public Boolean call() throws Exception {
         executionStrategy.invoke();
-        netconfClientSession.close();
+        for (final NetconfClientSession netconfClientSession : netconfClientSessions) {
+            netconfClientSession.close();
+        }
         return true;
     }
 
+    ExecutionStrategy getStrategy() {
+        return executionStrategy;
+    }
+
+    long getNotificationCount() {
+        long count = 0;
+        for (final StressClient.LoggingRemoteDevice remoteDevice : remoteDevices) {
+            count += remoteDevice.getNotificationCount();
+        }
+        return count;
+    }
+
     private static ExecutionStrategy getExecutionStrategy(final Parameters params, final List<NetconfMessage> preparedMessages, final NetconfDeviceCommunicator sessionListener) {
         if(params.async) {
             return new AsyncExecutionStrategy(params, preparedMessages, sessionListener);
@@ -73,8 +115,8 @@ public class StressClientCallable implements Callable<Boolean>{
         }
     }
 
-    private static NetconfDeviceCommunicator getSessionListener(final InetSocketAddress inetAddress) {
-        final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> loggingRemoteDevice = new StressClient.LoggingRemoteDevice();
+    private static NetconfDeviceCommunicator getSessionListener(final InetSocketAddress inetAddress,
+            final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> loggingRemoteDevice) {
         return new NetconfDeviceCommunicator(new RemoteDeviceId("secure-test", inetAddress), loggingRemoteDevice);
     }
 
@@ -42,7 +42,7 @@ class SyncExecutionStrategy extends AbstractExecutionStrategy {
                     LOG.debug("Sending message {}", XmlUtil.toString(msg.getDocument()));
                 }
                 final ListenableFuture<RpcResult<NetconfMessage>> netconfMessageFuture =
-                        getSessionListener().sendRequest(msg, StressClient.EDIT_QNAME);
+                        sendRequest(msgId, msg, StressClient.EDIT_QNAME);
                 // Wait for response
                 waitForResponse(responseCounter, netconfMessageFuture);
 
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.data;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.BaseEncoding;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.IntegerTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnsignedIntegerTypeDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates configuration data for all config nodes of a schema context, so that simulated devices can serve
+ * datastores of realistic size without hand crafted files.
+ *
+ * <p>
+ * Every list gets {@code listSize} entries unless its size is overridden by the list name, nested lists multiply. Key
+ * leaves are derived from the entry index so that entries stay unique, a list whose key type runs out of unique
+ * values is cut short. Other leaves get seeded random values respecting the leaf type and its ranges. Strings get
+ * {@code stringLength} random characters, adjusted to the length restrictions, and are left out if no attempt matches
+ * their patterns. Well known typedefs (ip addresses, prefixes, mac addresses, dates, uuids) get values in their
+ * format. Choices are generated with their first case, leafrefs, identityrefs, instance identifiers and anyxml are
+ * left out.
+ *
+ * <p>
+ * Data is written through a {@link XMLStreamWriter}, so it can be streamed to a file in constant memory, or into a
+ * byte array to be served by get-config. The same seed always produces the same data.
+ */
+public final class SchemaDataGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaDataGenerator.class);
+
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    // Alphabets tried in turn until a random string matches the patterns of its type
+    private static final String[] ALPHABETS = {CHARACTERS, "abcdefghijklmnopqrstuvwxyz", "0123456789",
+        "0123456789abcdef"};
+    private static final int LOG_PROGRESS_EVERY = 100000;
+
+    private final SchemaContext schemaContext;
+    private final int listSize;
+    private final Map<String, Integer> listSizes;
+    private final int stringLength;
+    private final long seed;
+
+    private final Map<String, Pattern> patterns = new HashMap<>();
+    private final Set<QName> warned = new HashSet<>();
+
+    private Random random;
+    private long entries;
+
+    /**
+     * @param listSize entries generated for every list
+     * @param listSizes entries generated for lists with given name, overriding {@code listSize}
+     * @param stringLength length of generated strings
+     * @param seed seed of generated values
+     */
+    public SchemaDataGenerator(final SchemaContext schemaContext, final int listSize,
+                               final Map<String, Integer> listSizes, final int stringLength, final long seed) {
+        Preconditions.checkArgument(listSize >= 0, "List size has to be >= 0");
+        Preconditions.checkArgument(stringLength > 0, "String length has to be > 0");
+        this.schemaContext = Preconditions.checkNotNull(schemaContext);
+        this.listSize = listSize;
+        this.listSizes = ImmutableMap.copyOf(listSizes);
+        this.stringLength = stringLength;
+        this.seed = seed;
+    }
+
+    /**
+     * Parse list sizes in form list-name=size.
+     */
+    public static Map<String, Integer> parseListSizes(final Collection<String> specs) {
+        final Map<String, Integer> sizes = new HashMap<>();
+        for (final String spec : specs) {
+            final List<String> parts = Splitter.on('=').trimResults().splitToList(spec);
+            Preconditions.checkArgument(parts.size() == 2, "List size %s has to be in form list-name=size", spec);
+            final int size = Integer.parseInt(parts.get(1));
+            Preconditions.checkArgument(size >= 0, "List size has to be >= 0 in %s", spec);
+            sizes.put(parts.get(0), size);
+        }
+        return sizes;
+    }
+
+    /**
+     * Stream generated data to a file, wrapped in a data element so that it can be used as initial config file.
+     */
+    public void writeTo(final File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writeData(writer);
+            writer.close();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Unable to write generated data to " + file, e);
+        }
+        LOG.info("Generated data with {} list entries written to {}", entries, file);
+    }
+
+    /**
+     * Generate data as UTF-8 encoded xml, wrapped in a data element, as expected by
+     * {@link org.opendaylight.netconf.test.tool.rpc.SerializedDataList}.
+     */
+    public byte[] generateXml() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writeData(writer);
+            writer.close();
+        } catch (final XMLStreamException e) {
+            throw new IllegalStateException("Unable to generate data", e);
+        }
+        LOG.info("Generated data with {} list entries", entries);
+        return out.toByteArray();
+    }
+
+    private void writeData(final XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(XmlNetconfConstants.DATA_KEY);
+        writer.writeDefaultNamespace(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
+        generate(writer, XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    private void generate(final XMLStreamWriter writer, final String parentNamespace) throws XMLStreamException {
+        random = new Random(seed);
+        entries = 0;
+        for (final Module module : schemaContext.getModules()) {
+            for (final DataSchemaNode child : module.getChildNodes()) {
+                writeNode(writer, child, parentNamespace, 0);
+            }
+        }
+    }
+
+    private void writeNode(final XMLStreamWriter writer, final DataSchemaNode node, final String parentNamespace,
+                           final int index) throws XMLStreamException {
+        if (!node.isConfiguration()) {
+            return;
+        }
+
+        if (node instanceof ContainerSchemaNode) {
+            startElement(writer, node.getQName(), parentNamespace);
+            writeChildren(writer, (ContainerSchemaNode) node, index);
+            writer.writeEndElement();
+        } else if (node instanceof ListSchemaNode) {
+            writeList(writer, (ListSchemaNode) node, parentNamespace);
+        } else if (node instanceof LeafSchemaNode) {
+            final String value = generateValue(((LeafSchemaNode) node).getType(), node.getQName(), false, index);
+            if (value != null) {
+                writeLeaf(writer, node.getQName(), parentNamespace, value);
+            }
+        } else if (node instanceof LeafListSchemaNode) {
+            final TypeDefinition<?> type = ((LeafListSchemaNode) node).getType();
+            for (int i = 0; i < getListSize(node.getQName()); i++) {
+                // Leaf-list entries have to be unique
+                final String value = generateValue(type, node.getQName(), true, i);
+                if (value != null) {
+                    writeLeaf(writer, node.getQName(), parentNamespace, value);
+                }
+            }
+        } else if (node instanceof ChoiceSchemaNode) {
+            final Set<ChoiceCaseNode> cases = ((ChoiceSchemaNode) node).getCases();
+            if (!cases.isEmpty()) {
+                for (final DataSchemaNode child : cases.iterator().next().getChildNodes()) {
+                    writeNode(writer, child, parentNamespace, index);
+                }
+            }
+        }
+    }
+
+    private void writeList(final XMLStreamWriter writer, final ListSchemaNode list, final String parentNamespace)
+            throws XMLStreamException {
+        final List<QName> keys = list.getKeyDefinition();
+        final int size = getListSize(list.getQName());
+        for (int i = 0; i < size; i++) {
+            final Map<QName, String> keyValues = new LinkedHashMap<>();
+            for (final QName key : keys) {
+                final DataSchemaNode keyNode = list.getDataChildByName(key);
+                final String value = keyNode instanceof LeafSchemaNode
+                        ? generateValue(((LeafSchemaNode) keyNode).getType(), key, true, i) : null;
+                if (value == null) {
+                    if (warned.add(list.getQName())) {
+                        LOG.warn("List {} cut short to {} entries, no more unique values of key {}",
+                                list.getQName(), i, key);
+                    }
+                    return;
+                }
+                keyValues.put(key, value);
+            }
+
+            startElement(writer, list.getQName(), parentNamespace);
+            // Keys go first
+            for (final Map.Entry<QName, String> key : keyValues.entrySet()) {
+                writeLeaf(writer, key.getKey(), list.getQName().getNamespace().toString(), key.getValue());
+            }
+            for (final DataSchemaNode child : list.getChildNodes()) {
+                if (!keys.contains(child.getQName())) {
+                    writeNode(writer, child, list.getQName().getNamespace().toString(), i);
+                }
+            }
+            writer.writeEndElement();
+
+            if (++entries % LOG_PROGRESS_EVERY == 0) {
+                LOG.info("Generated {} list entries", entries);
+            }
+        }
+    }
+
+    private void writeChildren(final XMLStreamWriter writer, final DataNodeContainer container, final int index)
+            throws XMLStreamException {
+        final String namespace = ((DataSchemaNode) container).getQName().getNamespace().toString();
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            writeNode(writer, child, namespace, index);
+        }
+    }
+
+    private static void startElement(final XMLStreamWriter writer, final QName qName, final String parentNamespace)
+            throws XMLStreamException {
+        final String namespace = qName.getNamespace().toString();
+        writer.writeStartElement("", qName.getLocalName(), namespace);
+        // Augmented nodes and top level nodes switch the default namespace
+        if (!namespace.equals(parentNamespace)) {
+            writer.writeDefaultNamespace(namespace);
+        }
+    }
+
+    private static void writeLeaf(final XMLStreamWriter writer, final QName qName, final String parentNamespace,
+                                  final String value) throws XMLStreamException {
+        startElement(writer, qName, parentNamespace);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private int getListSize(final QName qName) {
+        final Integer size = listSizes.get(qName.getLocalName());
+        return size != null ? size : listSize;
+    }
+
+    /**
+     * @return value of the type, or null if the type cannot be generated
+     */
+    private String generateValue(final TypeDefinition<?> type, final QName leaf, final boolean unique,
+                                 final int index) {
+        final String wellKnown = generateWellKnownValue(type, unique, index);
+        if (wellKnown != null) {
+            return wellKnown;
+        }
+
+        if (type instanceof StringTypeDefinition) {
+            return generateString((StringTypeDefinition) type, leaf, unique, index);
+        } else if (type instanceof IntegerTypeDefinition) {
+            return generateNumber(((IntegerTypeDefinition) type).getRangeConstraints(), unique, index);
+        } else if (type instanceof UnsignedIntegerTypeDefinition) {
+            return generateNumber(((UnsignedIntegerTypeDefinition) type).getRangeConstraints(), unique, index);
+        } else if (type instanceof DecimalTypeDefinition) {
+            final DecimalTypeDefinition decimal = (DecimalTypeDefinition) type;
+            final String integral = generateNumber(decimal.getRangeConstraints(), unique, index);
+            return integral == null ? null
+                    : new BigDecimal(integral).setScale(decimal.getFractionDigits()).toPlainString();
+        } else if (type instanceof BooleanTypeDefinition) {
+            if (unique) {
+                return index < 2 ? String.valueOf(index == 0) : null;
+            }
+            return String.valueOf(random.nextBoolean());
+        } else if (type instanceof EmptyTypeDefinition) {
+            return unique && index > 0 ? null : "";
+        } else if (type instanceof EnumTypeDefinition) {
+            final List<EnumTypeDefinition.EnumPair> values = ((EnumTypeDefinition) type).getValues();
+            if (values.isEmpty() || unique && index >= values.size()) {
+                return null;
+            }
+            return values.get(unique ? index : random.nextInt(values.size())).getName();
+        } else if (type instanceof BitsTypeDefinition) {
+            final List<BitsTypeDefinition.Bit> bits = ((BitsTypeDefinition) type).getBits();
+            if (bits.isEmpty() || unique && index >= bits.size()) {
+                return null;
+            }
+            return bits.get(unique ? index : random.nextInt(bits.size())).getName();
+        } else if (type instanceof BinaryTypeDefinition) {
+            final byte[] bytes = new byte[stringLength];
+            random.nextBytes(bytes);
+            return BaseEncoding.base64().encode(bytes);
+        } else if (type instanceof UnionTypeDefinition) {
+            for (final TypeDefinition<?> member : ((UnionTypeDefinition) type).getTypes()) {
+                final String value = generateValue(member, leaf, unique, index);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        // Leafrefs, identityrefs and instance identifiers would need to point to existing data
+        return null;
+    }
+
+    private String generateWellKnownValue(final TypeDefinition<?> type, final boolean unique, final int index) {
+        final int value = unique ? index : random.nextInt();
+        for (TypeDefinition<?> current = type; current != null; current = current.getBaseType()) {
+            switch (current.getQName().getLocalName()) {
+                case "ipv4-address":
+                case "ip-address":
+                case "ipv4-address-no-zone":
+                case "ip-address-no-zone":
+                    return ipv4(value);
+                case "ipv4-prefix":
+                case "ip-prefix":
+                    return ipv4(value) + "/32";
+                case "ipv6-address":
+                case "ipv6-address-no-zone":
+                    return ipv6(value);
+                case "ipv6-prefix":
+                    return ipv6(value) + "/128";
+                case "mac-address":
+                case "phys-address":
+                    return mac(value);
+                case "date-and-time":
+                    return "2016-01-01T00:00:00Z";
+                case "uuid":
+                    return String.format("00000000-0000-4000-8000-%012x", value & 0xFFFFFFFFL);
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number within the ranges, or null if the ranges do not have {@code index + 1} unique values
+     */
+    private String generateNumber(final List<RangeConstraint> ranges, final boolean unique, final int index) {
+        if (unique) {
+            return uniqueNumber(ranges, index);
+        }
+        long min = Long.MIN_VALUE;
+        long max = Long.MAX_VALUE;
+        if (!ranges.isEmpty()) {
+            // Pick one of the ranges, values between them are not allowed
+            final RangeConstraint range = ranges.get(random.nextInt(ranges.size()));
+            min = clamp(range.getMin());
+            max = clamp(range.getMax());
+        }
+        final long span = max - min;
+        if (span == 0) {
+            return String.valueOf(min);
+        }
+        if (span < 0 || span == Long.MAX_VALUE) {
+            // Overflowing or unbounded ranges get values within int range around the minimum
+            return String.valueOf(Math.max(min, 0) + random.nextInt(Integer.MAX_VALUE));
+        }
+        return String.valueOf(min + (long) (random.nextDouble() * (span + 1)));
+    }
+
+    /**
+     * Unique values count up from 0, or from the minimum of a range not containing 0, continue below 0 once the values
+     * above are used up and then go on with the following range.
+     */
+    private static String uniqueNumber(final List<RangeConstraint> ranges, final int index) {
+        if (ranges.isEmpty()) {
+            return String.valueOf(index);
+        }
+
+        long remaining = index;
+        for (final RangeConstraint range : ranges) {
+            final long min = clamp(range.getMin());
+            final long max = clamp(range.getMax());
+            final long start = min <= 0 && max >= 0 ? 0 : min;
+            final long above = count(start, max);
+            if (remaining < above) {
+                return String.valueOf(start + remaining);
+            }
+            remaining -= above;
+            final long below = start > min ? count(min, start - 1) : 0;
+            if (remaining < below) {
+                return String.valueOf(start - 1 - remaining);
+            }
+            remaining -= below;
+        }
+        return null;
+    }
+
+    /**
+     * @return number of values from {@code from} to {@code to}, saturated at {@link Long#MAX_VALUE}
+     */
+    private static long count(final long from, final long to) {
+        if (to < from) {
+            return 0;
+        }
+        final long span = to - from;
+        return span < 0 || span == Long.MAX_VALUE ? Long.MAX_VALUE : span + 1;
+    }
+
+    private static long clamp(final Number number) {
+        if (number instanceof BigDecimal || number.doubleValue() > Long.MAX_VALUE
+                || number.doubleValue() < Long.MIN_VALUE) {
+            return (long) Math.max(Long.MIN_VALUE, Math.min(Long.MAX_VALUE, number.doubleValue()));
+        }
+        return number.longValue();
+    }
+
+    /**
+     * @return string within the length restrictions matching all patterns of the type, or null if no attempt matched
+     */
+    private String generateString(final StringTypeDefinition type, final QName leaf, final boolean unique,
+                                  final int index) {
+        final List<LengthConstraint> lengths = getLengthConstraints(type);
+        final List<Pattern> typePatterns = getPatterns(type);
+
+        if (unique) {
+            for (final String candidate : new String[] {leaf.getLocalName() + "-" + index, String.valueOf(index),
+                    Integer.toHexString(index)}) {
+                final int length = fitLength(candidate.length(), lengths);
+                // Unique values cannot be shortened, only padded
+                if (length >= candidate.length()) {
+                    final String value = Strings.padStart(candidate, length, '0');
+                    if (matches(value, typePatterns)) {
+                        return value;
+                    }
+                }
+            }
+        } else {
+            final int length = fitLength(stringLength, lengths);
+            for (final String alphabet : typePatterns.isEmpty() ? new String[] {CHARACTERS} : ALPHABETS) {
+                final String value = randomString(alphabet, length);
+                if (matches(value, typePatterns)) {
+                    return value;
+                }
+            }
+        }
+
+        if (warned.add(leaf)) {
+            LOG.warn("Unable to generate value of {} matching its length and patterns, leaving it out", leaf);
+        }
+        return null;
+    }
+
+    private static List<LengthConstraint> getLengthConstraints(final StringTypeDefinition type) {
+        // The nearest restriction already takes the restrictions of its base types into account
+        for (StringTypeDefinition current = type; current != null; current = current.getBaseType()) {
+            if (!current.getLengthConstraints().isEmpty()) {
+                return current.getLengthConstraints();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private List<Pattern> getPatterns(final StringTypeDefinition type) {
+        final List<Pattern> result = new ArrayList<>();
+        for (StringTypeDefinition current = type; current != null; current = current.getBaseType()) {
+            for (final PatternConstraint constraint : current.getPatternConstraints()) {
+                final String regex = constraint.getRegularExpression();
+                if (!patterns.containsKey(regex)) {
+                    Pattern pattern;
+                    try {
+                        pattern = Pattern.compile(regex);
+                    } catch (final PatternSyntaxException e) {
+                        LOG.warn("Ignoring pattern {} of {} not supported by java", regex, type.getQName(), e);
+                        pattern = null;
+                    }
+                    patterns.put(regex, pattern);
+                }
+                final Pattern pattern = patterns.get(regex);
+                if (pattern != null && !result.contains(pattern)) {
+                    result.add(pattern);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(final String value, final List<Pattern> typePatterns) {
+        for (final Pattern pattern : typePatterns) {
+            if (!pattern.matcher(value).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the wanted length if allowed, otherwise the nearest allowed length above it, or the highest one
+     */
+    private static int fitLength(final int wanted, final List<LengthConstraint> lengths) {
+        int max = wanted;
+        for (final LengthConstraint length : lengths) {
+            final int min = toInt(length.getMin());
+            max = toInt(length.getMax());
+            if (wanted < min) {
+                return min;
+            }
+            if (wanted <= max) {
+                return wanted;
+            }
+        }
+        return max;
+    }
+
+    private static int toInt(final Number number) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, number.longValue()));
+    }
+
+    private String randomString(final String alphabet, final int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    private static String ipv4(final int value) {
+        return ((value >>> 24) & 0xFF) + "." + ((value >>> 16) & 0xFF) + "." + ((value >>> 8) & 0xFF) + "."
+                + (value & 0xFF);
+    }
+
+    private static String ipv6(final int value) {
+        return String.format("2001:db8::%x:%x", (value >>> 16) & 0xFFFF, value & 0xFFFF);
+    }
+
+    private static String mac(final int value) {
+        return String.format("00:00:%02x:%02x:%02x:%02x", (value >>> 24) & 0xFF, (value >>> 16) & 0xFF,
+                (value >>> 8) & 0xFF, value & 0xFF);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.fault;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of response delays of a single operation, parsed from {@code operation:type:arguments} where all
+ * arguments are in milliseconds and type is one of:
+ * <ul>
+ *     <li>fixed:delay</li>
+ *     <li>uniform:min:max</li>
+ *     <li>exponential:mean</li>
+ *     <li>normal:mean:deviation - negative samples are cut to 0</li>
+ * </ul>
+ * Operation {@code *} applies to all operations without their own distribution.
+ */
+public final class DelayDistribution {
+
+    public static final String ANY_OPERATION = "*";
+
+    private enum Type {
+        FIXED(1), UNIFORM(2), EXPONENTIAL(1), NORMAL(2);
+
+        private final int arguments;
+
+        Type(final int arguments) {
+            this.arguments = arguments;
+        }
+    }
+
+    private final String operation;
+    private final Type type;
+    private final double first;
+    private final double second;
+
+    private DelayDistribution(final String operation, final Type type, final double first, final double second) {
+        this.operation = operation;
+        this.type = type;
+        this.first = first;
+        this.second = second;
+    }
+
+    public static DelayDistribution parse(final String spec) {
+        final List<String> parts = Splitter.on(':').trimResults().splitToList(spec);
+        Preconditions.checkArgument(parts.size() >= 3, "Delay %s has to be in form operation:type:arguments", spec);
+
+        final Type type;
+        try {
+            type = Type.valueOf(parts.get(1).toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown delay distribution " + parts.get(1) + " in " + spec, e);
+        }
+        Preconditions.checkArgument(parts.size() == type.arguments + 2, "Delay distribution %s takes %s arguments in %s",
+                type, type.arguments, spec);
+
+        final double first = Double.parseDouble(parts.get(2));
+        final double second = type.arguments > 1 ? Double.parseDouble(parts.get(3)) : 0;
+        Preconditions.checkArgument(first >= 0 && second >= 0, "Delays cannot be negative in %s", spec);
+        Preconditions.checkArgument(type != Type.UNIFORM || first <= second, "Uniform delay min > max in %s", spec);
+        return new DelayDistribution(parts.get(0), type, first, second);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    long nextNanos(final Random random) {
+        final double millis;
+        switch (type) {
+            case FIXED:
+                millis = first;
+                break;
+            case UNIFORM:
+                millis = first + random.nextDouble() * (second - first);
+                break;
+            case EXPONENTIAL:
+                millis = -first * Math.log(1 - random.nextDouble());
+                break;
+            case NORMAL:
+                millis = Math.max(0, first + random.nextGaussian() * second);
+                break;
+            default:
+                throw new IllegalStateException("Unknown delay distribution " + type);
+        }
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        return operation + ":" + type.name().toLowerCase() + ":" + first + (type.arguments > 1 ? ":" + second : "");
+    }
+}
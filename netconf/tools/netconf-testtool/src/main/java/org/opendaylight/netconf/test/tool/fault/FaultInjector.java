@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.fault;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.config.util.xml.XmlMappingConstants;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.impl.NetconfServerDispatcherImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Makes simulated devices misbehave. Installs handlers into the pipeline of every simulated session, which:
+ * <ul>
+ *     <li>delay rpc replies by a per-operation {@link DelayDistribution}, replies overtake each other when delays
+ *     differ</li>
+ *     <li>drop or duplicate rpc replies with given probabilities</li>
+ *     <li>cap messages (replies and notifications) sent per second by the session</li>
+ *     <li>close the session after an exponentially distributed lifetime</li>
+ * </ul>
+ * Hello messages are never touched, so sessions always negotiate.
+ */
+public final class FaultInjector implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FaultInjector.class);
+
+    private static final String REQUEST_HANDLER = "faultInjectorRequests";
+    private static final String REPLY_HANDLER = "faultInjectorReplies";
+
+    private final Map<String, DelayDistribution> delays;
+    private final Optional<DelayDistribution> defaultDelay;
+    private final double dropProbability;
+    private final double duplicateProbability;
+    private final long messageIntervalNanos;
+    private final double sessionLifetimeSeconds;
+
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong duplicated = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong killed = new AtomicLong();
+
+    /**
+     * @param delays reply delay distributions, at most one per operation
+     * @param dropProbability probability of a reply being dropped
+     * @param duplicateProbability probability of a reply being sent twice
+     * @param maxMessagesPerSecond messages sent by a session per second, 0 for no limit
+     * @param sessionLifetimeSeconds mean lifetime of a session, 0 to keep sessions open
+     */
+    public FaultInjector(final List<DelayDistribution> delays, final double dropProbability,
+                         final double duplicateProbability, final double maxMessagesPerSecond,
+                         final double sessionLifetimeSeconds) {
+        Preconditions.checkArgument(dropProbability >= 0 && dropProbability <= 1, "Drop probability has to be in <0, 1>");
+        Preconditions.checkArgument(duplicateProbability >= 0 && duplicateProbability <= 1,
+                "Duplicate probability has to be in <0, 1>");
+        Preconditions.checkArgument(maxMessagesPerSecond >= 0, "Messages per second cannot be negative");
+        Preconditions.checkArgument(sessionLifetimeSeconds >= 0, "Session lifetime cannot be negative");
+
+        final Map<String, DelayDistribution> byOperation = new HashMap<>();
+        for (final DelayDistribution delay : delays) {
+            Preconditions.checkArgument(byOperation.put(delay.getOperation(), delay) == null,
+                    "Multiple delays for operation %s", delay.getOperation());
+        }
+        this.defaultDelay = Optional.fromNullable(byOperation.remove(DelayDistribution.ANY_OPERATION));
+        this.delays = ImmutableMap.copyOf(byOperation);
+        this.dropProbability = dropProbability;
+        this.duplicateProbability = duplicateProbability;
+        this.messageIntervalNanos = maxMessagesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxMessagesPerSecond) : 0;
+        this.sessionLifetimeSeconds = sessionLifetimeSeconds;
+
+        LOG.info("Injecting faults into simulated sessions, delays: {}, drop: {}, duplicate: {}, messages/s: {}, "
+                + "session lifetime: {}s", delays, dropProbability, duplicateProbability, maxMessagesPerSecond,
+                sessionLifetimeSeconds);
+    }
+
+    /**
+     * Install the fault injecting handlers into a channel initialized by
+     * {@link NetconfServerDispatcherImpl.ServerChannelInitializer}.
+     */
+    public void install(final Channel channel) {
+        final Map<String, String> pendingOperations = new HashMap<>();
+        // Requests are seen right after decoding, replies before encoding
+        channel.pipeline().addAfter(NetconfServerDispatcherImpl.ServerChannelInitializer.DESERIALIZER_EX_HANDLER_KEY,
+                REQUEST_HANDLER, new RequestHandler(pendingOperations));
+        channel.pipeline().addLast(REPLY_HANDLER, new ReplyHandler(pendingOperations));
+
+        if (sessionLifetimeSeconds > 0) {
+            final double lifetime = -sessionLifetimeSeconds * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+            final ScheduledFuture<?> kill = channel.eventLoop().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    LOG.debug("Killing simulated session on {}", channel);
+                    killed.incrementAndGet();
+                    channel.close();
+                }
+            }, (long) (lifetime * TimeUnit.SECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+
+            channel.closeFuture().addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(final ChannelFuture future) {
+                    kill.cancel(false);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        LOG.info("Injected faults, delayed: {}, dropped: {}, duplicated: {}, throttled: {}, killed sessions: {}",
+                delayed.get(), dropped.get(), duplicated.get(), throttled.get(), killed.get());
+    }
+
+    private static String getMessageId(final NetconfMessage message) {
+        return message.getDocument().getDocumentElement().getAttribute(XmlNetconfConstants.MESSAGE_ID);
+    }
+
+    private static final class RequestHandler extends ChannelInboundHandlerAdapter {
+        private final Map<String, String> pendingOperations;
+
+        RequestHandler(final Map<String, String> pendingOperations) {
+            this.pendingOperations = pendingOperations;
+        }
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+            if (msg instanceof NetconfMessage && !(msg instanceof NetconfHelloMessage)) {
+                final Element rpc = ((NetconfMessage) msg).getDocument().getDocumentElement();
+                if (XmlNetconfConstants.RPC_KEY.equals(rpc.getLocalName())) {
+                    for (Node child = rpc.getFirstChild(); child != null; child = child.getNextSibling()) {
+                        if (child.getNodeType() == Node.ELEMENT_NODE) {
+                            pendingOperations.put(getMessageId((NetconfMessage) msg), child.getLocalName());
+                            break;
+                        }
+                    }
+                }
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private final class ReplyHandler extends ChannelOutboundHandlerAdapter {
+        private final Map<String, String> pendingOperations;
+        private long nextSendNanos;
+
+        ReplyHandler(final Map<String, String> pendingOperations) {
+            this.pendingOperations = pendingOperations;
+        }
+
+        @Override
+        public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+                throws Exception {
+            if (!(msg instanceof NetconfMessage) || msg instanceof NetconfHelloMessage) {
+                ctx.write(msg, promise);
+                return;
+            }
+
+            final NetconfMessage message = (NetconfMessage) msg;
+            final Random random = ThreadLocalRandom.current();
+            long delayNanos = 0;
+            int copies = 1;
+
+            if (XmlMappingConstants.RPC_REPLY_KEY.equals(message.getDocument().getDocumentElement().getLocalName())) {
+                final String operation = pendingOperations.remove(getMessageId(message));
+                if (dropProbability > 0 && random.nextDouble() < dropProbability) {
+                    dropped.incrementAndGet();
+                    LOG.debug("Dropping reply to {} on {}", operation, ctx.channel());
+                    promise.setSuccess();
+                    return;
+                }
+                if (duplicateProbability > 0 && random.nextDouble() < duplicateProbability) {
+                    duplicated.incrementAndGet();
+                    copies = 2;
+                }
+
+                final DelayDistribution delay = operation != null && delays.containsKey(operation)
+                        ? delays.get(operation) : defaultDelay.orNull();
+                if (delay != null) {
+                    delayNanos = delay.nextNanos(random);
+                    delayed.incrementAndGet();
+                }
+            }
+
+            if (messageIntervalNanos > 0) {
+                final long now = System.nanoTime();
+                final long sendAt = Math.max(now + delayNanos, nextSendNanos);
+                if (sendAt > now + delayNanos) {
+                    throttled.incrementAndGet();
+                }
+                nextSendNanos = sendAt + messageIntervalNanos * copies;
+                delayNanos = sendAt - now;
+            }
+
+            if (delayNanos <= 0) {
+                send(ctx, message, promise, copies, false);
+                return;
+            }
+
+            final int sentCopies = copies;
+            ctx.executor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    send(ctx, message, promise, sentCopies, true);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void send(final ChannelHandlerContext ctx, final NetconfMessage message, final ChannelPromise promise,
+                          final int copies, final boolean flush) {
+            for (int i = 1; i < copies; i++) {
+                ctx.write(message, ctx.voidPromise());
+            }
+            ctx.write(message, promise);
+            if (flush) {
+                ctx.flush();
+            }
+        }
+    }
+}
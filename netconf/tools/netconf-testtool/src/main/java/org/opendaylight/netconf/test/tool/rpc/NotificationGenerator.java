@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.rpc;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.netconf.impl.NetconfServerSession;
+import org.opendaylight.netconf.test.tool.MessageTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates notifications from a template for every session that called create-subscription, shared by all simulated
+ * devices.
+ *
+ * <p>
+ * Each session gets its own stream sending {@code burst} notifications back to back, with bursts spaced so that the
+ * stream keeps {@code rate} notifications per second. All streams are driven by a single ticker, streams are spread
+ * over the threads of the generator and every tick sends all notifications due since the stream started, so rates
+ * above the tick resolution are kept as well. Notifications not yet written to a session are bounded, a session not
+ * keeping up gets notifications dropped instead of the simulator running out of memory.
+ */
+public final class NotificationGenerator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationGenerator.class);
+
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long STATISTICS_PERIOD_SECONDS = 10;
+    private static final int MAX_PENDING_PER_SESSION = 10000;
+
+    private final MessageTemplate template;
+    private final double rate;
+    private final int burst;
+    private final long count;
+    private final ScheduledExecutorService executor;
+    private final List<Shard> shards;
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long lastReportedSent;
+
+    /**
+     * @param templateFile file with the notification, see {@link MessageTemplate} for supported placeholders
+     * @param rate notifications per second sent to each session
+     * @param burst notifications sent back to back
+     * @param count notifications sent to each session, 0 for no limit
+     * @param threads threads sending the notifications
+     */
+    public NotificationGenerator(final File templateFile, final double rate, final int burst, final long count,
+                                 final int threads) {
+        Preconditions.checkArgument(rate > 0, "Notification rate has to be > 0");
+        Preconditions.checkArgument(burst > 0, "Notification burst has to be > 0");
+        Preconditions.checkArgument(count >= 0, "Notification count has to be >= 0");
+        Preconditions.checkArgument(threads > 0, "Notification threads have to be > 0");
+        try {
+            this.template = MessageTemplate.create(Files.toString(templateFile, Charsets.UTF_8));
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot read notification template " + templateFile, e);
+        }
+        // Fail on startup rather than on the first subscription
+        template.renderMessage(0, 0, 0);
+        this.rate = rate;
+        this.burst = burst;
+        this.count = count;
+
+        final ImmutableList.Builder<Shard> shards = ImmutableList.builder();
+        for (int i = 0; i < threads; i++) {
+            shards.add(new Shard());
+        }
+        this.shards = shards.build();
+        this.executor = Executors.newScheduledThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("netconf-notification-generator-%d").build());
+
+        final long tickNanos = Math.max(MIN_TICK_NANOS, (long) (burst * TimeUnit.SECONDS.toNanos(1) / rate));
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                reportStatistics();
+            }
+        }, STATISTICS_PERIOD_SECONDS, STATISTICS_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start sending notifications to a session. The stream stops once the session goes down or all notifications are
+     * sent.
+     */
+    public void start(final NetconfServerSession session) {
+        activeStreams.incrementAndGet();
+        shards.get((nextShard.getAndIncrement() & Integer.MAX_VALUE) % shards.size()).streams.add(new Stream(session));
+        LOG.debug("Notification stream started for session {}, {} notifications/s in bursts of {}",
+                session.getSessionId(), rate, burst);
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    private void tick() {
+        for (final Shard shard : shards) {
+            // A shard still busy with the previous tick catches up on its next run
+            if (!shard.streams.isEmpty() && shard.running.compareAndSet(false, true)) {
+                executor.execute(shard);
+            }
+        }
+    }
+
+    private synchronized void reportStatistics() {
+        final long current = sent.get();
+        if (current != lastReportedSent || activeStreams.get() > 0) {
+            LOG.info("Notifications sent: {} ({}/s), failed: {}, dropped: {}, active streams: {}", current,
+                    (current - lastReportedSent) / STATISTICS_PERIOD_SECONDS, failed.get(), dropped.get(),
+                    activeStreams.get());
+            lastReportedSent = current;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        LOG.info("Notification generator closed, sent: {}, failed: {}, dropped: {}", sent.get(), failed.get(),
+                dropped.get());
+    }
+
+    /**
+     * Streams served by one thread at a time.
+     */
+    private final class Shard implements Runnable {
+        private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            try {
+                final Iterator<Stream> it = streams.iterator();
+                while (it.hasNext()) {
+                    if (!it.next().send()) {
+                        it.remove();
+                        activeStreams.decrementAndGet();
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    private final class Stream {
+        private final NetconfServerSession session;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final GenericFutureListener<Future<Void>> completion = new GenericFutureListener<Future<Void>>() {
+            @Override
+            public void operationComplete(final Future<Void> future) {
+                pending.decrementAndGet();
+                if (future.isSuccess()) {
+                    sent.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+            }
+        };
+
+        private long sequence;
+
+        Stream(final NetconfServerSession session) {
+            this.session = session;
+        }
+
+        /**
+         * Send notifications due by now.
+         *
+         * @return false once the stream is finished
+         */
+        boolean send() {
+            if (!session.isUp()) {
+                LOG.debug("Session {} is down, stopping its notification stream after {} notifications",
+                        session.getSessionId(), sequence);
+                return false;
+            }
+
+            // Whole bursts due since start, the first one is sent on the first tick
+            final double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            long due = ((long) (elapsedSeconds * rate / burst) + 1) * burst;
+            if (count > 0) {
+                due = Math.min(due, count);
+            }
+
+            for (; sequence < due; sequence++) {
+                if (pending.get() >= MAX_PENDING_PER_SESSION) {
+                    dropped.incrementAndGet();
+                    continue;
+                }
+                pending.incrementAndGet();
+                try {
+                    session.sendMessage(template.renderMessage(sequence, sequence, session.getSessionId()))
+                            .addListener(completion);
+                } catch (final RuntimeException e) {
+                    pending.decrementAndGet();
+                    failed.incrementAndGet();
+                    LOG.warn("Unable to send notification {} to session {}", sequence, session.getSessionId(), e);
+                }
+            }
+
+            if (count > 0 && sequence >= count) {
+                LOG.debug("All {} notifications sent to session {}", count, session.getSessionId());
+                return false;
+            }
+            return true;
+        }
+    }
+}
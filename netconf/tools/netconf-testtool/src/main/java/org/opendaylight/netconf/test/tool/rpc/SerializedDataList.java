@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.test.tool.rpc;
+
+import com.google.common.base.Preconditions;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.xml.sax.SAXException;
+
+/**
+ * Read only data kept serialized and parsed into a new DOM on every read, so that it can be shared by all sessions.
+ * DOM implementations are not thread safe even for reads, importing nodes of one shared document from concurrent
+ * requests is not an option, and a copy per session would not fit into memory for large data.
+ *
+ * <p>
+ * Every read still costs a full DOM of the data for as long as its reply is being built. Parsing is limited to
+ * {@link #MAX_CONCURRENT_PARSES} reads at a time, so that many devices polled together do not multiply that cost.
+ */
+public class SerializedDataList extends DataList {
+
+    static final int MAX_CONCURRENT_PARSES = 2;
+
+    private final Semaphore parses = new Semaphore(MAX_CONCURRENT_PARSES, true);
+    private final byte[] data;
+
+    /**
+     * @param data UTF-8 encoded xml document whose root element children are the config elements
+     */
+    public SerializedDataList(final byte[] data) {
+        this.data = Preconditions.checkNotNull(data);
+    }
+
+    @Override
+    public List<XmlElement> getConfigList() {
+        parses.acquireUninterruptibly();
+        try {
+            return XmlElement.fromDomElement(XmlUtil.readXmlToDocument(new ByteArrayInputStream(data))
+                    .getDocumentElement()).getChildElements();
+        } catch (final IOException | SAXException e) {
+            throw new IllegalStateException("Unable to parse serialized data", e);
+        } finally {
+            parses.release();
+        }
+    }
+
+    @Override
+    public void setConfigList(final List<XmlElement> configList) {
+        throw new UnsupportedOperationException("Serialized data are read only");
+    }
+
+    @Override
+    public void resetConfigList() {
+        throw new UnsupportedOperationException("Serialized data are read only");
+    }
+}
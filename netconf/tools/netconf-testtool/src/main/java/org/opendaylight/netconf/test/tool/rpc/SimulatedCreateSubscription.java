@@ -40,11 +40,22 @@ import org.xml.sax.SAXException;
 public class SimulatedCreateSubscription extends AbstractLastNetconfOperation implements DefaultNetconfOperation {
 
     private final Map<Notification, NetconfMessage> notifications;
+    private final Optional<NotificationGenerator> notificationGenerator;
     private NetconfServerSession session;
     private ScheduledExecutorService scheduledExecutorService;
 
     public SimulatedCreateSubscription(final String id, final Optional<File> notificationsFile) {
+        this(id, notificationsFile, Optional.<NotificationGenerator>absent());
+    }
+
+    /**
+     * @param notificationGenerator when present, notifications are generated by it instead of replaying the
+     *                              notifications file
+     */
+    public SimulatedCreateSubscription(final String id, final Optional<File> notificationsFile,
+                                       final Optional<NotificationGenerator> notificationGenerator) {
         super(id);
+        this.notificationGenerator = notificationGenerator;
 
         Optional<Notifications> notifications;
 
@@ -90,6 +101,12 @@ public class SimulatedCreateSubscription extends AbstractLastNetconfOperation im
 
     @Override
     protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement) throws DocumentedException {
+        if (notificationGenerator.isPresent()) {
+            Preconditions.checkState(session != null, "Session is not set, cannot process notifications");
+            notificationGenerator.get().start(session);
+            return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.<String>absent());
+        }
+
         long delayAggregator = 0;
 
         for (final Map.Entry<Notification, NetconfMessage> notification : notifications.entrySet()) {
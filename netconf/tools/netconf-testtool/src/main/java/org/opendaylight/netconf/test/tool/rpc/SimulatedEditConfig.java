@@ -10,6 +10,9 @@ package org.opendaylight.netconf.test.tool.rpc;
 
 import com.google.common.base.Optional;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
+import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
@@ -34,11 +37,16 @@ public class SimulatedEditConfig extends AbstractConfigNetconfOperation {
     protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement) throws DocumentedException {
         final XmlElement configElementData = operationElement.getOnlyChildElement(XmlNetconfConstants.CONFIG_KEY);
 
-        containsDelete(configElementData);
-        if(containsDelete(configElementData)){
-            storage.resetConfigList();
-        } else {
-            storage.setConfigList(configElementData.getChildElements());
+        try {
+            if(containsDelete(configElementData)){
+                storage.resetConfigList();
+            } else {
+                storage.setConfigList(configElementData.getChildElements());
+            }
+        } catch (final UnsupportedOperationException e) {
+            // Generated data are shared by all sessions and cannot be edited
+            throw new DocumentedException("edit-config is not supported with generated data", e, ErrorType.protocol,
+                    ErrorTag.operation_not_supported, ErrorSeverity.error);
         }
 
         return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.<String>absent());
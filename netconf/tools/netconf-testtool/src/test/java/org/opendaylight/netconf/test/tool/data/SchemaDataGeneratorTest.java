@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.test.tool.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+
+public class SchemaDataGeneratorTest {
+
+    private static final int LIST_SIZE = 10;
+    private static final int STRING_LENGTH = 8;
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSource(new YangStatementSourceImpl(
+                SchemaDataGeneratorTest.class.getResourceAsStream("/yang/generator-test.yang")));
+        schemaContext = reactor.buildEffective();
+    }
+
+    @Test
+    public void testUniqueKeysSpanMultipleRangesExcludingZero() throws Exception {
+        final XmlElement top = generateTop(Collections.<String, Integer>emptyMap(), 0);
+
+        // Values run out after both ranges are used up, the list is cut short
+        assertEquals(Arrays.asList("5", "6", "10", "11"), getKeys(top, "ranged", "id"));
+    }
+
+    @Test
+    public void testUniqueKeysContinueBelowZero() throws Exception {
+        final XmlElement top = generateTop(Collections.<String, Integer>emptyMap(), 0);
+
+        assertEquals(Arrays.asList("0", "1", "-1", "-2"), getKeys(top, "signed", "id"));
+    }
+
+    @Test
+    public void testListSizeOverride() throws Exception {
+        final XmlElement top = generateTop(Collections.singletonMap("named", 3), 0);
+
+        assertEquals(Arrays.asList("name-0", "name-1", "name-2"), getKeys(top, "named", "name"));
+    }
+
+    @Test
+    public void testNumbersRespectRanges() throws Exception {
+        final XmlElement top = generateTop(Collections.<String, Integer>emptyMap(), 0);
+
+        assertEquals("7", top.getOnlyChildElement("fixed").getTextContent());
+        for (final XmlElement named : top.getChildElements("named")) {
+            final int value = Integer.parseInt(named.getOnlyChildElement("value").getTextContent());
+            assertTrue(value >= 1 && value <= 3);
+        }
+    }
+
+    @Test
+    public void testStringsFitLengthAndPattern() throws Exception {
+        final XmlElement top = generateTop(Collections.<String, Integer>emptyMap(), 0);
+
+        assertEquals(4, top.getOnlyChildElement("short-string").getTextContent().length());
+        assertEquals(12, top.getOnlyChildElement("long-string").getTextContent().length());
+        final String lowerCase = top.getOnlyChildElement("lower-case").getTextContent();
+        assertEquals(STRING_LENGTH, lowerCase.length());
+        assertTrue(lowerCase.matches("[a-z]+"));
+    }
+
+    @Test
+    public void testSameSeedGeneratesSameData() throws Exception {
+        final Map<String, Integer> sizes = Collections.emptyMap();
+        final byte[] first = new SchemaDataGenerator(schemaContext, LIST_SIZE, sizes, STRING_LENGTH, 42).generateXml();
+        final byte[] second = new SchemaDataGenerator(schemaContext, LIST_SIZE, sizes, STRING_LENGTH, 42).generateXml();
+        final byte[] other = new SchemaDataGenerator(schemaContext, LIST_SIZE, sizes, STRING_LENGTH, 43).generateXml();
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, other));
+    }
+
+    private static XmlElement generateTop(final Map<String, Integer> listSizes, final long seed) throws Exception {
+        final byte[] data = new SchemaDataGenerator(schemaContext, LIST_SIZE, listSizes, STRING_LENGTH, seed)
+                .generateXml();
+        return XmlElement.fromDomElement(XmlUtil.readXmlToDocument(new ByteArrayInputStream(data))
+                .getDocumentElement()).getOnlyChildElement("top");
+    }
+
+    private static List<String> getKeys(final XmlElement top, final String list, final String key) throws Exception {
+        final List<String> keys = new ArrayList<>();
+        for (final XmlElement entry : top.getChildElements(list)) {
+            keys.add(entry.getOnlyChildElement(key).getTextContent());
+        }
+        return keys;
+    }
+}
@@ -12,6 +12,7 @@ import org.opendaylight.controller.config.yang.md.sal.rest.connector.RestConnect
 import org.opendaylight.controller.sal.core.api.Broker;
 import org.opendaylight.netconf.sal.rest.api.RestConnector;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfProviderImpl;
+import org.opendaylight.netconf.sal.streams.websockets.WebSocketServerConfiguration;
 import org.opendaylight.restconf.rest.RestConnectorProvider;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev100924.PortNumber;
 
@@ -35,11 +36,18 @@ public class RestconfWrapperProviders implements AutoCloseable, RestConnector {
      *
      * @param port
      *            - port for web sockets in provider for draft02
+     * @param webSocketConfiguration
+     *            - threading and connection limits of the web socket server in provider for draft02
+     * @param responseChunkSize
+     *            - number of bytes of a response buffered before they are flushed to the client
      */
-    public RestconfWrapperProviders(final PortNumber port) {
+    public RestconfWrapperProviders(final PortNumber port, final WebSocketServerConfiguration webSocketConfiguration,
+            final int responseChunkSize) {
         // Init draft02 provider
         this.providerDraft02 = new RestconfProviderImpl();
         this.providerDraft02.setWebsocketPort(port);
+        this.providerDraft02.setWebsocketConfiguration(webSocketConfiguration);
+        this.providerDraft02.setResponseChunkSize(responseChunkSize);
 
         // Init draft11 provider
         this.providerDraft11 = new RestConnectorProvider();
@@ -9,6 +9,10 @@
 package org.opendaylight.controller.config.yang.md.sal.rest.connector;
 
 import org.opendaylight.RestconfWrapperProviders;
+import org.opendaylight.controller.config.api.JmxAttribute;
+import org.opendaylight.controller.config.api.JmxAttributeValidationException;
+import org.opendaylight.netconf.sal.streams.websockets.WebSocketServerConfiguration;
+import org.opendaylight.netconf.sal.streams.websockets.WebSocketServerConfiguration.WebSocketServerConfigurationBuilder;
 
 
 public class RestConnectorModule extends org.opendaylight.controller.config.yang.md.sal.rest.connector.AbstractRestConnectorModule {
@@ -25,12 +29,35 @@ public class RestConnectorModule extends org.opendaylight.controller.config.yang
 
     @Override
     public void customValidation() {
-        // add custom validation form module attributes here.
+        // Netty takes these as int, the yang ranges are not enforced on attributes set over JMX
+        checkFitsInt(getWebsocketMaxConnections(), websocketMaxConnectionsJmxAttribute);
+        checkFitsInt(getWebsocketWriteBufferLowWaterMark(), websocketWriteBufferLowWaterMarkJmxAttribute);
+        checkFitsInt(getWebsocketWriteBufferHighWaterMark(), websocketWriteBufferHighWaterMarkJmxAttribute);
+        checkFitsInt(getWebsocketPingInterval(), websocketPingIntervalJmxAttribute);
+        checkFitsInt(getWebsocketIdleTimeout(), websocketIdleTimeoutJmxAttribute);
+        JmxAttributeValidationException.checkCondition(
+                getWebsocketWriteBufferLowWaterMark() <= getWebsocketWriteBufferHighWaterMark(),
+                "must not be greater than websocket-write-buffer-high-water-mark",
+                websocketWriteBufferLowWaterMarkJmxAttribute);
+    }
+
+    private static void checkFitsInt(final Long value, final JmxAttribute attribute) {
+        JmxAttributeValidationException.checkCondition(value <= Integer.MAX_VALUE,
+                "must not be greater than " + Integer.MAX_VALUE, attribute);
     }
 
     @Override
     public java.lang.AutoCloseable createInstance() {
-        final RestconfWrapperProviders wrapperProviders = new RestconfWrapperProviders(getWebsocketPort());
+        final WebSocketServerConfiguration webSocketConfiguration = new WebSocketServerConfigurationBuilder()
+                .setWorkerThreads(getWebsocketWorkerThreads())
+                .setMaxConnections(getWebsocketMaxConnections().intValue())
+                .setWriteBufferWaterMarks(getWebsocketWriteBufferLowWaterMark().intValue(),
+                        getWebsocketWriteBufferHighWaterMark().intValue())
+                .setPingIntervalSeconds(getWebsocketPingInterval().intValue())
+                .setIdleTimeoutSeconds(getWebsocketIdleTimeout().intValue())
+                .build();
+        final RestconfWrapperProviders wrapperProviders = new RestconfWrapperProviders(getWebsocketPort(),
+                webSocketConfiguration, getResponseChunkSize().intValue());
         wrapperProviders.registerProviders(getDomBrokerDependency());
 
         if(runtimeRegistration != null){
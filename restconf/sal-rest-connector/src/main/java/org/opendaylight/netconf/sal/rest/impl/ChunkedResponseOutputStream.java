@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.rest.impl;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream used by the RESTCONF body writers. Serialized data is collected in a bounded buffer and every time
+ * the buffer fills up it is pushed to the container's stream together with a flush, so the client starts receiving
+ * the response (as a chunked transfer) while the rest of the tree is still being serialized.
+ */
+public final class ChunkedResponseOutputStream extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 65536;
+    public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private final OutputStream delegate;
+    private final byte[] buffer;
+    private int count;
+
+    /**
+     * Wrap the entity stream of a response.
+     *
+     * @param entityStream
+     *            - stream provided by the JAX-RS container
+     * @param chunkSize
+     *            - maximum number of bytes held in memory before they are flushed to the client
+     */
+    public ChunkedResponseOutputStream(final OutputStream entityStream, final int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0 && chunkSize <= MAX_CHUNK_SIZE,
+                "Chunk size must be between 1 and %s, was %s", MAX_CHUNK_SIZE, chunkSize);
+        this.delegate = Preconditions.checkNotNull(entityStream);
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (count == buffer.length) {
+            flushChunk();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (len >= buffer.length) {
+            // Larger than a whole chunk, no point in copying it
+            flushChunk();
+            delegate.write(b, off, len);
+            delegate.flush();
+            return;
+        }
+        if (len > buffer.length - count) {
+            flushChunk();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * Does not force data out, the serializers flush after every element and committing the response that often
+     * would only produce tiny chunks. Remaining data is written out by {@link #close()} or {@link #finish()}.
+     */
+    @Override
+    public void flush() {
+        // Intentional no-op, see above
+    }
+
+    /**
+     * Write out any buffered data and flush the underlying stream.
+     *
+     * @throws IOException if the underlying stream fails
+     */
+    public void finish() throws IOException {
+        flushChunk();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        delegate.close();
+    }
+
+    private void flushChunk() throws IOException {
+        if (count > 0) {
+            delegate.write(buffer, 0, count);
+            count = 0;
+            delegate.flush();
+        }
+    }
+}
@@ -9,7 +9,11 @@ package org.opendaylight.netconf.sal.rest.impl;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -25,6 +29,7 @@ import javax.ws.rs.ext.Provider;
 import org.opendaylight.netconf.sal.rest.api.Draft02;
 import org.opendaylight.netconf.sal.rest.api.RestconfNormalizedNodeWriter;
 import org.opendaylight.netconf.sal.rest.api.RestconfService;
+import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
 import org.opendaylight.netconf.sal.restconf.impl.NormalizedNodeContext;
 import org.opendaylight.restconf.Draft11;
@@ -53,6 +58,33 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 public class NormalizedNodeJsonBodyWriter implements MessageBodyWriter<NormalizedNodeContext> {
 
     private static final int DEFAULT_INDENT_SPACES_NUM = 2;
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+    /**
+     * Codec factories are expensive to build and depend only on the schema context, so they are shared between
+     * responses. Weak keys let the entry go away together with a replaced schema context.
+     */
+    private static final LoadingCache<SchemaContext, JSONCodecFactory> CODEC_FACTORIES = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<SchemaContext, JSONCodecFactory>() {
+                @Override
+                public JSONCodecFactory load(final SchemaContext key) {
+                    return JSONCodecFactory.create(key);
+                }
+            });
+
+    private final ControllerContext controllerContext;
+
+    public NormalizedNodeJsonBodyWriter() {
+        this(ControllerContext.getInstance());
+    }
+
+    /**
+     * @param controllerContext
+     *            - context providing the configured response chunk size, read for every response
+     */
+    public NormalizedNodeJsonBodyWriter(final ControllerContext controllerContext) {
+        this.controllerContext = controllerContext;
+    }
 
     @Override
     public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
@@ -77,11 +109,14 @@ public class NormalizedNodeJsonBodyWriter implements MessageBodyWriter<Normalize
         final InstanceIdentifierContext<SchemaNode> context = (InstanceIdentifierContext<SchemaNode>) t.getInstanceIdentifierContext();
 
         final SchemaPath path = context.getSchemaNode().getPath();
-        final JsonWriter jsonWriter = createJsonWriter(entityStream, t.getWriterParameters().isPrettyPrint());
+        final ChunkedResponseOutputStream chunkedStream = new ChunkedResponseOutputStream(entityStream,
+                controllerContext.getResponseChunkSize());
+        final JsonWriter jsonWriter = createJsonWriter(chunkedStream, t.getWriterParameters().isPrettyPrint());
         jsonWriter.beginObject();
         writeNormalizedNode(jsonWriter,path,context,data, t.getWriterParameters().getDepth());
         jsonWriter.endObject();
         jsonWriter.flush();
+        chunkedStream.finish();
     }
 
     private void writeNormalizedNode(final JsonWriter jsonWriter, SchemaPath path,
@@ -149,17 +184,17 @@ public class NormalizedNodeJsonBodyWriter implements MessageBodyWriter<Normalize
     }
 
     private JsonWriter createJsonWriter(final OutputStream entityStream, final boolean prettyPrint) {
+        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(entityStream, Charsets.UTF_8),
+                OUTPUT_BUFFER_SIZE);
         if (prettyPrint) {
-            return JsonWriterFactory.createJsonWriter(new OutputStreamWriter(entityStream, Charsets.UTF_8),
-                    DEFAULT_INDENT_SPACES_NUM);
+            return JsonWriterFactory.createJsonWriter(writer, DEFAULT_INDENT_SPACES_NUM);
         } else {
-            return JsonWriterFactory.createJsonWriter(new OutputStreamWriter(entityStream, Charsets.UTF_8));
+            return JsonWriterFactory.createJsonWriter(writer);
         }
     }
 
     private JSONCodecFactory getCodecFactory(final InstanceIdentifierContext<?> context) {
-        // TODO: Performance: Cache JSON Codec factory and schema context
-        return JSONCodecFactory.create(context.getSchemaContext());
+        return CODEC_FACTORIES.getUnchecked(context.getSchemaContext());
     }
 
 }
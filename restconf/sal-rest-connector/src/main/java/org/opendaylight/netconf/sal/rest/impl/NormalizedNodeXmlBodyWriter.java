@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import javanet.staxutils.IndentingXMLStreamWriter;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
@@ -28,6 +29,7 @@ import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.netconf.sal.rest.api.Draft02;
 import org.opendaylight.netconf.sal.rest.api.RestconfNormalizedNodeWriter;
 import org.opendaylight.netconf.sal.rest.api.RestconfService;
+import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
 import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
 import org.opendaylight.netconf.sal.restconf.impl.NormalizedNodeContext;
 import org.opendaylight.restconf.Draft11;
@@ -57,6 +59,20 @@ public class NormalizedNodeXmlBodyWriter implements MessageBodyWriter<Normalized
         XML_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
     }
 
+    private final ControllerContext controllerContext;
+
+    public NormalizedNodeXmlBodyWriter() {
+        this(ControllerContext.getInstance());
+    }
+
+    /**
+     * @param controllerContext
+     *            - context providing the configured response chunk size, read for every response
+     */
+    public NormalizedNodeXmlBodyWriter(final ControllerContext controllerContext) {
+        this.controllerContext = controllerContext;
+    }
+
     @Override
     public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
             final MediaType mediaType) {
@@ -79,9 +95,11 @@ public class NormalizedNodeXmlBodyWriter implements MessageBodyWriter<Normalized
             return;
         }
 
+        final ChunkedResponseOutputStream chunkedStream = new ChunkedResponseOutputStream(entityStream,
+                controllerContext.getResponseChunkSize());
         XMLStreamWriter xmlWriter;
         try {
-            xmlWriter = XML_FACTORY.createXMLStreamWriter(entityStream);
+            xmlWriter = XML_FACTORY.createXMLStreamWriter(chunkedStream, StandardCharsets.UTF_8.name());
             if (t.getWriterParameters().isPrettyPrint()) {
                 xmlWriter = new IndentingXMLStreamWriter(xmlWriter);
             }
@@ -93,10 +111,13 @@ public class NormalizedNodeXmlBodyWriter implements MessageBodyWriter<Normalized
         final NormalizedNode<?, ?> data = t.getData();
         final SchemaPath schemaPath = pathContext.getSchemaNode().getPath();
 
-
-
         writeNormalizedNode(xmlWriter, schemaPath, pathContext, data, t.getWriterParameters().getDepth());
-
+        try {
+            xmlWriter.flush();
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        }
+        chunkedStream.finish();
     }
 
     private void writeNormalizedNode(final XMLStreamWriter xmlWriter, final SchemaPath schemaPath, final InstanceIdentifierContext<?>
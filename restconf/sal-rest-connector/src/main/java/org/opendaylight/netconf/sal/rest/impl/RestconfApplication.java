@@ -31,8 +31,6 @@ public class RestconfApplication extends Application {
                 .add(XmlToPATCHBodyReader.class)
                 .add(PATCHJsonBodyWriter.class)
                 .add(PATCHXmlBodyWriter.class)
-                .add(NormalizedNodeJsonBodyWriter.class)
-                .add(NormalizedNodeXmlBodyWriter.class)
                 .add(SchemaExportContentYinBodyWriter.class)
                 .add(SchemaExportContentYangBodyWriter.class)
                 .build();
@@ -50,6 +48,9 @@ public class RestconfApplication extends Application {
         singletons.add(controllerContext);
         singletons.add(brokerFacade);
         singletons.add(schemaRetrieval);
+        // Writers read the response chunk size configured by the provider from the context for every response
+        singletons.add(new NormalizedNodeJsonBodyWriter(controllerContext));
+        singletons.add(new NormalizedNodeXmlBodyWriter(controllerContext));
         singletons.add(new RestconfCompositeWrapper(StatisticsRestconfServiceWrapper.getInstance(), schemaRetrieval));
 //        singletons.add(StructuredDataToXmlProvider.INSTANCE);
 //        singletons.add(StructuredDataToJsonProvider.INSTANCE);
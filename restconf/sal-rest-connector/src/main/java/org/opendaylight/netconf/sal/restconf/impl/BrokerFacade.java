@@ -15,8 +15,12 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import javax.ws.rs.core.Response.Status;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
@@ -135,6 +139,10 @@ public class BrokerFacade {
         List<RestconfError> globalErrors = null;
         int errorCounter = 0;
 
+        // Existence checks of all edits are issued up front, so their reads run concurrently
+        final PATCHEditState editState = new PATCHEditState(patchTransaction);
+        editState.prefetchExistence(context.getData());
+
         for (PATCHEntity patchEntity : context.getData()) {
             final PATCHEditOperation operation = PATCHEditOperation.valueOf(patchEntity.getOperation().toUpperCase());
 
@@ -143,7 +151,7 @@ public class BrokerFacade {
                     if (errorCounter == 0) {
                         try {
                             postDataWithinTransaction(patchTransaction, CONFIGURATION, patchEntity.getTargetNode(),
-                                    patchEntity.getNode(), globalSchema);
+                                    patchEntity.getNode(), globalSchema, editState);
                             editCollection.add(new PATCHStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (RestconfDocumentedException e) {
                             editErrors = new ArrayList<>();
@@ -157,7 +165,7 @@ public class BrokerFacade {
                     if (errorCounter == 0) {
                         try {
                             putDataWithinTransaction(patchTransaction, CONFIGURATION, patchEntity
-                                    .getTargetNode(), patchEntity.getNode(), globalSchema);
+                                    .getTargetNode(), patchEntity.getNode(), globalSchema, editState);
                             editCollection.add(new PATCHStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (RestconfDocumentedException e) {
                             editErrors = new ArrayList<>();
@@ -171,7 +179,7 @@ public class BrokerFacade {
                     if (errorCounter == 0) {
                         try {
                             deleteDataWithinTransaction(patchTransaction, CONFIGURATION, patchEntity
-                                    .getTargetNode());
+                                    .getTargetNode(), editState);
                             editCollection.add(new PATCHStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (RestconfDocumentedException e) {
                             editErrors = new ArrayList<>();
@@ -185,7 +193,7 @@ public class BrokerFacade {
                     if (errorCounter == 0) {
                         try {
                             deleteDataWithinTransaction(patchTransaction, CONFIGURATION, patchEntity
-                                    .getTargetNode());
+                                    .getTargetNode(), editState);
                             editCollection.add(new PATCHStatusEntity(patchEntity.getEditId(), true, null));
                         } catch (RestconfDocumentedException e) {
                             LOG.error("Error removing {} by {} operation", patchEntity.getTargetNode().toString(),
@@ -319,23 +327,31 @@ public class BrokerFacade {
 
     private void postDataWithinTransaction(
             final DOMDataReadWriteTransaction rWTransaction, final LogicalDatastoreType datastore,
-            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload, final SchemaContext schemaContext) {
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload, final SchemaContext schemaContext,
+            final PATCHEditState editState) {
         // FIXME: This is doing correct post for container and list children
         //        not sure if this will work for choice case
         if(payload instanceof MapNode) {
             LOG.trace("POST {} within Restconf PATCH: {} with payload {}", datastore.name(), path, payload);
-            final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path);
-            rWTransaction.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()), emptySubtree);
-            ensureParentsByMerge(datastore, path, rWTransaction, schemaContext);
+            if (editState.markStructureEnsured(path)) {
+                final NormalizedNode<?, ?> emptySubtree = ImmutableNodes.fromInstanceId(schemaContext, path);
+                rWTransaction.merge(datastore, YangInstanceIdentifier.create(emptySubtree.getIdentifier()),
+                        emptySubtree);
+                ensureParentsByMerge(datastore, path, rWTransaction, schemaContext);
+            }
             for(final MapEntryNode child : ((MapNode) payload).getValue()) {
                 final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
-                checkItemDoesNotExists(rWTransaction, datastore, childPath);
+                editState.checkItemDoesNotExist(datastore, childPath);
                 rWTransaction.put(datastore, childPath, child);
+                editState.markModified(childPath);
             }
         } else {
-            checkItemDoesNotExists(rWTransaction,datastore, path);
-            ensureParentsByMerge(datastore, path, rWTransaction, schemaContext);
+            editState.checkItemDoesNotExist(datastore, path);
+            if (editState.markStructureEnsured(parentOf(path))) {
+                ensureParentsByMerge(datastore, path, rWTransaction, schemaContext);
+            }
             rWTransaction.put(datastore, path, payload);
+            editState.markModified(path);
         }
     }
 
@@ -366,10 +382,14 @@ public class BrokerFacade {
 
     private void putDataWithinTransaction(
             final DOMDataReadWriteTransaction writeTransaction, final LogicalDatastoreType datastore,
-            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload, final SchemaContext schemaContext) {
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> payload, final SchemaContext schemaContext,
+            final PATCHEditState editState) {
         LOG.trace("Put {} within Restconf PATCH: {} with payload {}", datastore.name(), path, payload);
-        ensureParentsByMerge(datastore, path, writeTransaction, schemaContext);
+        if (editState.markStructureEnsured(parentOf(path))) {
+            ensureParentsByMerge(datastore, path, writeTransaction, schemaContext);
+        }
         writeTransaction.put(datastore, path, payload);
+        editState.markModified(path);
     }
 
     private CheckedFuture<Void, TransactionCommitFailedException> deleteDataViaTransaction(
@@ -382,9 +402,10 @@ public class BrokerFacade {
 
     private void deleteDataWithinTransaction(
             final DOMDataWriteTransaction writeTransaction, final LogicalDatastoreType datastore,
-            final YangInstanceIdentifier path) {
+            final YangInstanceIdentifier path, final PATCHEditState editState) {
         LOG.trace("Delete {} within Restconf PATCH: {}", datastore.name(), path);
         writeTransaction.delete(datastore, path);
+        editState.markModified(path);
     }
 
     public void setDomDataBroker(final DOMDataBroker domDataBroker) {
@@ -421,4 +442,112 @@ public class BrokerFacade {
                 ImmutableNodes.fromInstanceId(schemaContext, YangInstanceIdentifier.create(normalizedPathWithoutChildArgs));
         rwTx.merge(store, rootNormalizedPath, parentStructure);
     }
+
+    /**
+     * Bookkeeping shared by all edits of a single PATCH request. Existence of every path checked by a CREATE edit is
+     * read once, concurrently, before any edit is applied. Prefetched answers are used only while no
+     * earlier edit of the same request touched an overlapping subtree, otherwise the path is read again within the
+     * transaction. Parent structures are merged once per distinct path.
+     */
+    private static final class PATCHEditState {
+        private final DOMDataReadWriteTransaction rwTx;
+        private final Map<YangInstanceIdentifier, ListenableFuture<Boolean>> prefetched = new HashMap<>();
+        private final List<YangInstanceIdentifier> modified = new ArrayList<>();
+        private final Set<YangInstanceIdentifier> ensuredStructures = new HashSet<>();
+
+        PATCHEditState(final DOMDataReadWriteTransaction rwTx) {
+            this.rwTx = rwTx;
+        }
+
+        void prefetchExistence(final List<PATCHEntity> edits) {
+            for (final PATCHEntity edit : edits) {
+                final PATCHEditOperation operation = PATCHEditOperation.valueOf(edit.getOperation().toUpperCase());
+                if (operation == PATCHEditOperation.CREATE && edit.getNode() instanceof MapNode) {
+                    for (final MapEntryNode child : ((MapNode) edit.getNode()).getValue()) {
+                        prefetch(edit.getTargetNode().node(child.getIdentifier()));
+                    }
+                } else if (operation == PATCHEditOperation.CREATE) {
+                    prefetch(edit.getTargetNode());
+                }
+            }
+        }
+
+        private void prefetch(final YangInstanceIdentifier path) {
+            if (!prefetched.containsKey(path)) {
+                prefetched.put(path, rwTx.exists(CONFIGURATION, path));
+            }
+        }
+
+        void checkItemDoesNotExist(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            if (exists(store, path)) {
+                final String errMsg = "Post Configuration via Restconf was not executed because data already exists";
+                LOG.trace("{}:{}", errMsg, path);
+                rwTx.cancel();
+                throw new RestconfDocumentedException("Data already exists for path: " + path, ErrorType.PROTOCOL,
+                        ErrorTag.DATA_EXISTS);
+            }
+        }
+
+        private boolean exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            ListenableFuture<Boolean> future = store == CONFIGURATION && !isAffectedByEarlierEdit(path)
+                    ? prefetched.get(path) : null;
+            if (future == null) {
+                future = rwTx.exists(store, path);
+            }
+            try {
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw readFailed(path, e);
+            } catch (final ExecutionException e) {
+                throw readFailed(path, e.getCause());
+            }
+        }
+
+        /**
+         * A failed read must not be mistaken for absent data, the edit fails and the PATCH is not submitted.
+         */
+        private static RestconfDocumentedException readFailed(final YangInstanceIdentifier path, final Throwable cause) {
+            LOG.warn("It wasn't possible to get data loaded from datastore at path {}", path, cause);
+            return new RestconfDocumentedException("Unable to check existence of data at path: " + path,
+                    ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, cause);
+        }
+
+        private boolean isAffectedByEarlierEdit(final YangInstanceIdentifier path) {
+            for (final YangInstanceIdentifier modifiedPath : modified) {
+                if (modifiedPath.contains(path) || path.contains(modifiedPath)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Record that the subtree at the given path was put or deleted.
+         */
+        void markModified(final YangInstanceIdentifier path) {
+            modified.add(path);
+            // Both put and delete wipe the subtree, structures below it have to be merged again by subsequent edits
+            final Iterator<YangInstanceIdentifier> it = ensuredStructures.iterator();
+            while (it.hasNext()) {
+                if (path.contains(it.next())) {
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Record that the structure leading to the given path is about to be created by merge.
+         *
+         * @return true if no earlier edit has already merged the same structure
+         */
+        boolean markStructureEnsured(final YangInstanceIdentifier path) {
+            return ensuredStructures.add(path);
+        }
+    }
+
+    private static YangInstanceIdentifier parentOf(final YangInstanceIdentifier path) {
+        final List<PathArgument> args = path.getPathArguments();
+        return args.isEmpty() ? path : YangInstanceIdentifier.create(args.subList(0, args.size() - 1));
+    }
 }
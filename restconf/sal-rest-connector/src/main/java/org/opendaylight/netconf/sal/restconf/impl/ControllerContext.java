@@ -37,6 +37,7 @@ import org.opendaylight.controller.md.sal.common.impl.util.compat.DataNormalizer
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPoint;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.netconf.sal.rest.api.Draft02;
+import org.opendaylight.netconf.sal.rest.impl.ChunkedResponseOutputStream;
 import org.opendaylight.netconf.sal.rest.impl.RestUtil;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorTag;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError.ErrorType;
@@ -93,6 +94,7 @@ public class ControllerContext implements SchemaContextListener {
 
     private volatile SchemaContext globalSchema;
     private volatile DOMMountPointService mountService;
+    private volatile int responseChunkSize = ChunkedResponseOutputStream.DEFAULT_CHUNK_SIZE;
 
     private DataNormalizer dataNormalizer;
 
@@ -105,6 +107,22 @@ public class ControllerContext implements SchemaContextListener {
         this.mountService = mountService;
     }
 
+    /**
+     * @param responseChunkSize
+     *            - number of bytes of a response buffered by the body writers before they are flushed to the client
+     */
+    public void setResponseChunkSize(final int responseChunkSize) {
+        Preconditions.checkArgument(responseChunkSize > 0
+                && responseChunkSize <= ChunkedResponseOutputStream.MAX_CHUNK_SIZE,
+                "Response chunk size must be between 1 and %s, was %s", ChunkedResponseOutputStream.MAX_CHUNK_SIZE,
+                responseChunkSize);
+        this.responseChunkSize = responseChunkSize;
+    }
+
+    public int getResponseChunkSize() {
+        return responseChunkSize;
+    }
+
     private ControllerContext() {
     }
 
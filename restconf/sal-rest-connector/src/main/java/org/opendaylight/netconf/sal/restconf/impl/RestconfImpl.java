@@ -903,12 +903,14 @@ public class RestconfImpl implements RestconfService {
         this.broker.registerToListenDataChanges(datastore, scope, listener);
 
         final UriBuilder uriBuilder = uriInfo.getAbsolutePathBuilder();
-        int notificationPort = NOTIFICATION_PORT;
-        try {
-            final WebSocketServer webSocketServerInstance = WebSocketServer.getInstance();
-            notificationPort = webSocketServerInstance.getPort();
-        } catch (final NullPointerException e) {
-            WebSocketServer.createInstance(NOTIFICATION_PORT);
+        final Optional<WebSocketServer> webSocketServerInstance = WebSocketServer.getInstanceIfPresent();
+        final int notificationPort;
+        if (webSocketServerInstance.isPresent()) {
+            notificationPort = webSocketServerInstance.get().getPort();
+        } else {
+            LOG.warn("Web socket server is not running, stream {} is advertised on default port {}", streamName,
+                    NOTIFICATION_PORT);
+            notificationPort = NOTIFICATION_PORT;
         }
         final UriBuilder uriToWebsocketServerBuilder = uriBuilder.port(notificationPort).scheme("ws");
         final URI uriToWebsocketServer = uriToWebsocketServerBuilder.replacePath(streamName).build();
@@ -25,7 +25,9 @@ import org.opendaylight.controller.sal.core.api.Broker.ProviderSession;
 import org.opendaylight.controller.sal.core.api.Provider;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.netconf.sal.rest.api.RestConnector;
+import org.opendaylight.netconf.sal.rest.impl.ChunkedResponseOutputStream;
 import org.opendaylight.netconf.sal.streams.websockets.WebSocketServer;
+import org.opendaylight.netconf.sal.streams.websockets.WebSocketServerConfiguration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev100924.PortNumber;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
@@ -35,12 +37,22 @@ public class RestconfProviderImpl implements Provider, AutoCloseable, RestConnec
     private final StatisticsRestconfServiceWrapper stats = StatisticsRestconfServiceWrapper.getInstance();
     private ListenerRegistration<SchemaContextListener> listenerRegistration;
     private PortNumber port;
+    private WebSocketServerConfiguration webSocketConfiguration = WebSocketServerConfiguration.DEFAULT;
     private Thread webSocketServerThread;
+    private int responseChunkSize = ChunkedResponseOutputStream.DEFAULT_CHUNK_SIZE;
 
     public void setWebsocketPort(final PortNumber port) {
         this.port = port;
     }
 
+    public void setWebsocketConfiguration(final WebSocketServerConfiguration webSocketConfiguration) {
+        this.webSocketConfiguration = webSocketConfiguration;
+    }
+
+    public void setResponseChunkSize(final int responseChunkSize) {
+        this.responseChunkSize = responseChunkSize;
+    }
+
     @Override
     public void onSessionInitiated(final ProviderSession session) {
         final DOMDataBroker domDataBroker = session.getService(DOMDataBroker.class);
@@ -54,8 +66,10 @@ public class RestconfProviderImpl implements Provider, AutoCloseable, RestConnec
 
         ControllerContext.getInstance().setSchemas(schemaService.getGlobalContext());
         ControllerContext.getInstance().setMountService(session.getService(DOMMountPointService.class));
+        ControllerContext.getInstance().setResponseChunkSize(responseChunkSize);
 
-        webSocketServerThread = new Thread(WebSocketServer.createInstance(port.getValue().intValue()));
+        webSocketServerThread = new Thread(WebSocketServer.createInstance(port.getValue().intValue(),
+                webSocketConfiguration));
         webSocketServerThread.setName("Web socket server on port " + port);
         webSocketServerThread.start();
     }
@@ -7,41 +7,36 @@
  */
 package org.opendaylight.netconf.sal.streams.listeners;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import com.google.common.eventbus.AsyncEventBus;
+import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.util.internal.ConcurrentSet;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
-import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Collection;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.regex.Pattern;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.concurrent.TimeUnit;
+import javanet.staxutils.IndentingXMLStreamWriter;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMResult;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataChangeListener;
 import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
@@ -57,15 +52,11 @@ import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.impl.codec.xml.XMLStreamNormalizedNodeStreamWriter;
-import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlDocumentUtils;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 
 /**
  * {@link ListenerAdapter} is responsible to track events, which occurred by changing data in data source.
@@ -73,11 +64,18 @@ import org.w3c.dom.Node;
 public class ListenerAdapter implements DOMDataChangeListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(ListenerAdapter.class);
-    private static final DocumentBuilderFactory DBF = DocumentBuilderFactory.newInstance();
-    private static final TransformerFactory FACTORY = TransformerFactory.newInstance();
-    private static final Pattern RFC3339_PATTERN = Pattern.compile("(\\d\\d)(\\d\\d)$");
+    private static final XMLOutputFactory XML_FACTORY = XMLOutputFactory.newFactory();
+    private static final DateTimeFormatter RFC3339 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx");
+    private static final String NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netconf:notification:1.0";
+    private static final String REMOTE_NAMESPACE = "urn:opendaylight:params:xml:ns:yang:controller:md:sal:remote";
+    private static final String INDENT = "    ";
 
-    private final SimpleDateFormat rfc3339 = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ssZ");
+    /**
+     * How long the outbound buffer of a subscriber may stay above its high water mark before the subscriber is
+     * considered too slow and disconnected.
+     */
+    @VisibleForTesting
+    static final long SLOW_SUBSCRIBER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
 
     private final YangInstanceIdentifier path;
     private ListenerRegistration<DOMDataChangeListener> registration;
@@ -85,6 +83,9 @@ public class ListenerAdapter implements DOMDataChangeListener {
     private Set<Channel> subscribers = new ConcurrentSet<>();
     private final EventBus eventBus;
     private final EventBusChangeRecorder eventBusChangeRecorder;
+    private final Ticker ticker;
+    // Accessed only by the event bus recorder
+    private final Map<Channel, Long> unwritableSince = new HashMap<>();
 
     /**
      * Creates new {@link ListenerAdapter} listener specified by path and stream name.
@@ -95,23 +96,33 @@ public class ListenerAdapter implements DOMDataChangeListener {
      *            The name of the stream.
      */
     ListenerAdapter(final YangInstanceIdentifier path, final String streamName) {
+        this(path, streamName, Executors.newSingleThreadExecutor(), Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    ListenerAdapter(final YangInstanceIdentifier path, final String streamName, final Executor executor,
+            final Ticker ticker) {
         Preconditions.checkNotNull(path);
         Preconditions.checkArgument(streamName != null && !streamName.isEmpty());
         this.path = path;
         this.streamName = streamName;
-        eventBus = new AsyncEventBus(Executors.newSingleThreadExecutor());
+        this.ticker = Preconditions.checkNotNull(ticker);
+        eventBus = new AsyncEventBus(Preconditions.checkNotNull(executor));
         eventBusChangeRecorder = new EventBusChangeRecorder();
         eventBus.register(eventBusChangeRecorder);
+        eventBus.register(new DeadEventReleaser());
     }
 
     @Override
     public void onDataChanged(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
         if (!change.getCreatedData().isEmpty() || !change.getUpdatedData().isEmpty()
                 || !change.getRemovedPaths().isEmpty()) {
-            final String xml = prepareXmlFrom(change);
-            final Event event = new Event(EventType.NOTIFY);
-            event.setData(xml);
-            eventBus.post(event);
+            final ByteBuf xml = prepareXmlFrom(change);
+            if (xml != null) {
+                final Event event = new Event(EventType.NOTIFY);
+                event.setData(xml);
+                eventBus.post(event);
+            }
         }
     }
 
@@ -128,19 +139,72 @@ public class ListenerAdapter implements DOMDataChangeListener {
                 }
             } else if (event.getType() == EventType.DEREGISTER) {
                 subscribers.remove(event.getSubscriber());
+                unwritableSince.remove(event.getSubscriber());
                 Notificator.removeListenerIfNoSubscriberExists(ListenerAdapter.this);
             } else if (event.getType() == EventType.NOTIFY) {
-                for (final Channel subscriber : subscribers) {
-                    if (subscriber.isActive()) {
-                        LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
-                        subscriber.writeAndFlush(new TextWebSocketFrame(event.getData()));
-                    } else {
-                        LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
-                        subscribers.remove(subscriber);
+                final ByteBuf data = event.getData();
+                boolean removed = false;
+                try {
+                    for (final Channel subscriber : subscribers) {
+                        if (!subscriber.isActive()) {
+                            LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
+                            subscribers.remove(subscriber);
+                            unwritableSince.remove(subscriber);
+                            removed = true;
+                        } else if (isTooSlow(subscriber)) {
+                            LOG.warn("Subscriber {} is disconnected - it is not consuming data fast enough.",
+                                    subscriber.remoteAddress());
+                            subscribers.remove(subscriber);
+                            unwritableSince.remove(subscriber);
+                            subscriber.close();
+                            removed = true;
+                        } else {
+                            LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
+                            // Every frame shares the encoded content, only the reader indexes are separate
+                            subscriber.writeAndFlush(new TextWebSocketFrame(data.duplicate().retain()));
+                        }
                     }
+                } finally {
+                    data.release();
+                }
+                if (removed) {
+                    Notificator.removeListenerIfNoSubscriberExists(ListenerAdapter.this);
                 }
             }
         }
+
+        /**
+         * A subscriber is too slow once its outbound buffer stays above the high water mark for
+         * {@link #SLOW_SUBSCRIBER_TIMEOUT_NANOS}. A single large notification making the channel unwritable for a
+         * moment does not disconnect it, notifications are still queued meanwhile.
+         */
+        private boolean isTooSlow(final Channel subscriber) {
+            if (subscriber.isWritable()) {
+                unwritableSince.remove(subscriber);
+                return false;
+            }
+            final long now = ticker.read();
+            final Long since = unwritableSince.get(subscriber);
+            if (since == null) {
+                unwritableSince.put(subscriber, now);
+                return false;
+            }
+            return now - since >= SLOW_SUBSCRIBER_TIMEOUT_NANOS;
+        }
+    }
+
+    /**
+     * Releases the data of notifications nobody receives anymore, i.e. those posted after {@link #close()} unregistered
+     * the change recorder. It stays registered for the whole life of the event bus.
+     */
+    private static final class DeadEventReleaser {
+        @Subscribe
+        public void releaseData(final DeadEvent deadEvent) {
+            final Object event = deadEvent.getEvent();
+            if (event instanceof Event && ((Event) event).getData() != null) {
+                ((Event) event).getData().release();
+            }
+        }
     }
 
     /**
@@ -149,7 +213,7 @@ public class ListenerAdapter implements DOMDataChangeListener {
     private final class Event {
         private final EventType type;
         private Channel subscriber;
-        private String data;
+        private ByteBuf data;
 
         /**
          * Creates new event specified by {@link EventType} type.
@@ -181,20 +245,20 @@ public class ListenerAdapter implements DOMDataChangeListener {
         }
 
         /**
-         * Gets event String.
+         * Gets event data.
          *
-         * @return String representation of event data.
+         * @return Buffer holding encoded event data.
          */
-        public String getData() {
+        public ByteBuf getData() {
             return data;
         }
 
         /**
          * Sets event data.
          *
-         * @param data String.
+         * @param data ByteBuf.
          */
-        public void setData(final String data) {
+        public void setData(final ByteBuf data) {
             this.data = data;
         }
 
@@ -218,45 +282,55 @@ public class ListenerAdapter implements DOMDataChangeListener {
     }
 
     /**
-     * Prepare data in printable form and transform it to String.
+     * Encode the change as an indented notification document. The document is streamed straight into a buffer, which
+     * is then shared by all subscribers of this stream.
      *
      * @param change
      *            DataChangeEvent
-     * @return Data in printable form.
+     * @return Buffer holding UTF-8 encoded notification document, or null if it could not be encoded.
      */
-    private String prepareXmlFrom(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
+    @VisibleForTesting
+    ByteBuf prepareXmlFrom(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
         final SchemaContext schemaContext = ControllerContext.getInstance().getGlobalSchema();
         final DataSchemaContextTree dataContextTree =  DataSchemaContextTree.from(schemaContext);
-        final Document doc = createDocument();
-        final Element notificationElement = doc.createElementNS("urn:ietf:params:xml:ns:netconf:notification:1.0",
-                "notification");
-        doc.appendChild(notificationElement);
-
-        final Element eventTimeElement = doc.createElement("eventTime");
-        eventTimeElement.setTextContent(toRFC3339(new Date()));
-        notificationElement.appendChild(eventTimeElement);
-
-        final Element dataChangedNotificationEventElement = doc.createElementNS(
-                "urn:opendaylight:params:xml:ns:yang:controller:md:sal:remote", "data-changed-notification");
-        addValuesToDataChangedNotificationEventElement(doc, dataChangedNotificationEventElement, change,
-                schemaContext, dataContextTree);
-        notificationElement.appendChild(dataChangedNotificationEventElement);
-
+        final ByteBuf buffer = Unpooled.buffer();
+        XMLStreamWriter writer = null;
         try {
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-            final Transformer transformer = FACTORY.newTransformer();
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-            transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-            transformer.transform(new DOMSource(doc), new StreamResult(new OutputStreamWriter(out, Charsets.UTF_8)));
-            final byte[] charData = out.toByteArray();
-            return new String(charData, "UTF-8");
-        } catch (TransformerException | UnsupportedEncodingException e) {
-            final String msg = "Error during transformation of Document into String";
-            LOG.error(msg, e);
-            return msg;
+            final IndentingXMLStreamWriter indentingWriter = new IndentingXMLStreamWriter(
+                    XML_FACTORY.createXMLStreamWriter(new ByteBufOutputStream(buffer), Charsets.UTF_8.name()));
+            indentingWriter.setIndent(INDENT);
+            writer = indentingWriter;
+            writer.writeStartDocument(Charsets.UTF_8.name(), "1.0");
+            writer.setDefaultNamespace(NOTIFICATION_NAMESPACE);
+            writer.writeStartElement(NOTIFICATION_NAMESPACE, "notification");
+            writer.writeDefaultNamespace(NOTIFICATION_NAMESPACE);
+
+            writer.writeStartElement(NOTIFICATION_NAMESPACE, "eventTime");
+            writer.writeCharacters(toRFC3339(OffsetDateTime.now()));
+            writer.writeEndElement();
+
+            writer.setDefaultNamespace(REMOTE_NAMESPACE);
+            writer.writeStartElement(REMOTE_NAMESPACE, "data-changed-notification");
+            writer.writeDefaultNamespace(REMOTE_NAMESPACE);
+            addValuesToDataChangedNotificationEventElement(writer, change, schemaContext, dataContextTree);
+            writer.writeEndElement();
+
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            return buffer;
+        } catch (final XMLStreamException | IOException e) {
+            LOG.error("Error during encoding of data change notification", e);
+            buffer.release();
+            return null;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (final XMLStreamException e) {
+                    LOG.debug("Failed to close notification writer", e);
+                }
+            }
         }
     }
 
@@ -264,196 +338,127 @@ public class ListenerAdapter implements DOMDataChangeListener {
      * Formats data specified by RFC3339.
      *
      * @param d
-     *            Date
+     *            Time
      * @return Data specified by RFC3339.
      */
-    private String toRFC3339(final Date d) {
-        return RFC3339_PATTERN.matcher(rfc3339.format(d)).replaceAll("$1:$2");
-    }
-
-    /**
-     * Creates {@link Document} document.
-     * @return {@link Document} document.
-     */
-    private Document createDocument() {
-        final DocumentBuilder bob;
-        try {
-            bob = DBF.newDocumentBuilder();
-        } catch (final ParserConfigurationException e) {
-            return null;
-        }
-        return bob.newDocument();
+    private static String toRFC3339(final OffsetDateTime d) {
+        return RFC3339.format(d);
     }
 
     /**
      * Adds values to data changed notification event element.
      *
-     * @param doc
-     *            {@link Document}
-     * @param dataChangedNotificationEventElement
-     *            {@link Element}
+     * @param writer
+     *            {@link XMLStreamWriter} positioned inside the data-changed-notification element
      * @param change
      *            {@link AsyncDataChangeEvent}
      */
-    private void addValuesToDataChangedNotificationEventElement(final Document doc,
-            final Element dataChangedNotificationEventElement,
+    private void addValuesToDataChangedNotificationEventElement(final XMLStreamWriter writer,
             final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change,
-            final SchemaContext  schemaContext, final DataSchemaContextTree dataSchemaContextTree) {
+            final SchemaContext  schemaContext, final DataSchemaContextTree dataSchemaContextTree)
+            throws XMLStreamException, IOException {
 
-        addCreatedChangedValuesFromDataToElement(doc, change.getCreatedData().entrySet(),
-                dataChangedNotificationEventElement,
+        addCreatedChangedValuesFromDataToElement(writer, change.getCreatedData().entrySet(),
                 Operation.CREATED, schemaContext, dataSchemaContextTree);
 
-        addCreatedChangedValuesFromDataToElement(doc, change.getUpdatedData().entrySet(),
-                    dataChangedNotificationEventElement,
-                    Operation.UPDATED, schemaContext, dataSchemaContextTree);
+        addCreatedChangedValuesFromDataToElement(writer, change.getUpdatedData().entrySet(),
+                Operation.UPDATED, schemaContext, dataSchemaContextTree);
 
-        addValuesFromDataToElement(doc, change.getRemovedPaths(), dataChangedNotificationEventElement,
-                Operation.DELETED);
+        addValuesFromDataToElement(writer, change.getRemovedPaths(), Operation.DELETED);
     }
 
     /**
      * Adds values from data to element.
      *
-     * @param doc
-     *            {@link Document}
+     * @param writer
+     *            {@link XMLStreamWriter}
      * @param data
      *            Set of {@link YangInstanceIdentifier}.
-     * @param element
-     *            {@link Element}
      * @param operation
      *            {@link Operation}
      */
-    private void addValuesFromDataToElement(final Document doc, final Set<YangInstanceIdentifier> data, final Element element,
-            final Operation operation) {
+    private void addValuesFromDataToElement(final XMLStreamWriter writer, final Set<YangInstanceIdentifier> data,
+            final Operation operation) throws XMLStreamException {
         if (data == null || data.isEmpty()) {
             return;
         }
         for (final YangInstanceIdentifier path : data) {
             if (!ControllerContext.getInstance().isNodeMixin(path)) {
-                final Node node = createDataChangeEventElement(doc, path, operation);
-                element.appendChild(node);
+                writer.writeStartElement(REMOTE_NAMESPACE, "data-change-event");
+                writePathAndOperation(writer, path, operation);
+                writer.writeEndElement();
             }
         }
     }
 
-    private void addCreatedChangedValuesFromDataToElement(final Document doc, final Set<Entry<YangInstanceIdentifier,
-                NormalizedNode<?,?>>> data, final Element element, final Operation operation, final SchemaContext
-            schemaContext, final DataSchemaContextTree dataSchemaContextTree) {
+    private void addCreatedChangedValuesFromDataToElement(final XMLStreamWriter writer, final Set<Entry<YangInstanceIdentifier,
+                NormalizedNode<?,?>>> data, final Operation operation, final SchemaContext schemaContext,
+            final DataSchemaContextTree dataSchemaContextTree) throws XMLStreamException, IOException {
         if (data == null || data.isEmpty()) {
             return;
         }
         for (Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry : data) {
             if (!ControllerContext.getInstance().isNodeMixin(entry.getKey())) {
-                final Node node = createCreatedChangedDataChangeEventElement(doc, entry, operation, schemaContext,
-                        dataSchemaContextTree);
-                element.appendChild(node);
+                writer.writeStartElement(REMOTE_NAMESPACE, "data-change-event");
+                writePathAndOperation(writer, entry.getKey(), operation);
+                writer.writeStartElement(REMOTE_NAMESPACE, "data");
+                writeNormalizedNode(writer, entry.getValue(), entry.getKey(), schemaContext, dataSchemaContextTree);
+                writer.writeEndElement();
+                writer.writeEndElement();
             }
         }
     }
 
     /**
-     * Creates changed event element from data.
+     * Writes path and operation elements of a data change event.
      *
-     * @param doc
-     *            {@link Document}
+     * @param writer
+     *            {@link XMLStreamWriter}
      * @param path
      *            Path to data in data store.
      * @param operation
      *            {@link Operation}
-     * @return {@link Node} node represented by changed event element.
      */
-    private Node createDataChangeEventElement(final Document doc, final YangInstanceIdentifier path, final Operation operation) {
-        final Element dataChangeEventElement = doc.createElement("data-change-event");
-        final Element pathElement = doc.createElement("path");
-        addPathAsValueToElement(path, pathElement);
-        dataChangeEventElement.appendChild(pathElement);
-
-        final Element operationElement = doc.createElement("operation");
-        operationElement.setTextContent(operation.value);
-        dataChangeEventElement.appendChild(operationElement);
-
-        return dataChangeEventElement;
+    private void writePathAndOperation(final XMLStreamWriter writer, final YangInstanceIdentifier path,
+            final Operation operation) throws XMLStreamException {
+        writer.writeStartElement(REMOTE_NAMESPACE, "path");
+        writePathAsValue(writer, path);
+        writer.writeEndElement();
+
+        writer.writeStartElement(REMOTE_NAMESPACE, "operation");
+        writer.writeCharacters(operation.value);
+        writer.writeEndElement();
     }
 
-    private Node createCreatedChangedDataChangeEventElement(final Document doc, final Entry<YangInstanceIdentifier,
-            NormalizedNode<?, ?>> entry, final Operation operation, final SchemaContext
-            schemaContext, final DataSchemaContextTree dataSchemaContextTree) {
-        final Element dataChangeEventElement = doc.createElement("data-change-event");
-        final Element pathElement = doc.createElement("path");
-        final YangInstanceIdentifier path = entry.getKey();
-        addPathAsValueToElement(path, pathElement);
-        dataChangeEventElement.appendChild(pathElement);
-
-        final Element operationElement = doc.createElement("operation");
-        operationElement.setTextContent(operation.value);
-        dataChangeEventElement.appendChild(operationElement);
-
-        try {
-            final DOMResult domResult = writeNormalizedNode(entry.getValue(), path,
-                    schemaContext, dataSchemaContextTree);
-            final Node result = doc.importNode(domResult.getNode().getFirstChild(), true);
-            final Element dataElement = doc.createElement("data");
-            dataElement.appendChild(result);
-            dataChangeEventElement.appendChild(dataElement);
-        } catch (IOException e) {
-            LOG.error("Error in writer ", e);
-        } catch (XMLStreamException e) {
-            LOG.error("Error processing stream", e);
-        }
-
-        return dataChangeEventElement;
-    }
-
-    private static DOMResult writeNormalizedNode(final NormalizedNode<?,?> normalized, final
-        YangInstanceIdentifier path, final SchemaContext context, final DataSchemaContextTree dataSchemaContextTree) throws
-            IOException, XMLStreamException {
-        final XMLOutputFactory XML_FACTORY = XMLOutputFactory.newFactory();
-        final Document doc = XmlDocumentUtils.getDocument();
-        final DOMResult result = new DOMResult(doc);
-        NormalizedNodeWriter normalizedNodeWriter = null;
-        NormalizedNodeStreamWriter normalizedNodeStreamWriter = null;
-        XMLStreamWriter writer = null;
+    private static void writeNormalizedNode(final XMLStreamWriter writer, final NormalizedNode<?,?> normalized,
+            final YangInstanceIdentifier path, final SchemaContext context,
+            final DataSchemaContextTree dataSchemaContextTree) throws IOException {
         final SchemaPath nodePath;
-
         if (normalized instanceof MapEntryNode || normalized instanceof UnkeyedListEntryNode) {
             nodePath = dataSchemaContextTree.getChild(path).getDataSchemaNode().getPath();
         } else {
             nodePath = dataSchemaContextTree.getChild(path).getDataSchemaNode().getPath().getParent();
         }
 
-        try {
-            writer = XML_FACTORY.createXMLStreamWriter(result);
-            normalizedNodeStreamWriter = XMLStreamNormalizedNodeStreamWriter.create(writer, context, nodePath);
-            normalizedNodeWriter = NormalizedNodeWriter.forStreamWriter(normalizedNodeStreamWriter);
-
-            normalizedNodeWriter.write(normalized);
-
-            normalizedNodeWriter.flush();
-        } finally {
-            if (normalizedNodeWriter != null) {
-                normalizedNodeWriter.close();
-            }
-            if (normalizedNodeStreamWriter != null) {
-                normalizedNodeStreamWriter.close();
-            }
-            if (writer != null) {
-                writer.close();
-            }
-        }
-
-        return result;
+        // The shared XML writer is not closed here, it still holds the enclosing elements
+        final NormalizedNodeStreamWriter normalizedNodeStreamWriter =
+                XMLStreamNormalizedNodeStreamWriter.create(writer, context, nodePath);
+        final NormalizedNodeWriter normalizedNodeWriter =
+                NormalizedNodeWriter.forStreamWriter(normalizedNodeStreamWriter);
+        normalizedNodeWriter.write(normalized);
+        normalizedNodeWriter.flush();
     }
 
     /**
-     * Adds path as value to element.
+     * Writes path as value of the current element, declaring namespace prefixes used in it.
      *
+     * @param writer
+     *            {@link XMLStreamWriter} positioned right after the start of the path element
      * @param path
      *            Path to data in data store.
-     * @param element
-     *            {@link Element}
      */
-    private void addPathAsValueToElement(final YangInstanceIdentifier path, final Element element) {
+    private void writePathAsValue(final XMLStreamWriter writer, final YangInstanceIdentifier path)
+            throws XMLStreamException {
         // Map< key = namespace, value = prefix>
         final Map<String, String> prefixes = new HashMap<>();
         final YangInstanceIdentifier normalizedPath = ControllerContext.getInstance().toXpathRepresentation(path);
@@ -465,13 +470,13 @@ public class ListenerAdapter implements DOMDataChangeListener {
                 continue;
             }
             textContent.append("/");
-            writeIdentifierWithNamespacePrefix(element, textContent, pathArgument.getNodeType(), prefixes);
+            writeIdentifierWithNamespacePrefix(textContent, pathArgument.getNodeType(), prefixes);
             if (pathArgument instanceof NodeIdentifierWithPredicates) {
                 final Map<QName, Object> predicates = ((NodeIdentifierWithPredicates) pathArgument).getKeyValues();
                 for (final QName keyValue : predicates.keySet()) {
                     final String predicateValue = String.valueOf(predicates.get(keyValue));
                     textContent.append("[");
-                    writeIdentifierWithNamespacePrefix(element, textContent, keyValue, prefixes);
+                    writeIdentifierWithNamespacePrefix(textContent, keyValue, prefixes);
                     textContent.append("='");
                     textContent.append(predicateValue);
                     textContent.append("'");
@@ -484,14 +489,16 @@ public class ListenerAdapter implements DOMDataChangeListener {
                 textContent.append("]");
             }
         }
-        element.setTextContent(textContent.toString());
+
+        for (final Entry<String, String> prefix : prefixes.entrySet()) {
+            writer.writeNamespace(prefix.getValue(), prefix.getKey());
+        }
+        writer.writeCharacters(textContent.toString());
     }
 
     /**
      * Writes identifier that consists of prefix and QName.
      *
-     * @param element
-     *            {@link Element}
      * @param textContent
      *            StringBuilder
      * @param qName
@@ -499,18 +506,16 @@ public class ListenerAdapter implements DOMDataChangeListener {
      * @param prefixes
      *            Map of namespaces and prefixes.
      */
-    private static void writeIdentifierWithNamespacePrefix(final Element element, final StringBuilder textContent,
-            final QName qName, final Map<String, String> prefixes) {
+    private static void writeIdentifierWithNamespacePrefix(final StringBuilder textContent, final QName qName,
+            final Map<String, String> prefixes) {
         final String namespace = qName.getNamespace().toString();
         String prefix = prefixes.get(namespace);
         if (prefix == null) {
             prefix = generateNewPrefix(prefixes.values());
+            prefixes.put(namespace, prefix);
         }
 
-        element.setAttribute("xmlns:" + prefix, namespace);
         textContent.append(prefix);
-        prefixes.put(namespace, prefix);
-
         textContent.append(":");
         textContent.append(qName.getLocalName());
     }
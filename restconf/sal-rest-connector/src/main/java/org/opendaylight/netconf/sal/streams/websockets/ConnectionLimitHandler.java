@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.streams.websockets;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ConnectionLimitHandler} is shared by all child channels of the {@link WebSocketServer} and closes every
+ * connection exceeding the configured maximum number of open connections.
+ */
+@Sharable
+class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionLimitHandler.class);
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final int maxConnections;
+
+    ConnectionLimitHandler(final int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        if (connections.incrementAndGet() > maxConnections) {
+            LOG.warn("Connection from {} rejected, limit of {} web socket connections reached",
+                    ctx.channel().remoteAddress(), maxConnections);
+            ctx.close();
+            return;
+        }
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        connections.decrementAndGet();
+        super.channelInactive(ctx);
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.sal.streams.websockets;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
@@ -29,26 +30,39 @@ public class WebSocketServer implements Runnable {
     private static WebSocketServer instance = null;
 
     private final int port;
+    private final WebSocketServerConfiguration configuration;
 
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
 
 
-    private WebSocketServer(final int port) {
+    private WebSocketServer(final int port, final WebSocketServerConfiguration configuration) {
         this.port = port;
+        this.configuration = configuration;
     }
 
     /**
-     * Create singleton instance of {@link WebSocketServer}
+     * Create singleton instance of {@link WebSocketServer} with default configuration
      *
      * @param port TCP port used for this server
      * @return instance of {@link WebSocketServer}
      */
     public static WebSocketServer createInstance(final int port) {
+        return createInstance(port, WebSocketServerConfiguration.DEFAULT);
+    }
+
+    /**
+     * Create singleton instance of {@link WebSocketServer}
+     *
+     * @param port TCP port used for this server
+     * @param configuration threading and connection limits of this server
+     * @return instance of {@link WebSocketServer}
+     */
+    public static WebSocketServer createInstance(final int port, final WebSocketServerConfiguration configuration) {
         Preconditions.checkState(instance == null, "createInstance() has already been called");
         Preconditions.checkArgument(port >= 1024, "Privileged port (below 1024) is not allowed");
 
-        instance = new WebSocketServer(port);
+        instance = new WebSocketServer(port, Preconditions.checkNotNull(configuration));
         return instance;
     }
 
@@ -69,6 +83,15 @@ public class WebSocketServer implements Runnable {
         return instance;
     }
 
+    /**
+     * Get instance of {@link WebSocketServer} if it has been created by {@link #createInstance(int)}
+     *
+     * @return instance of {@link WebSocketServer} or absent if no instance exists
+     */
+    public static Optional<WebSocketServer> getInstanceIfPresent() {
+        return Optional.fromNullable(instance);
+    }
+
     /**
      * Destroy the existing instance
      */
@@ -81,12 +104,13 @@ public class WebSocketServer implements Runnable {
 
     @Override
     public void run() {
-        bossGroup = new NioEventLoopGroup();
-        workerGroup = new NioEventLoopGroup();
+        // A single acceptor thread is plenty for a single listening socket
+        bossGroup = new NioEventLoopGroup(1);
+        workerGroup = new NioEventLoopGroup(configuration.getWorkerThreads());
         try {
             final ServerBootstrap serverBootstrap = new ServerBootstrap();
             serverBootstrap.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class)
-                    .childHandler(new WebSocketServerInitializer());
+                    .childHandler(new WebSocketServerInitializer(configuration));
 
             final Channel channel = serverBootstrap.bind(port).sync().channel();
             LOG.info("Web socket server started at port {}.", port);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.streams.websockets;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Resource limits of the {@link WebSocketServer}. Zero values of thread count, connection limit, ping interval and
+ * idle timeout mean netty default, unlimited, no pings and no idle timeout respectively.
+ */
+public final class WebSocketServerConfiguration {
+
+    public static final WebSocketServerConfiguration DEFAULT = new WebSocketServerConfigurationBuilder().build();
+
+    private final int workerThreads;
+    private final int maxConnections;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final int pingIntervalSeconds;
+    private final int idleTimeoutSeconds;
+
+    private WebSocketServerConfiguration(final WebSocketServerConfigurationBuilder builder) {
+        this.workerThreads = builder.workerThreads;
+        this.maxConnections = builder.maxConnections;
+        this.writeBufferLowWaterMark = builder.writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = builder.writeBufferHighWaterMark;
+        this.pingIntervalSeconds = builder.pingIntervalSeconds;
+        this.idleTimeoutSeconds = builder.idleTimeoutSeconds;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public int getPingIntervalSeconds() {
+        return pingIntervalSeconds;
+    }
+
+    public int getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    public static class WebSocketServerConfigurationBuilder {
+        private int workerThreads = 0;
+        private int maxConnections = 0;
+        private int writeBufferLowWaterMark = 32 * 1024;
+        private int writeBufferHighWaterMark = 64 * 1024;
+        private int pingIntervalSeconds = 30;
+        private int idleTimeoutSeconds = 90;
+
+        public WebSocketServerConfigurationBuilder setWorkerThreads(final int workerThreads) {
+            Preconditions.checkArgument(workerThreads >= 0, "Negative worker thread count %s", workerThreads);
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        public WebSocketServerConfigurationBuilder setMaxConnections(final int maxConnections) {
+            Preconditions.checkArgument(maxConnections >= 0, "Negative connection limit %s", maxConnections);
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public WebSocketServerConfigurationBuilder setWriteBufferWaterMarks(final int low, final int high) {
+            Preconditions.checkArgument(low > 0 && low <= high,
+                    "Invalid write buffer water marks low=%s high=%s", low, high);
+            this.writeBufferLowWaterMark = low;
+            this.writeBufferHighWaterMark = high;
+            return this;
+        }
+
+        public WebSocketServerConfigurationBuilder setPingIntervalSeconds(final int pingIntervalSeconds) {
+            Preconditions.checkArgument(pingIntervalSeconds >= 0, "Negative ping interval %s", pingIntervalSeconds);
+            this.pingIntervalSeconds = pingIntervalSeconds;
+            return this;
+        }
+
+        public WebSocketServerConfigurationBuilder setIdleTimeoutSeconds(final int idleTimeoutSeconds) {
+            Preconditions.checkArgument(idleTimeoutSeconds >= 0, "Negative idle timeout %s", idleTimeoutSeconds);
+            this.idleTimeoutSeconds = idleTimeoutSeconds;
+            return this;
+        }
+
+        public WebSocketServerConfiguration build() {
+            return new WebSocketServerConfiguration(this);
+        }
+    }
+}
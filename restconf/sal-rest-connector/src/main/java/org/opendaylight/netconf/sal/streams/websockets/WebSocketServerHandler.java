@@ -33,6 +33,8 @@ import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.CharsetUtil;
 import java.io.IOException;
 import org.opendaylight.netconf.sal.streams.listeners.ListenerAdapter;
@@ -49,6 +51,7 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<Object>
     private static final Logger logger = LoggerFactory.getLogger(WebSocketServerHandler.class);
 
     private WebSocketServerHandshaker handshaker;
+    private ListenerAdapter subscribedListener;
 
     @Override
     protected void channelRead0(final ChannelHandlerContext ctx, final Object msg) throws Exception {
@@ -84,6 +87,7 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<Object>
         ListenerAdapter listener = Notificator.getListenerFor(streamName);
         if (listener != null) {
             listener.addSubscriber(ctx.channel());
+            subscribedListener = listener;
             logger.debug("Subscriber successfully registered.");
         } else {
             logger.error("Listener for stream with name '{}' was not found.", streamName);
@@ -146,6 +150,7 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<Object>
                 listener.removeSubscriber(ctx.channel());
                 logger.debug("Subscriber successfully registered.");
             }
+            subscribedListener = null;
             Notificator.removeListenerIfNoSubscriberExists(listener);
             return;
         } else if (frame instanceof PingWebSocketFrame) {
@@ -154,6 +159,31 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<Object>
         }
     }
 
+    @Override
+    public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            final IdleState state = ((IdleStateEvent) evt).state();
+            if (state == IdleState.READER_IDLE) {
+                logger.debug("Closing idle web socket connection to {}", ctx.channel().remoteAddress());
+                ctx.close();
+            } else if (state == IdleState.WRITER_IDLE && handshaker != null) {
+                ctx.writeAndFlush(new PingWebSocketFrame());
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // Release the subscription right away instead of waiting for the next notification to find the channel dead
+        if (subscribedListener != null) {
+            subscribedListener.removeSubscriber(ctx.channel());
+            subscribedListener = null;
+        }
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
         if (cause instanceof java.nio.channels.ClosedChannelException == false) {
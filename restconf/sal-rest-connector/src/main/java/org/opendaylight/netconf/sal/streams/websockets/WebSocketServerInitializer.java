@@ -13,6 +13,8 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.timeout.IdleStateHandler;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link WebSocketServerInitializer} is used to setup the {@link ChannelPipeline} of a {@link io.netty.channel.Channel}
@@ -20,9 +22,35 @@ import io.netty.handler.codec.http.HttpServerCodec;
  */
 public class WebSocketServerInitializer extends ChannelInitializer<SocketChannel> {
 
+    private final WebSocketServerConfiguration configuration;
+    private final ConnectionLimitHandler connectionLimitHandler;
+
+    public WebSocketServerInitializer() {
+        this(WebSocketServerConfiguration.DEFAULT);
+    }
+
+    public WebSocketServerInitializer(final WebSocketServerConfiguration configuration) {
+        this.configuration = configuration;
+        this.connectionLimitHandler = configuration.getMaxConnections() > 0
+                ? new ConnectionLimitHandler(configuration.getMaxConnections()) : null;
+    }
+
     @Override
     protected void initChannel(final SocketChannel ch) throws Exception {
+        // Low mark is reset first, so that the marks can be set in any order without crossing each other
+        ch.config().setWriteBufferLowWaterMark(0);
+        ch.config().setWriteBufferHighWaterMark(configuration.getWriteBufferHighWaterMark());
+        ch.config().setWriteBufferLowWaterMark(configuration.getWriteBufferLowWaterMark());
+
         ChannelPipeline pipeline = ch.pipeline();
+        if (connectionLimitHandler != null) {
+            pipeline.addLast("connection-limit", connectionLimitHandler);
+        }
+        if (configuration.getPingIntervalSeconds() > 0 || configuration.getIdleTimeoutSeconds() > 0) {
+            // Reader idle closes dead subscribers, writer idle triggers a ping keeping live ones busy
+            pipeline.addLast("idle", new IdleStateHandler(configuration.getIdleTimeoutSeconds(),
+                    configuration.getPingIntervalSeconds(), 0, TimeUnit.SECONDS));
+        }
         pipeline.addLast("codec-http", new HttpServerCodec());
         pipeline.addLast("aggregator", new HttpObjectAggregator(65536));
         pipeline.addLast("handler", new WebSocketServerHandler());
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.sal.rest.impl.test.providers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.rest.impl.ChunkedResponseOutputStream;
+
+public class ChunkedResponseOutputStreamTest {
+
+    @Test
+    public void testFlushesWhenChunkIsFull() throws Exception {
+        final ByteArrayOutputStream entityStream = spy(new ByteArrayOutputStream());
+        final ChunkedResponseOutputStream stream = new ChunkedResponseOutputStream(entityStream, 4);
+
+        stream.write(new byte[] { 1, 2, 3 });
+        stream.flush();
+        assertEquals(0, entityStream.size());
+
+        stream.write(new byte[] { 4, 5 });
+        assertEquals(3, entityStream.size());
+        verify(entityStream, times(1)).flush();
+
+        stream.finish();
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, entityStream.toByteArray());
+        verify(entityStream, times(2)).flush();
+    }
+
+    @Test
+    public void testLargeWriteBypassesBuffer() throws Exception {
+        final ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        final ChunkedResponseOutputStream stream = new ChunkedResponseOutputStream(entityStream, 2);
+
+        stream.write(0);
+        stream.write(new byte[] { 1, 2, 3, 4 }, 0, 4);
+        assertArrayEquals(new byte[] { 0, 1, 2, 3, 4 }, entityStream.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() {
+        new ChunkedResponseOutputStream(new ByteArrayOutputStream(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunkSizeAboveMaximum() {
+        new ChunkedResponseOutputStream(new ByteArrayOutputStream(), ChunkedResponseOutputStream.MAX_CHUNK_SIZE + 1);
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.controller.sal.rest.impl.test.providers;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -74,4 +75,19 @@ public class TestJsonBodyWriter extends AbstractBodyReaderTest {
                 output);
         assertTrue(output.toString().contains("lf-test"));
     }
+
+    @Test
+    public void repeatedWriteReusesCodecsTest() throws Exception {
+        final String uri = "invoke-rpc-module:rpc-test";
+        mockBodyReader(uri, jsonBodyReader, true);
+        final InputStream inputStream = TestJsonBodyWriter.class
+                .getResourceAsStream("/invoke-rpc/json/rpc-output.json");
+        final NormalizedNodeContext returnValue = jsonBodyReader.readFrom(null,
+                null, null, mediaType, null, inputStream);
+        final OutputStream first = new ByteArrayOutputStream();
+        jsonBodyWriter.writeTo(returnValue, null, null, null, mediaType, null, first);
+        final OutputStream second = new ByteArrayOutputStream();
+        jsonBodyWriter.writeTo(returnValue, null, null, null, mediaType, null, second);
+        assertEquals(first.toString(), second.toString());
+    }
 }
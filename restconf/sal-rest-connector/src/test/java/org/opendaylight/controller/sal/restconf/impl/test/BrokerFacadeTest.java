@@ -9,17 +9,22 @@
 package org.opendaylight.controller.sal.restconf.impl.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import java.util.concurrent.Future;
@@ -45,6 +50,10 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.sal.core.api.Broker.ConsumerSession;
 import org.opendaylight.netconf.sal.restconf.impl.BrokerFacade;
 import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
+import org.opendaylight.netconf.sal.restconf.impl.InstanceIdentifierContext;
+import org.opendaylight.netconf.sal.restconf.impl.PATCHContext;
+import org.opendaylight.netconf.sal.restconf.impl.PATCHEntity;
+import org.opendaylight.netconf.sal.restconf.impl.PATCHStatusContext;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfDocumentedException;
 import org.opendaylight.netconf.sal.restconf.impl.RestconfError;
 import org.opendaylight.netconf.sal.streams.listeners.ListenerAdapter;
@@ -55,6 +64,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -229,6 +239,91 @@ public class BrokerFacadeTest {
         }
     }
 
+    @Test
+    public void testPatchDeleteDoesNotReadExistence() {
+        final PATCHContext patchContext = new PATCHContext(mock(InstanceIdentifierContext.class),
+                Lists.newArrayList(new PATCHEntity("edit1", "delete", instanceID, null)), "patch1");
+        final PATCHStatusContext status = brokerFacade.patchConfigurationDataWithinTransaction(patchContext, null);
+
+        assertTrue(status.isOk());
+        verify(rwTransaction, never()).exists(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+        verify(rwTransaction).delete(LogicalDatastoreType.CONFIGURATION, instanceID);
+        verify(rwTransaction).submit();
+    }
+
+    @Test
+    public void testPatchCreateFailsOnFailedExistenceRead() {
+        when(rwTransaction.exists(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class)))
+                .thenReturn(Futures.<Boolean, ReadFailedException>immediateFailedCheckedFuture(
+                        new ReadFailedException("Read failed")));
+
+        final PATCHContext patchContext = new PATCHContext(mock(InstanceIdentifierContext.class),
+                Lists.newArrayList(new PATCHEntity("edit1", "create", instanceID, dummyNode)), "patch1");
+        final PATCHStatusContext status = brokerFacade.patchConfigurationDataWithinTransaction(patchContext, null);
+
+        assertFalse(status.isOk());
+        assertEquals("getErrorTag", RestconfError.ErrorTag.OPERATION_FAILED,
+                status.getEditCollection().get(0).getEditErrors().get(0).getErrorTag());
+        verify(rwTransaction, never()).put(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class),
+                any(NormalizedNode.class));
+        verify(rwTransaction, never()).submit();
+    }
+
+    @Test
+    public void testPatchExistenceIsReadOnceAndRevalidatedAfterOverlappingEdit() {
+        when(rwTransaction.exists(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class)))
+                .thenReturn(wrapExistence(true), wrapExistence(false));
+
+        final PATCHContext patchContext = new PATCHContext(mock(InstanceIdentifierContext.class),
+                Lists.newArrayList(new PATCHEntity("edit1", "delete", instanceID, null),
+                        new PATCHEntity("edit2", "create", instanceID, dummyNode)), "patch1");
+        final PATCHStatusContext status = brokerFacade.patchConfigurationDataWithinTransaction(patchContext, null);
+
+        assertTrue(status.isOk());
+        // One prefetch for the create, one re-read because the delete touched the created path
+        verify(rwTransaction, times(2)).exists(eq(LogicalDatastoreType.CONFIGURATION), eq(instanceID));
+        final InOrder inOrder = inOrder(rwTransaction);
+        inOrder.verify(rwTransaction).delete(LogicalDatastoreType.CONFIGURATION, instanceID);
+        inOrder.verify(rwTransaction).put(LogicalDatastoreType.CONFIGURATION, instanceID, dummyNode);
+        inOrder.verify(rwTransaction).submit();
+    }
+
+    @Test
+    public void testPatchCreateBelowReplacedContainerMergesParentsAgain() {
+        when(rwTransaction.exists(eq(LogicalDatastoreType.CONFIGURATION), any(YangInstanceIdentifier.class)))
+                .thenReturn(wrapExistence(false));
+
+        final QName cont = QName.create("test:module", "2014-01-09", "cont");
+        final QName cont1 = QName.create(cont, "cont1");
+        final YangInstanceIdentifier contPath = YangInstanceIdentifier.of(cont);
+        final QName lf11 = QName.create(cont, "lf11");
+        final QName lf12 = QName.create(cont, "lf12");
+        final YangInstanceIdentifier lf11Path = contPath.node(cont1).node(lf11);
+        final YangInstanceIdentifier lf12Path = contPath.node(cont1).node(lf12);
+
+        final PATCHContext patchContext = new PATCHContext(mock(InstanceIdentifierContext.class),
+                Lists.newArrayList(
+                        new PATCHEntity("edit1", "create", lf11Path, ImmutableNodes.leafNode(lf11, "a")),
+                        new PATCHEntity("edit2", "replace", contPath, ImmutableNodes.containerNode(cont)),
+                        new PATCHEntity("edit3", "create", lf12Path, ImmutableNodes.leafNode(lf12, "b"))),
+                "patch1");
+        final PATCHStatusContext status = brokerFacade.patchConfigurationDataWithinTransaction(patchContext,
+                ControllerContext.getInstance().getGlobalSchema());
+
+        assertTrue(status.isOk());
+        // The replace wiped cont1 merged for the first create, the last create has to merge it again
+        final InOrder inOrder = inOrder(rwTransaction);
+        inOrder.verify(rwTransaction).merge(eq(LogicalDatastoreType.CONFIGURATION), eq(contPath),
+                any(NormalizedNode.class));
+        inOrder.verify(rwTransaction).put(eq(LogicalDatastoreType.CONFIGURATION), eq(contPath),
+                any(NormalizedNode.class));
+        inOrder.verify(rwTransaction).merge(eq(LogicalDatastoreType.CONFIGURATION), eq(contPath),
+                any(NormalizedNode.class));
+        inOrder.verify(rwTransaction).put(eq(LogicalDatastoreType.CONFIGURATION), eq(lf12Path),
+                any(NormalizedNode.class));
+        inOrder.verify(rwTransaction).submit();
+    }
+
     @Test
     public void testCommitConfigurationDataDelete() {
         @SuppressWarnings("unchecked")
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.streams.listeners;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.controller.sal.restconf.impl.test.TestUtils;
+import org.opendaylight.netconf.sal.restconf.impl.ControllerContext;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ListenerAdapterTest {
+
+    private static final QName CONT = QName.create("test:module", "2014-01-09", "cont");
+    private static final QName CONT1 = QName.create(CONT, "cont1");
+    private static final QName LF11 = QName.create(CONT, "lf11");
+    private static final YangInstanceIdentifier CONT1_PATH = YangInstanceIdentifier.of(CONT).node(CONT1);
+
+    private final FakeTicker ticker = new FakeTicker();
+    private ListenerAdapter adapter;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        ControllerContext.getInstance().setSchemas(TestUtils.loadSchemaContext("/full-versions/test-module"));
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        adapter = new ListenerAdapter(CONT1_PATH, "test-stream", MoreExecutors.directExecutor(), ticker);
+        adapter.setRegistration(mock(ListenerRegistration.class));
+    }
+
+    @After
+    public void tearDown() {
+        Notificator.removeAllListeners();
+    }
+
+    @Test
+    public void testNotificationIsEncodedAndIndented() {
+        final EmbeddedChannel subscriber = new EmbeddedChannel();
+        adapter.addSubscriber(subscriber);
+
+        adapter.onDataChanged(createdCont1("abc"));
+
+        final String notification = readNotification(subscriber);
+        assertTrue(notification.contains("<data-changed-notification"));
+        assertTrue(notification.contains("<operation>created</operation>"));
+        assertTrue(notification.contains("abc</lf11>"));
+        assertTrue(notification.contains("\n    <eventTime>"));
+        assertNull(subscriber.readOutbound());
+    }
+
+    @Test
+    public void testAllSubscribersGetTheNotification() {
+        final EmbeddedChannel first = new EmbeddedChannel();
+        final EmbeddedChannel second = new EmbeddedChannel();
+        adapter.addSubscriber(first);
+        adapter.addSubscriber(second);
+
+        adapter.onDataChanged(createdCont1("abc"));
+
+        assertTrue(readNotification(first).contains("abc</lf11>"));
+        assertTrue(readNotification(second).contains("abc</lf11>"));
+    }
+
+    @Test
+    public void testTemporarilyUnwritableSubscriberStaysConnected() {
+        final ThrottledChannel subscriber = new ThrottledChannel();
+        adapter.addSubscriber(subscriber);
+
+        subscriber.writable = false;
+        adapter.onDataChanged(createdCont1("first"));
+        ticker.advance(ListenerAdapter.SLOW_SUBSCRIBER_TIMEOUT_NANOS - 1);
+        adapter.onDataChanged(createdCont1("second"));
+
+        // Caught up, the next congestion starts counting from scratch
+        subscriber.writable = true;
+        adapter.onDataChanged(createdCont1("third"));
+        subscriber.writable = false;
+        adapter.onDataChanged(createdCont1("fourth"));
+        ticker.advance(ListenerAdapter.SLOW_SUBSCRIBER_TIMEOUT_NANOS - 1);
+        adapter.onDataChanged(createdCont1("fifth"));
+
+        assertTrue(subscriber.isOpen());
+        assertTrue(adapter.hasSubscribers());
+        for (final String value : new String[] {"first", "second", "third", "fourth", "fifth"}) {
+            assertTrue(readNotification(subscriber).contains(value + "</lf11>"));
+        }
+    }
+
+    @Test
+    public void testSlowSubscriberIsDisconnectedAndListenerRemoved() {
+        final ThrottledChannel subscriber = new ThrottledChannel();
+        adapter.addSubscriber(subscriber);
+
+        subscriber.writable = false;
+        adapter.onDataChanged(createdCont1("first"));
+        assertTrue(subscriber.isOpen());
+
+        ticker.advance(ListenerAdapter.SLOW_SUBSCRIBER_TIMEOUT_NANOS);
+        adapter.onDataChanged(createdCont1("second"));
+
+        assertFalse(subscriber.isOpen());
+        assertFalse(adapter.hasSubscribers());
+        assertFalse(adapter.isListening());
+        assertNotNull(subscriber.readOutbound());
+        assertNull(subscriber.readOutbound());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNotificationAfterCloseIsReleased() throws Exception {
+        final List<ByteBuf> encoded = new ArrayList<>();
+        final ListenerAdapter closed = new ListenerAdapter(CONT1_PATH, "closed-stream", MoreExecutors.directExecutor(),
+                ticker) {
+            @Override
+            ByteBuf prepareXmlFrom(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
+                final ByteBuf xml = super.prepareXmlFrom(change);
+                encoded.add(xml);
+                return xml;
+            }
+        };
+        closed.setRegistration(mock(ListenerRegistration.class));
+        closed.addSubscriber(new EmbeddedChannel());
+        closed.close();
+
+        closed.onDataChanged(createdCont1("abc"));
+
+        assertEquals(1, encoded.size());
+        assertEquals(0, encoded.get(0).refCnt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> createdCont1(final String value) {
+        final NormalizedNode<?, ?> cont1 = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(CONT1))
+                .withChild(ImmutableNodes.leafNode(LF11, value))
+                .build();
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> created =
+                Collections.<YangInstanceIdentifier, NormalizedNode<?, ?>>singletonMap(CONT1_PATH, cont1);
+
+        final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change =
+                mock(AsyncDataChangeEvent.class);
+        when(change.getCreatedData()).thenReturn(created);
+        when(change.getUpdatedData()).thenReturn(Collections.<YangInstanceIdentifier, NormalizedNode<?, ?>>emptyMap());
+        when(change.getRemovedPaths()).thenReturn(Collections.<YangInstanceIdentifier>emptySet());
+        return change;
+    }
+
+    private static String readNotification(final EmbeddedChannel subscriber) {
+        final TextWebSocketFrame frame = (TextWebSocketFrame) subscriber.readOutbound();
+        assertNotNull(frame);
+        try {
+            return frame.content().toString(Charsets.UTF_8);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private static final class FakeTicker extends Ticker {
+        private long nanos;
+
+        void advance(final long delta) {
+            nanos += delta;
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+
+    /**
+     * Channel whose writability is controlled by the test, as if its outbound buffer was above the high water mark.
+     */
+    private static final class ThrottledChannel extends EmbeddedChannel {
+        volatile boolean writable = true;
+
+        @Override
+        public boolean isWritable() {
+            return writable;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.streams.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+public class ConnectionLimitHandlerTest {
+
+    private final ConnectionLimitHandler handler = new ConnectionLimitHandler(2);
+
+    @Test
+    public void testConnectionOverLimitIsClosed() {
+        final EmbeddedChannel first = connect();
+        final EmbeddedChannel second = connect();
+        final EmbeddedChannel third = connect();
+
+        assertTrue(first.isOpen());
+        assertTrue(second.isOpen());
+        assertFalse(third.isOpen());
+        assertEquals(2, handler.getConnections());
+    }
+
+    @Test
+    public void testClosedConnectionFreesItsSlot() {
+        final EmbeddedChannel first = connect();
+        connect();
+
+        first.close();
+        first.runPendingTasks();
+        assertEquals(1, handler.getConnections());
+
+        final EmbeddedChannel third = connect();
+        assertTrue(third.isOpen());
+        assertEquals(2, handler.getConnections());
+    }
+
+    private EmbeddedChannel connect() {
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+        channel.runPendingTasks();
+        return channel;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.streams.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Charsets;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.streams.listeners.Notificator;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class WebSocketServerHandlerTest {
+
+    private static final String HANDSHAKE_REQUEST = "GET /test-stream HTTP/1.1\r\n"
+            + "Host: localhost:8185\r\n"
+            + "Upgrade: websocket\r\n"
+            + "Connection: Upgrade\r\n"
+            + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+            + "Sec-WebSocket-Version: 13\r\n"
+            + "\r\n";
+    // FIN bit and the ping opcode
+    private static final int PING_FRAME_HEADER = 0x89;
+
+    @After
+    public void tearDown() {
+        Notificator.removeAllListeners();
+    }
+
+    @Test
+    public void testReaderIdleClosesConnection() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WebSocketServerHandler());
+
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.READER_IDLE_STATE_EVENT);
+        channel.runPendingTasks();
+
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testWriterIdleBeforeHandshakeSendsNothing() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WebSocketServerHandler());
+
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+
+        assertTrue(channel.isOpen());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testWriterIdleAfterHandshakeSendsPing() {
+        Notificator.createListener(YangInstanceIdentifier.of(QName.create("test:module", "2014-01-09", "cont")),
+                "test-stream");
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpServerCodec(), new HttpObjectAggregator(65536),
+                new WebSocketServerHandler());
+
+        channel.writeInbound(Unpooled.copiedBuffer(HANDSHAKE_REQUEST, Charsets.US_ASCII));
+        assertTrue(readAll(channel).startsWith("HTTP/1.1 101"));
+
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+
+        final ByteBuf ping = (ByteBuf) channel.readOutbound();
+        assertNotNull(ping);
+        try {
+            assertEquals(PING_FRAME_HEADER, ping.getUnsignedByte(ping.readerIndex()));
+        } finally {
+            ping.release();
+        }
+        assertTrue(channel.isOpen());
+    }
+
+    private static String readAll(final EmbeddedChannel channel) {
+        final StringBuilder sb = new StringBuilder();
+        for (Object msg = channel.readOutbound(); msg != null; msg = channel.readOutbound()) {
+            final ByteBuf buf = (ByteBuf) msg;
+            sb.append(buf.toString(Charsets.US_ASCII));
+            buf.release();
+        }
+        return sb.toString();
+    }
+}